@@ -0,0 +1,413 @@
+package io.dwg.api;
+
+import io.dwg.api.spatial.BlockExtentsProvider;
+import io.dwg.api.spatial.EntityExtents;
+import io.dwg.api.spatial.Transform;
+import io.dwg.core.type.BoundingBox;
+import io.dwg.core.type.Point3D;
+import io.dwg.core.util.LongList;
+import io.dwg.entities.DwgEntity;
+import io.dwg.entities.DwgObject;
+import io.dwg.entities.concrete.DwgBlockHeader;
+import io.dwg.entities.concrete.DwgInsert;
+import io.dwg.entities.concrete.DwgMinsert;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 블록 참조(INSERT/MINSERT) 해석기.
+ * 블록 정의별 엔티티 목록과 경계를 한 번만 계산해 캐시하고,
+ * 중첩 INSERT를 합성 변환과 함께 월드 좌표계로 평탄화해 순회한다.
+ *
+ * <p>블록 구성원은 엔티티의 소유자(owner) 핸들로 판단하며, 블록별 목록은 그리기 순서의
+ * 핸들 배열로 한 번만 만들어 둔다. 소유자가 다른 엔티티인 하위 엔티티(POLYLINE의 VERTEX/SEQEND,
+ * INSERT의 ATTRIB)는 목록에 넣지 않고, 소유자 사슬을 따라 올라간 블록을 자기 블록으로 본다.
+ * 평탄화는 깊이 제한과 경로 기반 순환 검출로 무한 재귀를 막는다.</p>
+ */
+public final class DwgBlockResolver implements BlockExtentsProvider {
+    /** 기본 최대 중첩 깊이 */
+    public static final int DEFAULT_MAX_DEPTH = 16;
+
+    private static final String MODEL_SPACE = "*MODEL_SPACE";
+    private static final String PAPER_SPACE = "*PAPER_SPACE";
+
+    // 문서에 *Model_Space / *Paper_Space 블록 헤더가 없을 때 쓰는 가상 키
+    private static final long MODEL_SPACE_KEY = -1L;
+    private static final long PAPER_SPACE_KEY = -2L;
+    /** 소유자 사슬을 따라 올라가는 최대 단계 (잘못 읽은 핸들의 순환 방지) */
+    private static final int MAX_OWNER_DEPTH = 8;
+
+    private final Map<Long, DwgBlockHeader> blocks = new HashMap<>();
+    private final Map<String, Long> blocksByName = new HashMap<>();
+    // 블록 헤더의 소유 엔티티 목록(R2004+)에 있는 엔티티 → 블록
+    private final Map<Long, Long> listedIn = new HashMap<>();
+    // 하위 엔티티 → 소유 엔티티 (POLYLINE, INSERT 등)
+    private final Map<Long, DwgEntity> parents = new HashMap<>();
+    private final Map<Long, BlockContents> contents = new HashMap<>();
+    private final long modelSpace;
+    private final long paperSpace;
+    private final int maxDepth;
+
+    // blockExtents 캐시. 여러 스레드가 함께 채우며, 빈 블록은 EMPTY로 기록한다
+    private static final BoundingBox EMPTY = new BoundingBox(0, 0, 0, 0);
+    private final Map<Long, BoundingBox> extentsCache = new ConcurrentHashMap<>();
+    // 이 스레드에서 경계를 계산 중인 블록 (순환 검출용)
+    private final ThreadLocal<LongList> extentsPath = ThreadLocal.withInitial(LongList::new);
+
+    /**
+     * 블록 참조 방문자. 블록 참조가 아닌 엔티티만 전달된다.
+     */
+    @FunctionalInterface
+    public interface EntityVisitor {
+        /**
+         * @param entity 블록 정의 좌표계의 엔티티
+         * @param toWorld 엔티티 좌표 → 월드 좌표 합성 변환
+         * @param depth 중첩 깊이 (최상위 엔티티는 0)
+         */
+        void visit(DwgEntity entity, Transform toWorld, int depth);
+    }
+
+    DwgBlockResolver(DwgDocument doc) {
+        this(doc, DEFAULT_MAX_DEPTH);
+    }
+
+    DwgBlockResolver(DwgDocument doc, int maxDepth) {
+        this.maxDepth = maxDepth;
+        long model = 0L, paper = 0L;
+        for (DwgObject o : doc.objectMap().values()) {
+            if (!(o instanceof DwgBlockHeader bh)) continue;
+            blocks.put(bh.handle(), bh);
+            if (bh.ownedEntityHandles() != null) {
+                for (long h : bh.ownedEntityHandles()) listedIn.putIfAbsent(h, bh.handle());
+            }
+            if (bh.blockName() == null) continue;
+            String upper = bh.blockName().toUpperCase(Locale.ROOT);
+            blocksByName.putIfAbsent(upper, bh.handle());
+            if (upper.equals(MODEL_SPACE)) model = bh.handle();
+            // 활성 배치는 이름이 정확히 *Paper_Space인 블록 (나머지 배치는 *Paper_Space0, 1, ...)
+            if (upper.equals(PAPER_SPACE)) paper = bh.handle();
+        }
+        this.modelSpace = model != 0L ? model : MODEL_SPACE_KEY;
+        this.paperSpace = paper != 0L ? paper : PAPER_SPACE_KEY;
+
+        Map<Long, DwgObject> objects = doc.objectMap();
+        for (DwgObject o : objects.values()) {
+            if (o instanceof DwgEntity e && !listedIn.containsKey(e.handle())
+                    && e.ownerHandle() != null && !e.ownerHandle().isNull()
+                    && objects.get(e.ownerHandle().rawHandle()) instanceof DwgEntity parent && parent != e) {
+                parents.put(e.handle(), parent);
+            }
+        }
+
+        Map<Long, List<DwgEntity>> members = new HashMap<>();
+        for (DwgObject o : objects.values()) {
+            if (o instanceof DwgEntity e && !parents.containsKey(e.handle())) {
+                members.computeIfAbsent(containerOf(e), k -> new ArrayList<>()).add(e);
+            }
+        }
+        for (Map.Entry<Long, List<DwgEntity>> entry : members.entrySet()) {
+            contents.put(entry.getKey(), BlockContents.ordered(entry.getValue(), blocks.get(entry.getKey())));
+        }
+    }
+
+    /**
+     * 엔티티가 속한 블록 키. 하위 엔티티는 소유 엔티티로 올라간 뒤, 블록 헤더의 엔티티 목록 →
+     * 블록 헤더 소유자 → entity mode(1: 배치, 2: 모형) 순으로 판단하며,
+     * 소유자를 알 수 없는 엔티티는 모형 공간으로 간주한다.
+     */
+    private long containerOf(DwgEntity e) {
+        for (int i = 0; i < MAX_OWNER_DEPTH; i++) {
+            DwgEntity parent = parents.get(e.handle());
+            if (parent == null) break;
+            e = parent;
+        }
+        Long listed = listedIn.get(e.handle());
+        if (listed != null) return listed;
+        if (e.ownerHandle() != null && !e.ownerHandle().isNull()) {
+            long owner = e.ownerHandle().rawHandle();
+            if (blocks.containsKey(owner)) return owner;
+        }
+        return e.entityMode() == 1 ? paperSpace : modelSpace;
+    }
+
+    /** 블록 헤더 핸들로 블록 정의 조회 */
+    public Optional<DwgBlockHeader> block(long handle) {
+        return Optional.ofNullable(blocks.get(handle));
+    }
+
+    /** 이름으로 블록 정의 조회 (대소문자 무시) */
+    public Optional<DwgBlockHeader> blockByName(String name) {
+        Long handle = name != null ? blocksByName.get(name.toUpperCase(Locale.ROOT)) : null;
+        return handle != null ? block(handle) : Optional.empty();
+    }
+
+    /** 전체 블록 정의 목록 */
+    public Collection<DwgBlockHeader> allBlocks() {
+        return Collections.unmodifiableCollection(blocks.values());
+    }
+
+    @Override
+    public long blockHandleByName(String name) {
+        Long handle = name != null ? blocksByName.get(name.toUpperCase(Locale.ROOT)) : null;
+        return handle != null ? handle : 0L;
+    }
+
+    /**
+     * 블록 정의에 속한 엔티티 목록 (그리기 순서, 캐시됨)
+     */
+    public List<DwgEntity> entitiesOf(long blockHandle) {
+        BlockContents c = contents.get(blockHandle);
+        return c != null ? c.entityList : Collections.emptyList();
+    }
+
+    /**
+     * 블록 정의에 속한 엔티티 핸들 (그리기 순서). 캐시된 배열의 복사본을 반환한다.
+     */
+    public long[] entityHandlesOf(long blockHandle) {
+        BlockContents c = contents.get(blockHandle);
+        return c != null ? c.handles.clone() : new long[0];
+    }
+
+    /** 모형 공간 엔티티 (그리기 순서) */
+    public List<DwgEntity> modelSpaceEntities() {
+        return entitiesOf(modelSpace);
+    }
+
+    /** 활성 배치(*Paper_Space) 엔티티 (그리기 순서) */
+    public List<DwgEntity> paperSpaceEntities() {
+        return entitiesOf(paperSpace);
+    }
+
+    /** 모형 공간 엔티티 핸들 (그리기 순서) */
+    public long[] modelSpaceHandles() {
+        return entityHandlesOf(modelSpace);
+    }
+
+    /** 활성 배치(*Paper_Space) 엔티티 핸들 (그리기 순서) */
+    public long[] paperSpaceHandles() {
+        return entityHandlesOf(paperSpace);
+    }
+
+    /**
+     * 모형/배치 공간이 아닌 블록 정의에 속한 엔티티인지 확인 (하위 엔티티는 소유 엔티티의 블록 기준).
+     * 이런 엔티티는 블록 좌표계 기준이므로 INSERT를 통해서만 월드 좌표가 정해진다.
+     */
+    public boolean isBlockDefinitionMember(DwgEntity e) {
+        DwgBlockHeader owner = blocks.get(containerOf(e));
+        return owner != null && !isLayoutBlock(owner);
+    }
+
+    /**
+     * 다른 엔티티(POLYLINE, INSERT 등)에 딸린 하위 엔티티인지 확인.
+     * 하위 엔티티는 블록/공간 목록에 없고 소유 엔티티를 통해서만 닿는다.
+     */
+    public boolean isSubEntity(DwgEntity e) {
+        return parents.containsKey(e.handle());
+    }
+
+    /** *Model_Space / *Paper_Space 블록인지 확인 */
+    public static boolean isLayoutBlock(DwgBlockHeader block) {
+        String name = block.blockName();
+        if (name == null) return false;
+        String upper = name.toUpperCase(Locale.ROOT);
+        return upper.equals(MODEL_SPACE) || upper.startsWith(PAPER_SPACE);
+    }
+
+    /**
+     * 블록 정의 경계 (블록 기준점 원점 기준, 캐시됨). 비어 있거나 순환 참조면 null.
+     * 여러 스레드에서 동시에 불러도 되며, 같은 블록을 두 스레드가 함께 계산하면 먼저 끝난 결과를 쓴다.
+     */
+    @Override
+    public BoundingBox blockExtents(long blockHandle) {
+        BoundingBox cached = extentsCache.get(blockHandle);
+        if (cached != null) return cached == EMPTY ? null : cached;
+        DwgBlockHeader block = blocks.get(blockHandle);
+        if (block == null) return null;
+
+        LongList path = extentsPath.get();
+        for (int i = 0; i < path.size(); i++) {
+            if (path.get(i) == blockHandle) return null;
+        }
+        path.add(blockHandle);
+        BoundingBox result;
+        try {
+            result = computeExtents(blockHandle, block);
+        } finally {
+            path.removeLast();
+        }
+        BoundingBox previous = extentsCache.putIfAbsent(blockHandle, result != null ? result : EMPTY);
+        if (previous != null) return previous == EMPTY ? null : previous;
+        return result;
+    }
+
+    private BoundingBox computeExtents(long blockHandle, DwgBlockHeader block) {
+        double[] box = new double[4];
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (DwgEntity e : entitiesOf(blockHandle)) {
+            if (!EntityExtents.compute(e, this, box, 0)) continue;
+            minX = Math.min(minX, box[0]);
+            minY = Math.min(minY, box[1]);
+            maxX = Math.max(maxX, box[2]);
+            maxY = Math.max(maxY, box[3]);
+        }
+        if (minX > maxX || minY > maxY) return null;
+        Point3D base = block.basePoint() != null ? block.basePoint() : Point3D.ORIGIN;
+        return new BoundingBox(minX - base.x(), minY - base.y(), maxX - base.x(), maxY - base.y());
+    }
+
+    /**
+     * INSERT의 블록 좌표 → 상위 좌표 변환 (블록 기준점 보정 포함)
+     */
+    public Transform transformOf(DwgInsert insert) {
+        return Transform.ofInsert(insert, basePointOf(referencedBlock(insert)));
+    }
+
+    /**
+     * 엔티티와 그 하위 블록 참조를 평탄화해 방문.
+     *
+     * @return 깊이 제한 또는 순환으로 건너뛴 블록 참조 수
+     */
+    public int flatten(DwgEntity entity, EntityVisitor visitor) {
+        long[] path = new long[maxDepth + 1];
+        return visit(entity, Transform.IDENTITY, 0, path, visitor);
+    }
+
+    /**
+     * 여러 엔티티를 순서대로 평탄화해 방문.
+     *
+     * @return 깊이 제한 또는 순환으로 건너뛴 블록 참조 수
+     */
+    public int flatten(Collection<? extends DwgEntity> roots, EntityVisitor visitor) {
+        long[] path = new long[maxDepth + 1];
+        int skipped = 0;
+        for (DwgEntity e : roots) {
+            skipped += visit(e, Transform.IDENTITY, 0, path, visitor);
+        }
+        return skipped;
+    }
+
+    private int visit(DwgEntity e, Transform toWorld, int depth, long[] path, EntityVisitor visitor) {
+        if (e instanceof DwgInsert insert) {
+            long block = referencedBlock(insert);
+            if (block == 0) return 0;
+            Transform t = toWorld.compose(Transform.ofInsert(insert, basePointOf(block)));
+            return expand(block, t, depth, path, visitor);
+        }
+        if (e instanceof DwgMinsert minsert) {
+            long block = blockHandleByName(minsert.blockName());
+            if (block == 0) return 0;
+            Point3D base = basePointOf(block);
+            int rows = Math.max(minsert.rowCount(), 1);
+            int cols = Math.max(minsert.columnCount(), 1);
+            int skipped = 0;
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) {
+                    Transform t = toWorld.compose(Transform.ofMinsertCell(minsert, base, r, c));
+                    skipped += expand(block, t, depth, path, visitor);
+                }
+            }
+            return skipped;
+        }
+        visitor.visit(e, toWorld, depth);
+        return 0;
+    }
+
+    private int expand(long block, Transform toWorld, int depth, long[] path, EntityVisitor visitor) {
+        if (depth >= maxDepth) return 1;
+        for (int i = 0; i < depth; i++) {
+            if (path[i] == block) return 1;
+        }
+        path[depth] = block;
+        int skipped = 0;
+        for (DwgEntity child : entitiesOf(block)) {
+            skipped += visit(child, toWorld, depth + 1, path, visitor);
+        }
+        return skipped;
+    }
+
+    private long referencedBlock(DwgInsert insert) {
+        if (insert.blockHeaderHandle() == null || insert.blockHeaderHandle().isNull()) return 0L;
+        long handle = insert.blockHeaderHandle().rawHandle();
+        return blocks.containsKey(handle) ? handle : 0L;
+    }
+
+    private Point3D basePointOf(long blockHandle) {
+        DwgBlockHeader block = blocks.get(blockHandle);
+        return block != null && block.basePoint() != null ? block.basePoint() : Point3D.ORIGIN;
+    }
+
+    /**
+     * 블록 하나의 구성 엔티티. 핸들 배열과 엔티티 배열은 같은 그리기 순서이다.
+     */
+    private static final class BlockContents {
+        final long[] handles;
+        final List<DwgEntity> entityList;
+
+        private BlockContents(long[] handles, DwgEntity[] entities) {
+            this.handles = handles;
+            this.entityList = Collections.unmodifiableList(Arrays.asList(entities));
+        }
+
+        /**
+         * 블록 헤더에 엔티티 목록이 기록되어 있으면 그 순서를 따르고,
+         * 목록에 없는 구성원은 핸들(생성) 순으로 뒤에 붙인다.
+         * 첫/마지막 엔티티만 있으면(R2004 이전) 둘을 양 끝에 둔다.
+         */
+        static BlockContents ordered(List<DwgEntity> members, DwgBlockHeader header) {
+            DwgEntity[] sorted = members.toArray(new DwgEntity[0]);
+            Arrays.sort(sorted, Comparator.comparingLong(DwgEntity::handle));
+            long[] explicit = header != null ? header.ownedEntityHandles() : null;
+            if (explicit != null && explicit.length > 0) {
+                long[] byHandle = new long[sorted.length];
+                for (int i = 0; i < sorted.length; i++) byHandle[i] = sorted[i].handle();
+                DwgEntity[] ordered = new DwgEntity[sorted.length];
+                boolean[] used = new boolean[sorted.length];
+                int k = 0;
+                for (long h : explicit) {
+                    int idx = Arrays.binarySearch(byHandle, h);
+                    if (idx >= 0 && !used[idx]) {
+                        used[idx] = true;
+                        ordered[k++] = sorted[idx];
+                    }
+                }
+                for (int i = 0; i < sorted.length; i++) {
+                    if (!used[i]) ordered[k++] = sorted[i];
+                }
+                sorted = ordered;
+            } else if (header != null && header.firstEntityHandle() != 0) {
+                // R2004 이전: 헤더에는 첫/마지막 엔티티만 있다 (사이 순서는 핸들 순)
+                moveTo(sorted, header.firstEntityHandle(), 0);
+                moveTo(sorted, header.lastEntityHandle(), sorted.length - 1);
+            }
+            long[] handles = new long[sorted.length];
+            for (int i = 0; i < sorted.length; i++) handles[i] = sorted[i].handle();
+            return new BlockContents(handles, sorted);
+        }
+
+        /** 핸들이 handle인 엔티티를 to 위치로 옮기고 사이 엔티티는 한 칸씩 민다 */
+        private static void moveTo(DwgEntity[] entities, long handle, int to) {
+            for (int i = 0; i < entities.length; i++) {
+                if (entities[i].handle() != handle) continue;
+                DwgEntity e = entities[i];
+                if (i < to) {
+                    System.arraycopy(entities, i + 1, entities, i, to - i);
+                } else {
+                    System.arraycopy(entities, to, entities, to + 1, i - to);
+                }
+                entities[to] = e;
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package io.dwg.api;
+
+import io.dwg.core.io.ArrayBitOutput;
+import io.dwg.core.io.BitStreamWriter;
+import io.dwg.core.util.LongList;
+import io.dwg.core.version.DwgVersion;
+import io.dwg.entities.DwgObjectType;
+import io.dwg.sections.handles.HandleRegistry;
+import io.dwg.sections.objects.ObjectsSectionWriter;
+import io.dwg.sections.objects.writers.LineObjectWriter;
+import io.dwg.sections.objects.writers.LwPolylineObjectWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 엔티티를 대량으로 만들어 저장할 때 쓰는 빌더.
+ *
+ * <p>DwgLine 같은 객체를 만들지 않고 좌표 배열에서 바로 Objects 섹션 바이트를 인코딩한다.
+ * 핸들은 {@link #firstHandle()}부터 차례로 붙이므로 인코딩 순서가 곧 핸들 순서이고, 결과는 같은 엔티티를
+ * {@link DwgDocument}에 넣어 {@link ObjectsSectionWriter}로 쓴 것과 바이트 단위로 같다.
+ * 저장은 {@link DwgWriter#write(DwgBulkBuilder, java.nio.file.Path)}.</p>
+ *
+ * <p>한 스레드에서만 쓴다. 도면을 여러 개 만들 때는 도면마다 빌더를 하나씩 쓴다.</p>
+ */
+public final class DwgBulkBuilder {
+
+    /** 첫 엔티티 핸들 기본값 (테이블/사전 객체 자리를 비워 둔다) */
+    public static final long DEFAULT_FIRST_HANDLE = 0x100;
+
+    /** 인코딩 버퍼가 이만큼 차면 떼어 내 블록 목록으로 옮긴다 (다시 늘리며 복사하지 않도록) */
+    static final int BLOCK_SIZE = 1 << 20;
+
+    private static final double[] DEFAULT_EXTRUSION = {0.0, 0.0, 1.0};
+
+    private final DwgVersion version;
+    private final long firstHandle;
+    private final ArrayBitOutput data = new ArrayBitOutput(256);
+    private final BitStreamWriter dataWriter;
+    private final ArrayBitOutput out = new ArrayBitOutput(BLOCK_SIZE + 4096);
+    private final BitStreamWriter framed;
+    private final List<byte[]> blocks = new ArrayList<>();
+    /** 떼어 낸 블록들의 바이트 수 */
+    private long blockBytes;
+    /** 엔티티 i (핸들 firstHandle + i)의 섹션 내 오프셋 */
+    private final LongList offsets = new LongList(1024);
+
+    public DwgBulkBuilder(DwgVersion version) {
+        this(version, DEFAULT_FIRST_HANDLE);
+    }
+
+    public DwgBulkBuilder(DwgVersion version, long firstHandle) {
+        if (firstHandle <= 0) throw new IllegalArgumentException("First handle must be positive: " + firstHandle);
+        this.version = version;
+        this.firstHandle = firstHandle;
+        this.dataWriter = new BitStreamWriter(data, version);
+        this.framed = new BitStreamWriter(out, version);
+    }
+
+    public DwgVersion version() { return version; }
+
+    public long firstHandle() { return firstHandle; }
+
+    /** 다음 엔티티가 받을 핸들 */
+    public long nextHandle() { return firstHandle + offsets.size(); }
+
+    /** 만든 엔티티 수 */
+    public int size() { return offsets.size(); }
+
+    /** 지금까지 인코딩한 Objects 섹션 바이트 수 */
+    public long byteLength() { return blockBytes + out.byteLength(); }
+
+    /**
+     * LINE 하나
+     *
+     * @return 붙인 핸들
+     */
+    public long line(double x1, double y1, double z1, double x2, double y2, double z2) {
+        begin(DwgObjectType.LINE);
+        LineObjectWriter.writeLine(dataWriter, version, x1, y1, z1, x2, y2, z2, 0.0, DEFAULT_EXTRUSION);
+        return end();
+    }
+
+    /** z = 0인 LINE 하나 */
+    public long line(double x1, double y1, double x2, double y2) {
+        return line(x1, y1, 0.0, x2, y2, 0.0);
+    }
+
+    /**
+     * z = 0인 LINE count개. 선마다 xy[offset..]에서 (x1, y1, x2, y2) 4개씩 읽는다.
+     *
+     * @return 첫 LINE의 핸들 (나머지는 1씩 증가)
+     */
+    public long lines(double[] xy, int offset, int count) {
+        long first = nextHandle();
+        for (int i = offset, end = offset + 4 * count; i < end; i += 4) {
+            line(xy[i], xy[i + 1], 0.0, xy[i + 2], xy[i + 3], 0.0);
+        }
+        return first;
+    }
+
+    /**
+     * 볼록도와 폭 없는 LWPOLYLINE. 꼭짓점은 xy[offset..offset + 2 * vertexCount)의 (x, y)
+     *
+     * @return 붙인 핸들
+     */
+    public long lwPolyline(double[] xy, int offset, int vertexCount, boolean closed) {
+        begin(DwgObjectType.LWPLINE);
+        LwPolylineObjectWriter.writeVertices(dataWriter, closed ? 0x01 : 0, 0.0, 0.0, 0.0, DEFAULT_EXTRUSION,
+            xy, offset, vertexCount);
+        return end();
+    }
+
+    private void begin(DwgObjectType type) {
+        data.reset();
+        ObjectsSectionWriter.writeType(dataWriter, type.typeCode(), version);
+    }
+
+    private long end() {
+        long handle = nextHandle();
+        offsets.add(blockBytes + ObjectsSectionWriter.appendFramed(data, framed, out, version));
+        if (out.byteLength() >= BLOCK_SIZE) {
+            blocks.add(Arrays.copyOf(out.buffer(), out.byteLength()));
+            blockBytes += out.byteLength();
+            out.reset();
+        }
+        return handle;
+    }
+
+    /**
+     * 인코딩한 Objects 섹션 바이트를 out으로 내보내고 핸들 → 섹션 내 오프셋을 registry에 등록한다.
+     * 빌더는 그대로 남으므로 엔티티를 더 넣고 다시 쓸 수 있다.
+     */
+    public void writeTo(HandleRegistry registry, OutputStream target) throws IOException {
+        int n = offsets.size();
+        long[] handles = new long[n];
+        for (int i = 0; i < n; i++) handles[i] = firstHandle + i;
+        registry.putAll(handles, offsets.toArray(), n);
+        for (byte[] block : blocks) target.write(block);
+        target.write(out.buffer(), 0, out.byteLength());
+    }
+}
@@ -1,8 +1,15 @@
 package io.dwg.api;
 
+import io.dwg.api.spatial.SpatialIndex;
+import io.dwg.core.exception.DwgDiagnostics;
+import io.dwg.core.io.LargeByteBuffer;
+import io.dwg.core.util.LongList;
+import io.dwg.core.util.PersistentLongMap;
 import io.dwg.core.version.DwgVersion;
 import io.dwg.entities.DwgEntity;
 import io.dwg.entities.DwgObject;
+import io.dwg.entities.DwgObjectIndex;
+import io.dwg.entities.concrete.DwgBlockHeader;
 import io.dwg.entities.concrete.DwgLayer;
 import io.dwg.entities.concrete.DwgLtype;
 import io.dwg.entities.concrete.DwgStyle;
@@ -12,18 +19,32 @@ import io.dwg.sections.handles.HandleRegistry;
 import io.dwg.sections.header.HeaderVariables;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
  * 파싱된 DWG 파일 전체를 나타내는 루트 객체.
+ *
+ * <p>객체 집합은 버전별 불변 스냅샷({@link DwgSnapshot})으로 들고 있다. 읽는 쪽은 {@link #snapshot()}을
+ * 잠금 없이 쓰고, 편집은 {@link DwgTransaction}으로 새 버전을 만들어 한 번에 바꿔 끼운다.
+ * 커밋은 한 번에 하나씩 차례로 반영된다.</p>
  */
 public class DwgDocument {
     private final DwgVersion version;
     private HeaderVariables headerVariables;
-    private Map<Long, DwgObject> objectMap = new HashMap<>();
+    private final AtomicReference<DwgSnapshot> current = new AtomicReference<>(DwgSnapshot.EMPTY);
+    /** 커밋과 색인 갱신을 한 번에 하나씩 */
+    private final Object commitLock = new Object();
+    private volatile DwgObjectIndex objectIndex = new DwgObjectIndex();
+    private DwgDiagnostics diagnostics = new DwgDiagnostics();
     private HandleRegistry handleRegistry;
     private DwgClassRegistry classRegistry;
     private List<DwgClassDefinition> customClasses = new ArrayList<>();
+    private volatile DwgBlockResolver blockResolver;
+    private volatile DwgReferenceGraph referenceGraph;
+    private volatile SpatialIndex spatialIndex;
+    private LargeByteBuffer source;
 
     public DwgDocument(DwgVersion version) {
         this.version = version;
@@ -34,8 +55,126 @@ public class DwgDocument {
     public HeaderVariables header() { return headerVariables; }
     public void setHeaderVariables(HeaderVariables h) { this.headerVariables = h; }
 
-    public Map<Long, DwgObject> objectMap() { return Collections.unmodifiableMap(objectMap); }
-    public void setObjectMap(Map<Long, DwgObject> m) { this.objectMap = m; }
+    /** 현재 스냅샷의 읽기 전용 객체 맵 */
+    public Map<Long, DwgObject> objectMap() { return snapshot().objectMap(); }
+
+    /** 현재 버전의 객체 집합. 이후 커밋과 무관하게 그대로 남는다 */
+    public DwgSnapshot snapshot() { return current.get(); }
+
+    public void setObjectMap(Map<Long, DwgObject> m) {
+        setObjectMap(m, DwgObjectIndex.of(m.values()));
+    }
+
+    /**
+     * 객체 맵과 파싱 중 함께 만든 색인을 설정 (색인 재생성 생략)
+     */
+    public void setObjectMap(Map<Long, DwgObject> m, DwgObjectIndex index) {
+        PersistentLongMap<DwgObject> objects = PersistentLongMap.of(m);
+        synchronized (commitLock) {
+            DwgSnapshot base = current.get();
+            current.set(new DwgSnapshot(base.version() + 1, objects, base.modified()));
+            this.objectIndex = index;
+        }
+        invalidateDerived();
+    }
+
+    /** 타입/이름 색인 */
+    public DwgObjectIndex objectIndex() { return objectIndex; }
+
+    /** 읽는 동안 디코딩에 실패한 객체/필드 기록 */
+    public DwgDiagnostics diagnostics() { return diagnostics; }
+    public void setDiagnostics(DwgDiagnostics diagnostics) { this.diagnostics = diagnostics; }
+
+    /** 현재 스냅샷에서 시작하는 트랜잭션 */
+    public DwgTransaction begin() {
+        return new DwgTransaction(this, current.get());
+    }
+
+    /**
+     * 트랜잭션 하나를 실행하고 커밋한다. 그 사이 다른 커밋이 있었으면 새 스냅샷에서 처음부터 다시 실행하므로
+     * changes는 트랜잭션 밖의 상태를 바꾸지 않아야 한다.
+     */
+    public DwgSnapshot edit(Consumer<DwgTransaction> changes) {
+        while (true) {
+            DwgTransaction tx = begin();
+            changes.accept(tx);
+            try {
+                return tx.commit();
+            } catch (ConcurrentModificationException e) {
+                // 다른 커밋이 먼저 들어옴: 다시
+            }
+        }
+    }
+
+    /** {@link DwgTransaction#commit}: base가 아직 현재 버전이면 next로 바꾸고 색인을 맞춘다 */
+    void commit(DwgSnapshot base, DwgSnapshot next, LongList touched) {
+        synchronized (commitLock) {
+            if (!current.compareAndSet(base, next)) {
+                throw new ConcurrentModificationException(
+                    "Document changed since version " + base.version() + " (now " + current.get().version() + ")");
+            }
+            long[] handles = touched.toArray();
+            Arrays.sort(handles);
+            for (int i = 0; i < handles.length; i++) {
+                if (i > 0 && handles[i] == handles[i - 1]) continue;
+                DwgObject before = base.object(handles[i]);
+                DwgObject after = next.object(handles[i]);
+                if (before == after) continue;
+                if (before != null) objectIndex.remove(before);
+                if (after != null) objectIndex.add(after);
+            }
+        }
+        if (!touched.isEmpty()) invalidateDerived();
+    }
+
+    /**
+     * 객체 추가. 같은 핸들의 객체가 있으면 교체하며 색인도 함께 갱신한다.
+     */
+    public void addObject(DwgObject obj) {
+        edit(tx -> tx.put(obj));
+    }
+
+    /**
+     * 핸들로 객체 제거
+     *
+     * @return 제거된 객체
+     */
+    public Optional<DwgObject> removeObject(long handle) {
+        DwgObject[] removed = new DwgObject[1];
+        edit(tx -> removed[0] = tx.remove(handle));
+        return Optional.ofNullable(removed[0]);
+    }
+
+    /** 이 문서를 읽어 온 원본 파일 바이트 (증분 저장용). 직접 만든 문서는 null */
+    public LargeByteBuffer source() { return source; }
+
+    /** 원본 파일을 지정하고 수정 기록을 비운다 */
+    public void setSource(LargeByteBuffer source) {
+        this.source = source;
+        synchronized (commitLock) {
+            DwgSnapshot base = current.get();
+            current.set(new DwgSnapshot(base.version() + 1, base.objects(), PersistentLongMap.empty()));
+        }
+    }
+
+    /**
+     * 객체 속성을 바꾼 뒤 호출해 증분 저장 때 다시 쓰게 한다.
+     * {@link #addObject}와 {@link #removeObject}는 스스로 기록한다.
+     */
+    public void markModified(long handle) {
+        edit(tx -> tx.markModified(handle));
+    }
+
+    /** 원본 이후 추가, 교체, 수정, 제거된 핸들 (현재 스냅샷) */
+    public Set<Long> modifiedHandles() { return snapshot().modifiedHandles(); }
+
+    // 객체 집합에서 파생된 캐시 (블록, 참조 그래프, 공간 색인) 폐기.
+    // 캐시를 만드는 쪽과 같은 잠금이라, 만드는 도중 커밋이 들어와도 옛 스냅샷의 캐시가 남지 않는다
+    private synchronized void invalidateDerived() {
+        this.blockResolver = null;
+        this.referenceGraph = null;
+        this.spatialIndex = null;
+    }
 
     public HandleRegistry handleRegistry() { return handleRegistry; }
     public void setHandleRegistry(HandleRegistry h) { this.handleRegistry = h; }
@@ -46,70 +185,143 @@ public class DwgDocument {
     public List<DwgClassDefinition> customClasses() { return customClasses; }
     public void setCustomClasses(List<DwgClassDefinition> list) { this.customClasses = list; }
 
-    /** 전체 엔티티 목록 */
+    /** 전체 엔티티 목록 (핸들 순) */
     public List<DwgEntity> entities() {
-        return objectMap.values().stream()
-            .filter(DwgObject::isEntity)
-            .map(o -> (DwgEntity) o)
-            .collect(Collectors.toList());
+        List<DwgEntity> result = new ArrayList<>(objectIndex.countOf(DwgEntity.class));
+        DwgSnapshot objects = snapshot();
+        objectIndex.forEachHandle(DwgEntity.class, h -> {
+            DwgObject o = objects.object(h);
+            if (o != null && o.isEntity()) result.add((DwgEntity) o);
+        });
+        return result;
+    }
+
+    /** 모형 공간(*Model_Space) 엔티티 목록 (그리기 순서) */
+    public List<DwgEntity> modelSpace() {
+        return blocks().modelSpaceEntities();
+    }
+
+    /** 활성 배치(*Paper_Space) 엔티티 목록 (그리기 순서) */
+    public List<DwgEntity> paperSpace() {
+        return blocks().paperSpaceEntities();
+    }
+
+    /** 블록 정의에 속한 엔티티 목록 (그리기 순서) */
+    public List<DwgEntity> entitiesOf(DwgBlockHeader block) {
+        return blocks().entitiesOf(block.handle());
     }
 
     /** 레이어 목록 */
     public List<DwgLayer> layers() {
-        return objectMap.values().stream()
-            .filter(o -> o instanceof DwgLayer)
-            .map(o -> (DwgLayer) o)
-            .collect(Collectors.toList());
+        return objectsOfType(DwgLayer.class);
     }
 
     /** 이름으로 레이어 조회 */
     public Optional<DwgLayer> layer(String name) {
-        return layers().stream().filter(l -> l.name().equals(name)).findFirst();
+        return tableRecord(DwgLayer.class, name);
     }
 
     /** 선종류 목록 */
     public List<DwgLtype> linetypes() {
-        return objectMap.values().stream()
-            .filter(o -> o instanceof DwgLtype)
-            .map(o -> (DwgLtype) o)
-            .collect(Collectors.toList());
+        return objectsOfType(DwgLtype.class);
     }
 
     /** 이름으로 선종류 조회 */
     public Optional<DwgLtype> linetype(String name) {
-        return linetypes().stream().filter(lt -> lt.name().equals(name)).findFirst();
+        return tableRecord(DwgLtype.class, name);
     }
 
     /** 텍스트 스타일 목록 */
     public List<DwgStyle> styles() {
-        return objectMap.values().stream()
-            .filter(o -> o instanceof DwgStyle)
-            .map(o -> (DwgStyle) o)
-            .collect(Collectors.toList());
+        return objectsOfType(DwgStyle.class);
     }
 
     /** 이름으로 텍스트 스타일 조회 */
     public Optional<DwgStyle> style(String name) {
-        return styles().stream().filter(s -> s.name().equals(name)).findFirst();
+        return tableRecord(DwgStyle.class, name);
+    }
+
+    /** 이름으로 테이블 레코드(레이어, 선종류, 블록 헤더 등) 조회 */
+    public <T extends DwgObject> Optional<T> tableRecord(Class<T> type, String name) {
+        long h = objectIndex.handleByName(type, name);
+        return h != 0L ? objectByHandle(h, type) : Optional.empty();
     }
 
     /** 핸들로 객체 조회 */
     public <T extends DwgObject> Optional<T> objectByHandle(long handle, Class<T> type) {
-        DwgObject obj = objectMap.get(handle);
-        if (obj != null && type.isInstance(obj)) return Optional.of(type.cast(obj));
-        return Optional.empty();
+        return snapshot().objectByHandle(handle, type);
     }
 
-    /** 지정 타입 객체 목록 */
+    /** 지정 타입 객체 목록 (핸들 순) */
     public <T extends DwgObject> List<T> objectsOfType(Class<T> type) {
-        return objectMap.values().stream()
-            .filter(type::isInstance)
-            .map(type::cast)
-            .collect(Collectors.toList());
+        List<T> result = new ArrayList<>(objectIndex.countOf(type));
+        DwgSnapshot objects = snapshot();
+        objectIndex.forEachHandle(type, h -> {
+            DwgObject o = objects.object(h);
+            if (type.isInstance(o)) result.add(type.cast(o));
+        });
+        return result;
     }
 
     /** 테이블 접근 API 제공 */
     public DwgTableLocator tables() {
         return new DwgTableLocator(this);
     }
+
+    /**
+     * 블록 참조 해석기. 블록별 엔티티 목록과 경계를 캐시하므로 문서당 하나를 재사용한다.
+     */
+    public DwgBlockResolver blocks() {
+        DwgBlockResolver resolver = blockResolver;
+        if (resolver == null) {
+            synchronized (this) {
+                resolver = blockResolver;
+                if (resolver == null) {
+                    resolver = new DwgBlockResolver(this);
+                    blockResolver = resolver;
+                }
+            }
+        }
+        return resolver;
+    }
+
+    /**
+     * 핸들 참조 그래프 (정방향 + 역방향). 처음 호출할 때 병렬로 만들고 이후에는 재사용한다.
+     */
+    public DwgReferenceGraph references() {
+        DwgReferenceGraph graph = referenceGraph;
+        if (graph == null) {
+            synchronized (this) {
+                graph = referenceGraph;
+                if (graph == null) {
+                    graph = DwgReferenceGraph.build(objectMap(), true);
+                    referenceGraph = graph;
+                }
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * 엔티티 공간 색인. 처음 호출할 때 병렬로 만들고 이후에는 재사용한다.
+     * 블록 정의 내부 엔티티는 제외하고, INSERT는 블록 경계를 변환한 경계로 색인한다.
+     * 객체 맵을 교체하면 다시 만든다.
+     */
+    public SpatialIndex spatialIndex() {
+        SpatialIndex index = spatialIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = spatialIndex;
+                if (index == null) {
+                    DwgBlockResolver resolver = blocks();
+                    List<DwgEntity> roots = entities().stream()
+                        .filter(e -> !resolver.isBlockDefinitionMember(e))
+                        .collect(Collectors.toList());
+                    index = SpatialIndex.build(roots, resolver, true);
+                    spatialIndex = index;
+                }
+            }
+        }
+        return index;
+    }
 }
@@ -1,7 +1,11 @@
 package io.dwg.api;
 
+import io.dwg.core.exception.DwgDiagnostics;
 import io.dwg.core.io.BitInput;
 import io.dwg.core.io.ByteBufferBitInput;
+import io.dwg.core.io.ChunkedBitInput;
+import io.dwg.core.io.LargeByteBuffer;
+import io.dwg.core.io.PendingSection;
 import io.dwg.core.io.SectionInputStream;
 import io.dwg.core.version.DwgVersion;
 import io.dwg.core.version.DwgVersionDetector;
@@ -15,27 +19,62 @@ import io.dwg.sections.handles.HandleRegistry;
 import io.dwg.sections.handles.HandlesSectionParser;
 import io.dwg.sections.header.HeaderSectionParser;
 import io.dwg.sections.header.HeaderVariables;
+import io.dwg.sections.objects.EntityCursor;
 import io.dwg.sections.objects.ObjectsSectionParser;
 import io.dwg.entities.DwgObject;
 
 import java.io.InputStream;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * DWG 파일 읽기 진입점. Fluent Builder 패턴.
  */
 public class DwgReader {
-    private DwgReader() {}
+    /** 이 크기를 넘는 파일은 메모리 매핑으로 연다 */
+    static final long MAP_THRESHOLD = 1L << 30;
+
+    /** 파이프라인 모드에서 Objects 섹션 압축 해제를 돌릴 곳. null이면 단계별로 읽는다 */
+    private final Executor pipeline;
+
+    private DwgReader(Executor pipeline) {
+        this.pipeline = pipeline;
+    }
 
     public static DwgReader defaultReader() {
-        return new DwgReader();
+        return new DwgReader(null);
     }
 
-    /** 파일 경로에서 DWG 파일 읽기 */
+    /**
+     * 파이프라인 모드: 섹션 맵만 읽은 뒤 Objects 섹션 압축 해제를 공용 ForkJoinPool에서 시작하고,
+     * 그동안 Header/Classes/Handles를 풀어 파싱한다. 객체는 오프셋 순서대로 해당 페이지가 풀리는 즉시 디코딩한다.
+     */
+    public DwgReader pipelined() {
+        return pipelined(ForkJoinPool.commonPool());
+    }
+
+    /** 파이프라인 모드, Objects 섹션 압축 해제는 executor에서 */
+    public DwgReader pipelined(Executor executor) {
+        return new DwgReader(executor);
+    }
+
+    /**
+     * 파일 경로에서 DWG 파일 읽기.
+     * {@link #MAP_THRESHOLD}를 넘는 파일은 힙에 올리지 않고 메모리 매핑해 읽는다 (2GB 초과 포함).
+     */
     public DwgDocument open(Path filePath) throws Exception {
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            if (channel.size() > MAP_THRESHOLD) {
+                return open(LargeByteBuffer.map(channel));
+            }
+        }
         byte[] bytes = Files.readAllBytes(filePath);
         return open(bytes);
     }
@@ -48,35 +87,63 @@ public class DwgReader {
 
     /** 바이트 배열에서 DWG 파일 읽기 */
     public DwgDocument open(byte[] data) throws Exception {
+        return open(LargeByteBuffer.wrap(data));
+    }
+
+    /** 버퍼(메모리 매핑 파일 등)에서 DWG 파일 읽기. 오프셋은 long으로 다루므로 2GB를 넘어도 된다. */
+    public DwgDocument open(LargeByteBuffer data) throws Exception {
         // ① 버전 감지
-        DwgVersion version = DwgVersionDetector.detect(data);
+        byte[] signature = new byte[(int) Math.min(6, data.size())];
+        data.get(0, signature, 0, signature.length);
+        DwgVersion version = DwgVersionDetector.detect(signature);
         DwgDocument doc = new DwgDocument(version);
 
         // ② 포맷 핸들러 선택
         DwgFileStructureHandler handler = DwgFileStructureHandlerFactory.forVersion(version);
-        BitInput input = new ByteBufferBitInput(data);
+        BitInput input = newInput(data);
 
         // ③ 헤더 파싱
         FileHeaderFields headerFields = handler.readHeader(input);
 
-        // ④ 섹션 추출
-        input = new ByteBufferBitInput(data); // 처음부터 다시
-        Map<String, SectionInputStream> sections = handler.readSections(input, headerFields);
+        // ④ 섹션 추출 (파이프라인 모드면 압축 해제는 섹션을 기다릴 때)
+        input = newInput(data); // 처음부터 다시
+        Map<String, PendingSection> sections;
+        if (pipeline != null) {
+            sections = handler.readSectionsDeferred(input, headerFields);
+        } else {
+            sections = new HashMap<>();
+            for (Map.Entry<String, SectionInputStream> e : handler.readSections(input, headerFields).entrySet()) {
+                sections.put(e.getKey(), PendingSection.completed(e.getValue()));
+            }
+        }
+
+        // 페이지/섹션 맵 실패 기록에 객체 디코딩 실패를 이어 붙인다
+        DwgDiagnostics diagnostics = handler.diagnostics();
+
+        // Try both naming conventions (R2007+ uses AcDb:AcDbObjects, R2004 uses AcDb:Objects)
+        PendingSection objectsSection = sections.get("AcDb:AcDbObjects");
+        if (objectsSection == null) {
+            objectsSection = sections.get("AcDb:Objects");
+        }
+        if (objectsSection != null && pipeline != null) {
+            // 가장 큰 섹션: 아래 ⑤-⑦과 겹쳐서 풀기 시작
+            objectsSection.start(pipeline);
+        }
 
         // ⑤ Header 섹션 파싱
-        SectionInputStream headerStream = sections.get("AcDb:Header");
-        if (headerStream != null) {
-            HeaderVariables vars = new HeaderSectionParser().parse(headerStream, version);
+        PendingSection headerSection = sections.get("AcDb:Header");
+        if (headerSection != null) {
+            HeaderVariables vars = new HeaderSectionParser().parse(headerSection.await(), version);
             doc.setHeaderVariables(vars);
         }
 
         // ⑥ Classes 섹션 파싱
         DwgClassRegistry classRegistry = new DwgClassRegistry();
-        SectionInputStream classStream = sections.get("AcDb:Classes");
-        if (classStream != null) {
+        PendingSection classSection = sections.get("AcDb:Classes");
+        if (classSection != null) {
             try {
                 List<DwgClassDefinition> classes =
-                    new ClassesSectionParser().parse(classStream, version);
+                    new ClassesSectionParser().parse(classSection.await(), version);
                 doc.setCustomClasses(classes);
                 classes.forEach(classRegistry::register);
             } catch (Exception e) {
@@ -87,10 +154,10 @@ public class DwgReader {
 
         // ⑦ Handles 섹션 파싱
         HandleRegistry handleRegistry = new HandleRegistry();
-        SectionInputStream handlesStream = sections.get("AcDb:Handles");
-        if (handlesStream != null) {
+        PendingSection handlesSection = sections.get("AcDb:Handles");
+        if (handlesSection != null) {
             try {
-                handleRegistry = new HandlesSectionParser().parse(handlesStream, version);
+                handleRegistry = new HandlesSectionParser().parse(handlesSection.await(), version);
             } catch (Exception e) {
                 // Handles section parse failure is non-fatal
             }
@@ -98,30 +165,84 @@ public class DwgReader {
         doc.setHandleRegistry(handleRegistry);
 
         // ⑧ Objects 섹션 파싱
-        // Try both naming conventions (R2007+ uses AcDb:AcDbObjects, R2004 uses AcDb:Objects)
-        SectionInputStream objectsStream = sections.get("AcDb:AcDbObjects");
-        if (objectsStream == null) {
-            objectsStream = sections.get("AcDb:Objects");
-        }
         // R13/R14/R2000: Objects are not a separate named section.
         // They are located via offsets in the Handles section.
         // Use the whole file as the pseudo-section so HandleRegistry offsets resolve correctly.
         boolean isPreR2004 = version == DwgVersion.R13 || version == DwgVersion.R14
                           || version == DwgVersion.R2000;
-        if (objectsStream == null && isPreR2004 && !handleRegistry.allHandles().isEmpty()) {
-            objectsStream = new SectionInputStream(data, "AcDb:AcDbObjects");
+        if (objectsSection == null && isPreR2004 && !handleRegistry.allHandles().isEmpty()) {
+            objectsSection = PendingSection.completed(new SectionInputStream(data, "AcDb:AcDbObjects"));
         }
-        if (objectsStream != null) {
+        if (objectsSection != null) {
             ObjectsSectionParser objParser = new ObjectsSectionParser();
             objParser.setHandleRegistry(handleRegistry);
             objParser.setClassRegistry(classRegistry);
-            Map<Long, DwgObject> objectMap = objParser.parse(objectsStream, version);
-            doc.setObjectMap(objectMap);
+            Map<Long, DwgObject> objectMap = objParser.parse(objectsSection, version);
+            doc.setObjectMap(objectMap, objParser.objectIndex());
+            diagnostics.addAll(objParser.diagnostics());
         }
+        doc.setDiagnostics(diagnostics);
 
+        doc.setSource(data);
         return doc;
     }
 
+    /**
+     * 객체를 만들지 않고 Objects 섹션 위의 {@link EntityCursor}만 연다 (개수 세기, 경계 상자 같은 읽기 전용 작업용).
+     * Header 섹션은 읽지 않는다.
+     */
+    public EntityCursor cursor(Path filePath) throws Exception {
+        return cursor(LargeByteBuffer.wrap(Files.readAllBytes(filePath)));
+    }
+
+    /** {@link #cursor(Path)}: 버퍼에서 */
+    public EntityCursor cursor(LargeByteBuffer data) throws Exception {
+        byte[] signature = new byte[(int) Math.min(6, data.size())];
+        data.get(0, signature, 0, signature.length);
+        DwgVersion version = DwgVersionDetector.detect(signature);
+        DwgFileStructureHandler handler = DwgFileStructureHandlerFactory.forVersion(version);
+        FileHeaderFields headerFields = handler.readHeader(newInput(data));
+        Map<String, SectionInputStream> sections = handler.readSections(newInput(data), headerFields);
+
+        DwgClassRegistry classRegistry = new DwgClassRegistry();
+        SectionInputStream classSection = sections.get("AcDb:Classes");
+        if (classSection != null) {
+            try {
+                new ClassesSectionParser().parse(classSection, version).forEach(classRegistry::register);
+            } catch (Exception e) {
+                // Classes section parse failure is non-fatal
+            }
+        }
+        HandleRegistry handleRegistry = new HandleRegistry();
+        SectionInputStream handlesSection = sections.get("AcDb:Handles");
+        if (handlesSection != null) {
+            try {
+                handleRegistry = new HandlesSectionParser().parse(handlesSection, version);
+            } catch (Exception e) {
+                // Handles section parse failure is non-fatal
+            }
+        }
+
+        SectionInputStream objectsSection = sections.get("AcDb:AcDbObjects");
+        if (objectsSection == null) {
+            objectsSection = sections.get("AcDb:Objects");
+        }
+        LargeByteBuffer objects;
+        if (objectsSection != null) {
+            objects = objectsSection.buffer();
+        } else if (version.until(DwgVersion.R2000)) {
+            // R13/R14/R2000: 핸들 맵 오프셋은 파일 기준 (open과 같음)
+            objects = data;
+        } else {
+            objects = LargeByteBuffer.wrap(new byte[0]);
+        }
+        return new EntityCursor(objects, handleRegistry, version, classRegistry);
+    }
+
+    private static BitInput newInput(LargeByteBuffer data) {
+        return data.array() != null ? new ByteBufferBitInput(data.array()) : new ChunkedBitInput(data);
+    }
+
     /** 버전만 빠르게 감지 */
     public DwgVersion detectVersion(Path filePath) throws Exception {
         byte[] header = new byte[6];
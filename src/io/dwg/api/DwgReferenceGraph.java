@@ -0,0 +1,246 @@
+package io.dwg.api;
+
+import io.dwg.core.type.DwgHandleRef;
+import io.dwg.entities.DwgEntity;
+import io.dwg.entities.DwgObject;
+import io.dwg.entities.concrete.DwgBlockHeader;
+import io.dwg.entities.concrete.DwgInsert;
+import io.dwg.entities.concrete.DwgLayer;
+import io.dwg.entities.concrete.DwgMinsert;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+/**
+ * 핸들 참조 그래프.
+ * 파싱이 끝난 객체들의 정방향 참조(owner, layer, linetype, block header, reactor, xdictionary)와
+ * 그 역방향 인접 목록을 CSR(Compressed Sparse Row) 형태의 기본형 배열로 보관한다.
+ *
+ * <p>노드는 핸들 오름차순으로 번호가 매겨진다. 역방향 목록은 (대상 노드, 참조 종류) 버킷으로
+ * 나뉘어 있어 "레이어 X를 쓰는 엔티티" 같은 조회가 해당 버킷 크기에 비례한다.</p>
+ *
+ * <p>MINSERT는 블록 헤더 핸들 대신 블록 이름만 가지므로 이름(대소문자 무시)으로 찾은
+ * 블록 헤더로 BLOCK_HEADER 간선을 만든다.</p>
+ *
+ * <p>생성 후에는 변경되지 않으므로 여러 스레드에서 동시에 조회해도 안전하다.</p>
+ */
+public final class DwgReferenceGraph {
+    private static final int KINDS = ReferenceKind.values().length;
+    private static final int PARALLEL_THRESHOLD = 8192;
+    private static final long[] EMPTY = new long[0];
+
+    private final long[] handles;          // 노드 → 핸들 (오름차순)
+    private final DwgObject[] objects;     // 노드 → 객체
+    private final int[] forwardStart;      // 노드 → 정방향 간선 시작 (길이 n + 1)
+    private final long[] forwardTarget;    // 간선 → 대상 핸들 (문서에 없는 핸들도 보존)
+    private final byte[] forwardKind;      // 간선 → ReferenceKind ordinal
+    private final int[] reverseStart;      // (대상 노드 * KINDS + 종류) → 역방향 시작 (길이 n * KINDS + 1)
+    private final int[] reverseSource;     // 역방향 간선 → 원본 노드
+
+    private DwgReferenceGraph(long[] handles, DwgObject[] objects, int[] forwardStart, long[] forwardTarget,
+                              byte[] forwardKind, int[] reverseStart, int[] reverseSource) {
+        this.handles = handles;
+        this.objects = objects;
+        this.forwardStart = forwardStart;
+        this.forwardTarget = forwardTarget;
+        this.forwardKind = forwardKind;
+        this.reverseStart = reverseStart;
+        this.reverseSource = reverseSource;
+    }
+
+    /**
+     * 객체 맵에서 참조 그래프 생성.
+     *
+     * @param parallel true면 간선 수집과 대상 해석을 공용 ForkJoinPool에서 병렬 수행
+     */
+    public static DwgReferenceGraph build(Map<Long, DwgObject> objectMap, boolean parallel) {
+        Collection<DwgObject> values = objectMap.values();
+        DwgObject[] objects = values.toArray(new DwgObject[0]);
+        Arrays.sort(objects, (a, b) -> Long.compare(a.handle(), b.handle()));
+        int n = objects.length;
+        long[] handles = new long[n];
+        for (int i = 0; i < n; i++) handles[i] = objects[i].handle();
+        boolean par = parallel && n >= PARALLEL_THRESHOLD;
+        Map<String, Long> blocksByName = new HashMap<>();
+        for (DwgObject o : objects) {
+            if (o instanceof DwgBlockHeader bh && bh.blockName() != null) {
+                blocksByName.putIfAbsent(bh.blockName().toUpperCase(Locale.ROOT), bh.handle());
+            }
+        }
+
+        // 1) 노드별 정방향 간선 수 → 시작 위치
+        int[] forwardStart = new int[n + 1];
+        range(n, par).forEach(i -> forwardStart[i + 1] = forEachReference(objects[i], blocksByName, null, null, 0));
+        for (int i = 0; i < n; i++) forwardStart[i + 1] += forwardStart[i];
+        int edges = forwardStart[n];
+
+        // 2) 정방향 간선 기록 (노드마다 자기 구간만 쓰므로 병렬 안전)
+        long[] forwardTarget = new long[edges];
+        byte[] forwardKind = new byte[edges];
+        range(n, par).forEach(i -> forEachReference(objects[i], blocksByName, forwardTarget, forwardKind, forwardStart[i]));
+
+        // 3) 대상 핸들 → 노드 번호
+        int[] targetNode = new int[edges];
+        range(edges, par).forEach(e -> targetNode[e] = Arrays.binarySearch(handles, forwardTarget[e]));
+
+        // 4) (대상, 종류) 버킷 계수 정렬. 원본 노드 순서로 채우므로 버킷 안은 핸들 오름차순
+        int[] reverseStart = new int[n * KINDS + 1];
+        for (int e = 0; e < edges; e++) {
+            if (targetNode[e] >= 0) reverseStart[targetNode[e] * KINDS + forwardKind[e] + 1]++;
+        }
+        for (int k = 0; k < n * KINDS; k++) reverseStart[k + 1] += reverseStart[k];
+        int[] reverseSource = new int[reverseStart[n * KINDS]];
+        int[] cursor = Arrays.copyOf(reverseStart, n * KINDS);
+        for (int src = 0; src < n; src++) {
+            for (int e = forwardStart[src]; e < forwardStart[src + 1]; e++) {
+                if (targetNode[e] < 0) continue;
+                reverseSource[cursor[targetNode[e] * KINDS + forwardKind[e]]++] = src;
+            }
+        }
+        return new DwgReferenceGraph(handles, objects, forwardStart, forwardTarget, forwardKind,
+                                     reverseStart, reverseSource);
+    }
+
+    private static IntStream range(int n, boolean parallel) {
+        IntStream s = IntStream.range(0, n);
+        return parallel ? s.parallel() : s;
+    }
+
+    /**
+     * 객체의 참조를 out 배열의 offset부터 기록. out이 null이면 개수만 센다.
+     *
+     * @return 참조 수
+     */
+    private static int forEachReference(DwgObject o, Map<String, Long> blocksByName,
+                                        long[] targets, byte[] kinds, int offset) {
+        int count = 0;
+        count += emit(o.ownerHandle(), ReferenceKind.OWNER, targets, kinds, offset + count);
+        if (o instanceof DwgEntity e) {
+            count += emit(e.layerHandle(), ReferenceKind.LAYER, targets, kinds, offset + count);
+            count += emit(e.lineTypeHandle(), ReferenceKind.LINETYPE, targets, kinds, offset + count);
+        }
+        if (o instanceof DwgLayer layer) {
+            count += emit(layer.lineTypeHandle(), ReferenceKind.LINETYPE, targets, kinds, offset + count);
+        }
+        if (o instanceof DwgInsert ins) {
+            count += emit(ins.blockHeaderHandle(), ReferenceKind.BLOCK_HEADER, targets, kinds, offset + count);
+        }
+        if (o instanceof DwgMinsert minsert && minsert.blockName() != null) {
+            Long block = blocksByName.get(minsert.blockName().toUpperCase(Locale.ROOT));
+            if (block != null) {
+                count += emit(block, ReferenceKind.BLOCK_HEADER, targets, kinds, offset + count);
+            }
+        }
+        for (int i = 0, n = o.reactorCount(); i < n; i++) {
+            count += emit(o.reactorHandle(i), ReferenceKind.REACTOR, targets, kinds, offset + count);
+        }
+        Optional<DwgHandleRef> xdic = o.xDicHandle();
+        if (xdic.isPresent()) {
+            count += emit(xdic.get(), ReferenceKind.XDICTIONARY, targets, kinds, offset + count);
+        }
+        return count;
+    }
+
+    private static int emit(DwgHandleRef ref, ReferenceKind kind, long[] targets, byte[] kinds, int pos) {
+        return ref == null ? 0 : emit(ref.rawHandle(), kind, targets, kinds, pos);
+    }
+
+    private static int emit(long target, ReferenceKind kind, long[] targets, byte[] kinds, int pos) {
+        if (target == 0) return 0;
+        if (targets != null) {
+            targets[pos] = target;
+            kinds[pos] = (byte) kind.ordinal();
+        }
+        return 1;
+    }
+
+    /** 노드(객체) 수 */
+    public int nodeCount() { return handles.length; }
+
+    /** 정방향 간선 수 (문서에 없는 대상 포함) */
+    public int edgeCount() { return forwardTarget.length; }
+
+    /**
+     * source가 kind 종류로 참조하는 첫 대상 핸들. 없으면 0
+     */
+    public long target(long source, ReferenceKind kind) {
+        int node = Arrays.binarySearch(handles, source);
+        if (node < 0) return 0L;
+        for (int e = forwardStart[node]; e < forwardStart[node + 1]; e++) {
+            if (forwardKind[e] == kind.ordinal()) return forwardTarget[e];
+        }
+        return 0L;
+    }
+
+    /**
+     * source가 kind 종류로 참조하는 대상 핸들 목록 (기록 순서)
+     */
+    public long[] targets(long source, ReferenceKind kind) {
+        int node = Arrays.binarySearch(handles, source);
+        if (node < 0) return EMPTY;
+        int count = 0;
+        for (int e = forwardStart[node]; e < forwardStart[node + 1]; e++) {
+            if (forwardKind[e] == kind.ordinal()) count++;
+        }
+        long[] result = new long[count];
+        int k = 0;
+        for (int e = forwardStart[node]; e < forwardStart[node + 1]; e++) {
+            if (forwardKind[e] == kind.ordinal()) result[k++] = forwardTarget[e];
+        }
+        return result;
+    }
+
+    /**
+     * kind 종류로 target을 참조하는 객체 핸들 목록 (핸들 오름차순)
+     */
+    public long[] referencing(long target, ReferenceKind kind) {
+        int node = Arrays.binarySearch(handles, target);
+        if (node < 0) return EMPTY;
+        int bucket = node * KINDS + kind.ordinal();
+        int from = reverseStart[bucket], to = reverseStart[bucket + 1];
+        long[] result = new long[to - from];
+        for (int i = from; i < to; i++) result[i - from] = handles[reverseSource[i]];
+        return result;
+    }
+
+    /**
+     * kind 종류로 target을 참조하는 객체 수
+     */
+    public int countReferencing(long target, ReferenceKind kind) {
+        int node = Arrays.binarySearch(handles, target);
+        if (node < 0) return 0;
+        int bucket = node * KINDS + kind.ordinal();
+        return reverseStart[bucket + 1] - reverseStart[bucket];
+    }
+
+    /** 레이어에 놓인 엔티티 핸들 목록 */
+    public long[] entitiesOnLayer(long layerHandle) {
+        return referencing(layerHandle, ReferenceKind.LAYER);
+    }
+
+    /** owner가 소유한 객체 핸들 목록 */
+    public long[] ownedBy(long ownerHandle) {
+        return referencing(ownerHandle, ReferenceKind.OWNER);
+    }
+
+    /** 블록 헤더를 참조하는 INSERT/MINSERT 핸들 목록 */
+    public long[] insertsOf(long blockHeaderHandle) {
+        return referencing(blockHeaderHandle, ReferenceKind.BLOCK_HEADER);
+    }
+
+    /**
+     * source의 kind 참조를 따라가 대상 객체를 반환 (예: 엔티티 → 레이어)
+     */
+    public <T extends DwgObject> Optional<T> resolve(long source, ReferenceKind kind, Class<T> type) {
+        long target = target(source, kind);
+        if (target == 0L) return Optional.empty();
+        int node = Arrays.binarySearch(handles, target);
+        if (node < 0 || !type.isInstance(objects[node])) return Optional.empty();
+        return Optional.of(type.cast(objects[node]));
+    }
+}
@@ -0,0 +1,62 @@
+package io.dwg.api;
+
+import io.dwg.core.util.PersistentLongMap;
+import io.dwg.entities.DwgObject;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 어느 한 시점의 문서 객체 집합 (불변).
+ *
+ * <p>{@link DwgDocument#snapshot()}으로 얻는다. 이후 다른 스레드가 {@link DwgTransaction}을 커밋해도
+ * 이 스냅샷은 바뀌지 않으므로 잠금 없이 읽을 수 있다. 버전끼리는 바뀌지 않은 노드를 공유한다
+ * ({@link PersistentLongMap}).</p>
+ */
+public final class DwgSnapshot {
+    static final DwgSnapshot EMPTY = new DwgSnapshot(0, PersistentLongMap.empty(), PersistentLongMap.empty());
+
+    private final long version;
+    private final PersistentLongMap<DwgObject> objects;
+    /** 원본 이후 추가, 교체, 수정, 제거된 핸들 (값은 쓰지 않음) */
+    private final PersistentLongMap<Boolean> modified;
+
+    DwgSnapshot(long version, PersistentLongMap<DwgObject> objects, PersistentLongMap<Boolean> modified) {
+        this.version = version;
+        this.objects = objects;
+        this.modified = modified;
+    }
+
+    /** 커밋할 때마다 1씩 늘어나는 번호 */
+    public long version() { return version; }
+
+    public int size() { return objects.size(); }
+
+    /** 핸들의 객체. 없으면 null */
+    public DwgObject object(long handle) { return objects.get(handle); }
+
+    /** 핸들로 객체 조회 */
+    public <T extends DwgObject> Optional<T> objectByHandle(long handle, Class<T> type) {
+        DwgObject obj = objects.get(handle);
+        return type.isInstance(obj) ? Optional.of(type.cast(obj)) : Optional.empty();
+    }
+
+    /** 읽기 전용 객체 맵 (복사하지 않음) */
+    public Map<Long, DwgObject> objectMap() { return objects.asMap(); }
+
+    public boolean isModified(long handle) { return modified.containsKey(handle); }
+
+    /** 원본 이후 추가, 교체, 수정, 제거된 핸들 */
+    public Set<Long> modifiedHandles() { return Collections.unmodifiableSet(modified.asMap().keySet()); }
+
+    PersistentLongMap<DwgObject> objects() { return objects; }
+
+    PersistentLongMap<Boolean> modified() { return modified; }
+
+    @Override
+    public String toString() {
+        return "DwgSnapshot[version=" + version + ", objects=" + objects.size() + ", modified=" + modified.size() + "]";
+    }
+}
@@ -1,6 +1,7 @@
 package io.dwg.api;
 
 import io.dwg.entities.DwgObject;
+import io.dwg.entities.concrete.DwgBlockHeader;
 import io.dwg.entities.concrete.DwgLayer;
 import io.dwg.entities.concrete.DwgLtype;
 import io.dwg.entities.concrete.DwgStyle;
@@ -10,7 +11,7 @@ import java.util.Optional;
 
 /**
  * DWG 파일의 테이블 객체(레이어, 선종류, 스타일 등) 접근 API.
- * DwgDocument의 objectMap에서 해당 타입의 객체들을 필터링해 제공.
+ * DwgDocument의 타입/이름 색인(DwgObjectIndex)을 통해 전체 객체를 훑지 않고 조회한다.
  */
 public class DwgTableLocator {
     private final DwgDocument doc;
@@ -55,10 +56,27 @@ public class DwgTableLocator {
         return doc.style(name);
     }
 
+    // ========== Blocks ==========
+
+    /** 모든 블록 헤더 목록 */
+    public List<DwgBlockHeader> blocks() {
+        return doc.objectsOfType(DwgBlockHeader.class);
+    }
+
+    /** 이름으로 블록 헤더 검색 */
+    public Optional<DwgBlockHeader> blockByName(String name) {
+        return doc.tableRecord(DwgBlockHeader.class, name);
+    }
+
     // ========== Generic ==========
 
     /** 지정 타입의 모든 객체 검색 (다른 테이블 타입 접근용) */
     public <T extends DwgObject> List<T> table(Class<T> type) {
         return doc.objectsOfType(type);
     }
+
+    /** 이름으로 테이블 레코드 검색 (다른 테이블 타입 접근용) */
+    public <T extends DwgObject> Optional<T> recordByName(Class<T> type, String name) {
+        return doc.tableRecord(type, name);
+    }
 }
@@ -0,0 +1,91 @@
+package io.dwg.api;
+
+import io.dwg.core.util.LongList;
+import io.dwg.core.util.PersistentLongMap;
+import io.dwg.entities.DwgObject;
+
+import java.util.ConcurrentModificationException;
+
+/**
+ * 문서 편집 단위. {@link DwgDocument#begin()}으로 시작한 스냅샷 위에서 바꾼 내용을
+ * {@link #commit()}이 한 번에 새 버전으로 올린다. 커밋 전까지 다른 스레드에는 보이지 않는다.
+ *
+ * <p>시작한 뒤 다른 트랜잭션이 먼저 커밋했으면 {@link ConcurrentModificationException}.
+ * 다시 시도하려면 {@link DwgDocument#edit}을 쓴다. 한 트랜잭션은 한 스레드에서만 쓴다.</p>
+ */
+public final class DwgTransaction {
+    private final DwgDocument document;
+    private final DwgSnapshot base;
+    private final PersistentLongMap.Builder<DwgObject> objects;
+    private final PersistentLongMap.Builder<Boolean> modified;
+    /** 건드린 핸들 (중복 가능, 커밋 때 색인 갱신용) */
+    private final LongList touched = new LongList();
+    private boolean done;
+
+    DwgTransaction(DwgDocument document, DwgSnapshot base) {
+        this.document = document;
+        this.base = base;
+        this.objects = base.objects().builder();
+        this.modified = base.modified().builder();
+    }
+
+    /** 시작한 스냅샷 */
+    public DwgSnapshot base() { return base; }
+
+    /** 이 트랜잭션에서 바꾼 내용까지 반영한 객체. 없으면 null */
+    public DwgObject object(long handle) {
+        return objects.get(handle);
+    }
+
+    /** 객체 추가. 같은 핸들의 객체가 있으면 교체 */
+    public DwgTransaction put(DwgObject obj) {
+        checkOpen();
+        objects.put(obj.handle(), obj);
+        touch(obj.handle());
+        return this;
+    }
+
+    /**
+     * 핸들로 객체 제거
+     *
+     * @return 제거된 객체. 없으면 null
+     */
+    public DwgObject remove(long handle) {
+        checkOpen();
+        DwgObject removed = objects.get(handle);
+        if (removed == null) return null;
+        objects.remove(handle);
+        touch(handle);
+        return removed;
+    }
+
+    /** 객체 속성을 바꾼 뒤 호출해 증분 저장 때 다시 쓰게 한다 */
+    public DwgTransaction markModified(long handle) {
+        checkOpen();
+        modified.put(handle, Boolean.TRUE);
+        return this;
+    }
+
+    private void touch(long handle) {
+        modified.put(handle, Boolean.TRUE);
+        touched.add(handle);
+    }
+
+    /**
+     * 새 버전을 올린다.
+     *
+     * @return 커밋한 스냅샷
+     * @throws ConcurrentModificationException 시작한 뒤 문서가 바뀐 경우
+     */
+    public DwgSnapshot commit() {
+        checkOpen();
+        done = true;
+        DwgSnapshot next = new DwgSnapshot(base.version() + 1, objects.build(), modified.build());
+        document.commit(base, next, touched);
+        return next;
+    }
+
+    private void checkOpen() {
+        if (done) throw new IllegalStateException("Transaction already committed");
+    }
+}
@@ -1,44 +1,226 @@
 package io.dwg.api;
 
+import io.dwg.core.exception.DwgWriteException;
 import io.dwg.core.io.BitOutput;
 import io.dwg.core.io.ByteBufferBitOutput;
+import io.dwg.core.io.SectionOutputStream;
 import io.dwg.core.version.DwgVersion;
 import io.dwg.format.common.DwgFileStructureHandler;
 import io.dwg.format.common.DwgFileStructureHandlerFactory;
+import io.dwg.entities.DwgObject;
 import io.dwg.format.common.FileHeaderFields;
+import io.dwg.format.common.SectionDescriptor;
 import io.dwg.format.common.SectionType;
 import io.dwg.format.r13.R13SectionLocator;
+import io.dwg.format.r2004.R2004SourceFile;
+import io.dwg.format.r2004.R2004StreamingWriter;
 import io.dwg.sections.classes.ClassesSectionWriter;
+import io.dwg.sections.classes.DwgClassDefinition;
+import io.dwg.sections.handles.HandleRegistry;
 import io.dwg.sections.handles.HandlesSectionWriter;
 import io.dwg.sections.header.HeaderSectionWriter;
+import io.dwg.sections.header.HeaderVariables;
 import io.dwg.sections.objects.ObjectsSectionWriter;
 
+import java.io.IOException;
 import java.io.OutputStream;
-import java.nio.file.Files;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * DWG 파일 쓰기 진입점.
  */
 public class DwgWriter {
     private final DwgVersion targetVersion;
+    /** R2004 파일 구조 버전(R2007 제외)에서 페이지 압축을 돌릴 곳 */
+    private final Executor compressionPool;
+    /** 원본 파일의 페이지를 옮기고 바뀐 객체만 다시 쓰기 */
+    private final boolean incremental;
 
-    private DwgWriter(DwgVersion version) {
+    private DwgWriter(DwgVersion version, Executor compressionPool, boolean incremental) {
         this.targetVersion = version;
+        this.compressionPool = compressionPool;
+        this.incremental = incremental;
     }
 
     public static DwgWriter forVersion(DwgVersion version) {
-        return new DwgWriter(version);
+        return new DwgWriter(version, ForkJoinPool.commonPool(), false);
+    }
+
+    /**
+     * R2004 파일 구조 버전(R2004, R2010 이후)의 섹션 페이지(0x7400바이트) 압축과 체크섬 계산을 executor에서 병렬로 수행.
+     * 기본은 공용 ForkJoinPool. 호출 스레드에서만 돌리려면 {@code Runnable::run}을 넘긴다.
+     */
+    public DwgWriter compressionPool(Executor executor) {
+        return new DwgWriter(targetVersion, executor, incremental);
+    }
+
+    /**
+     * 증분 저장 모드 (R2004 형식 파일만: R2004, R2010 이후). {@link DwgReader}로 읽은 문서의 원본 압축 페이지를 풀지 않고 그대로 옮기고,
+     * {@link DwgDocument#modifiedHandles()}의 객체만 Objects 섹션 끝에 새 페이지로 덧붙인 뒤
+     * Handles 섹션과 페이지/섹션 맵을 다시 쓴다. 원본이 아닌 다른 파일에 써야 한다.
+     */
+    public DwgWriter incremental() {
+        return new DwgWriter(targetVersion, compressionPool, true);
     }
 
     /** DwgDocument를 파일로 저장 */
     public void write(DwgDocument document, Path filePath) throws Exception {
-        byte[] bytes = toBytes(document);
-        Files.write(filePath, bytes);
+        try (FileChannel channel = FileChannel.open(filePath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            write(document, channel);
+        }
+    }
+
+    /**
+     * DwgDocument를 채널 위치 0부터 저장.
+     * R2004 계열(R2010 이후 포함)은 {@link R2004StreamingWriter}로 섹션을 페이지 단위로 압축해 바로 쓰고 헤더는 마지막에 채우므로,
+     * 파일 전체나 섹션 전체를 메모리에 모으지 않는다. 그 밖의 버전은 {@link #toBytes}로 만든 뒤 쓴다.
+     */
+    public void write(DwgDocument document, SeekableByteChannel channel) throws Exception {
+        DwgVersion version = targetVersion != null ? targetVersion : document.version();
+        if (incremental) {
+            writeIncremental(document, version, channel);
+            return;
+        }
+        write(document.header(), document.customClasses(), objectsOf(document), version, channel);
+    }
+
+    /** DwgBulkBuilder로 만든 엔티티만 담은 도면을 파일로 저장 */
+    public void write(DwgBulkBuilder bulk, Path filePath) throws Exception {
+        try (FileChannel channel = FileChannel.open(filePath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            write(bulk, channel);
+        }
+    }
+
+    /** DwgBulkBuilder로 만든 엔티티만 담은 도면을 채널 위치 0부터 저장. 이미 인코딩한 Objects 바이트를 그대로 쓴다 */
+    public void write(DwgBulkBuilder bulk, SeekableByteChannel channel) throws Exception {
+        write(null, null, objectsOf(bulk), bulkVersion(bulk), channel);
+    }
+
+    /** DwgBulkBuilder로 만든 엔티티만 담은 도면을 바이트 배열로 직렬화 */
+    public byte[] toBytes(DwgBulkBuilder bulk) throws Exception {
+        return toBytes(null, null, objectsOf(bulk), bulkVersion(bulk));
+    }
+
+    private DwgVersion bulkVersion(DwgBulkBuilder bulk) throws DwgWriteException {
+        if (incremental) throw new DwgWriteException("Incremental save needs a document read from a file");
+        if (targetVersion != null && targetVersion != bulk.version()) {
+            throw new DwgWriteException("Bulk builder encoded " + bulk.version() + ", cannot write " + targetVersion);
+        }
+        return bulk.version();
+    }
+
+    /** Objects 섹션 내용: 객체를 out에 쓰며 핸들 → 섹션 내 오프셋을 offsets에 등록한다 */
+    @FunctionalInterface
+    private interface ObjectsContent {
+        void writeTo(DwgVersion version, HandleRegistry offsets, OutputStream out) throws IOException;
+    }
+
+    private static ObjectsContent objectsOf(DwgDocument document) {
+        // 쓰는 동안 다른 스레드가 커밋해도 한 버전만 쓴다
+        Map<Long, DwgObject> objects = document.snapshot().objectMap();
+        return (version, offsets, out) -> new ObjectsSectionWriter().writeTo(objects, version, offsets, out);
+    }
+
+    private static ObjectsContent objectsOf(DwgBulkBuilder bulk) {
+        return (version, offsets, out) -> bulk.writeTo(offsets, out);
+    }
+
+    private void write(HeaderVariables header, List<DwgClassDefinition> classes, ObjectsContent objects,
+                       DwgVersion version, SeekableByteChannel channel) throws Exception {
+        if (!version.usesR2004FileStructure()) {
+            ByteBuffer bytes = ByteBuffer.wrap(toBytes(header, classes, objects, version));
+            channel.position(0);
+            while (bytes.hasRemaining()) channel.write(bytes);
+            return;
+        }
+
+        R2004StreamingWriter out = new R2004StreamingWriter(channel, new FileHeaderFields(version), compressionPool);
+        if (header != null) {
+            HeaderSectionWriter headerWriter = new HeaderSectionWriter();
+            out.section(headerWriter.sectionName(), headerWriter.write(header, version).toByteArray());
+        }
+        if (classes != null && !classes.isEmpty()) {
+            ClassesSectionWriter classesWriter = new ClassesSectionWriter();
+            out.section(classesWriter.sectionName(), classesWriter.write(classes, version).toByteArray());
+        }
+        // Objects를 먼저 흘려보내며 오프셋을 모으고, 그 오프셋으로 Handles를 쓴다
+        HandleRegistry objectOffsets = new HandleRegistry();
+        try (OutputStream section = out.section(SectionType.OBJECTS.sectionName())) {
+            objects.writeTo(version, objectOffsets, section);
+        }
+        HandlesSectionWriter handlesWriter = new HandlesSectionWriter();
+        try (OutputStream section = out.section(handlesWriter.sectionName())) {
+            handlesWriter.writeTo(objectOffsets, version, section);
+        }
+        out.finish();
+    }
+
+    private void writeIncremental(DwgDocument document, DwgVersion version, SeekableByteChannel channel)
+            throws Exception {
+        if (document.source() == null) {
+            throw new DwgWriteException("Incremental save needs a document read from a file");
+        }
+        if (version != document.version()) {
+            throw new DwgWriteException("Incremental save cannot convert " + document.version() + " to " + version);
+        }
+        if (!version.usesR2004FileStructure()) {
+            throw new DwgWriteException("Incremental save supports R2004-format files only, not " + version);
+        }
+        R2004SourceFile source = R2004SourceFile.open(document.source());
+        SectionDescriptor objects = source.section(SectionType.OBJECTS.sectionName())
+            .or(() -> source.section("AcDb:Objects"))
+            .orElseThrow(() -> new DwgWriteException("Source file has no Objects section"));
+
+        // 바뀌지 않은 객체는 원본 오프셋 그대로, 바뀐 객체는 덧붙인 위치로
+        DwgSnapshot snapshot = document.snapshot();
+        Set<Long> modified = snapshot.modifiedHandles();
+        HandleRegistry offsets = new HandleRegistry();
+        if (document.handleRegistry() != null) {
+            document.handleRegistry().forEach((handle, offset) -> {
+                if (!modified.contains(handle)) offsets.put(handle, offset);
+            });
+        }
+        Map<Long, DwgObject> changed = new HashMap<>();
+        for (long handle : modified) {
+            DwgObject obj = snapshot.object(handle);
+            if (obj != null) changed.put(handle, obj);
+        }
+
+        R2004StreamingWriter out = new R2004StreamingWriter(channel, source.header(), compressionPool);
+        SectionDescriptor handles = null;
+        for (SectionDescriptor desc : source.sections()) {
+            if (desc == objects) {
+                long base = source.appendOffset(desc);
+                HandleRegistry appended = new HandleRegistry();
+                try (OutputStream section = out.appendSection(source, desc)) {
+                    new ObjectsSectionWriter().writeTo(changed, version, appended, section);
+                }
+                appended.forEach((handle, offset) -> offsets.put(handle, base + offset));
+            } else if (desc.name().equals(SectionType.HANDLES.sectionName())) {
+                handles = desc;
+            } else {
+                out.copySection(source, desc);
+            }
+        }
+        // 덧붙인 객체의 오프셋까지 알아야 하므로 Handles는 맨 뒤에 쓴다 (섹션은 이름과 번호로 찾는다)
+        HandlesSectionWriter handlesWriter = new HandlesSectionWriter();
+        try (OutputStream section = handles != null ? out.section(handles) : out.section(handlesWriter.sectionName())) {
+            handlesWriter.writeTo(offsets, version, section);
+        }
+        out.finish();
     }
 
     /** DwgDocument를 스트림으로 저장 */
@@ -49,33 +231,36 @@ public class DwgWriter {
     /** DwgDocument를 바이트 배열로 직렬화 */
     public byte[] toBytes(DwgDocument document) throws Exception {
         DwgVersion version = targetVersion != null ? targetVersion : document.version();
+        return toBytes(document.header(), document.customClasses(), objectsOf(document), version);
+    }
+
+    private byte[] toBytes(HeaderVariables header, List<DwgClassDefinition> classes, ObjectsContent objects,
+                           DwgVersion version) throws Exception {
         DwgFileStructureHandler handler = DwgFileStructureHandlerFactory.forVersion(version);
 
         FileHeaderFields headerFields = new FileHeaderFields(version);
 
         Map<String, byte[]> sections = new HashMap<>();
 
-        if (document.header() != null) {
+        if (header != null) {
             HeaderSectionWriter headerWriter = new HeaderSectionWriter();
-            sections.put(headerWriter.sectionName(),
-                headerWriter.write(document.header(), version).toByteArray());
+            sections.put(headerWriter.sectionName(), headerWriter.write(header, version).toByteArray());
         }
 
-        if (document.customClasses() != null && !document.customClasses().isEmpty()) {
+        if (classes != null && !classes.isEmpty()) {
             ClassesSectionWriter classesWriter = new ClassesSectionWriter();
-            sections.put(classesWriter.sectionName(),
-                classesWriter.write(document.customClasses(), version).toByteArray());
+            sections.put(classesWriter.sectionName(), classesWriter.write(classes, version).toByteArray());
         }
 
-        if (document.handleRegistry() != null) {
-            HandlesSectionWriter handlesWriter = new HandlesSectionWriter();
-            sections.put(handlesWriter.sectionName(),
-                handlesWriter.write(document.handleRegistry(), version).toByteArray());
-        }
+        // Handles 섹션은 방금 쓴 Objects 섹션의 실제 오프셋으로 만든다
+        HandleRegistry objectOffsets = new HandleRegistry();
+        SectionOutputStream objectsSection = new SectionOutputStream(SectionType.OBJECTS.sectionName());
+        objects.writeTo(version, objectOffsets, objectsSection.asStream());
+        sections.put(objectsSection.sectionName(), objectsSection.toByteArray());
 
-        ObjectsSectionWriter objectsWriter = new ObjectsSectionWriter();
-        sections.put(objectsWriter.sectionName(),
-            objectsWriter.write(document.objectMap(), version).toByteArray());
+        HandlesSectionWriter handlesWriter = new HandlesSectionWriter();
+        sections.put(handlesWriter.sectionName(),
+            handlesWriter.write(objectOffsets, version).toByteArray());
 
         if (version == DwgVersion.R13 || version == DwgVersion.R14 || version == DwgVersion.R2000) {
             String[] order = {
@@ -100,29 +285,33 @@ public class DwgWriter {
                 currentOffset += totalSize;
             }
             headerFields.setSectionLocators(locators);
-        } else if (version.isR2004OrLater()) {
+        } else if (version == DwgVersion.R2007) {
             long totalSectionSize = 0;
             for (byte[] sectionData : sections.values()) {
                 totalSectionSize += sectionData.length;
             }
 
-            if (version.isR2007OrLater()) {
-                long baseOffset = 0x480;
-                long sectionMapPageId = 1;
-                long estimatedSectionMapSize = Math.max(512, totalSectionSize / 10);
-                long pageMapOffset = baseOffset + totalSectionSize + estimatedSectionMapSize;
+            long baseOffset = 0x480;
+            long sectionMapPageId = 1;
+            long estimatedSectionMapSize = Math.max(512, totalSectionSize / 10);
+            long pageMapOffset = baseOffset + totalSectionSize + estimatedSectionMapSize;
 
-                headerFields.setPageMapOffset(pageMapOffset);
-                headerFields.setSectionMapId(sectionMapPageId);
-            } else {
-                long sectionMapOffset = 0x100 + totalSectionSize;
-                headerFields.setSectionMapOffset(sectionMapOffset);
-            }
+            headerFields.setPageMapOffset(pageMapOffset);
+            headerFields.setSectionMapId(sectionMapPageId);
         }
 
         BitOutput output = new ByteBufferBitOutput();
-        handler.writeHeader(output, headerFields);
-        handler.writeSections(output, sections, headerFields);
+        if (version.usesR2004FileStructure()) {
+            // R2004 계열: 페이지 맵 위치는 페이지를 배치한 뒤에 정해지므로 0x100 이후 본문을 먼저 만든다
+            BitOutput body = new ByteBufferBitOutput();
+            handler.writeSections(body, sections, headerFields, compressionPool);
+            handler.writeHeader(output, headerFields);
+            byte[] bodyBytes = body.toByteArray();
+            output.writeBytes(bodyBytes, 0, bodyBytes.length);
+        } else {
+            handler.writeHeader(output, headerFields);
+            handler.writeSections(output, sections, headerFields);
+        }
 
         return output.toByteArray();
     }
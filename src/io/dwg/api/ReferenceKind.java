@@ -0,0 +1,19 @@
+package io.dwg.api;
+
+/**
+ * 객체 간 핸들 참조 종류 (참조 그래프의 간선 종류)
+ */
+public enum ReferenceKind {
+    /** 소유자 (owner) */
+    OWNER,
+    /** 엔티티 → 레이어 */
+    LAYER,
+    /** 엔티티/레이어 → 선종류 */
+    LINETYPE,
+    /** INSERT → 블록 헤더 */
+    BLOCK_HEADER,
+    /** 반응자 (reactor) */
+    REACTOR,
+    /** 확장 사전 (extension dictionary) */
+    XDICTIONARY
+}
@@ -0,0 +1,26 @@
+package io.dwg.api.spatial;
+
+import io.dwg.core.type.BoundingBox;
+
+/**
+ * INSERT 경계 계산에 필요한 블록 정의 경계 공급자.
+ * 반환하는 경계는 블록 기준점(base point)을 원점으로 한 블록 좌표계 기준이다.
+ */
+@FunctionalInterface
+public interface BlockExtentsProvider {
+
+    /** 블록 정의를 모를 때 사용하는 공급자 (INSERT는 삽입점만 색인) */
+    BlockExtentsProvider NONE = blockHeaderHandle -> null;
+
+    /**
+     * 블록 헤더 핸들에 해당하는 블록 정의 경계. 알 수 없으면 null
+     */
+    BoundingBox blockExtents(long blockHeaderHandle);
+
+    /**
+     * 블록 이름으로 블록 헤더 핸들 조회 (MINSERT용). 모르면 0
+     */
+    default long blockHandleByName(String name) {
+        return 0L;
+    }
+}
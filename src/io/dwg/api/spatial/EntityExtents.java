@@ -0,0 +1,308 @@
+package io.dwg.api.spatial;
+
+import io.dwg.core.type.BoundingBox;
+import io.dwg.core.type.Point2D;
+import io.dwg.core.type.Point3D;
+import io.dwg.entities.DwgEntity;
+import io.dwg.entities.concrete.DwgArc;
+import io.dwg.entities.concrete.DwgCircle;
+import io.dwg.entities.concrete.DwgEllipse;
+import io.dwg.entities.concrete.DwgInsert;
+import io.dwg.entities.concrete.DwgLine;
+import io.dwg.entities.concrete.DwgLwPolyline;
+import io.dwg.entities.concrete.DwgMText;
+import io.dwg.entities.concrete.DwgMinsert;
+import io.dwg.entities.concrete.DwgPoint;
+import io.dwg.entities.concrete.DwgText;
+
+import java.util.List;
+
+/**
+ * 엔티티 타입별 2D 경계(WCS XY) 계산.
+ * ARC/CIRCLE/LWPOLYLINE/TEXT/INSERT/MINSERT 좌표는 OCS 기준이므로 돌출 벡터로 WCS 변환 후 경계를 구한다.
+ * TEXT/MTEXT는 글꼴 정보 없이 높이와 글자 수로 근사한다.
+ */
+public final class EntityExtents {
+    private static final double ARBITRARY_AXIS_LIMIT = 1.0 / 64.0;
+    private static final double TWO_PI = Math.PI * 2.0;
+
+    private EntityExtents() {}
+
+    /**
+     * 엔티티 경계 반환. 지원하지 않는 타입이거나 좌표가 없으면 null
+     */
+    public static BoundingBox of(DwgEntity entity, BlockExtentsProvider blocks) {
+        double[] out = new double[4];
+        if (!compute(entity, blocks, out, 0)) return null;
+        return new BoundingBox(out[0], out[1], out[2], out[3]);
+    }
+
+    /**
+     * 엔티티 경계를 out[offset..offset+3]에 (minX, minY, maxX, maxY) 순서로 기록.
+     * 객체 할당 없이 대량 계산할 때 사용한다.
+     *
+     * @return 경계를 계산했으면 true
+     */
+    public static boolean compute(DwgEntity entity, BlockExtentsProvider blocks, double[] out, int offset) {
+        reset(out, offset);
+        if (entity instanceof DwgLine line) {
+            if (line.start() == null || line.end() == null) return false;
+            include(out, offset, line.start().x(), line.start().y());
+            include(out, offset, line.end().x(), line.end().y());
+        } else if (entity instanceof DwgCircle circle) {
+            if (circle.center() == null) return false;
+            Point3D c = circle.center();
+            arc(out, offset, Ocs.of(circle.extrusion()), c.x(), c.y(), c.z(),
+                circle.radius(), 0.0, TWO_PI);
+        } else if (entity instanceof DwgArc arc) {
+            if (arc.center() == null) return false;
+            Point3D c = arc.center();
+            arc(out, offset, Ocs.of(arc.extrusion()), c.x(), c.y(), c.z(),
+                arc.radius(), arc.startAngle(), arc.endAngle());
+        } else if (entity instanceof DwgLwPolyline pl) {
+            lwPolyline(out, offset, pl);
+        } else if (entity instanceof DwgText text) {
+            text(out, offset, text);
+        } else if (entity instanceof DwgMText mtext) {
+            mtext(out, offset, mtext);
+        } else if (entity instanceof DwgPoint point) {
+            if (point.position() == null) return false;
+            include(out, offset, point.position().x(), point.position().y());
+        } else if (entity instanceof DwgEllipse ellipse) {
+            ellipse(out, offset, ellipse);
+        } else if (entity instanceof DwgInsert insert) {
+            insert(out, offset, insert, blocks);
+        } else if (entity instanceof DwgMinsert minsert) {
+            minsert(out, offset, minsert, blocks);
+        }
+        return out[offset] <= out[offset + 2] && out[offset + 1] <= out[offset + 3];
+    }
+
+    private static void reset(double[] out, int o) {
+        out[o] = Double.POSITIVE_INFINITY;
+        out[o + 1] = Double.POSITIVE_INFINITY;
+        out[o + 2] = Double.NEGATIVE_INFINITY;
+        out[o + 3] = Double.NEGATIVE_INFINITY;
+    }
+
+    private static void include(double[] out, int o, double x, double y) {
+        if (Double.isNaN(x) || Double.isNaN(y) || Double.isInfinite(x) || Double.isInfinite(y)) return;
+        if (x < out[o]) out[o] = x;
+        if (y < out[o + 1]) out[o + 1] = y;
+        if (x > out[o + 2]) out[o + 2] = x;
+        if (y > out[o + 3]) out[o + 3] = y;
+    }
+
+    /**
+     * OCS 평면 위의 원호 경계. 극값이 되는 각도(X/Y 각각 2개)와 양 끝점만 검사한다.
+     */
+    private static void arc(double[] out, int o, Ocs ocs, double cx, double cy, double cz,
+                            double r, double start, double end) {
+        double wx = ocs.wcsX(cx, cy, cz);
+        double wy = ocs.wcsY(cx, cy, cz);
+        double sweep = normalize(end - start);
+        if (sweep == 0.0) sweep = TWO_PI;
+        arcPoint(out, o, ocs, wx, wy, r, start);
+        arcPoint(out, o, ocs, wx, wy, r, start + sweep);
+        double tx = Math.atan2(ocs.ayx, ocs.axx);
+        double ty = Math.atan2(ocs.ayy, ocs.axy);
+        double[] candidates = {tx, tx + Math.PI, ty, ty + Math.PI};
+        for (double t : candidates) {
+            if (normalize(t - start) <= sweep) arcPoint(out, o, ocs, wx, wy, r, t);
+        }
+    }
+
+    private static void arcPoint(double[] out, int o, Ocs ocs, double wx, double wy, double r, double t) {
+        double c = Math.cos(t), s = Math.sin(t);
+        include(out, o, wx + r * (c * ocs.axx + s * ocs.ayx), wy + r * (c * ocs.axy + s * ocs.ayy));
+    }
+
+    private static double normalize(double a) {
+        double n = a % TWO_PI;
+        return n < 0 ? n + TWO_PI : n;
+    }
+
+    private static void lwPolyline(double[] out, int o, DwgLwPolyline pl) {
+        List<Point2D> vs = pl.vertices();
+        if (vs == null || vs.isEmpty()) return;
+        Ocs ocs = Ocs.of(pl.extrusion());
+        double z = pl.elevation();
+        List<Double> bulges = pl.bulges();
+        int n = vs.size();
+        for (int i = 0; i < n; i++) {
+            Point2D p = vs.get(i);
+            include(out, o, ocs.wcsX(p.x(), p.y(), z), ocs.wcsY(p.x(), p.y(), z));
+            double b = bulges != null && i < bulges.size() ? bulges.get(i) : 0.0;
+            if (b == 0.0 || (i == n - 1 && !pl.isClosed())) continue;
+            Point2D q = vs.get((i + 1) % n);
+            bulgeArc(out, o, ocs, p.x(), p.y(), q.x(), q.y(), z, b);
+        }
+    }
+
+    /**
+     * bulge 구간(p → q)의 원호 경계. bulge = tan(포함각 / 4), 양수면 반시계 방향.
+     */
+    private static void bulgeArc(double[] out, int o, Ocs ocs, double px, double py,
+                                 double qx, double qy, double z, double bulge) {
+        double dx = qx - px, dy = qy - py;
+        double chord = Math.sqrt(dx * dx + dy * dy);
+        if (chord == 0.0) return;
+        double h = chord * (1.0 - bulge * bulge) / (4.0 * bulge);
+        double cx = (px + qx) * 0.5 - dy / chord * h;
+        double cy = (py + qy) * 0.5 + dx / chord * h;
+        double r = Math.hypot(px - cx, py - cy);
+        double a1 = Math.atan2(py - cy, px - cx);
+        double a2 = Math.atan2(qy - cy, qx - cx);
+        if (bulge > 0) arc(out, o, ocs, cx, cy, z, r, a1, a2);
+        else arc(out, o, ocs, cx, cy, z, r, a2, a1);
+    }
+
+    private static void text(double[] out, int o, DwgText text) {
+        Point2D p = text.insertionPoint();
+        if (p == null) return;
+        double h = text.height();
+        double wf = text.widthFactor() > 0 ? text.widthFactor() : 1.0;
+        int len = text.value() != null ? text.value().length() : 0;
+        Ocs ocs = Ocs.of(text.extrusion());
+        rotatedRect(out, o, ocs, p.x(), p.y(), text.elevation(), 0.0, 0.0,
+                    h * wf * Math.max(len, 1), h, text.rotationAngle());
+        Point2D a = text.alignmentPoint();
+        if (a != null && (text.horizontalAlignment() != 0 || text.verticalAlignment() != 0)) {
+            include(out, o, ocs.wcsX(a.x(), a.y(), text.elevation()), ocs.wcsY(a.x(), a.y(), text.elevation()));
+        }
+    }
+
+    private static void mtext(double[] out, int o, DwgMText mtext) {
+        Point3D p = mtext.location();
+        if (p == null) return;
+        int ap = mtext.attachmentPoint() >= 1 && mtext.attachmentPoint() <= 9 ? mtext.attachmentPoint() : 1;
+        int col = (ap - 1) % 3;
+        int row = (ap - 1) / 3;
+        double w = mtext.width(), h = mtext.height();
+        double x0 = -col * w * 0.5;
+        double y0 = row == 0 ? -h : (row == 1 ? -h * 0.5 : 0.0);
+        // MTEXT 위치는 WCS 기준
+        rotatedRect(out, o, Ocs.WORLD, p.x(), p.y(), p.z(), x0, y0, w, h, mtext.angle());
+    }
+
+    private static void rotatedRect(double[] out, int o, Ocs ocs, double x, double y, double z,
+                                    double x0, double y0, double w, double h, double angle) {
+        double c = Math.cos(angle), s = Math.sin(angle);
+        double[] xs = {x0, x0 + w, x0 + w, x0};
+        double[] ys = {y0, y0, y0 + h, y0 + h};
+        for (int i = 0; i < 4; i++) {
+            double px = x + xs[i] * c - ys[i] * s;
+            double py = y + xs[i] * s + ys[i] * c;
+            include(out, o, ocs.wcsX(px, py, z), ocs.wcsY(px, py, z));
+        }
+    }
+
+    /**
+     * 타원 전체 경계 (매개변수 범위는 보수적으로 무시)
+     */
+    private static void ellipse(double[] out, int o, DwgEllipse e) {
+        Point3D c = e.center();
+        Point3D m = e.majorAxisVec();
+        if (c == null || m == null) return;
+        double[] n = unit(e.extrusion());
+        // 단축 벡터 = ratio * (N x major)
+        double r = e.axisRatio();
+        double minX = r * (n[1] * m.z() - n[2] * m.y());
+        double minY = r * (n[2] * m.x() - n[0] * m.z());
+        double hx = Math.sqrt(m.x() * m.x() + minX * minX);
+        double hy = Math.sqrt(m.y() * m.y() + minY * minY);
+        include(out, o, c.x() - hx, c.y() - hy);
+        include(out, o, c.x() + hx, c.y() + hy);
+    }
+
+    /**
+     * 블록 경계 네 모서리를 INSERT 변환으로 옮긴 경계.
+     * 블록 경계를 모르면 삽입점만 포함한다.
+     */
+    private static void insert(double[] out, int o, DwgInsert ins, BlockExtentsProvider blocks) {
+        Point3D p = ins.insertionPoint();
+        if (p == null) return;
+        BoundingBox block = null;
+        if (blocks != null && ins.blockHeaderHandle() != null && !ins.blockHeaderHandle().isNull()) {
+            block = blocks.blockExtents(ins.blockHeaderHandle().rawHandle());
+        }
+        Transform t = Transform.ofInsert(ins, null);
+        if (block == null || block.isEmpty()) {
+            include(out, o, t.applyX(0, 0, 0), t.applyY(0, 0, 0));
+            return;
+        }
+        transformedBox(out, o, t, block);
+    }
+
+    /**
+     * MINSERT 배열 경계. 칸 위치는 (행, 열)에 선형이므로 네 귀퉁이 칸만 변환하면 충분하다.
+     */
+    private static void minsert(double[] out, int o, DwgMinsert mins, BlockExtentsProvider blocks) {
+        if (mins.insertionPoint() == null) return;
+        BoundingBox block = null;
+        if (blocks != null && mins.blockName() != null) {
+            long handle = blocks.blockHandleByName(mins.blockName());
+            if (handle != 0) block = blocks.blockExtents(handle);
+        }
+        int lastRow = Math.max(mins.rowCount(), 1) - 1;
+        int lastCol = Math.max(mins.columnCount(), 1) - 1;
+        int[][] cells = {{0, 0}, {0, lastCol}, {lastRow, 0}, {lastRow, lastCol}};
+        for (int[] cell : cells) {
+            Transform t = Transform.ofMinsertCell(mins, null, cell[0], cell[1]);
+            if (block == null || block.isEmpty()) include(out, o, t.applyX(0, 0, 0), t.applyY(0, 0, 0));
+            else transformedBox(out, o, t, block);
+        }
+    }
+
+    private static void transformedBox(double[] out, int o, Transform t, BoundingBox box) {
+        include(out, o, t.applyX(box.minX(), box.minY(), 0), t.applyY(box.minX(), box.minY(), 0));
+        include(out, o, t.applyX(box.maxX(), box.minY(), 0), t.applyY(box.maxX(), box.minY(), 0));
+        include(out, o, t.applyX(box.maxX(), box.maxY(), 0), t.applyY(box.maxX(), box.maxY(), 0));
+        include(out, o, t.applyX(box.minX(), box.maxY(), 0), t.applyY(box.minX(), box.maxY(), 0));
+    }
+
+    private static double[] unit(double[] v) {
+        if (v == null || v.length < 3) return new double[]{0.0, 0.0, 1.0};
+        double len = Math.sqrt(v[0] * v[0] + v[1] * v[1] + v[2] * v[2]);
+        if (len == 0.0 || Double.isNaN(len)) return new double[]{0.0, 0.0, 1.0};
+        return new double[]{v[0] / len, v[1] / len, v[2] / len};
+    }
+
+    /**
+     * 임의 축 알고리즘(Arbitrary Axis Algorithm)으로 구한 OCS 축의 X/Y 성분.
+     * WCS 경계만 필요하므로 Z 성분은 보관하지 않는다.
+     */
+    static final class Ocs {
+        static final Ocs WORLD = new Ocs(1, 0, 0, 1, 0, 0);
+
+        final double axx, axy, ayx, ayy, nx, ny;
+
+        private Ocs(double axx, double axy, double ayx, double ayy, double nx, double ny) {
+            this.axx = axx; this.axy = axy;
+            this.ayx = ayx; this.ayy = ayy;
+            this.nx = nx; this.ny = ny;
+        }
+
+        static Ocs of(double[] extrusion) {
+            double[] n = unit(extrusion);
+            if (n[0] == 0.0 && n[1] == 0.0 && n[2] > 0.0) return WORLD;
+            double ax, ay, az;
+            if (Math.abs(n[0]) < ARBITRARY_AXIS_LIMIT && Math.abs(n[1]) < ARBITRARY_AXIS_LIMIT) {
+                // Wy x N
+                ax = n[2]; ay = 0.0; az = -n[0];
+            } else {
+                // Wz x N
+                ax = -n[1]; ay = n[0]; az = 0.0;
+            }
+            double len = Math.sqrt(ax * ax + ay * ay + az * az);
+            ax /= len; ay /= len; az /= len;
+            // Ay = N x Ax
+            double bx = n[1] * az - n[2] * ay;
+            double by = n[2] * ax - n[0] * az;
+            return new Ocs(ax, ay, bx, by, n[0], n[1]);
+        }
+
+        double wcsX(double x, double y, double z) { return x * axx + y * ayx + z * nx; }
+        double wcsY(double x, double y, double z) { return x * axy + y * ayy + z * ny; }
+    }
+}
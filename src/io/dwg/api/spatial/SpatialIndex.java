@@ -0,0 +1,349 @@
+package io.dwg.api.spatial;
+
+import io.dwg.core.type.BoundingBox;
+import io.dwg.entities.DwgEntity;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * 엔티티 경계에 대한 정적 R-tree.
+ * STR(Sort-Tile-Recursive) 방식으로 일괄 적재하며, 노드 객체 없이 기본형 배열에 저장한다.
+ *
+ * <p>배열 배치: 리프(항목) 경계가 앞쪽 n개, 그 뒤로 레벨 순서대로 내부 노드가 이어진다.
+ * 내부 노드의 {@code indices} 값은 첫 자식의 위치이며 자식은 최대 {@code nodeSize}개가 연속으로 놓인다.
+ * 리프의 {@code indices} 값은 {@code handles} 배열 인덱스이다.</p>
+ *
+ * <p>적재 후에는 변경되지 않으므로 여러 스레드에서 동시에 조회해도 안전하다.</p>
+ */
+public final class SpatialIndex {
+    public static final int DEFAULT_NODE_SIZE = 16;
+
+    /** 병렬 처리로 전환하는 최소 항목 수 */
+    private static final int PARALLEL_THRESHOLD = 4096;
+
+    private final int nodeSize;
+    private final int numItems;
+    private final long[] handles;
+    private final double[] boxes;
+    private final int[] indices;
+    private final int[] levelBounds;
+
+    private SpatialIndex(int nodeSize, int numItems, long[] handles,
+                         double[] boxes, int[] indices, int[] levelBounds) {
+        this.nodeSize = nodeSize;
+        this.numItems = numItems;
+        this.handles = handles;
+        this.boxes = boxes;
+        this.indices = indices;
+        this.levelBounds = levelBounds;
+    }
+
+    /**
+     * 엔티티 목록으로 색인 생성. 경계를 구할 수 없는 엔티티는 제외된다.
+     *
+     * @param parallel true면 경계 계산과 정렬을 공용 ForkJoinPool에서 병렬 수행
+     */
+    public static SpatialIndex build(List<? extends DwgEntity> entities, BlockExtentsProvider blocks,
+                                     boolean parallel) {
+        int n = entities.size();
+        double[] raw = new double[n * 4];
+        IntStream range = IntStream.range(0, n);
+        if (parallel && n >= PARALLEL_THRESHOLD) range = range.parallel();
+        range.forEach(i -> {
+            if (!EntityExtents.compute(entities.get(i), blocks, raw, i * 4)) raw[i * 4] = Double.NaN;
+        });
+
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            if (!Double.isNaN(raw[i * 4])) count++;
+        }
+        long[] handles = new long[count];
+        double[] itemBoxes = new double[count * 4];
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            if (Double.isNaN(raw[i * 4])) continue;
+            handles[k] = entities.get(i).handle();
+            System.arraycopy(raw, i * 4, itemBoxes, k * 4, 4);
+            k++;
+        }
+        return build(handles, itemBoxes, DEFAULT_NODE_SIZE, parallel);
+    }
+
+    /**
+     * 핸들과 경계 배열로 색인 생성.
+     *
+     * @param handles 항목 핸들
+     * @param itemBoxes 항목 경계 (항목당 minX, minY, maxX, maxY 4개)
+     * @param nodeSize 노드당 최대 자식 수 (2 이상)
+     */
+    public static SpatialIndex build(long[] handles, double[] itemBoxes, int nodeSize, boolean parallel) {
+        if (nodeSize < 2) throw new IllegalArgumentException("nodeSize must be >= 2: " + nodeSize);
+        if (itemBoxes.length != handles.length * 4) {
+            throw new IllegalArgumentException("itemBoxes length must be 4 * handles.length");
+        }
+        int n = handles.length;
+
+        // 레벨별 끝 위치 계산
+        int[] bounds = new int[32];
+        int levels = 0;
+        int count = n;
+        int total = n;
+        bounds[levels++] = total;
+        while (count > 1) {
+            count = (count + nodeSize - 1) / nodeSize;
+            total += count;
+            bounds[levels++] = total;
+        }
+        int[] levelBounds = Arrays.copyOf(bounds, levels);
+
+        double[] boxes = new double[total * 4];
+        int[] indices = new int[total];
+        System.arraycopy(itemBoxes, 0, boxes, 0, n * 4);
+        for (int i = 0; i < n; i++) indices[i] = i;
+
+        boolean par = parallel && n >= PARALLEL_THRESHOLD;
+        int start = 0;
+        for (int level = 0; level < levels - 1; level++) {
+            int end = levelBounds[level];
+            strOrder(boxes, indices, start, end, nodeSize, par);
+            int parent = end;
+            for (int child = start; child < end; child += nodeSize, parent++) {
+                int last = Math.min(child + nodeSize, end);
+                double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+                double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+                for (int c = child; c < last; c++) {
+                    int b = c * 4;
+                    if (boxes[b] < minX) minX = boxes[b];
+                    if (boxes[b + 1] < minY) minY = boxes[b + 1];
+                    if (boxes[b + 2] > maxX) maxX = boxes[b + 2];
+                    if (boxes[b + 3] > maxY) maxY = boxes[b + 3];
+                }
+                int p = parent * 4;
+                boxes[p] = minX;
+                boxes[p + 1] = minY;
+                boxes[p + 2] = maxX;
+                boxes[p + 3] = maxY;
+                indices[parent] = child;
+            }
+            start = end;
+        }
+        return new SpatialIndex(nodeSize, n, handles.clone(), boxes, indices, levelBounds);
+    }
+
+    /**
+     * [start, end) 구간을 STR 순서로 재배치.
+     * X 중심으로 정렬해 세로 띠(slice)로 나눈 뒤 각 띠를 Y 중심으로 정렬한다.
+     * 정렬 키는 float 정밀도로 줄여 위치와 함께 long 하나에 담는다 (적재 품질에만 영향).
+     */
+    private static void strOrder(double[] boxes, int[] indices, int start, int end,
+                                 int nodeSize, boolean parallel) {
+        int count = end - start;
+        if (count <= nodeSize) return;
+        int nodeCount = (count + nodeSize - 1) / nodeSize;
+        int sliceCount = (int) Math.ceil(Math.sqrt(nodeCount));
+        int sliceSize = nodeSize * ((nodeCount + sliceCount - 1) / sliceCount);
+
+        long[] keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            int b = (start + i) * 4;
+            keys[i] = packKey((boxes[b] + boxes[b + 2]) * 0.5, i);
+        }
+        if (parallel) Arrays.parallelSort(keys);
+        else Arrays.sort(keys);
+
+        IntStream slices = IntStream.range(0, (count + sliceSize - 1) / sliceSize);
+        if (parallel) slices = slices.parallel();
+        slices.forEach(s -> {
+            int from = s * sliceSize;
+            int to = Math.min(from + sliceSize, count);
+            for (int i = from; i < to; i++) {
+                int src = (int) keys[i];
+                int b = (start + src) * 4;
+                keys[i] = packKey((boxes[b + 1] + boxes[b + 3]) * 0.5, src);
+            }
+            Arrays.sort(keys, from, to);
+        });
+
+        double[] tmpBoxes = new double[count * 4];
+        int[] tmpIndices = new int[count];
+        for (int i = 0; i < count; i++) {
+            int src = (int) keys[i];
+            System.arraycopy(boxes, (start + src) * 4, tmpBoxes, i * 4, 4);
+            tmpIndices[i] = indices[start + src];
+        }
+        System.arraycopy(tmpBoxes, 0, boxes, start * 4, count * 4);
+        System.arraycopy(tmpIndices, 0, indices, start, count);
+    }
+
+    private static long packKey(double value, int position) {
+        int bits = Float.floatToIntBits((float) value);
+        bits ^= (bits >> 31) & 0x7FFFFFFF;
+        return ((long) bits << 32) | (position & 0xFFFFFFFFL);
+    }
+
+    /** 색인된 항목 수 */
+    public int size() { return numItems; }
+
+    /** 전체 경계 */
+    public BoundingBox bounds() {
+        if (numItems == 0) return BoundingBox.EMPTY;
+        int r = (boxes.length / 4 - 1) * 4;
+        return new BoundingBox(boxes[r], boxes[r + 1], boxes[r + 2], boxes[r + 3]);
+    }
+
+    /**
+     * 창(window)과 겹치는 항목 핸들 목록
+     */
+    public long[] query(BoundingBox window) {
+        LongCollector out = new LongCollector();
+        query(window.minX(), window.minY(), window.maxX(), window.maxY(), out);
+        return out.toArray();
+    }
+
+    /**
+     * 창(window)과 겹치는 항목 핸들을 visitor로 전달. 결과 배열을 만들지 않는다.
+     */
+    public void query(double minX, double minY, double maxX, double maxY, LongConsumer visitor) {
+        if (numItems == 0) return;
+        int[] stack = new int[levelBounds.length * nodeSize + 1];
+        int sp = 0;
+        stack[sp++] = boxes.length / 4 - 1;
+        while (sp > 0) {
+            int node = stack[--sp];
+            int b = node * 4;
+            if (maxX < boxes[b] || maxY < boxes[b + 1] || minX > boxes[b + 2] || minY > boxes[b + 3]) continue;
+            if (node < numItems) {
+                visitor.accept(handles[indices[node]]);
+                continue;
+            }
+            int first = indices[node];
+            int last = Math.min(first + nodeSize, levelBounds[levelOf(node) - 1]);
+            for (int c = first; c < last; c++) {
+                if (sp == stack.length) stack = Arrays.copyOf(stack, sp * 2);
+                stack[sp++] = c;
+            }
+        }
+    }
+
+    /**
+     * 점 (x, y)에 가장 가까운 항목 핸들. 비어 있으면 0 (null 핸들)
+     */
+    public long nearest(double x, double y) {
+        long[] r = nearest(x, y, 1, Double.POSITIVE_INFINITY);
+        return r.length == 0 ? 0L : r[0];
+    }
+
+    /**
+     * 점 (x, y)에서 가까운 순서로 최대 k개 항목 핸들 (경계 상자 기준 거리).
+     *
+     * @param maxDistance 이 거리보다 먼 항목은 제외
+     */
+    public long[] nearest(double x, double y, int k, double maxDistance) {
+        if (numItems == 0 || k <= 0) return new long[0];
+        double maxSq = maxDistance == Double.POSITIVE_INFINITY ? maxDistance : maxDistance * maxDistance;
+        long[] result = new long[Math.min(k, numItems)];
+        int found = 0;
+        NodeQueue queue = new NodeQueue();
+        int root = boxes.length / 4 - 1;
+        queue.push(root, distanceSq(root, x, y));
+        while (!queue.isEmpty()) {
+            // 큐에서 나온 항목은 남은 어떤 노드보다 가깝다
+            int node = queue.pop();
+            if (node < numItems) {
+                result[found++] = handles[indices[node]];
+                if (found == result.length) break;
+                continue;
+            }
+            int first = indices[node];
+            int last = Math.min(first + nodeSize, levelBounds[levelOf(node) - 1]);
+            for (int c = first; c < last; c++) {
+                double d = distanceSq(c, x, y);
+                if (d <= maxSq) queue.push(c, d);
+            }
+        }
+        return found == result.length ? result : Arrays.copyOf(result, found);
+    }
+
+    private double distanceSq(int node, double x, double y) {
+        int b = node * 4;
+        double dx = x < boxes[b] ? boxes[b] - x : (x > boxes[b + 2] ? x - boxes[b + 2] : 0.0);
+        double dy = y < boxes[b + 1] ? boxes[b + 1] - y : (y > boxes[b + 3] ? y - boxes[b + 3] : 0.0);
+        return dx * dx + dy * dy;
+    }
+
+    private int levelOf(int node) {
+        int level = 0;
+        while (levelBounds[level] <= node) level++;
+        return level;
+    }
+
+    /**
+     * 거리 기준 최소 힙 (노드 위치, 거리 제곱)
+     */
+    private static final class NodeQueue {
+        private int[] nodes = new int[64];
+        private double[] dists = new double[64];
+        private int size;
+
+        boolean isEmpty() { return size == 0; }
+
+        void push(int node, double dist) {
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, size * 2);
+                dists = Arrays.copyOf(dists, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >> 1;
+                if (dists[parent] <= dist) break;
+                nodes[i] = nodes[parent];
+                dists[i] = dists[parent];
+                i = parent;
+            }
+            nodes[i] = node;
+            dists[i] = dist;
+        }
+
+        int pop() {
+            int top = nodes[0];
+            size--;
+            if (size > 0) {
+                int node = nodes[size];
+                double dist = dists[size];
+                int i = 0;
+                int half = size >> 1;
+                while (i < half) {
+                    int child = 2 * i + 1;
+                    int right = child + 1;
+                    if (right < size && dists[right] < dists[child]) child = right;
+                    if (dists[child] >= dist) break;
+                    nodes[i] = nodes[child];
+                    dists[i] = dists[child];
+                    i = child;
+                }
+                nodes[i] = node;
+                dists[i] = dist;
+            }
+            return top;
+        }
+    }
+
+    /**
+     * 가변 길이 long 버퍼
+     */
+    private static final class LongCollector implements LongConsumer {
+        private long[] values = new long[16];
+        private int size;
+
+        @Override
+        public void accept(long value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        long[] toArray() { return Arrays.copyOf(values, size); }
+    }
+}
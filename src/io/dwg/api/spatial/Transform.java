@@ -0,0 +1,155 @@
+package io.dwg.api.spatial;
+
+import io.dwg.core.type.Point3D;
+import io.dwg.entities.concrete.DwgInsert;
+import io.dwg.entities.concrete.DwgMinsert;
+
+/**
+ * 3D 아핀 변환 (3x4 행렬, 행 우선). 불변 객체.
+ *
+ * <pre>
+ * | m00 m01 m02 m03 |
+ * | m10 m11 m12 m13 |
+ * | m20 m21 m22 m23 |
+ * </pre>
+ */
+public final class Transform {
+    private static final double ARBITRARY_AXIS_LIMIT = 1.0 / 64.0;
+
+    /** 항등 변환 */
+    public static final Transform IDENTITY = new Transform(
+        1, 0, 0, 0,
+        0, 1, 0, 0,
+        0, 0, 1, 0);
+
+    private final double m00, m01, m02, m03;
+    private final double m10, m11, m12, m13;
+    private final double m20, m21, m22, m23;
+
+    private Transform(double m00, double m01, double m02, double m03,
+                      double m10, double m11, double m12, double m13,
+                      double m20, double m21, double m22, double m23) {
+        this.m00 = m00; this.m01 = m01; this.m02 = m02; this.m03 = m03;
+        this.m10 = m10; this.m11 = m11; this.m12 = m12; this.m13 = m13;
+        this.m20 = m20; this.m21 = m21; this.m22 = m22; this.m23 = m23;
+    }
+
+    public static Transform translation(double dx, double dy, double dz) {
+        return new Transform(1, 0, 0, dx, 0, 1, 0, dy, 0, 0, 1, dz);
+    }
+
+    public static Transform scale(double sx, double sy, double sz) {
+        return new Transform(sx, 0, 0, 0, 0, sy, 0, 0, 0, 0, sz, 0);
+    }
+
+    /** Z축 기준 회전 (라디안, 반시계 방향) */
+    public static Transform rotationZ(double angle) {
+        double c = Math.cos(angle), s = Math.sin(angle);
+        return new Transform(c, -s, 0, 0, s, c, 0, 0, 0, 0, 1, 0);
+    }
+
+    /**
+     * OCS → WCS 변환. 돌출 벡터에 임의 축 알고리즘(Arbitrary Axis Algorithm)을 적용한다.
+     */
+    public static Transform ocsToWcs(double[] extrusion) {
+        double nx = 0, ny = 0, nz = 1;
+        if (extrusion != null && extrusion.length >= 3) {
+            double len = Math.sqrt(extrusion[0] * extrusion[0] + extrusion[1] * extrusion[1]
+                + extrusion[2] * extrusion[2]);
+            if (len > 0 && !Double.isNaN(len)) {
+                nx = extrusion[0] / len; ny = extrusion[1] / len; nz = extrusion[2] / len;
+            }
+        }
+        if (nx == 0 && ny == 0 && nz > 0) return IDENTITY;
+        double ax, ay, az;
+        if (Math.abs(nx) < ARBITRARY_AXIS_LIMIT && Math.abs(ny) < ARBITRARY_AXIS_LIMIT) {
+            ax = nz; ay = 0; az = -nx;      // Wy x N
+        } else {
+            ax = -ny; ay = nx; az = 0;      // Wz x N
+        }
+        double len = Math.sqrt(ax * ax + ay * ay + az * az);
+        ax /= len; ay /= len; az /= len;
+        double bx = ny * az - nz * ay;      // N x Ax
+        double by = nz * ax - nx * az;
+        double bz = nx * ay - ny * ax;
+        return new Transform(ax, bx, nx, 0, ay, by, ny, 0, az, bz, nz, 0);
+    }
+
+    /**
+     * INSERT 블록 좌표계 → 상위 좌표계 변환.
+     * 기준점 이동 → 배율 → 회전 → 삽입점 이동 → OCS 순서로 적용된다.
+     */
+    public static Transform ofInsert(DwgInsert insert, Point3D basePoint) {
+        Point3D p = insert.insertionPoint() != null ? insert.insertionPoint() : Point3D.ORIGIN;
+        return ofBlockReference(p, insert.xScale(), insert.yScale(), insert.zScale(),
+            insert.rotation(), insert.extrusion(), basePoint, 0.0, 0.0);
+    }
+
+    /**
+     * MINSERT 배열의 (row, column) 칸 변환. 칸 간격은 블록 회전 방향으로 적용된다.
+     */
+    public static Transform ofMinsertCell(DwgMinsert minsert, Point3D basePoint, int row, int column) {
+        Point3D p = minsert.insertionPoint() != null ? minsert.insertionPoint() : Point3D.ORIGIN;
+        double[] s = minsert.scale();
+        double sx = s != null && s.length > 0 ? s[0] : 1.0;
+        double sy = s != null && s.length > 1 ? s[1] : 1.0;
+        double sz = s != null && s.length > 2 ? s[2] : 1.0;
+        return ofBlockReference(p, sx, sy, sz, minsert.rotation(), minsert.extrusion(), basePoint,
+            column * minsert.columnSpacing(), row * minsert.rowSpacing());
+    }
+
+    private static Transform ofBlockReference(Point3D p, double sx, double sy, double sz, double rotation,
+                                              double[] extrusion, Point3D basePoint,
+                                              double offsetX, double offsetY) {
+        Point3D base = basePoint != null ? basePoint : Point3D.ORIGIN;
+        return ocsToWcs(extrusion)
+            .compose(translation(p.x(), p.y(), p.z()))
+            .compose(rotationZ(rotation))
+            .compose(translation(offsetX, offsetY, 0))
+            .compose(scale(sx, sy, sz))
+            .compose(translation(-base.x(), -base.y(), -base.z()));
+    }
+
+    /**
+     * this ∘ inner. 결과는 inner를 먼저 적용한 뒤 this를 적용한다.
+     */
+    public Transform compose(Transform inner) {
+        if (inner == IDENTITY) return this;
+        if (this == IDENTITY) return inner;
+        Transform b = inner;
+        return new Transform(
+            m00 * b.m00 + m01 * b.m10 + m02 * b.m20,
+            m00 * b.m01 + m01 * b.m11 + m02 * b.m21,
+            m00 * b.m02 + m01 * b.m12 + m02 * b.m22,
+            m00 * b.m03 + m01 * b.m13 + m02 * b.m23 + m03,
+            m10 * b.m00 + m11 * b.m10 + m12 * b.m20,
+            m10 * b.m01 + m11 * b.m11 + m12 * b.m21,
+            m10 * b.m02 + m11 * b.m12 + m12 * b.m22,
+            m10 * b.m03 + m11 * b.m13 + m12 * b.m23 + m13,
+            m20 * b.m00 + m21 * b.m10 + m22 * b.m20,
+            m20 * b.m01 + m21 * b.m11 + m22 * b.m21,
+            m20 * b.m02 + m21 * b.m12 + m22 * b.m22,
+            m20 * b.m03 + m21 * b.m13 + m22 * b.m23 + m23);
+    }
+
+    public double applyX(double x, double y, double z) { return m00 * x + m01 * y + m02 * z + m03; }
+    public double applyY(double x, double y, double z) { return m10 * x + m11 * y + m12 * z + m13; }
+    public double applyZ(double x, double y, double z) { return m20 * x + m21 * y + m22 * z + m23; }
+
+    public Point3D apply(Point3D p) {
+        return new Point3D(applyX(p.x(), p.y(), p.z()), applyY(p.x(), p.y(), p.z()), applyZ(p.x(), p.y(), p.z()));
+    }
+
+    public boolean isIdentity() {
+        return this == IDENTITY
+            || (m00 == 1 && m01 == 0 && m02 == 0 && m03 == 0
+             && m10 == 0 && m11 == 1 && m12 == 0 && m13 == 0
+             && m20 == 0 && m21 == 0 && m22 == 1 && m23 == 0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Transform[[%.4f %.4f %.4f %.4f] [%.4f %.4f %.4f %.4f] [%.4f %.4f %.4f %.4f]]",
+            m00, m01, m02, m03, m10, m11, m12, m13, m20, m21, m22, m23);
+    }
+}
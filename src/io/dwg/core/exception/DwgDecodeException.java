@@ -0,0 +1,69 @@
+package io.dwg.core.exception;
+
+/**
+ * 비트 스트림/객체 디코딩 실패. 손상 객체가 많은 도면에서는 수만 번 발생하므로
+ * 스택 트레이스를 만들지 않고, 메시지도 필요할 때만 만든다.
+ * 기존 {@code catch (IllegalStateException)} 코드와 호환되도록 IllegalStateException을 상속한다.
+ */
+public class DwgDecodeException extends IllegalStateException {
+
+    /** 실패 종류 */
+    public enum Kind {
+        /** BD opcode 11 */
+        INVALID_BD_OPCODE,
+        /** BDWMD(기본값 있는 BD) opcode 11 */
+        INVALID_BDWMD_OPCODE,
+        /** MS 객체 크기가 0 이하이거나 버퍼를 벗어남 */
+        INVALID_OBJECT_SIZE,
+        /** 버퍼 범위를 벗어난 읽기/이동 */
+        OUT_OF_BOUNDS,
+        /** 항목 수가 음수이거나 있을 수 없이 큼 */
+        INVALID_COUNT,
+        /** 공통 헤더/타입별 리더의 그 밖의 실패 */
+        READER_FAILED,
+        /** 섹션 페이지가 페이지 맵에 없거나 데이터 페이지 헤더가 맞지 않음 */
+        PAGE_UNREADABLE,
+        /** 섹션 페이지 압축 해제 실패 (해당 구간은 0으로 남는다) */
+        PAGE_DECOMPRESS_FAILED,
+        /** 페이지 맵/섹션 맵을 읽지 못해 페이지 스캔으로 대체 */
+        SECTION_MAP_UNREADABLE
+    }
+
+    private final Kind kind;
+    private final long bitOffset;
+
+    public DwgDecodeException(Kind kind, long bitOffset) {
+        this.kind = kind;
+        this.bitOffset = bitOffset;
+    }
+
+    public Kind kind() {
+        return kind;
+    }
+
+    /** 실패한 위치 (섹션 시작 기준 비트). 모르면 -1 */
+    public long bitOffset() {
+        return bitOffset;
+    }
+
+    /** 스택 트레이스 생략 */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+
+    @Override
+    public String getMessage() {
+        return kind + " [bitOffset=" + bitOffset + "]";
+    }
+
+    /** 임의 예외의 실패 종류 */
+    public static Kind kindOf(Throwable t) {
+        if (t instanceof DwgDecodeException d) return d.kind();
+        if (t instanceof IndexOutOfBoundsException || t instanceof java.nio.BufferUnderflowException
+                || t instanceof IllegalArgumentException) {
+            return Kind.OUT_OF_BOUNDS;
+        }
+        return Kind.READER_FAILED;
+    }
+}
@@ -0,0 +1,160 @@
+package io.dwg.core.exception;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 도면 하나를 읽으며 모은 디코딩 실패 기록.
+ * 실패는 예외로 흘려보내지 않고 종류/핸들/타입/비트 위치만 기본형 배열에 쌓는다.
+ * 종류별 개수는 모두 세고, 상세 기록은 처음 {@code capacity}개까지만 남긴다.
+ * 섹션 페이지 단위 실패는 객체와 위치 정보가 달라 {@link #pages()}에 따로 남긴다.
+ */
+public class DwgDiagnostics {
+
+    /** 기본 상세 기록 수 */
+    public static final int DEFAULT_CAPACITY = 10_000;
+
+    /**
+     * 실패 하나.
+     * @param handle    객체 핸들 (모르면 -1)
+     * @param typeCode  객체 타입 코드 (모르면 -1)
+     * @param bitOffset 실패 위치 (섹션 시작 기준 비트, 모르면 -1)
+     */
+    public record Entry(DwgDecodeException.Kind kind, long handle, int typeCode, long bitOffset) { }
+
+    /**
+     * 섹션 페이지 실패 하나.
+     * @param section    섹션 이름 (맵 자체의 실패면 빈 문자열)
+     * @param pageId     페이지 번호 (모르면 -1)
+     * @param fileOffset 페이지 파일 오프셋 (바이트, 모르면 -1)
+     */
+    public record PageEntry(DwgDecodeException.Kind kind, String section, long pageId, long fileOffset) { }
+
+    private static final DwgDecodeException.Kind[] KINDS = DwgDecodeException.Kind.values();
+
+    private final int capacity;
+    private final long[] counts = new long[KINDS.length];
+    private byte[] kinds = new byte[16];
+    private long[] handles = new long[16];
+    private int[] typeCodes = new int[16];
+    private long[] bitOffsets = new long[16];
+    private int size;
+    // 페이지 실패는 드물고, 지연 압축 해제 스레드에서도 기록되므로 동기화한다
+    private final List<PageEntry> pages = new ArrayList<>();
+
+    public DwgDiagnostics() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public DwgDiagnostics(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public void record(DwgDecodeException.Kind kind, long handle, int typeCode, long bitOffset) {
+        counts[kind.ordinal()]++;
+        if (size >= capacity) return;
+        if (size == kinds.length) {
+            int n = Math.min(capacity, size * 2);
+            kinds = Arrays.copyOf(kinds, n);
+            handles = Arrays.copyOf(handles, n);
+            typeCodes = Arrays.copyOf(typeCodes, n);
+            bitOffsets = Arrays.copyOf(bitOffsets, n);
+        }
+        kinds[size] = (byte) kind.ordinal();
+        handles[size] = handle;
+        typeCodes[size] = typeCode;
+        bitOffsets[size] = bitOffset;
+        size++;
+    }
+
+    /** 섹션 페이지 실패 기록 */
+    public synchronized void recordPage(DwgDecodeException.Kind kind, String section, long pageId, long fileOffset) {
+        counts[kind.ordinal()]++;
+        if (pages.size() < capacity) {
+            pages.add(new PageEntry(kind, section, pageId, fileOffset));
+        }
+    }
+
+    /** 예외로 받은 실패 기록. 위치는 예외에 있으면 그것, 없으면 bitOffset */
+    public void record(Throwable t, long handle, int typeCode, long bitOffset) {
+        long at = t instanceof DwgDecodeException d && d.bitOffset() >= 0 ? d.bitOffset() : bitOffset;
+        record(DwgDecodeException.kindOf(t), handle, typeCode, at);
+    }
+
+    /** 다른 기록(예: 병렬 디코딩의 구간별 기록)을 이어 붙인다 */
+    public void addAll(DwgDiagnostics other) {
+        for (PageEntry p : other.pages()) {
+            recordPage(p.kind(), p.section(), p.pageId(), p.fileOffset());
+        }
+        for (int i = 0; i < other.size; i++) {
+            record(KINDS[other.kinds[i]], other.handles[i], other.typeCodes[i], other.bitOffsets[i]);
+        }
+        for (int k = 0; k < counts.length; k++) {
+            // 상세 기록에서 빠진 실패도 개수에는 넣는다
+            long dropped = other.counts[k] - countRetained(other, k);
+            counts[k] += dropped;
+        }
+    }
+
+    /** 전체 실패 수 */
+    public long count() {
+        long total = 0;
+        for (long c : counts) total += c;
+        return total;
+    }
+
+    public long count(DwgDecodeException.Kind kind) {
+        return counts[kind.ordinal()];
+    }
+
+    public boolean isEmpty() {
+        return count() == 0;
+    }
+
+    /** 남아 있는 상세 기록 (기록 순서) */
+    public List<Entry> entries() {
+        return new AbstractList<>() {
+            @Override
+            public Entry get(int i) {
+                if (i < 0 || i >= size) throw new IndexOutOfBoundsException(i);
+                return new Entry(KINDS[kinds[i]], handles[i], typeCodes[i], bitOffsets[i]);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /** 남아 있는 섹션 페이지 실패 기록 (기록 순서) */
+    public synchronized List<PageEntry> pages() {
+        return List.copyOf(pages);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("DwgDiagnostics{");
+        boolean first = true;
+        for (DwgDecodeException.Kind kind : KINDS) {
+            if (counts[kind.ordinal()] == 0) continue;
+            if (!first) sb.append(", ");
+            sb.append(kind).append('=').append(counts[kind.ordinal()]);
+            first = false;
+        }
+        return sb.append('}').toString();
+    }
+
+    private static long countRetained(DwgDiagnostics d, int kind) {
+        long n = 0;
+        for (PageEntry p : d.pages()) {
+            if (p.kind().ordinal() == kind) n++;
+        }
+        for (int i = 0; i < d.size; i++) {
+            if (d.kinds[i] == kind) n++;
+        }
+        return n;
+    }
+}
@@ -0,0 +1,189 @@
+package io.dwg.core.io;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * byte[] 위에 쓰는 BitOutput.
+ *
+ * <p>비트는 64비트 레지스터에 MSB부터 모았다가 8바이트가 차면 한 번에 배열로 내보낸다.
+ * 원시 값(RS/RL/RD)은 VarHandle 배열 뷰로 바로 써서 값마다 버퍼를 만들지 않는다.
+ * 배열은 모자라면 두 배로 늘린다. 호출 측이 준 배열에서 시작할 수도 있다.</p>
+ */
+public final class ArrayBitOutput implements BitOutput {
+    private static final VarHandle LONG_BE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle SHORT_LE = MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle INT_LE = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle LONG_LE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private byte[] buf;
+    /** buf에 확정된 바이트 수 */
+    private int size;
+    /** 아직 내보내지 않은 비트 (MSB부터 채움) */
+    private long register;
+    /** register에 든 비트 수 (0-63) */
+    private int bits;
+
+    public ArrayBitOutput() {
+        this(256);
+    }
+
+    public ArrayBitOutput(int capacity) {
+        this(new byte[Math.max(capacity, 16)]);
+    }
+
+    /**
+     * buffer의 0번부터 쓴다. 넘치면 더 큰 배열로 옮기므로 결과는 {@link #buffer()}로 받는다.
+     */
+    public ArrayBitOutput(byte[] buffer) {
+        this.buf = buffer;
+    }
+
+    @Override
+    public void writeBit(boolean bit) {
+        if (bit) register |= 1L << (63 - bits);
+        if (++bits == 64) spill();
+    }
+
+    @Override
+    public void writeBits(int value, int n) {
+        if (n < 0 || n > 32) {
+            throw new IllegalArgumentException("n must be between 0 and 32");
+        }
+        put(value & 0xFFFFFFFFL, n);
+    }
+
+    @Override
+    public void writeLongBits(long value, int n) {
+        if (n < 0 || n > 64) {
+            throw new IllegalArgumentException("n must be between 0 and 64");
+        }
+        put(value, n);
+    }
+
+    /** value의 하위 n비트를 레지스터 뒤에 붙인다 */
+    private void put(long value, int n) {
+        if (n == 0) return;
+        long v = n == 64 ? value : value & ((1L << n) - 1);
+        int free = 64 - bits;
+        if (n < free) {
+            register |= v << (free - n);
+            bits += n;
+            return;
+        }
+        int rest = n - free;
+        register |= v >>> rest;
+        spill();
+        if (rest > 0) {
+            register = v << (64 - rest);
+            bits = rest;
+        }
+    }
+
+    /** 가득 찬 레지스터 8바이트를 배열로 */
+    private void spill() {
+        ensure(8);
+        LONG_BE.set(buf, size, register);
+        size += 8;
+        register = 0;
+        bits = 0;
+    }
+
+    /** 바이트 경계로 맞추고 남은 비트(빈 자리는 0)를 배열로 */
+    private void align() {
+        if (bits == 0) return;
+        int bytes = (bits + 7) >>> 3;
+        ensure(8);
+        LONG_BE.set(buf, size, register);
+        size += bytes;
+        register = 0;
+        bits = 0;
+    }
+
+    @Override
+    public void writeRawChar(int v) {
+        align();
+        ensure(1);
+        buf[size++] = (byte) v;
+    }
+
+    @Override
+    public void writeRawShort(short v) {
+        align();
+        ensure(2);
+        SHORT_LE.set(buf, size, v);
+        size += 2;
+    }
+
+    @Override
+    public void writeRawLong(int v) {
+        align();
+        ensure(4);
+        INT_LE.set(buf, size, v);
+        size += 4;
+    }
+
+    @Override
+    public void writeRawDouble(double v) {
+        align();
+        ensure(8);
+        LONG_LE.set(buf, size, Double.doubleToRawLongBits(v));
+        size += 8;
+    }
+
+    @Override
+    public void writeBytes(byte[] src, int off, int len) {
+        align();
+        ensure(len);
+        System.arraycopy(src, off, buf, size, len);
+        size += len;
+    }
+
+    @Override
+    public byte[] toByteArray() {
+        byte[] out = Arrays.copyOf(buf, byteLength());
+        if (bits > 0) {
+            for (int i = 0; i < out.length - size; i++) {
+                out[size + i] = (byte) (register >>> (56 - 8 * i));
+            }
+        }
+        return out;
+    }
+
+    /**
+     * 지금까지 쓴 내용이 담긴 내부 배열 (앞 {@link #byteLength()}바이트가 유효, 마지막 바이트의 빈 비트는 0).
+     * 복사하지 않으므로 이후 쓰기로 내용이 바뀌거나 배열이 교체될 수 있다.
+     */
+    public byte[] buffer() {
+        if (bits > 0) {
+            ensure(8);
+            LONG_BE.set(buf, size, register);
+        }
+        return buf;
+    }
+
+    /** 마지막 부분 바이트를 포함한 바이트 수 */
+    public int byteLength() {
+        return size + ((bits + 7) >>> 3);
+    }
+
+    /** 처음부터 다시 쓰기 (배열은 재사용) */
+    public void reset() {
+        size = 0;
+        register = 0;
+        bits = 0;
+    }
+
+    @Override
+    public long position() {
+        return size * 8L + bits;
+    }
+
+    private void ensure(int n) {
+        if (size + n > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length * 2, size + n));
+        }
+    }
+}
@@ -35,6 +35,15 @@ public interface BitInput {
      */
     double readRawDouble();
 
+    /**
+     * 비압축 len바이트를 dst[off..]에 읽기
+     */
+    default void readBytes(byte[] dst, int off, int len) {
+        for (int i = 0; i < len; i++) {
+            dst[off + i] = (byte) readRawChar();
+        }
+    }
+
     /**
      * 현재 비트 위치 반환
      */
@@ -49,4 +58,9 @@ public interface BitInput {
      * 스트림 끝 여부
      */
     boolean isEof();
+
+    /**
+     * 전체 길이 (바이트)
+     */
+    long length();
 }
@@ -14,6 +14,18 @@ public interface BitOutput {
      */
     void writeBits(int value, int n);
 
+    /**
+     * value의 하위 n비트 쓰기 (MSB first, n ≤ 64)
+     */
+    default void writeLongBits(long value, int n) {
+        if (n > 32) {
+            writeBits((int) (value >>> 32), n - 32);
+            writeBits((int) value, 32);
+        } else {
+            writeBits((int) value, n);
+        }
+    }
+
     /**
      * 비압축 1바이트 쓰기
      */
@@ -34,6 +46,15 @@ public interface BitOutput {
      */
     void writeRawDouble(double v);
 
+    /**
+     * 비압축 len바이트 쓰기
+     */
+    default void writeBytes(byte[] src, int off, int len) {
+        for (int i = 0; i < len; i++) {
+            writeRawChar(src[off + i] & 0xFF);
+        }
+    }
+
     /**
      * 쓴 내용을 바이트 배열로 반환
      */
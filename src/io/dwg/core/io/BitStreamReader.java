@@ -1,6 +1,7 @@
 package io.dwg.core.io;
 
 import java.nio.charset.StandardCharsets;
+import io.dwg.core.exception.DwgDecodeException;
 import io.dwg.core.version.DwgVersion;
 
 /**
@@ -119,7 +120,7 @@ public class BitStreamReader {
             case 0b00: return readRawDoubleNoAlign();
             case 0b01: return 1.0;
             case 0b10: return 0.0;
-            case 0b11: throw new IllegalStateException("Invalid BD opcode 11");
+            case 0b11: throw new DwgDecodeException(DwgDecodeException.Kind.INVALID_BD_OPCODE, input.position() - 2);
             default: throw new IllegalStateException();
         }
     }
@@ -133,7 +134,7 @@ public class BitStreamReader {
             case 0b00: return readRawDoubleNoAlign();
             case 0b01: return def;
             case 0b10: return 0.0;
-            case 0b11: throw new IllegalStateException("Invalid BDWMD opcode 11");
+            case 0b11: throw new DwgDecodeException(DwgDecodeException.Kind.INVALID_BDWMD_OPCODE, input.position() - 2);
             default: throw new IllegalStateException();
         }
     }
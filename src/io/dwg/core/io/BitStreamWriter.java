@@ -5,6 +5,7 @@ import io.dwg.core.version.DwgVersion;
 
 /**
  * DWG 스펙 §2의 모든 압축 타입 쓰기를 제공하는 핵심 클래스.
+ * {@link BitStreamReader}와 같이 RC/RS/RL/RD 데이터도 바이트 정렬 없이 비트 스트림에 이어 쓴다.
  */
 public class BitStreamWriter {
     private BitOutput output;
@@ -15,6 +16,11 @@ public class BitStreamWriter {
         this.version = version;
     }
 
+    /** 새 {@link ArrayBitOutput}에 쓰기 */
+    public BitStreamWriter(DwgVersion version) {
+        this(new ArrayBitOutput(), version);
+    }
+
     /**
      * §2.2: BitShort (BS) 쓰기
      */
@@ -24,11 +30,9 @@ public class BitStreamWriter {
         } else if (value == 256) {
             output.writeBits(0b11, 2);
         } else if (value >= 0 && value <= 255) {
-            output.writeBits(0b01, 2);
-            output.writeRawChar(value);
+            output.writeBits((0b01 << 8) | value, 10);
         } else if (value >= 0 && value <= 65535) {
-            output.writeBits(0b00, 2);
-            output.writeRawShort((short)value);
+            output.writeBits(le16(value), 18);  // opcode 00 + RS
         } else {
             throw new IllegalArgumentException("Value out of range for BitShort: " + value);
         }
@@ -41,38 +45,40 @@ public class BitStreamWriter {
         if (value == 0) {
             output.writeBits(0b10, 2);
         } else if (value >= 0 && value <= 255) {
-            output.writeBits(0b01, 2);
-            output.writeRawChar(value);
+            output.writeBits((0b01 << 8) | value, 10);
         } else {
             output.writeBits(0b00, 2);
-            output.writeRawLong(value);
+            writeRawLong(value);
         }
     }
 
     /**
-     * §2.4: BitLongLong (BLL) 쓰기
+     * BOT (Bit Object Type, R2010+) 쓰기 ({@link BitStreamReader#readBOT()})
      */
-    public void writeBitLongLong(long value) {
-        int byteCount;
-        if (value >= 0 && value < 256) {
-            byteCount = 1;
-        } else if (value >= 0 && value < 65536) {
-            byteCount = 2;
-        } else if (value >= 0 && value < (1L << 32)) {
-            byteCount = 4;
+    public void writeBitObjectType(int type) {
+        if (type >= 0 && type <= 0xFF) {
+            output.writeBits(type, 10);
+        } else if (type >= 0x1F0 && type <= 0x2EF) {
+            output.writeBits((0b01 << 8) | (type - 0x1F0), 10);
+        } else if (type >= 0 && type <= 0xFFFF) {
+            output.writeBits((0b10 << 16) | le16(type), 18);
         } else {
-            byteCount = 8;
+            throw new IllegalArgumentException("Value out of range for BitObjectType: " + type);
         }
+    }
 
-        int opcode;
-        if (byteCount == 1) opcode = 0;
-        else if (byteCount == 2) opcode = 1;
-        else if (byteCount == 4) opcode = 2;
-        else opcode = 3;
-
-        output.writeBits(opcode, 3);
-        for (int i = 0; i < byteCount; i++) {
-            output.writeRawChar((int)((value >> (i * 8)) & 0xFF));
+    /**
+     * §2.4: BitLongLong (BLL) 쓰기
+     * 3비트 바이트 수 + LE 바이트 (libredwg bit_write_BLL()). 0은 바이트 없이 길이 0.
+     */
+    public void writeBitLongLong(long value) {
+        int byteCount = (64 - Long.numberOfLeadingZeros(value) + 7) >>> 3;
+        if (byteCount > 7) {
+            throw new IllegalArgumentException("Value out of range for BitLongLong: " + Long.toHexString(value));
+        }
+        output.writeBits(byteCount, 3);
+        if (byteCount > 0) {
+            output.writeLongBits(Long.reverseBytes(value) >>> (64 - byteCount * 8), byteCount * 8);
         }
     }
 
@@ -86,7 +92,7 @@ public class BitStreamWriter {
             output.writeBits(0b01, 2);
         } else {
             output.writeBits(0b00, 2);
-            output.writeRawDouble(value);
+            writeRawDouble(value);
         }
     }
 
@@ -100,64 +106,47 @@ public class BitStreamWriter {
             output.writeBits(0b01, 2);
         } else {
             output.writeBits(0b00, 2);
-            output.writeRawDouble(value);
+            writeRawDouble(value);
         }
     }
 
     /**
      * §2.6: Modular Char (MC) 쓰기
+     * 이어지는 바이트는 bit7=1 + 7비트, 마지막 바이트는 bit6=부호 + 6비트 ({@link BitStreamReader#readModularChar()})
      */
     public void writeModularChar(int value) {
         boolean negative = value < 0;
-        int absValue = Math.abs(value);
-
-        int[] bytes = new int[5];
-        int count = 0;
-        int remaining = absValue;
-
-        do {
-            int b = remaining & 0x7F;
-            remaining >>= 7;
-            if (remaining > 0) {
-                b |= 0x80;
-            }
-            if (negative && count == 0) {
-                b |= 0x40;
-            }
-            bytes[count++] = b;
-        } while (remaining > 0);
+        long remaining = Math.abs((long) value);
+        while (remaining > 0x3F) {
+            output.writeBits(0x80 | (int) (remaining & 0x7F), 8);
+            remaining >>>= 7;
+        }
+        output.writeBits((negative ? 0x40 : 0) | (int) remaining, 8);
+    }
 
-        for (int i = 0; i < count; i++) {
-            output.writeRawChar(bytes[i]);
+    /**
+     * UMC (Unsigned Modular Char) 쓰기: 바이트마다 bit7=계속 + 7비트
+     */
+    public void writeUnsignedModularChar(long value) {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            output.writeBits(0x80 | (int) (remaining & 0x7F), 8);
+            remaining >>>= 7;
         }
+        output.writeBits((int) remaining, 8);
     }
 
     /**
      * §2.7: Modular Short (MS) 쓰기
+     * LE16 단위, bit15=계속 + 15비트. MS는 부호 없음
      */
     public void writeModularShort(int value) {
-        boolean negative = value < 0;
-        int absValue = Math.abs(value);
-
-        int[] words = new int[5];
-        int count = 0;
-        int remaining = absValue;
-
-        do {
-            int w = remaining & 0x7FFF;
-            remaining >>= 15;
-            if (remaining > 0) {
-                w |= 0x8000;
-            }
-            if (negative && count == 0) {
-                w |= 0x4000;
-            }
-            words[count++] = w;
-        } while (remaining > 0);
-
-        for (int i = 0; i < count; i++) {
-            output.writeRawShort((short)words[i]);
+        long remaining = value & 0xFFFFFFFFL;
+        while (remaining > 0x7FFF) {
+            output.writeBits(le16(0x8000 | (int) (remaining & 0x7FFF)), 16);
+            remaining >>>= 15;
         }
+        output.writeBits(le16((int) remaining), 16);
     }
 
     /**
@@ -204,23 +193,15 @@ public class BitStreamWriter {
     }
 
     /**
-     * Handle 쓰기
+     * Handle 쓰기: 4비트 코드 + 4비트 바이트 수 + 값 바이트 (상위 바이트부터)
      */
     public void writeHandle(long handle) {
         int code = (int)((handle >> 56) & 0x0F);
-        int counter = 1;
-        
-        long tempHandle = handle & 0xFFFFFFFFFFFFFFFL;
-        while ((tempHandle >> (counter * 8)) != 0 && counter < 8) {
-            counter++;
-        }
-
-        output.writeBits(code, 4);
-        output.writeBits(counter, 4);
+        long value = handle & 0xFFFFFFFFFFFFFFL;
+        int counter = Math.max(1, (64 - Long.numberOfLeadingZeros(value) + 7) >>> 3);
 
-        for (int i = 0; i < counter; i++) {
-            output.writeRawChar((int)((handle >> (i * 8)) & 0xFF));
-        }
+        output.writeBits((code << 4) | counter, 8);
+        output.writeLongBits(value, counter * 8);
     }
 
     /**
@@ -230,7 +211,7 @@ public class BitStreamWriter {
         byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
         writeBitShort(bytes.length);
         for (byte b : bytes) {
-            output.writeRawChar(b & 0xFF);
+            output.writeBits(b & 0xFF, 8);
         }
     }
 
@@ -239,9 +220,8 @@ public class BitStreamWriter {
      */
     public void writeUnicodeText(String text) {
         writeBitShort(text.length());
-        for (char c : text.toCharArray()) {
-            output.writeRawChar(c & 0xFF);
-            output.writeRawChar((c >> 8) & 0xFF);
+        for (int i = 0; i < text.length(); i++) {
+            output.writeBits(le16(text.charAt(i)), 16);
         }
     }
 
@@ -286,8 +266,8 @@ public class BitStreamWriter {
         if (values.length < 2) {
             throw new IllegalArgumentException("Expected at least 2 values");
         }
-        output.writeRawDouble(values[0]);
-        output.writeRawDouble(values[1]);
+        writeRawDouble(values[0]);
+        writeRawDouble(values[1]);
     }
 
     /**
@@ -297,9 +277,42 @@ public class BitStreamWriter {
         if (values.length < 3) {
             throw new IllegalArgumentException("Expected at least 3 values");
         }
-        output.writeRawDouble(values[0]);
-        output.writeRawDouble(values[1]);
-        output.writeRawDouble(values[2]);
+        writeRawDouble(values[0]);
+        writeRawDouble(values[1]);
+        writeRawDouble(values[2]);
+    }
+
+    /**
+     * RC (Raw Char) 쓰기 — 비트 스트림에 정렬 없이
+     */
+    public void writeRawChar(int value) {
+        output.writeBits(value & 0xFF, 8);
+    }
+
+    /**
+     * RS (Raw Short, LE16) 쓰기 — 비트 스트림에 정렬 없이
+     */
+    public void writeRawShort(int value) {
+        output.writeBits(le16(value), 16);
+    }
+
+    /**
+     * RL (Raw Long, LE32) 쓰기 — 비트 스트림에 정렬 없이
+     */
+    public void writeRawLong(int value) {
+        output.writeBits(Integer.reverseBytes(value), 32);
+    }
+
+    /**
+     * RD (Raw Double) 쓰기 — 비트 스트림에 정렬 없이 8바이트 ({@link BitStreamReader#readRawDouble()})
+     */
+    public void writeRawDouble(double value) {
+        output.writeLongBits(Long.reverseBytes(Double.doubleToRawLongBits(value)), 64);
+    }
+
+    /** LE16 두 바이트를 MSB-first 비트 순서로 (하위 바이트가 먼저 나가도록) */
+    private static int le16(int value) {
+        return ((value & 0xFF) << 8) | ((value >>> 8) & 0xFF);
     }
 
     public byte[] toByteArray() {
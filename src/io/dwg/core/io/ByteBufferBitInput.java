@@ -83,6 +83,13 @@ public class ByteBufferBitInput implements BitInput {
         return value;
     }
 
+    @Override
+    public void readBytes(byte[] dst, int off, int len) {
+        alignToByteOffset();
+        buffer.get(dst, off, len);
+        bitOffset += 8L * len;
+    }
+
     @Override
     public long position() {
         return bitOffset;
@@ -92,6 +99,10 @@ public class ByteBufferBitInput implements BitInput {
     public void seek(long bitPos) {
         long bytePos = bitPos / 8;
         int bitInByte = (int)(bitPos % 8);
+        if (bytePos > buffer.limit()) {
+            // 2GB를 넘는 입력은 ChunkedBitInput 사용
+            throw new IllegalArgumentException("position beyond buffer: " + bitPos);
+        }
         buffer.position((int)bytePos);
         bitOffset = bitPos;
         bitsRemainingInByte = 0;
@@ -106,13 +117,21 @@ public class ByteBufferBitInput implements BitInput {
         return buffer.position() >= buffer.limit();
     }
 
+    @Override
+    public long length() {
+        return buffer.limit();
+    }
+
     /**
      * 서브 스트림 생성 (섹션 분리에 사용)
      */
     public ByteBufferBitInput slice(long startBit, long lengthBits) {
         long startByte = startBit / 8;
         long lengthBytes = (lengthBits + 7) / 8;
-        
+        if (startByte > buffer.limit()) {
+            throw new IllegalArgumentException("slice beyond buffer: " + startBit);
+        }
+
         int oldPos = buffer.position();
         buffer.position((int)startByte);
         ByteBuffer slicedBuf = buffer.slice();
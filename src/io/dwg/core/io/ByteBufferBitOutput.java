@@ -77,6 +77,14 @@ public class ByteBufferBitOutput implements BitOutput {
         baos.write(bb.array(), 0, 8);
     }
 
+    @Override
+    public void writeBytes(byte[] src, int off, int len) {
+        if (bitsUsedInPending > 0) {
+            flush();
+        }
+        baos.write(src, off, len);
+    }
+
     @Override
     public byte[] toByteArray() {
         flush();
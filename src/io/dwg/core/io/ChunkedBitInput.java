@@ -0,0 +1,107 @@
+package io.dwg.core.io;
+
+import java.nio.BufferUnderflowException;
+
+/**
+ * BitInput 구현체. {@link LargeByteBuffer} 위에서 동작하며 비트 위치를 long으로 유지하므로
+ * 2GB를 넘는 파일/섹션도 읽을 수 있다.
+ *
+ * <p>동작은 {@link ByteBufferBitInput}과 같다: 비압축 읽기(RC/RS/RL/RD)는 다음 바이트 경계로
+ * 정렬한 뒤 읽고, 끝을 지난 비트 읽기는 0을 돌려준다.</p>
+ */
+public class ChunkedBitInput implements BitInput {
+    private final LargeByteBuffer data;
+    private long bitOffset;
+
+    public ChunkedBitInput(LargeByteBuffer data) {
+        this.data = data;
+    }
+
+    @Override
+    public boolean readBit() {
+        long byteIndex = bitOffset >>> 3;
+        boolean bit = byteIndex < data.size()
+            && ((data.get(byteIndex) >> (7 - (int) (bitOffset & 7))) & 1) != 0;
+        bitOffset++;
+        return bit;
+    }
+
+    @Override
+    public int readBits(int n) {
+        if (n < 0 || n > 32) {
+            throw new IllegalArgumentException("n must be between 0 and 32");
+        }
+        int result = 0;
+        for (int i = 0; i < n; i++) {
+            result = (result << 1) | (readBit() ? 1 : 0);
+        }
+        return result;
+    }
+
+    @Override
+    public int readRawChar() {
+        return (int) readLE(1) & 0xFF;
+    }
+
+    @Override
+    public short readRawShort() {
+        return (short) readLE(2);
+    }
+
+    @Override
+    public int readRawLong() {
+        return (int) readLE(4);
+    }
+
+    @Override
+    public double readRawDouble() {
+        return Double.longBitsToDouble(readLE(8));
+    }
+
+    @Override
+    public void readBytes(byte[] dst, int off, int len) {
+        long byteIndex = alignedByteIndex();
+        data.get(byteIndex, dst, off, len);
+        bitOffset = (byteIndex + len) << 3;
+    }
+
+    @Override
+    public long position() {
+        return bitOffset;
+    }
+
+    @Override
+    public void seek(long bitPos) {
+        if (bitPos < 0 || (bitPos >>> 3) > data.size()) {
+            throw new IllegalArgumentException("position beyond buffer: " + bitPos);
+        }
+        bitOffset = bitPos;
+    }
+
+    @Override
+    public boolean isEof() {
+        return alignedByteIndex() >= data.size();
+    }
+
+    @Override
+    public long length() {
+        return data.size();
+    }
+
+    private long readLE(int bytes) {
+        long byteIndex = alignedByteIndex();
+        if (byteIndex + bytes > data.size()) {
+            throw new BufferUnderflowException();
+        }
+        long value = 0;
+        for (int i = 0; i < bytes; i++) {
+            value |= (data.get(byteIndex + i) & 0xFFL) << (8 * i);
+        }
+        bitOffset = (byteIndex + bytes) << 3;
+        return value;
+    }
+
+    private long alignedByteIndex() {
+        return (bitOffset + 7) >>> 3;
+    }
+}
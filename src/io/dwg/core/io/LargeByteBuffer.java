@@ -0,0 +1,132 @@
+package io.dwg.core.io;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * long 오프셋으로 접근하는 바이트 버퍼. 2GB를 넘는 파일/섹션을 ByteBuffer 여러 개로 나눠 담는다.
+ *
+ * <p>배열 하나에 들어가는 크기면 단일 힙 배열을 쓰고({@link #array()}로 복사 없이 꺼낼 수 있음),
+ * 그보다 크면 1GB 단위 청크로 나눈다. 모든 접근은 절대 위치 기반이라 읽기는 스레드 안전하다.</p>
+ */
+public final class LargeByteBuffer {
+    /** byte[] 하나의 최대 크기 (JVM 헤더 여유분 제외) */
+    public static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    private static final int CHUNK_SHIFT = 30;
+    private static final long CHUNK_MASK = (1L << CHUNK_SHIFT) - 1;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+
+    private final ByteBuffer[] chunks;
+    private final long size;
+    private final byte[] array;  // 단일 힙 배열일 때만
+
+    private LargeByteBuffer(ByteBuffer[] chunks, long size, byte[] array) {
+        this.chunks = chunks;
+        this.size = size;
+        this.array = array;
+    }
+
+    /** 바이트 배열을 복사 없이 감싼다 */
+    public static LargeByteBuffer wrap(byte[] bytes) {
+        return new LargeByteBuffer(new ByteBuffer[] {ByteBuffer.wrap(bytes)}, bytes.length, bytes);
+    }
+
+    /** 0으로 채운 버퍼 생성 */
+    public static LargeByteBuffer allocate(long size) {
+        if (size < 0) throw new IllegalArgumentException("negative size: " + size);
+        if (size <= MAX_ARRAY_SIZE) {
+            return wrap(new byte[(int) size]);
+        }
+        ByteBuffer[] chunks = new ByteBuffer[(int) ((size + CHUNK_MASK) >>> CHUNK_SHIFT)];
+        for (int i = 0; i < chunks.length; i++) {
+            chunks[i] = ByteBuffer.allocate((int) Math.min(CHUNK_SIZE, size - ((long) i << CHUNK_SHIFT)));
+        }
+        return new LargeByteBuffer(chunks, size, null);
+    }
+
+    /** 파일 전체를 읽기 전용으로 메모리 매핑 (1GB 청크). 매핑은 채널을 닫은 뒤에도 유효하다. */
+    public static LargeByteBuffer map(FileChannel channel) throws IOException {
+        long size = channel.size();
+        ByteBuffer[] chunks = new ByteBuffer[(int) Math.max(1, (size + CHUNK_MASK) >>> CHUNK_SHIFT)];
+        for (int i = 0; i < chunks.length; i++) {
+            long start = (long) i << CHUNK_SHIFT;
+            chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(CHUNK_SIZE, size - start));
+        }
+        return new LargeByteBuffer(chunks, size, null);
+    }
+
+    public long size() {
+        return size;
+    }
+
+    /** 단일 힙 배열이면 그 배열, 아니면 null */
+    public byte[] array() {
+        return array;
+    }
+
+    public boolean fitsInArray() {
+        return size <= MAX_ARRAY_SIZE;
+    }
+
+    public byte get(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+        }
+        if (array != null) return array[(int) index];
+        return chunks[(int) (index >>> CHUNK_SHIFT)].get((int) (index & CHUNK_MASK));
+    }
+
+    /** index부터 len바이트를 dst[off..]에 복사. 청크 경계를 넘어도 된다. */
+    public void get(long index, byte[] dst, int off, int len) {
+        if (index < 0 || len < 0 || index + len > size) {
+            throw new BufferUnderflowException();
+        }
+        if (array != null) {
+            System.arraycopy(array, (int) index, dst, off, len);
+            return;
+        }
+        while (len > 0) {
+            ByteBuffer chunk = chunks[(int) (index >>> CHUNK_SHIFT)];
+            int pos = (int) (index & CHUNK_MASK);
+            int n = Math.min(len, chunk.limit() - pos);
+            chunk.get(pos, dst, off, n);
+            index += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    /** src[off..off+len)를 index 위치에 쓴다 */
+    public void put(long index, byte[] src, int off, int len) {
+        if (index < 0 || len < 0 || index + len > size) {
+            throw new IndexOutOfBoundsException("index " + index + ", length " + len + ", size " + size);
+        }
+        if (array != null) {
+            System.arraycopy(src, off, array, (int) index, len);
+            return;
+        }
+        while (len > 0) {
+            ByteBuffer chunk = chunks[(int) (index >>> CHUNK_SHIFT)];
+            int pos = (int) (index & CHUNK_MASK);
+            int n = Math.min(len, chunk.limit() - pos);
+            chunk.put(pos, src, off, n);
+            index += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    /** 배열로 복사 (단일 힙 배열이면 그 배열 자체). 2GB를 넘으면 IllegalStateException */
+    public byte[] toByteArray() {
+        if (array != null) return array;
+        if (!fitsInArray()) {
+            throw new IllegalStateException("buffer too large for byte[]: " + size);
+        }
+        byte[] out = new byte[(int) size];
+        get(0, out, 0, out.length);
+        return out;
+    }
+}
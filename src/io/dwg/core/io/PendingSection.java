@@ -0,0 +1,127 @@
+package io.dwg.core.io;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongConsumer;
+
+/**
+ * 압축 해제가 끝나지 않았을 수도 있는 섹션.
+ *
+ * <p>생산자는 섹션 버퍼를 앞에서부터 채우며 "여기까지는 확정"인 바이트 수를 알린다.
+ * 소비자는 {@link #awaitBytes(long)}로 필요한 구간만 기다렸다가 같은 배열을 바로 읽는다.
+ * 아직 아무도 시작하지 않은 섹션을 기다리면 기다리는 스레드가 직접 압축을 푼다.</p>
+ */
+public class PendingSection {
+
+    /** 섹션 버퍼를 채우는 작업. 확정된 앞부분 길이를 ready로 알린다 (증가만) */
+    @FunctionalInterface
+    public interface Producer {
+        void produce(byte[] data, LongConsumer ready) throws Exception;
+    }
+
+    private final String sectionName;
+    private final byte[] data;
+    private final Producer producer;
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final SectionInputStream stream;
+    private volatile long ready;
+    private volatile Throwable failure;
+
+    public PendingSection(String sectionName, byte[] data, Producer producer) {
+        this.sectionName = sectionName;
+        this.data = data;
+        this.producer = producer;
+        this.stream = new SectionInputStream(data, sectionName);
+    }
+
+    private PendingSection(SectionInputStream completed) {
+        this.sectionName = completed.sectionName();
+        this.data = null;
+        this.producer = null;
+        this.stream = completed;
+        this.started.set(true);
+        this.ready = completed.length();
+    }
+
+    /** 이미 다 읽은 섹션 */
+    public static PendingSection completed(SectionInputStream stream) {
+        return new PendingSection(stream);
+    }
+
+    public String sectionName() {
+        return sectionName;
+    }
+
+    public long length() {
+        return data != null ? data.length : stream.length();
+    }
+
+    /** 지금까지 확정된 앞부분 바이트 수 */
+    public long ready() {
+        return ready;
+    }
+
+    public boolean isDone() {
+        return ready >= length();
+    }
+
+    /** 아직 시작되지 않았으면 executor에서 압축 해제 시작 */
+    public void start(Executor executor) {
+        if (started.compareAndSet(false, true)) {
+            executor.execute(this::produce);
+        }
+    }
+
+    /**
+     * [0, end) 구간이 확정될 때까지 기다린다. end가 섹션 길이를 넘으면 섹션 끝까지.
+     * 생산자가 실패했으면 그 예외를 IllegalStateException으로 감싸 던진다.
+     */
+    public void awaitBytes(long end) throws InterruptedException {
+        long target = Math.min(end, length());
+        if (ready < target) {
+            if (started.compareAndSet(false, true)) {
+                produce();
+            }
+            synchronized (this) {
+                while (ready < target) {
+                    wait();
+                }
+            }
+        }
+        if (failure != null) {
+            throw new IllegalStateException(sectionName + ": decompression failed", failure);
+        }
+    }
+
+    /** 섹션 전체가 확정될 때까지 기다린 뒤 스트림 반환 */
+    public SectionInputStream await() throws InterruptedException {
+        awaitBytes(length());
+        return stream;
+    }
+
+    /**
+     * 기다리지 않고 스트림 반환. 바이트는 {@link #ready()}까지만 확정돼 있으며
+     * 나머지는 {@link #awaitBytes(long)} 뒤에 읽어야 한다.
+     */
+    public SectionInputStream stream() {
+        return stream;
+    }
+
+    private void produce() {
+        try {
+            producer.produce(data, this::publish);
+        } catch (Throwable t) {
+            failure = t;
+        } finally {
+            publish(data.length);
+        }
+    }
+
+    private void publish(long upTo) {
+        if (upTo <= ready) return;
+        synchronized (this) {
+            ready = Math.min(upTo, data.length);
+            notifyAll();
+        }
+    }
+}
@@ -5,11 +5,16 @@ import io.dwg.core.version.DwgVersion;
 /**
  * 특정 DWG 섹션 데이터를 감싸는 스트림.
  * 섹션 범위 밖 읽기 방지 및 오프셋 추적.
+ *
+ * <p>2GB를 넘는 섹션은 {@link LargeByteBuffer}로 보관하며, 이때는 {@link #rawBytes()}와
+ * {@link #size()} 대신 {@link #getBitInput()}/{@link #newBitInput()}/{@link #buffer()}와
+ * {@link #length()}로 접근한다.</p>
  */
 public class SectionInputStream {
-    private ByteBufferBitInput input;
+    private BitInput input;
     private String sectionName;
     private byte[] rawData;
+    private LargeByteBuffer largeData;
 
     public SectionInputStream(byte[] data, String sectionName) {
         this.rawData = data;
@@ -17,6 +22,20 @@ public class SectionInputStream {
         this.input = new ByteBufferBitInput(data);
     }
 
+    /**
+     * 배열 하나에 들어가는 크기면 배열 기반으로, 아니면 청크 기반으로 보관
+     */
+    public SectionInputStream(LargeByteBuffer data, String sectionName) {
+        this.sectionName = sectionName;
+        if (data.fitsInArray()) {
+            this.rawData = data.toByteArray();
+            this.input = new ByteBufferBitInput(rawData);
+        } else {
+            this.largeData = data;
+            this.input = new ChunkedBitInput(data);
+        }
+    }
+
     /**
      * 이 섹션용 BitStreamReader 생성
      */
@@ -25,10 +44,17 @@ public class SectionInputStream {
     }
 
     /**
-     * 섹션 바이트 크기 반환
+     * 섹션 바이트 크기 반환 (2GB 이하 섹션)
      */
     public int size() {
-        return rawData.length;
+        return rawBytes().length;
+    }
+
+    /**
+     * 섹션 바이트 크기 반환
+     */
+    public long length() {
+        return rawData != null ? rawData.length : largeData.size();
     }
 
     /**
@@ -39,9 +65,13 @@ public class SectionInputStream {
     }
 
     /**
-     * 원본 바이트 배열 반환
+     * 원본 바이트 배열 반환. 2GB를 넘는 섹션이면 IllegalStateException
      */
     public byte[] rawBytes() {
+        if (rawData == null) {
+            throw new IllegalStateException(sectionName + ": section larger than 2 GB ("
+                + largeData.size() + " bytes), use getBitInput()");
+        }
         return rawData;
     }
 
@@ -49,7 +79,21 @@ public class SectionInputStream {
      * 스트림 재설정
      */
     public void reset() {
-        this.input = new ByteBufferBitInput(rawData);
+        this.input = newBitInput();
+    }
+
+    /**
+     * 위치 0에서 시작하는 새 BitInput. 스트림 위치와 따로 섹션을 읽을 때 (크기 제한 없음)
+     */
+    public BitInput newBitInput() {
+        return rawData != null ? new ByteBufferBitInput(rawData) : new ChunkedBitInput(largeData);
+    }
+
+    /**
+     * 섹션 바이트. 배열 기반이면 그 배열을 복사 없이 감싼다
+     */
+    public LargeByteBuffer buffer() {
+        return rawData != null ? LargeByteBuffer.wrap(rawData) : largeData;
     }
 
     /**
@@ -2,16 +2,18 @@ package io.dwg.core.io;
 
 import io.dwg.core.version.DwgVersion;
 
+import java.io.OutputStream;
+
 /**
  * 섹션 쓰기용 스트림. 완성 후 바이트 배열 추출.
  */
 public class SectionOutputStream {
-    private ByteBufferBitOutput output;
+    private ArrayBitOutput output;
     private String sectionName;
 
     public SectionOutputStream(String sectionName) {
         this.sectionName = sectionName;
-        this.output = new ByteBufferBitOutput();
+        this.output = new ArrayBitOutput();
     }
 
     /**
@@ -35,6 +37,23 @@ public class SectionOutputStream {
         return sectionName;
     }
 
+    /**
+     * 이 섹션 끝에 바이트를 이어 쓰는 OutputStream (쓰기 전에 바이트 경계로 맞춘다)
+     */
+    public OutputStream asStream() {
+        return new OutputStream() {
+            @Override
+            public void write(int b) {
+                output.writeRawChar(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                output.writeBytes(b, off, len);
+            }
+        };
+    }
+
     public BitOutput getBitOutput() {
         return output;
     }
@@ -0,0 +1,85 @@
+package io.dwg.core.type;
+
+/**
+ * 2D 축 정렬 경계 상자 (WCS XY 평면 기준)
+ * Java 16+ record
+ */
+public record BoundingBox(double minX, double minY, double maxX, double maxY) {
+
+    /**
+     * 비어 있는 상자. 어떤 상자와 합쳐도 상대 상자가 그대로 남는다.
+     */
+    public static final BoundingBox EMPTY = new BoundingBox(
+        Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+        Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY);
+
+    /**
+     * 두 점을 포함하는 상자 (좌표 순서 무관)
+     */
+    public static BoundingBox of(double x1, double y1, double x2, double y2) {
+        return new BoundingBox(Math.min(x1, x2), Math.min(y1, y2),
+                               Math.max(x1, x2), Math.max(y1, y2));
+    }
+
+    public boolean isEmpty() {
+        return !(minX <= maxX && minY <= maxY);
+    }
+
+    public double width() { return isEmpty() ? 0.0 : maxX - minX; }
+    public double height() { return isEmpty() ? 0.0 : maxY - minY; }
+
+    public Point2D center() {
+        return new Point2D((minX + maxX) * 0.5, (minY + maxY) * 0.5);
+    }
+
+    /**
+     * 상자끼리 겹치는지 확인 (경계 접촉 포함)
+     */
+    public boolean intersects(BoundingBox o) {
+        return minX <= o.maxX && maxX >= o.minX && minY <= o.maxY && maxY >= o.minY;
+    }
+
+    /**
+     * 다른 상자를 완전히 포함하는지 확인
+     */
+    public boolean contains(BoundingBox o) {
+        return minX <= o.minX && maxX >= o.maxX && minY <= o.minY && maxY >= o.maxY;
+    }
+
+    public boolean contains(double x, double y) {
+        return x >= minX && x <= maxX && y >= minY && y <= maxY;
+    }
+
+    /**
+     * 두 상자를 합친 새 상자 반환
+     */
+    public BoundingBox union(BoundingBox o) {
+        if (o.isEmpty()) return this;
+        if (isEmpty()) return o;
+        return new BoundingBox(Math.min(minX, o.minX), Math.min(minY, o.minY),
+                               Math.max(maxX, o.maxX), Math.max(maxY, o.maxY));
+    }
+
+    /**
+     * 점 (x, y)까지 포함하도록 확장한 새 상자 반환
+     */
+    public BoundingBox include(double x, double y) {
+        return new BoundingBox(Math.min(minX, x), Math.min(minY, y),
+                               Math.max(maxX, x), Math.max(maxY, y));
+    }
+
+    /**
+     * 점에서 상자까지의 최단 거리 제곱 (내부면 0)
+     */
+    public double distanceSq(double x, double y) {
+        double dx = x < minX ? minX - x : (x > maxX ? x - maxX : 0.0);
+        double dy = y < minY ? minY - y : (y > maxY ? y - maxY : 0.0);
+        return dx * dx + dy * dy;
+    }
+
+    @Override
+    public String toString() {
+        if (isEmpty()) return "BoundingBox[EMPTY]";
+        return String.format("BoundingBox[(%.2f, %.2f) - (%.2f, %.2f)]", minX, minY, maxX, maxY);
+    }
+}
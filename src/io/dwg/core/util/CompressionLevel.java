@@ -0,0 +1,25 @@
+package io.dwg.core.util;
+
+/**
+ * LZ77 압축 수준 ({@link R2004Lz77Compressor}, {@link Lz77Compressor} 공통).
+ * 해시 체인에서 비교할 최대 후보 수, 이만큼 길면 더 찾지 않는 길이,
+ * 한 바이트 뒤에서 더 긴 매치가 나오면 지금 매치를 미룰지(lazy matching)로 정한다.
+ */
+public enum CompressionLevel {
+    /** 빠르게: 후보 8개, 미루지 않음 */
+    FAST(8, 32, false),
+    /** 기본: 후보 48개 */
+    DEFAULT(48, 128, true),
+    /** 최대 압축률: 후보 4096개 */
+    MAX(4096, Integer.MAX_VALUE, true);
+
+    final int maxChain;
+    final int niceLength;
+    final boolean lazy;
+
+    CompressionLevel(int maxChain, int niceLength, boolean lazy) {
+        this.maxChain = maxChain;
+        this.niceLength = niceLength;
+        this.lazy = lazy;
+    }
+}
@@ -35,6 +35,63 @@ public abstract class CrcCalculator {
         }
     }
 
+    /**
+     * CRC-16 (객체 끝 RS, 헤더/클래스 섹션). 객체 CRC의 seed는 {@link #OBJECT_SEED}
+     */
+    public static class Crc16Calculator extends CrcCalculator {
+        public static final int OBJECT_SEED = 0xC0C1;
+
+        @Override
+        public int calculate(byte[] data, int seed) {
+            return compute(seed, data, 0, data.length);
+        }
+
+        /** data[off..off+len) 의 CRC-16 */
+        public static int compute(int seed, byte[] data, int off, int len) {
+            int crc = seed & 0xFFFF;
+            for (int i = off, end = off + len; i < end; i++) {
+                crc = (crc >>> 8) ^ CrcLookupTables.CRC16_TABLE[(crc ^ data[i]) & 0xFF];
+            }
+            return crc;
+        }
+
+        /** 0바이트 2^k개를 통과시키는 선형 연산자 (비트별 결과 16개씩) */
+        private static final int[][] ZERO_POW = new int[63][16];
+
+        static {
+            for (int i = 0; i < 16; i++) {
+                int c = 1 << i;
+                ZERO_POW[0][i] = (c >>> 8) ^ CrcLookupTables.CRC16_TABLE[c & 0xFF];
+            }
+            for (int k = 1; k < ZERO_POW.length; k++) {
+                for (int i = 0; i < 16; i++) {
+                    ZERO_POW[k][i] = apply(ZERO_POW[k - 1], ZERO_POW[k - 1][i]);
+                }
+            }
+        }
+
+        /**
+         * crc 상태에서 0바이트 len개를 처리한 상태 (O(log len)).
+         * CRC가 선형이므로 prefix CRC 두 개로 임의 구간의 CRC를 구할 때 쓴다:
+         * crc(seed, data[a..b)) = P[b] ^ shift(P[a] ^ seed, b - a), P[i] = compute(0, data, 0, i)
+         */
+        public static int shift(int crc, long len) {
+            crc &= 0xFFFF;
+            for (int k = 0; len != 0 && crc != 0; k++, len >>>= 1) {
+                if ((len & 1) != 0) crc = apply(ZERO_POW[k], crc);
+            }
+            return crc;
+        }
+
+        private static int apply(int[] op, int v) {
+            int r = 0;
+            for (int i = 0; v != 0; i++, v >>>= 1) {
+                if ((v & 1) != 0) r ^= op[i];
+            }
+            return r;
+        }
+    }
+
     /**
      * CRC-8 검증 (R13-R15 객체 맵)
      */
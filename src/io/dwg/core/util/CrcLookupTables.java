@@ -11,7 +11,21 @@ public abstract class CrcLookupTables {
      */
     static final int[] CRC8_TABLE = new int[256];
 
+    /**
+     * CRC-16 테이블 (0xA001 반사 다항식, 객체/섹션 CRC)
+     */
+    static final int[] CRC16_TABLE = new int[256];
+
     static {
+        // CRC-16 테이블 초기화
+        for (int i = 0; i < 256; i++) {
+            int crc = i;
+            for (int j = 0; j < 8; j++) {
+                crc = (crc & 1) != 0 ? (crc >>> 1) ^ 0xA001 : crc >>> 1;
+            }
+            CRC16_TABLE[i] = crc;
+        }
+
         // CRC-32 테이블 초기화
         for (int i = 0; i < 256; i++) {
             int crc = i;
@@ -0,0 +1,92 @@
+package io.dwg.core.util;
+
+import java.util.Arrays;
+
+/**
+ * 박싱 없는 가변 길이 long 목록.
+ * 핸들/오프셋처럼 대량의 long 값을 모을 때 List&lt;Long&gt; 대신 사용한다.
+ */
+public final class LongList {
+    private static final long[] EMPTY = new long[0];
+
+    private long[] values;
+    private int size;
+
+    public LongList() {
+        this.values = EMPTY;
+    }
+
+    public LongList(int initialCapacity) {
+        this.values = initialCapacity > 0 ? new long[initialCapacity] : EMPTY;
+    }
+
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+
+    public long get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+        }
+        return values[index];
+    }
+
+    public void set(int index, long value) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+        }
+        values[index] = value;
+    }
+
+    public void add(long value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, Math.max(8, size + (size >> 1)));
+        }
+        values[size++] = value;
+    }
+
+    public void addAll(long[] src, int from, int to) {
+        int n = to - from;
+        if (size + n > values.length) {
+            values = Arrays.copyOf(values, Math.max(size + n, size + (size >> 1)));
+        }
+        System.arraycopy(src, from, values, size, n);
+        size += n;
+    }
+
+    /**
+     * 처음 나오는 value를 제거 (뒤 원소를 앞으로 당김)
+     *
+     * @return 제거했으면 true
+     */
+    public boolean removeValue(long value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                System.arraycopy(values, i + 1, values, i, size - i - 1);
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** 마지막 원소를 제거하고 반환 */
+    public long removeLast() {
+        if (size == 0) throw new IndexOutOfBoundsException("empty");
+        return values[--size];
+    }
+
+    public void clear() { size = 0; }
+
+    /** 오름차순 정렬 */
+    public void sort() { Arrays.sort(values, 0, size); }
+
+    /** 오름차순 정렬된 목록에서 이진 검색 (없으면 음수) */
+    public int binarySearch(long value) { return Arrays.binarySearch(values, 0, size, value); }
+
+    public long[] toArray() { return size == 0 ? EMPTY : Arrays.copyOf(values, size); }
+
+    @Override
+    public String toString() {
+        return "LongList" + Arrays.toString(toArray());
+    }
+}
@@ -1,100 +1,287 @@
 package io.dwg.core.util;
 
+import java.util.Arrays;
+
 /**
- * R2007+ 섹션 데이터 압축
- * Decompressor의 역방향
+ * R2007+ 섹션 데이터 압축 ({@link Lz77Decompressor}의 역방향, libredwg decompress_r2007() 형식).
+ *
+ * <p>해시 체인({@link Lz77MatchFinder})으로 0xFFFF바이트 창 안의 매치를 찾아, 거리/길이에 맞는
+ * 가장 짧은 명령으로 출력한다:</p>
+ * <ul>
+ *   <li>거리 ≤ 0x200, 길이 3-14: opcode 0x30-0xEF + 1바이트</li>
+ *   <li>거리 ≤ 0x2000, 길이 3-18: 0x10-0x1F + 2바이트</li>
+ *   <li>거리 ≤ 0x1000, 길이 19-50: 0x00-0x0F(리터럴 직후) / 0xF0-0xFF + 2바이트</li>
+ *   <li>그 밖: 0x20-0x27 + 3바이트 (길이 0xFF 이하), 0x28-0x2F + 4바이트</li>
+ * </ul>
+ * 명령의 마지막 바이트 하위 3비트에 뒤따르는 리터럴 수(0-7)를 넣고, 8바이트 이상은 별도 리터럴 길이로 쓴다.
+ * 리터럴 바이트는 압축 해제 측의 32바이트 단위 뒤섞기(copy_compressed_bytes)의 역순으로 배치한다.
+ * 인스턴스는 상태가 없으므로 여러 스레드에서 같이 써도 된다.
  */
 public class Lz77Compressor {
-    private static final int WINDOW_SIZE = 0x8000;  // 32KB 슬라이딩 윈도우
-    private static final int MAX_MATCH_LENGTH = 0xFF + 15;
-    private static final int MIN_MATCH_LENGTH = 2;
+
+    private static final int MIN_MATCH = 3;
+    private static final int MAX_OFFSET = 0xFFFF;
+    private static final int MAX_LENGTH = 0x100FF;
+
+    /**
+     * 리터럴 n바이트(0-31)를 풀 때 출력 i번째 바이트가 오는 압축 데이터 위치.
+     * libredwg copy_compressed_bytes()의 copy_k(o) 순서: {k, o, k, o, ...}
+     */
+    private static final int[][] LITERAL_RECIPES = {
+        {}, {1, 0}, {2, 0}, {3, 0}, {4, 0}, {1, 4, 4, 0}, {1, 5, 4, 1, 1, 0}, {2, 5, 4, 1, 1, 0},
+        {8, 0}, {1, 8, 8, 0}, {1, 9, 8, 1, 1, 0}, {2, 9, 8, 1, 1, 0},
+        {4, 8, 8, 0}, {1, 12, 4, 8, 8, 0}, {1, 13, 4, 9, 8, 1, 1, 0}, {2, 13, 4, 9, 8, 1, 1, 0},
+        {16, 0}, {8, 9, 1, 8, 8, 0}, {1, 17, 16, 1, 1, 0}, {3, 16, 16, 0},
+        {4, 16, 16, 0}, {1, 20, 4, 16, 16, 0}, {2, 20, 4, 16, 16, 0}, {3, 20, 4, 16, 16, 0},
+        {8, 16, 16, 0}, {8, 17, 1, 16, 16, 0}, {1, 25, 8, 17, 1, 16, 16, 0}, {2, 25, 8, 17, 1, 16, 16, 0},
+        {4, 24, 8, 16, 16, 0}, {1, 28, 4, 24, 8, 16, 16, 0}, {2, 28, 4, 24, 8, 16, 16, 0},
+        {1, 30, 4, 26, 8, 18, 16, 2, 2, 0},
+    };
+    private static final int[][] LITERAL_ORDER = new int[32][];
+    private static final int[] BLOCK_ORDER = order(new int[] {16, 16, 16, 0});
+
+    static {
+        for (int n = 0; n < 32; n++) {
+            LITERAL_ORDER[n] = order(LITERAL_RECIPES[n]);
+        }
+    }
+
+    private final CompressionLevel level;
+
+    public Lz77Compressor() {
+        this(CompressionLevel.DEFAULT);
+    }
+
+    public Lz77Compressor(CompressionLevel level) {
+        this.level = level;
+    }
+
+    public CompressionLevel level() {
+        return level;
+    }
 
     /**
      * raw 데이터를 LZ77로 압축
      */
     public byte[] compress(byte[] raw) {
-        io.dwg.core.io.ByteBufferBitOutput out = new io.dwg.core.io.ByteBufferBitOutput();
-        int pos = 0;
-
-        while (pos < raw.length) {
-            int bestLength = 0;
-            int bestOffset = 0;
-
-            // 최장 매칭 탐색
-            int matchInfo = findLongestMatch(raw, pos);
-            bestLength = (matchInfo >> 16) & 0xFFFF;
-            bestOffset = matchInfo & 0xFFFF;
-
-            if (bestLength >= MIN_MATCH_LENGTH && pos + bestLength <= raw.length) {
-                // 역참조 인코딩
-                out.writeBit(false);
-                out.writeBits(bestOffset, 15);
-                
-                int encodeLength = bestLength - 2;
-                if (encodeLength < 16) {
-                    out.writeBits(encodeLength, 4);
-                } else {
-                    out.writeBits(0, 4);
-                    out.writeRawChar(Math.min(encodeLength - 15, 0xFF));
-                }
-                
-                pos += bestLength;
-            } else {
-                // Literal 인코딩
-                out.writeBit(true);
-                
-                int literalCount = 0;
-                int literalStart = pos;
-                while (pos < raw.length && literalCount < 0xFF + 14) {
-                    int nextMatch = findLongestMatch(raw, pos);
-                    int nextLength = (nextMatch >> 16) & 0xFFFF;
-                    
-                    if (nextLength >= MIN_MATCH_LENGTH) {
-                        break;
-                    }
-                    literalCount++;
-                    pos++;
-                }
+        return compress(raw, 0, raw.length);
+    }
 
-                if (literalCount < 16) {
-                    out.writeBits(literalCount - 1, 4);
-                } else {
-                    out.writeBits(0, 4);
-                    out.writeRawChar(Math.min(literalCount - 1 - 15, 0xFF));
-                }
+    /**
+     * raw[offset, offset+length) 압축
+     */
+    public byte[] compress(byte[] raw, int offset, int length) {
+        Output out = new Output(length + (length >> 6) + 16);
+        if (length == 0) {
+            // 압축 해제 측은 2바이트 미만을 거부한다: 길이 0으로 잘리는 리터럴 하나
+            out.write(0);
+            out.write(0);
+            return out.toByteArray();
+        }
 
-                for (int i = 0; i < literalCount; i++) {
-                    out.writeRawChar(raw[literalStart + i] & 0xFF);
+        int end = offset + length;
+        Lz77MatchFinder finder = new Lz77MatchFinder(raw, offset, end, MIN_MATCH, MAX_OFFSET,
+            level.maxChain, level.niceLength, true);
+        int literalStart = offset;
+        int lowBitsAt = -1;
+        int pos = offset + 1;  // 첫 리터럴은 1바이트 이상
+        long pending = 0;
+        while (pos < end) {
+            long match = pending != 0 ? pending : finder.find(pos, MAX_LENGTH);
+            pending = 0;
+            if (!encodable(match)) {
+                pos++;
+                continue;
+            }
+            if (level.lazy && length(match) < level.niceLength && pos + 1 < end) {
+                long next = finder.find(pos + 1, MAX_LENGTH);
+                if (encodable(next) && length(next) > length(match)) {
+                    pending = next;
+                    pos++;
+                    continue;
                 }
             }
+            boolean afterLiteral = pos > literalStart;
+            writeLiterals(out, raw, literalStart, pos, lowBitsAt, literalStart == offset);
+            lowBitsAt = writeMatch(out, length(match), distance(match), afterLiteral);
+            pos += length(match);
+            literalStart = pos;
         }
-
+        writeLiterals(out, raw, literalStart, end, lowBitsAt, literalStart == offset);
         return out.toByteArray();
     }
 
-    private int findLongestMatch(byte[] data, int pos) {
-        int windowStart = Math.max(0, pos - WINDOW_SIZE);
-        int bestLength = 0;
-        int bestOffset = 0;
-
-        if (pos > 0 && windowStart < pos) {
-            for (int i = windowStart; i < pos; i++) {
-                int length = 0;
-                while (length < MAX_MATCH_LENGTH && 
-                       (i + length) < pos &&
-                       (pos + length) < data.length && 
-                       data[i + length] == data[pos + length]) {
-                    length++;
-                }
+    private static int length(long match) {
+        return (int) (match >>> 32);
+    }
+
+    private static int distance(long match) {
+        return (int) match;
+    }
+
+    /** 명령 바이트 수가 매치 길이보다 짧아야 이득 */
+    private static boolean encodable(long match) {
+        return match != 0 && matchCost(length(match), distance(match)) < length(match);
+    }
 
-                if (length >= MIN_MATCH_LENGTH && length > bestLength) {
-                    bestLength = length;
-                    bestOffset = pos - i;
+    private static int matchCost(int length, int distance) {
+        if (distance <= 0x200 && length <= 14) return 2;
+        if (distance <= 0x2000 && length <= 18) return 3;
+        if (distance <= 0x1000 && length >= 19 && length <= 50) return 3;
+        return length <= 0xFF ? 4 : 5;
+    }
+
+    /**
+     * raw[from, to) 리터럴 출력. 맨 앞 1-7바이트는 0x20 머리, 매치 뒤 1-7바이트는 그 매치의 하위 3비트,
+     * 나머지는 리터럴 길이 opcode
+     */
+    private static void writeLiterals(Output out, byte[] raw, int from, int to, int lowBitsAt, boolean first) {
+        int count = to - from;
+        if (count == 0) return;
+        if (count <= 7 && first) {
+            out.write(0x20);
+            out.write(0);
+            out.write(0);
+            out.write(count);
+        } else if (count <= 7 && lowBitsAt >= 0) {
+            out.or(lowBitsAt, count);
+        } else {
+            writeLiteralLength(out, count);
+        }
+
+        int p = from;
+        while (to - p >= 32) {
+            out.scatter(raw, p, BLOCK_ORDER);
+            p += 32;
+        }
+        out.scatter(raw, p, LITERAL_ORDER[to - p]);
+    }
+
+    /**
+     * 리터럴 길이 인코딩 (libredwg read_literal_length()의 역).
+     * 8~22는 한 바이트, 그 이상은 0x0F + 1바이트, 넘치면 0xFF 뒤에 LE16 반복
+     */
+    private static void writeLiteralLength(Output out, int length) {
+        if (length < 0x17) {
+            out.write(length - 8);
+            return;
+        }
+        out.write(0x0F);
+        int rest = length - 0x17;
+        if (rest < 0xFF) {
+            out.write(rest);
+            return;
+        }
+        out.write(0xFF);
+        rest -= 0xFF;
+        while (true) {
+            int n = Math.min(rest, 0xFFFF);
+            out.write(n & 0xFF);
+            out.write(n >>> 8);
+            rest -= n;
+            if (n != 0xFFFF) break;
+        }
+    }
+
+    /**
+     * 매치 하나 출력 (libredwg read_instructions()의 역).
+     * 리터럴 직후가 아니면 0x0X는 리터럴 길이로 읽히므로 길이 19-50 명령은 0xFX로 쓴다.
+     * @return 뒤따르는 리터럴 수를 넣을 바이트 위치
+     */
+    private static int writeMatch(Output out, int length, int distance, boolean afterLiteral) {
+        int o = distance - 1;
+        if (distance <= 0x200 && length <= 14) {
+            out.write((length << 4) | (o & 0x0F));
+            out.write((o >>> 4) << 3);
+        } else if (distance <= 0x2000 && length <= 18) {
+            out.write(0x10 | (length - 3));
+            out.write(o & 0xFF);
+            out.write((o >>> 8) << 3);
+        } else if (distance <= 0x1000 && length >= 19 && length <= 50) {
+            int n = length - 0x13;
+            out.write((afterLiteral ? 0x00 : 0xF0) | (n & 0x0F));
+            out.write(o & 0xFF);
+            out.write(((n >>> 4) << 7) | ((o >>> 8) << 3));
+        } else if (length <= 0xFF) {
+            out.write(0x20 | (length & 7));
+            out.write(distance & 0xFF);
+            out.write(distance >>> 8);
+            out.write(length & 0xF8);
+        } else {
+            int n = length - 0x100;
+            out.write(0x28 | (n & 7));
+            out.write(o & 0xFF);
+            out.write(o >>> 8);
+            out.write((n >>> 3) & 0xFF);
+            out.write((n >>> 11) << 3);
+        }
+        return out.size() - 1;
+    }
+
+    /** copy_k(o) 목록 → 출력 순서별 압축 데이터 위치 */
+    private static int[] order(int[] recipe) {
+        int total = 0;
+        for (int i = 0; i < recipe.length; i += 2) total += recipe[i];
+        int[] order = new int[total];
+        int d = 0;
+        for (int i = 0; i < recipe.length; i += 2) {
+            int k = recipe[i];
+            int o = recipe[i + 1];
+            switch (k) {
+                case 1, 2, 3 -> {
+                    // 뒤집어서 복사
+                    for (int j = k - 1; j >= 0; j--) order[d++] = o + j;
+                }
+                case 16 -> {
+                    // 8바이트 두 덩어리를 바꿔서 복사
+                    for (int j = 0; j < 8; j++) order[d++] = o + 8 + j;
+                    for (int j = 0; j < 8; j++) order[d++] = o + j;
+                }
+                default -> {
+                    for (int j = 0; j < k; j++) order[d++] = o + j;
                 }
             }
         }
+        return order;
+    }
+
+    /** 크기가 늘어나는 출력 버퍼 */
+    private static final class Output {
+        private byte[] buf;
+        private int size;
+
+        Output(int capacity) {
+            buf = new byte[capacity];
+        }
+
+        int size() {
+            return size;
+        }
+
+        void write(int b) {
+            ensure(1);
+            buf[size++] = (byte) b;
+        }
 
-        // 상위 16비트: length, 하위 16비트: offset
-        return ((bestLength & 0xFFFF) << 16) | (bestOffset & 0xFFFF);
+        void or(int at, int bits) {
+            buf[at] |= (byte) bits;
+        }
+
+        /** src[from + i]를 출력 위치 order[i]에 배치 */
+        void scatter(byte[] src, int from, int[] order) {
+            ensure(order.length);
+            for (int i = 0; i < order.length; i++) {
+                buf[size + order[i]] = src[from + i];
+            }
+            size += order.length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, size);
+        }
+
+        private void ensure(int n) {
+            if (size + n > buf.length) buf = Arrays.copyOf(buf, Math.max(buf.length * 2, size + n));
+        }
     }
 }
@@ -0,0 +1,98 @@
+package io.dwg.core.util;
+
+import java.util.Arrays;
+
+/**
+ * LZ77 압축기용 해시 체인 매치 탐색.
+ *
+ * <p>위치마다 앞 minMatch 바이트의 해시로 체인을 이어 두고, 같은 해시를 가진 이전 위치만
+ * 가까운 것부터 최대 maxChain개 비교한다. 창(maxOffset) 밖으로 나가면 멈춘다.
+ * 호출 측은 위치를 앞에서부터 {@link #find}로 물어야 하며, 건너뛴 위치는 다음 호출에서 체인에 들어간다.</p>
+ */
+final class Lz77MatchFinder {
+
+    private final byte[] data;
+    private final int start;
+    private final int end;
+    private final int minMatch;
+    private final int maxOffset;
+    private final int maxChain;
+    private final int niceLength;
+    private final boolean overlap;
+    private final int[] head;
+    private final int[] prev;
+    private final int prevMask;
+    private final int hashShift;
+    private int inserted;
+
+    /**
+     * @param start, end  data[start, end) 안에서만 찾는다
+     * @param overlap     매치가 현재 위치를 넘어 이어져도 되는지 (복사 중인 출력을 다시 읽는 형식)
+     */
+    Lz77MatchFinder(byte[] data, int start, int end, int minMatch, int maxOffset, int maxChain,
+                    int niceLength, boolean overlap) {
+        this.data = data;
+        this.start = start;
+        this.end = end;
+        this.minMatch = minMatch;
+        this.maxOffset = maxOffset;
+        this.maxChain = maxChain;
+        this.niceLength = niceLength;
+        this.overlap = overlap;
+        int length = end - start;
+        // 입력이 창보다 작으면 체인/해시 표도 입력 크기에 맞춘다
+        int window = Integer.highestOneBit(Math.max(Math.min(maxOffset, length), 1)) * 2;
+        this.prev = new int[window];
+        this.prevMask = window - 1;
+        int hashBits = Math.max(8, Math.min(minMatch == 2 ? 16 : 15, 32 - Integer.numberOfLeadingZeros(length)));
+        this.head = new int[1 << hashBits];
+        this.hashShift = 32 - hashBits;
+        Arrays.fill(head, -1);
+        this.inserted = start;
+    }
+
+    /**
+     * pos에서 시작하는 가장 긴 매치 (최대 maxLength). (길이 &lt;&lt; 32) | 거리, 없으면 0.
+     * pos 앞의 위치는 모두 체인에 넣은 뒤 찾는다.
+     */
+    long find(int pos, int maxLength) {
+        insertUpTo(pos);
+        if (pos + minMatch > end) return 0;
+        int limit = Math.min(maxLength, end - pos);
+        int best = minMatch - 1;
+        int bestDistance = 0;
+        int chain = maxChain;
+        for (int cand = head[hash(pos)]; cand >= start && chain-- > 0; cand = prev[cand & prevMask]) {
+            int distance = pos - cand;
+            if (distance > maxOffset) break;
+            int max = overlap ? limit : Math.min(limit, distance);
+            if (max <= best || data[cand + best] != data[pos + best]) continue;
+            int len = 0;
+            while (len < max && data[cand + len] == data[pos + len]) len++;
+            if (len > best) {
+                best = len;
+                bestDistance = distance;
+                if (len >= niceLength || len == limit) break;
+            }
+        }
+        return best >= minMatch ? ((long) best << 32) | bestDistance : 0;
+    }
+
+    private void insertUpTo(int pos) {
+        int last = Math.min(pos, end - minMatch + 1);
+        for (; inserted < last; inserted++) {
+            int h = hash(inserted);
+            prev[inserted & prevMask] = head[h];
+            head[h] = inserted;
+        }
+        if (inserted < pos) inserted = pos;
+    }
+
+    private int hash(int p) {
+        int key = 0;
+        for (int i = 0; i < minMatch; i++) {
+            key = (key << 8) | (data[p + i] & 0xFF);
+        }
+        return (key * 0x9E3779B1) >>> hashShift;
+    }
+}
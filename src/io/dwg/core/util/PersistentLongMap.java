@@ -0,0 +1,440 @@
+package io.dwg.core.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * 키가 long인 불변 맵 (HAMT, CHAMP 배치).
+ *
+ * <p>키의 하위 비트부터 5비트씩 잘라 32갈래 노드를 따라간다. 노드는 값 칸과 자식 칸을 비트맵 두 개로 나눠
+ * 빽빽하게 담는다. {@link #with}/{@link #without}은 바뀐 경로의 노드만 새로 만들고 나머지는 공유하므로,
+ * 이전 맵은 그대로 남아 잠금 없이 여러 스레드가 읽을 수 있다. 핸들처럼 연속된 키는 노드가 꽉 차 깊이가 얕다.</p>
+ *
+ * <p>많이 바꿀 때는 {@link #builder()}: 빌더가 만든 노드는 빌더 안에서 제자리로 고치고,
+ * {@link Builder#build()} 뒤에는 다시 복사해서 고친다.</p>
+ */
+public final class PersistentLongMap<V> {
+
+    /** (키, 값) 소비자 */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(long key, V value);
+    }
+
+    private static final int BITS = 5;
+    private static final PersistentLongMap<?> EMPTY = new PersistentLongMap<>(new Node<>(null, 0, 0, new long[0], new Object[0]), 0);
+
+    private final Node<V> root;
+    private final int size;
+
+    private PersistentLongMap(Node<V> root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <V> PersistentLongMap<V> empty() {
+        return (PersistentLongMap<V>) EMPTY;
+    }
+
+    /** map의 항목으로 만든 맵 (null 값은 건너뜀) */
+    public static <V> PersistentLongMap<V> of(Map<Long, ? extends V> map) {
+        Builder<V> builder = PersistentLongMap.<V>empty().builder();
+        map.forEach((k, v) -> {
+            if (v != null) builder.put(k, v);
+        });
+        return builder.build();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** 키의 값. 없으면 null */
+    public V get(long key) {
+        return get(root, key);
+    }
+
+    private static <V> V get(Node<V> node, long key) {
+        for (int shift = 0; ; shift += BITS) {
+            int bit = 1 << ((int) (key >>> shift) & 31);
+            if ((node.dataMap & bit) != 0) {
+                int i = Integer.bitCount(node.dataMap & (bit - 1));
+                return node.keys[i] == key ? node.value(i) : null;
+            }
+            if ((node.nodeMap & bit) == 0) return null;
+            node = node.child(Integer.bitCount(node.nodeMap & (bit - 1)));
+        }
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    /** key → value로 바꾼 새 맵. 값이 같으면 this */
+    public PersistentLongMap<V> with(long key, V value) {
+        if (value == null) throw new NullPointerException("value");
+        int[] delta = {0};
+        Node<V> next = root.put(null, key, value, 0, delta);
+        return next == root ? this : new PersistentLongMap<>(next, size + delta[0]);
+    }
+
+    /** key를 뺀 새 맵. 없으면 this */
+    public PersistentLongMap<V> without(long key) {
+        int[] delta = {0};
+        Node<V> next = root.remove(null, key, 0, delta);
+        return next == root ? this : new PersistentLongMap<>(next, size + delta[0]);
+    }
+
+    /** 모든 항목 (순서는 키 비트 순) */
+    public void forEach(EntryConsumer<? super V> action) {
+        root.forEach(action);
+    }
+
+    /** 이 맵에서 시작하는 빌더 */
+    public Builder<V> builder() {
+        return new Builder<>(root, size);
+    }
+
+    /** 읽기 전용 Map 보기 (복사하지 않음) */
+    public Map<Long, V> asMap() {
+        return new MapView<>(this);
+    }
+
+    /**
+     * 여러 항목을 바꿀 때 쓰는 빌더. 한 스레드에서만 쓴다.
+     */
+    public static final class Builder<V> {
+        private Object edit = new Object();
+        private Node<V> root;
+        private int size;
+
+        private Builder(Node<V> root, int size) {
+            this.root = root;
+            this.size = size;
+        }
+
+        public Builder<V> put(long key, V value) {
+            if (value == null) throw new NullPointerException("value");
+            int[] delta = {0};
+            root = root.put(edit, key, value, 0, delta);
+            size += delta[0];
+            return this;
+        }
+
+        public Builder<V> remove(long key) {
+            int[] delta = {0};
+            root = root.remove(edit, key, 0, delta);
+            size += delta[0];
+            return this;
+        }
+
+        public V get(long key) {
+            return PersistentLongMap.get(root, key);
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /** 지금까지의 맵. 이후 빌더 수정은 이 맵에 영향을 주지 않는다 */
+        public PersistentLongMap<V> build() {
+            edit = new Object();
+            return new PersistentLongMap<>(root, size);
+        }
+    }
+
+    /**
+     * 트라이 노드. keys/values[0..bitCount(dataMap))는 값 칸, values 뒤쪽은 자식 노드 (비트 역순).
+     * edit가 빌더의 것과 같으면 그 빌더가 만든 노드라 제자리로 고칠 수 있다.
+     */
+    private static final class Node<V> {
+        final Object edit;
+        int dataMap;
+        int nodeMap;
+        long[] keys;
+        Object[] values;
+
+        Node(Object edit, int dataMap, int nodeMap, long[] keys, Object[] values) {
+            this.edit = edit;
+            this.dataMap = dataMap;
+            this.nodeMap = nodeMap;
+            this.keys = keys;
+            this.values = values;
+        }
+
+        @SuppressWarnings("unchecked")
+        V value(int i) {
+            return (V) values[i];
+        }
+
+        /** 자식 칸 i (values 뒤에서부터) */
+        @SuppressWarnings("unchecked")
+        Node<V> child(int i) {
+            return (Node<V>) values[values.length - 1 - i];
+        }
+
+        private boolean editable(Object edit) {
+            return edit != null && this.edit == edit;
+        }
+
+        Node<V> put(Object edit, long key, V value, int shift, int[] delta) {
+            int bit = 1 << ((int) (key >>> shift) & 31);
+            if ((dataMap & bit) != 0) {
+                int i = Integer.bitCount(dataMap & (bit - 1));
+                if (keys[i] == key) {
+                    if (values[i] == value) return this;
+                    Node<V> n = editable(edit) ? this : copy(edit);
+                    n.values[i] = value;
+                    return n;
+                }
+                // 같은 칸에 다른 키: 두 항목을 담은 자식으로 내린다
+                Node<V> sub = merge(edit, keys[i], value(i), key, value, shift + BITS);
+                delta[0] = 1;
+                return withDataMovedToNode(edit, bit, i, sub);
+            }
+            if ((nodeMap & bit) != 0) {
+                int c = Integer.bitCount(nodeMap & (bit - 1));
+                Node<V> old = child(c);
+                Node<V> sub = old.put(edit, key, value, shift + BITS, delta);
+                if (sub == old) return this;
+                Node<V> n = editable(edit) ? this : copy(edit);
+                n.values[n.values.length - 1 - c] = sub;
+                return n;
+            }
+            delta[0] = 1;
+            return withData(edit, bit, key, value);
+        }
+
+        Node<V> remove(Object edit, long key, int shift, int[] delta) {
+            int bit = 1 << ((int) (key >>> shift) & 31);
+            if ((dataMap & bit) != 0) {
+                int i = Integer.bitCount(dataMap & (bit - 1));
+                if (keys[i] != key) return this;
+                delta[0] = -1;
+                return withoutData(edit, bit, i);
+            }
+            if ((nodeMap & bit) != 0) {
+                int c = Integer.bitCount(nodeMap & (bit - 1));
+                Node<V> old = child(c);
+                Node<V> sub = old.remove(edit, key, shift + BITS, delta);
+                if (delta[0] == 0) return this;
+                if (sub.nodeMap == 0 && Integer.bitCount(sub.dataMap) == 1) {
+                    // 항목 하나만 남은 자식은 이 노드의 값 칸으로 끌어올린다 (빌더가 제자리로 고친 자식도)
+                    return withNodeMovedToData(edit, bit, c, sub.keys[0], sub.value(0));
+                }
+                if (sub == old) return this;
+                Node<V> n = editable(edit) ? this : copy(edit);
+                n.values[n.values.length - 1 - c] = sub;
+                return n;
+            }
+            return this;
+        }
+
+        void forEach(EntryConsumer<? super V> action) {
+            int data = Integer.bitCount(dataMap);
+            for (int i = 0; i < data; i++) action.accept(keys[i], value(i));
+            int nodes = Integer.bitCount(nodeMap);
+            for (int c = 0; c < nodes; c++) child(c).forEach(action);
+        }
+
+        private Node<V> copy(Object edit) {
+            return new Node<>(edit, dataMap, nodeMap, keys.clone(), values.clone());
+        }
+
+        private static <V> Node<V> merge(Object edit, long k1, V v1, long k2, V v2, int shift) {
+            int b1 = (int) (k1 >>> shift) & 31;
+            int b2 = (int) (k2 >>> shift) & 31;
+            if (b1 != b2) {
+                return b1 < b2
+                    ? new Node<>(edit, (1 << b1) | (1 << b2), 0, new long[] {k1, k2}, new Object[] {v1, v2})
+                    : new Node<>(edit, (1 << b1) | (1 << b2), 0, new long[] {k2, k1}, new Object[] {v2, v1});
+            }
+            Node<V> sub = merge(edit, k1, v1, k2, v2, shift + BITS);
+            return new Node<>(edit, 0, 1 << b1, new long[0], new Object[] {sub});
+        }
+
+        private Node<V> withData(Object edit, int bit, long key, V value) {
+            int i = Integer.bitCount(dataMap & (bit - 1));
+            int data = Integer.bitCount(dataMap);
+            long[] k = new long[data + 1];
+            Object[] v = new Object[values.length + 1];
+            System.arraycopy(keys, 0, k, 0, i);
+            System.arraycopy(keys, i, k, i + 1, data - i);
+            k[i] = key;
+            System.arraycopy(values, 0, v, 0, i);
+            System.arraycopy(values, i, v, i + 1, values.length - i);
+            v[i] = value;
+            return replace(edit, dataMap | bit, nodeMap, k, v);
+        }
+
+        private Node<V> withoutData(Object edit, int bit, int i) {
+            int data = Integer.bitCount(dataMap);
+            long[] k = new long[data - 1];
+            Object[] v = new Object[values.length - 1];
+            System.arraycopy(keys, 0, k, 0, i);
+            System.arraycopy(keys, i + 1, k, i, data - 1 - i);
+            System.arraycopy(values, 0, v, 0, i);
+            System.arraycopy(values, i + 1, v, i, values.length - 1 - i);
+            return replace(edit, dataMap & ~bit, nodeMap, k, v);
+        }
+
+        /** 값 칸 i를 빼고 자식 sub를 bit 자리에 넣는다 */
+        private Node<V> withDataMovedToNode(Object edit, int bit, int i, Node<V> sub) {
+            int data = Integer.bitCount(dataMap);
+            int c = Integer.bitCount(nodeMap & (bit - 1));
+            long[] k = new long[data - 1];
+            System.arraycopy(keys, 0, k, 0, i);
+            System.arraycopy(keys, i + 1, k, i, data - 1 - i);
+            Object[] v = new Object[values.length];
+            System.arraycopy(values, 0, v, 0, i);
+            System.arraycopy(values, i + 1, v, i, data - 1 - i);
+            // 자식 칸은 뒤에서부터: 뒤에서 c번째 자리에 끼운다
+            int at = v.length - 1 - c;
+            System.arraycopy(values, data, v, data - 1, at - (data - 1));
+            v[at] = sub;
+            System.arraycopy(values, at + 1, v, at + 1, values.length - at - 1);
+            return replace(edit, dataMap & ~bit, nodeMap | bit, k, v);
+        }
+
+        /** 자식 c를 빼고 (key, value)를 bit 자리의 값 칸으로 */
+        private Node<V> withNodeMovedToData(Object edit, int bit, int c, long key, V value) {
+            int data = Integer.bitCount(dataMap);
+            int i = Integer.bitCount(dataMap & (bit - 1));
+            long[] k = new long[data + 1];
+            System.arraycopy(keys, 0, k, 0, i);
+            System.arraycopy(keys, i, k, i + 1, data - i);
+            k[i] = key;
+            Object[] v = new Object[values.length];
+            System.arraycopy(values, 0, v, 0, i);
+            v[i] = value;
+            System.arraycopy(values, i, v, i + 1, data - i);
+            int from = values.length - 1 - c;
+            // 자식 칸: from 앞쪽은 한 칸 뒤로 밀리고 from 뒤쪽은 그대로
+            System.arraycopy(values, data, v, data + 1, from - data);
+            System.arraycopy(values, from + 1, v, from + 1, values.length - from - 1);
+            return replace(edit, dataMap | bit, nodeMap & ~bit, k, v);
+        }
+
+        private Node<V> replace(Object edit, int dataMap, int nodeMap, long[] k, Object[] v) {
+            if (editable(edit)) {
+                this.dataMap = dataMap;
+                this.nodeMap = nodeMap;
+                this.keys = k;
+                this.values = v;
+                return this;
+            }
+            return new Node<>(edit, dataMap, nodeMap, k, v);
+        }
+    }
+
+    /** {@link #asMap()} */
+    private static final class MapView<V> extends AbstractMap<Long, V> {
+        private final PersistentLongMap<V> map;
+
+        MapView(PersistentLongMap<V> map) {
+            this.map = map;
+        }
+
+        @Override
+        public V get(Object key) {
+            return key instanceof Long k ? map.get(k) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof Long k && map.containsKey(k);
+        }
+
+        @Override
+        public int size() {
+            return map.size;
+        }
+
+        @Override
+        public Set<Entry<Long, V>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<Long, V>> iterator() {
+                    return new EntryIterator<>(map.root);
+                }
+
+                @Override
+                public int size() {
+                    return map.size;
+                }
+            };
+        }
+    }
+
+    /** 깊이 우선 순회 (노드마다 값 칸 다음 자식) */
+    private static final class EntryIterator<V> implements Iterator<Map.Entry<Long, V>> {
+        /** 64비트 키 / 5비트 = 최대 13단계 */
+        @SuppressWarnings("unchecked")
+        private final Node<V>[] nodes = new Node[14];
+        private final int[] dataPos = new int[14];
+        private final int[] childPos = new int[14];
+        private int depth;
+        private Node<V> current;
+        private int index;
+        private int limit;
+
+        EntryIterator(Node<V> root) {
+            nodes[0] = root;
+            current = root;
+            limit = Integer.bitCount(root.dataMap);
+            advance();
+        }
+
+        /** current[index]가 다음 값 칸이 되도록 */
+        private void advance() {
+            while (index >= limit) {
+                Node<V> node = nodes[depth];
+                int children = Integer.bitCount(node.nodeMap);
+                if (childPos[depth] < children) {
+                    Node<V> child = node.child(childPos[depth]++);
+                    depth++;
+                    nodes[depth] = child;
+                    childPos[depth] = 0;
+                    current = child;
+                    index = 0;
+                    limit = Integer.bitCount(child.dataMap);
+                } else if (depth == 0) {
+                    current = null;
+                    return;
+                } else {
+                    depth--;
+                    current = nodes[depth];
+                    index = limit = 0;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return current != null;
+        }
+
+        @Override
+        public Map.Entry<Long, V> next() {
+            if (current == null) throw new NoSuchElementException();
+            Map.Entry<Long, V> e = new AbstractMap.SimpleImmutableEntry<>(current.keys[index], current.value(index));
+            index++;
+            advance();
+            return e;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PersistentLongMap[size=" + size + "]";
+    }
+}
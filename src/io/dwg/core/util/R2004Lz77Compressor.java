@@ -0,0 +1,217 @@
+package io.dwg.core.util;
+
+import java.util.Arrays;
+
+/**
+ * R2004 LZ77 압축 ({@link R2004Lz77Decompressor}의 역방향).
+ *
+ * <p>해시 체인({@link Lz77MatchFinder})으로 0xBFFF바이트 창 안의 매치를 찾아 R2004 opcode로 출력한다:</p>
+ * <ul>
+ *   <li>리터럴 4바이트 이상: 0x01-0x0F (길이-3) 또는 0x00 + 확장 길이</li>
+ *   <li>거리 ≤ 0x400, 길이 3-14: 0x40-0xFF + 1바이트</li>
+ *   <li>거리 ≤ 0x4000: 0x20-0x3F (+ 확장 길이) + 2바이트</li>
+ *   <li>거리 ≤ 0xBFFF: 0x10, 0x12-0x1F (+ 확장 길이) + 2바이트</li>
+ *   <li>매치 뒤 리터럴 1-3바이트는 매치의 하위 2비트에, 끝은 0x11 0x00 0x00</li>
+ * </ul>
+ * 인스턴스는 상태가 없으므로 여러 스레드에서 같이 써도 된다.
+ */
+public class R2004Lz77Compressor {
+
+    private static final int MIN_MATCH = 3;
+    private static final int MAX_OFFSET = 0xBFFF;
+    private static final int SHORT_OFFSET = 0x400;
+    private static final int SHORT_MAX_LENGTH = 14;
+    private static final int MEDIUM_OFFSET = 0x4000;
+
+    private final CompressionLevel level;
+
+    public R2004Lz77Compressor() {
+        this(CompressionLevel.DEFAULT);
+    }
+
+    public R2004Lz77Compressor(CompressionLevel level) {
+        this.level = level;
+    }
+
+    public CompressionLevel level() {
+        return level;
+    }
+
+    /**
+     * raw 전체 압축
+     */
+    public byte[] compress(byte[] raw) {
+        return compress(raw, 0, raw.length);
+    }
+
+    /**
+     * raw[offset, offset+length) 압축.
+     * 첫 리터럴은 4바이트 이상만 표현 가능하므로 더 짧은 입력은 0으로 채워 출력한다.
+     * 압축 해제 측은 섹션 크기로 잘라 쓴다.
+     */
+    public byte[] compress(byte[] raw, int offset, int length) {
+        Output out = new Output(length + (length >> 6) + 16);
+        int end = offset + length;
+        if (length < 4) {
+            byte[] padded = new byte[4];
+            System.arraycopy(raw, offset, padded, 0, length);
+            writeLiteralLength(out, 4);
+            out.write(padded, 0, 4);
+            return out.finish();
+        }
+
+        Lz77MatchFinder finder = new Lz77MatchFinder(raw, offset, end, MIN_MATCH, MAX_OFFSET,
+            level.maxChain, level.niceLength, true);
+        int literalStart = offset;
+        int lowBitsAt = -1;  // 직전 매치에서 리터럴 수를 담을 바이트 위치
+        // 첫 리터럴이 4바이트 이상이 되도록 처음 4바이트는 찾지 않는다
+        int pos = offset + 4;
+        long pending = 0;
+        while (pos < end) {
+            long match = pending != 0 ? pending : finder.find(pos, Integer.MAX_VALUE);
+            pending = 0;
+            if (!encodable(match)) {
+                pos++;
+                continue;
+            }
+            if (level.lazy && length(match) < level.niceLength && pos + 1 < end) {
+                long next = finder.find(pos + 1, Integer.MAX_VALUE);
+                if (encodable(next) && length(next) > length(match)) {
+                    pending = next;
+                    pos++;
+                    continue;
+                }
+            }
+            lowBitsAt = writeLiterals(out, raw, literalStart, pos, lowBitsAt);
+            lowBitsAt = writeMatch(out, length(match), distance(match));
+            pos += length(match);
+            literalStart = pos;
+        }
+        writeLiterals(out, raw, literalStart, end, lowBitsAt);
+        return out.finish();
+    }
+
+    private static int length(long match) {
+        return (int) (match >>> 32);
+    }
+
+    private static int distance(long match) {
+        return (int) match;
+    }
+
+    /** 3바이트 매치는 1바이트 거리(0x400 이하)일 때만 이득 */
+    private static boolean encodable(long match) {
+        return match != 0 && (length(match) > MIN_MATCH || distance(match) <= SHORT_OFFSET);
+    }
+
+    /**
+     * raw[from, to) 리터럴 출력. 매치 뒤 1-3바이트는 그 매치의 하위 2비트에 길이를 넣는다.
+     * @return 항상 -1 (다음 리터럴은 새 매치 뒤에 온다)
+     */
+    private static int writeLiterals(Output out, byte[] raw, int from, int to, int lowBitsAt) {
+        int count = to - from;
+        if (count == 0) return -1;
+        if (count <= 3 && lowBitsAt >= 0) {
+            out.or(lowBitsAt, count);
+        } else {
+            writeLiteralLength(out, count);
+        }
+        out.write(raw, from, count);
+        return -1;
+    }
+
+    /**
+     * 매치 하나 출력.
+     * @return 뒤따르는 리터럴 수를 넣을 바이트 위치
+     */
+    private static int writeMatch(Output out, int length, int distance) {
+        if (distance <= SHORT_OFFSET && length <= SHORT_MAX_LENGTH) {
+            int o = distance - 1;
+            int at = out.size();
+            out.write(((length + 1) << 4) | ((o & 3) << 2));
+            out.write(o >>> 2);
+            return at;
+        }
+        int o;
+        if (distance <= MEDIUM_OFFSET) {
+            o = distance - 1;
+            writeMatchLength(out, 0x20, 0x1F, length);
+        } else {
+            o = distance - MEDIUM_OFFSET;
+            writeMatchLength(out, 0x10 | ((o >>> 11) & 8), 7, length);
+        }
+        int at = out.size();
+        out.write((o & 0x3F) << 2);
+        out.write((o >>> 6) & 0xFF);
+        return at;
+    }
+
+    /** opcode 하위 bits에 (길이-2), 넘치면 0을 두고 확장 길이 (libredwg read_compressed_bytes()의 역) */
+    private static void writeMatchLength(Output out, int opcode, int bits, int length) {
+        int n = length - 2;
+        if (n <= bits) {
+            out.write(opcode | n);
+            return;
+        }
+        out.write(opcode);
+        writeExtension(out, n - bits);
+    }
+
+    /**
+     * 리터럴 길이 인코딩 (libredwg read_literal_length()의 역).
+     * 4~18은 한 바이트, 그 이상은 0x00 뒤에 0xFF 단위 0x00 반복 + 나머지
+     */
+    private static void writeLiteralLength(Output out, int length) {
+        int n = length - 3;
+        if (n <= 0x0F) {
+            out.write(n);
+            return;
+        }
+        out.write(0);
+        writeExtension(out, n - 0x0F);
+    }
+
+    private static void writeExtension(Output out, int rest) {
+        while (rest > 0xFF) {
+            out.write(0);
+            rest -= 0xFF;
+        }
+        out.write(rest);
+    }
+
+    /** 크기가 늘어나는 출력 버퍼 */
+    private static final class Output {
+        private byte[] buf;
+        private int size;
+
+        Output(int capacity) {
+            buf = new byte[capacity];
+        }
+
+        int size() {
+            return size;
+        }
+
+        void write(int b) {
+            if (size == buf.length) buf = Arrays.copyOf(buf, buf.length * 2);
+            buf[size++] = (byte) b;
+        }
+
+        void write(byte[] src, int from, int count) {
+            if (size + count > buf.length) buf = Arrays.copyOf(buf, Math.max(buf.length * 2, size + count));
+            System.arraycopy(src, from, buf, size, count);
+            size += count;
+        }
+
+        void or(int at, int bits) {
+            buf[at] |= (byte) bits;
+        }
+
+        byte[] finish() {
+            write(0x11);
+            write(0);
+            write(0);
+            return Arrays.copyOf(buf, size);
+        }
+    }
+}
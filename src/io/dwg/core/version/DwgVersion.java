@@ -78,6 +78,14 @@ public enum DwgVersion {
         return this.isAtLeast(R2004);
     }
 
+    /**
+     * R2004 파일 구조(페이지 맵/섹션 맵, LZ77 페이지)를 쓰는지 확인.
+     * R2010 이후도 이 구조이며, R2007만 RS 인코딩된 자체 구조를 쓴다.
+     */
+    public boolean usesR2004FileStructure() {
+        return this.isR2004OrLater() && this != R2007;
+    }
+
     /**
      * UTF-16 인코딩 사용 여부
      */
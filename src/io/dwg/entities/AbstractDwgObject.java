@@ -1,33 +1,80 @@
 package io.dwg.entities;
 
 import io.dwg.core.type.DwgHandleRef;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * DwgObject의 공통 필드 구현. 모든 구체 클래스의 부모.
+ *
+ * <p>리액터와 XData는 대부분의 객체에 없으므로 처음 추가할 때 만든다. 리액터는 핸들 값만 long 배열에 담고,
+ * 없는 객체는 공유 빈 배열/빈 목록을 가리킨다.</p>
  */
 public abstract class AbstractDwgObject implements DwgObject {
+    private static final long[] NO_HANDLES = new long[0];
+
     protected long handle;
     protected DwgHandleRef ownerHandle;
-    protected List<DwgHandleRef> reactorHandles = new ArrayList<>();
+    /** 리액터 핸들 값. 앞 reactorCount개만 유효 */
+    protected long[] reactorHandles = NO_HANDLES;
+    protected int reactorCount;
     protected DwgHandleRef xDicHandle;
-    protected List<XDataRecord> xData = new ArrayList<>();
+    /** 첫 XData 전까지는 공유 빈 목록 */
+    protected List<XDataRecord> xData = Collections.emptyList();
     protected int rawTypeCode;
 
     @Override public long handle() { return handle; }
     @Override public int rawTypeCode() { return rawTypeCode; }
     @Override public DwgHandleRef ownerHandle() { return ownerHandle; }
-    @Override public List<DwgHandleRef> reactorHandles() { return Collections.unmodifiableList(reactorHandles); }
     @Override public Optional<DwgHandleRef> xDicHandle() { return Optional.ofNullable(xDicHandle); }
-    @Override public List<XDataRecord> xData() { return Collections.unmodifiableList(xData); }
+
+    /** 리액터가 없으면 공유 빈 목록. 있으면 핸들 배열 위의 읽기 전용 뷰 */
+    @Override
+    public List<DwgHandleRef> reactorHandles() {
+        if (reactorCount == 0) return Collections.emptyList();
+        return new AbstractList<>() {
+            @Override public DwgHandleRef get(int i) { return new DwgHandleRef(reactorHandle(i)); }
+            @Override public int size() { return reactorCount; }
+        };
+    }
+
+    @Override public int reactorCount() { return reactorCount; }
+
+    @Override
+    public long reactorHandle(int index) {
+        if (index < 0 || index >= reactorCount) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + reactorCount);
+        }
+        return reactorHandles[index];
+    }
+
+    @Override
+    public List<XDataRecord> xData() {
+        return xData.isEmpty() ? xData : Collections.unmodifiableList(xData);
+    }
 
     public void setHandle(long handle) { this.handle = handle; }
     public void setOwnerHandle(DwgHandleRef ownerHandle) { this.ownerHandle = ownerHandle; }
     public void setRawTypeCode(int rawTypeCode) { this.rawTypeCode = rawTypeCode; }
-    public void addReactorHandle(DwgHandleRef h) { this.reactorHandles.add(h); }
     public void setXDicHandle(DwgHandleRef xDicHandle) { this.xDicHandle = xDicHandle; }
-    public void addXData(XDataRecord record) { this.xData.add(record); }
+
+    public void addReactorHandle(DwgHandleRef h) {
+        addReactorHandle(h.rawHandle());
+    }
+
+    public void addReactorHandle(long rawHandle) {
+        if (reactorCount == reactorHandles.length) {
+            reactorHandles = Arrays.copyOf(reactorHandles, Math.max(2, 2 * reactorCount));
+        }
+        reactorHandles[reactorCount++] = rawHandle;
+    }
+
+    public void addXData(XDataRecord record) {
+        if (xData.isEmpty()) xData = new ArrayList<>(2);
+        xData.add(record);
+    }
 }
@@ -4,8 +4,8 @@ package io.dwg.entities;
  * DWG 테이블 제어 객체(CONTROL objects) 타입 코드.
  *
  * 참고: 이 enum은 OpenDesign 스펙의 CONTROL 타입 코드를 문서화하기 위한 것입니다.
- * 현재 구현의 DwgObjectType에는 CONTROL 타입이 포함되지 않습니다.
- * 향후 CONTROL 객체 파싱이 구현되면, 이 코드들을 검증하고 통합해야 합니다.
+ * DwgObjectType에는 BLOCK_CONTROL, APPID_CONTROL, DIMSTYLE_CONTROL, VX_CONTROL만 포함되며
+ * {@link io.dwg.entities.concrete.DwgTableControl}로 파싱됩니다. 나머지 코드는 검증 후 통합해야 합니다.
  *
  * 실제 DWG 파일에서의 CONTROL 타입 코드는 spec doc과 다를 수 있으며,
  * 단계적 구현을 위해 별도 enum으로 분리했습니다.
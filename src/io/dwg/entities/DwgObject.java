@@ -13,6 +13,13 @@ public interface DwgObject {
     int rawTypeCode();
     DwgHandleRef ownerHandle();
     List<DwgHandleRef> reactorHandles();
+
+    /** 리액터 수 (목록을 만들지 않고 순회할 때) */
+    default int reactorCount() { return reactorHandles().size(); }
+
+    /** index번째 리액터의 핸들 값 */
+    default long reactorHandle(int index) { return reactorHandles().get(index).rawHandle(); }
+
     Optional<DwgHandleRef> xDicHandle();
     List<XDataRecord> xData();
     boolean isEntity();
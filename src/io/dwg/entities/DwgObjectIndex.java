@@ -0,0 +1,197 @@
+package io.dwg.entities;
+
+import io.dwg.core.util.LongList;
+import io.dwg.entities.concrete.DwgAppId;
+import io.dwg.entities.concrete.DwgBlockHeader;
+import io.dwg.entities.concrete.DwgDimStyle;
+import io.dwg.entities.concrete.DwgLayer;
+import io.dwg.entities.concrete.DwgLayout;
+import io.dwg.entities.concrete.DwgLtype;
+import io.dwg.entities.concrete.DwgMLineStyle;
+import io.dwg.entities.concrete.DwgStyle;
+import io.dwg.entities.concrete.DwgUcs;
+import io.dwg.entities.concrete.DwgView;
+import io.dwg.entities.concrete.DwgVport;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+/**
+ * 객체 색인: 타입별 핸들 목록과 테이블 레코드 이름 → 핸들.
+ * 파싱 중 객체가 추가될 때마다 갱신되므로 전체 객체 맵을 훑지 않고 조회할 수 있다.
+ *
+ * <p>핸들 목록은 오름차순으로 반환된다. 이름 색인은 등록 시점의 이름 기준이므로
+ * 테이블 레코드 이름을 바꿀 때는 {@link #remove(DwgObject)} → 이름 변경 → {@link #add(DwgObject)} 순서로 갱신한다.</p>
+ */
+public class DwgObjectIndex {
+    private static final long[] EMPTY = new long[0];
+
+    private final Map<Class<?>, LongList> byClass = new HashMap<>();
+    private final Map<DwgObjectType, LongList> byType = new EnumMap<>(DwgObjectType.class);
+    private final Map<Class<?>, Map<String, LongList>> byName = new HashMap<>();
+    private int size;
+
+    // 조회 타입(상위 타입 포함)별 병합 결과 캐시. 변경 시 비운다.
+    private final Map<Class<?>, long[]> resolved = new HashMap<>();
+    private boolean sorted = true;
+
+    /** 객체 모음으로 색인 생성 */
+    public static DwgObjectIndex of(Collection<? extends DwgObject> objects) {
+        DwgObjectIndex index = new DwgObjectIndex();
+        for (DwgObject o : objects) index.add(o);
+        return index;
+    }
+
+    /**
+     * 객체 등록. 같은 핸들의 이전 객체를 교체할 때는 먼저 {@link #remove(DwgObject)}로 해제한다.
+     */
+    public synchronized void add(DwgObject obj) {
+        long h = obj.handle();
+        byClass.computeIfAbsent(obj.getClass(), k -> new LongList()).add(h);
+        byType.computeIfAbsent(obj.objectType(), k -> new LongList()).add(h);
+        String name = tableName(obj);
+        if (name != null) {
+            byName.computeIfAbsent(obj.getClass(), k -> new HashMap<>())
+                  .computeIfAbsent(name, k -> new LongList(1)).add(h);
+        }
+        size++;
+        resolved.clear();
+        sorted = false;
+    }
+
+    /**
+     * 객체 등록 해제. 등록 시점과 같은 이름이어야 이름 색인에서도 빠진다.
+     *
+     * @return 등록되어 있었으면 true
+     */
+    public synchronized boolean remove(DwgObject obj) {
+        long h = obj.handle();
+        LongList list = byClass.get(obj.getClass());
+        if (list == null || !list.removeValue(h)) return false;
+        LongList typed = byType.get(obj.objectType());
+        if (typed != null) typed.removeValue(h);
+        String name = tableName(obj);
+        Map<String, LongList> names = byName.get(obj.getClass());
+        if (name != null && names != null) {
+            LongList same = names.get(name);
+            if (same != null && same.removeValue(h) && same.isEmpty()) names.remove(name);
+        }
+        size--;
+        resolved.clear();
+        return true;
+    }
+
+    /** 등록된 객체 수 */
+    public synchronized int size() { return size; }
+
+    /**
+     * type(상위 클래스/인터페이스 포함)에 해당하는 객체 핸들 (오름차순 복사본)
+     */
+    public synchronized long[] handlesOf(Class<?> type) {
+        long[] r = resolve(type);
+        return r.length == 0 ? EMPTY : r.clone();
+    }
+
+    /**
+     * type에 해당하는 객체 수
+     */
+    public synchronized int countOf(Class<?> type) {
+        return resolve(type).length;
+    }
+
+    /**
+     * type에 해당하는 객체 핸들을 오름차순으로 전달. 배열을 복사하지 않는다.
+     */
+    public void forEachHandle(Class<?> type, LongConsumer action) {
+        long[] r;
+        synchronized (this) {
+            r = resolve(type);
+        }
+        for (long h : r) action.accept(h);
+    }
+
+    /**
+     * 객체 타입 코드별 핸들 (오름차순 복사본)
+     */
+    public synchronized long[] handlesOf(DwgObjectType type) {
+        LongList list = byType.get(type);
+        if (list == null || list.isEmpty()) return EMPTY;
+        ensureSorted();
+        return list.toArray();
+    }
+
+    /**
+     * 테이블 레코드 이름으로 핸들 조회 (대소문자 구분). 같은 이름이 여럿이면 가장 작은 핸들, 없으면 0
+     */
+    public synchronized long handleByName(Class<?> type, String name) {
+        Map<String, LongList> names = byName.get(type);
+        if (names == null || name == null) return 0L;
+        LongList same = names.get(name);
+        if (same == null || same.isEmpty()) return 0L;
+        long min = same.get(0);
+        for (int i = 1; i < same.size(); i++) min = Math.min(min, same.get(i));
+        return min;
+    }
+
+    private long[] resolve(Class<?> type) {
+        long[] cached = resolved.get(type);
+        if (cached != null) return cached;
+        ensureSorted();
+        LongList single = null;
+        int total = 0;
+        int parts = 0;
+        for (Map.Entry<Class<?>, LongList> e : byClass.entrySet()) {
+            if (type.isAssignableFrom(e.getKey()) && !e.getValue().isEmpty()) {
+                single = e.getValue();
+                total += single.size();
+                parts++;
+            }
+        }
+        long[] result;
+        if (parts == 0) {
+            result = EMPTY;
+        } else if (parts == 1) {
+            result = single.toArray();
+        } else {
+            LongList merged = new LongList(total);
+            for (Map.Entry<Class<?>, LongList> e : byClass.entrySet()) {
+                if (type.isAssignableFrom(e.getKey())) {
+                    LongList l = e.getValue();
+                    for (int i = 0; i < l.size(); i++) merged.add(l.get(i));
+                }
+            }
+            merged.sort();
+            result = merged.toArray();
+        }
+        resolved.put(type, result);
+        return result;
+    }
+
+    private void ensureSorted() {
+        if (sorted) return;
+        for (LongList l : byClass.values()) l.sort();
+        for (LongList l : byType.values()) l.sort();
+        sorted = true;
+    }
+
+    /**
+     * 테이블 레코드 이름. 테이블 레코드가 아니면 null
+     */
+    static String tableName(DwgObject o) {
+        if (o instanceof DwgLayer l) return l.name();
+        if (o instanceof DwgLtype lt) return lt.name();
+        if (o instanceof DwgStyle s) return s.name();
+        if (o instanceof DwgBlockHeader b) return b.blockName();
+        if (o instanceof DwgDimStyle d) return d.name();
+        if (o instanceof DwgAppId a) return a.name();
+        if (o instanceof DwgUcs u) return u.name();
+        if (o instanceof DwgView v) return v.name();
+        if (o instanceof DwgVport vp) return vp.name();
+        if (o instanceof DwgLayout lo) return lo.name();
+        if (o instanceof DwgMLineStyle ms) return ms.name();
+        return null;
+    }
+}
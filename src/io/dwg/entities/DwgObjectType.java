@@ -1,5 +1,8 @@
 package io.dwg.entities;
 
+import java.util.Arrays;
+import java.util.Map;
+
 /**
  * 스펙 §20에서 정의된 표준 객체 타입 코드.
  */
@@ -49,8 +52,8 @@ public enum DwgObjectType {
     LEADER(0x2D),
     TOLERANCE(0x2E),
     MLINE(0x2F),
-    BLOCK_HEADER(0x30),
-    BLOCK_END(0x31),
+    BLOCK_CONTROL(0x30),
+    BLOCK_HEADER(0x31),
     LTYPE(0x32),
     LAYER(0x33),
     STYLE(0x34),
@@ -109,12 +112,61 @@ public enum DwgObjectType {
         return typeCode;
     }
 
-    public static DwgObjectType fromCode(int code) {
+    /** 표준 타입 코드 상한 (이 미만은 배열 조회, 이상은 클래스 번호라 UNKNOWN) */
+    public static final int MAX_STANDARD_CODE = 0x200;
+
+    private static final DwgObjectType[] BY_CODE = new DwgObjectType[MAX_STANDARD_CODE];
+
+    static {
+        Arrays.fill(BY_CODE, UNKNOWN);
         for (DwgObjectType t : values()) {
-            if (t.typeCode == code) {
-                return t;
+            if (t.typeCode >= 0) {
+                BY_CODE[t.typeCode] = t;
             }
         }
-        return UNKNOWN;
+    }
+
+    public static DwgObjectType fromCode(int code) {
+        return code >= 0 && code < MAX_STANDARD_CODE ? BY_CODE[code] : UNKNOWN;
+    }
+
+    /**
+     * R2000 이후 고정 코드 없이 클래스 번호(500 이상)로 저장되는 타입의 DXF 이름 → 타입.
+     * 클래스 번호는 도면마다 다르므로 Classes 섹션의 DXF 이름으로 찾는다.
+     */
+    private static final Map<String, DwgObjectType> BY_DXF_NAME = Map.ofEntries(
+        Map.entry("LWPOLYLINE", LWPLINE),
+        Map.entry("HATCH", HATCH),
+        Map.entry("IMAGE", IMAGE),
+        Map.entry("WIPEOUT", WIPEOUT),
+        Map.entry("OLE2FRAME", OLE2FRAME),
+        Map.entry("LAYOUT", LAYOUT),
+        Map.entry("XRECORD", XRECORD),
+        Map.entry("ACDBPLACEHOLDER", PLACEHOLDER),
+        Map.entry("VBA_PROJECT", VBA_PROJECT),
+        Map.entry("ACDBDICTIONARYWDFLT", DICTIONARY),
+        Map.entry("DICTIONARYVAR", ACAD_DICTIONARYVAR),
+        Map.entry("SCALE", SCALE),
+        Map.entry("VISUALSTYLE", VISUALSTYLE),
+        Map.entry("FIELD", ACAD_FIELD),
+        Map.entry("ACAD_TABLE", ACAD_TABLE),
+        Map.entry("TABLESTYLE", ACAD_TABLESTYLE),
+        Map.entry("CELLSTYLEMAP", ACAD_CELLSTYLE),
+        Map.entry("MATERIAL", ACAD_MATERIAL),
+        Map.entry("ACDBPERSSUBENTMANAGER", ACAD_PERSSUBENTMANAGER),
+        Map.entry("ACAD_PROXY_ENTITY", ACAD_PROXY_ENTITY),
+        Map.entry("MESH", MESH),
+        Map.entry("PDFUNDERLAY", UNDERLAY),
+        Map.entry("DWFUNDERLAY", UNDERLAY),
+        Map.entry("DGNUNDERLAY", UNDERLAY),
+        Map.entry("PLANESURFACE", SURFACE),
+        Map.entry("EXTRUDEDSURFACE", SURFACE),
+        Map.entry("LOFTEDSURFACE", SURFACE),
+        Map.entry("REVOLVEDSURFACE", SURFACE),
+        Map.entry("SWEPTSURFACE", SURFACE));
+
+    /** DXF 레코드 이름으로 타입 찾기. 모르는 이름이면 UNKNOWN */
+    public static DwgObjectType fromDxfName(String dxfName) {
+        return dxfName != null ? BY_DXF_NAME.getOrDefault(dxfName, UNKNOWN) : UNKNOWN;
     }
 }
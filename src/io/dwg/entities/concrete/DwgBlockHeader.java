@@ -5,14 +5,17 @@ import io.dwg.entities.AbstractDwgObject;
 import io.dwg.entities.DwgObjectType;
 
 /**
- * BLOCK_HEADER 오브젝트 (타입 0x30)
- * 블록 정의의 시작 마커
+ * BLOCK_HEADER 오브젝트 (타입 0x31)
+ * 블록 테이블 레코드 (블록 정의)
  */
 public class DwgBlockHeader extends AbstractDwgObject {
     private String blockName;       // 블록 이름
     private int flags;              // 블록 플래그
     private Point3D basePoint;      // 블록의 기준점
     private String xrefPath;        // 외부 참조 경로 (XREF인 경우)
+    private long[] ownedEntityHandles; // 블록 엔티티 목록 (파일에 기록된 순서, 없으면 null)
+    private long firstEntityHandle;  // R2004 이전: 첫 엔티티 (없으면 0)
+    private long lastEntityHandle;   // R2004 이전: 마지막 엔티티 (없으면 0)
 
     @Override
     public DwgObjectType objectType() { return DwgObjectType.BLOCK_HEADER; }
@@ -24,11 +27,17 @@ public class DwgBlockHeader extends AbstractDwgObject {
     public int flags() { return flags; }
     public Point3D basePoint() { return basePoint; }
     public String xrefPath() { return xrefPath; }
+    public long[] ownedEntityHandles() { return ownedEntityHandles; }
+    public long firstEntityHandle() { return firstEntityHandle; }
+    public long lastEntityHandle() { return lastEntityHandle; }
 
     public void setBlockName(String blockName) { this.blockName = blockName; }
     public void setFlags(int flags) { this.flags = flags; }
     public void setBasePoint(Point3D basePoint) { this.basePoint = basePoint; }
     public void setXrefPath(String xrefPath) { this.xrefPath = xrefPath; }
+    public void setOwnedEntityHandles(long[] handles) { this.ownedEntityHandles = handles; }
+    public void setFirstEntityHandle(long handle) { this.firstEntityHandle = handle; }
+    public void setLastEntityHandle(long handle) { this.lastEntityHandle = handle; }
 
     public boolean isAnonymous() { return (flags & 0x01) != 0; }
     public boolean hasAttributes() { return (flags & 0x02) != 0; }
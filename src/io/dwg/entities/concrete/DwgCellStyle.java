@@ -1,9 +1,10 @@
 package io.dwg.entities.concrete;
 
-import io.dwg.entities.AbstractDwgEntity;
+import io.dwg.entities.AbstractDwgObject;
+import io.dwg.entities.DwgNonEntityObject;
 import io.dwg.entities.DwgObjectType;
 
-public class DwgCellStyle extends AbstractDwgEntity {
+public class DwgCellStyle extends AbstractDwgObject implements DwgNonEntityObject {
     private String cellStyleName;
     private String description;
     private int cellBorderWidth;
@@ -18,6 +19,9 @@ public class DwgCellStyle extends AbstractDwgEntity {
         return DwgObjectType.ACAD_CELLSTYLE;
     }
 
+    @Override
+    public boolean isEntity() { return false; }
+
     public String cellStyleName() { return cellStyleName; }
     public void setCellStyleName(String cellStyleName) { this.cellStyleName = cellStyleName; }
 
@@ -1,9 +1,10 @@
 package io.dwg.entities.concrete;
 
-import io.dwg.entities.AbstractDwgEntity;
+import io.dwg.entities.AbstractDwgObject;
+import io.dwg.entities.DwgNonEntityObject;
 import io.dwg.entities.DwgObjectType;
 
-public class DwgDataSource extends AbstractDwgEntity {
+public class DwgDataSource extends AbstractDwgObject implements DwgNonEntityObject {
     private String dataSourceName;
     private String sourceType;
     private String connectionString;
@@ -18,6 +19,9 @@ public class DwgDataSource extends AbstractDwgEntity {
         return DwgObjectType.ACAD_DATASOURCE;
     }
 
+    @Override
+    public boolean isEntity() { return false; }
+
     public String dataSourceName() { return dataSourceName; }
     public void setDataSourceName(String dataSourceName) { this.dataSourceName = dataSourceName; }
 
@@ -1,9 +1,10 @@
 package io.dwg.entities.concrete;
 
-import io.dwg.entities.AbstractDwgEntity;
+import io.dwg.entities.AbstractDwgObject;
+import io.dwg.entities.DwgNonEntityObject;
 import io.dwg.entities.DwgObjectType;
 
-public class DwgDictionaryVar extends AbstractDwgEntity {
+public class DwgDictionaryVar extends AbstractDwgObject implements DwgNonEntityObject {
     private String varName;
     private String varValue;
     private int varType;
@@ -13,6 +14,9 @@ public class DwgDictionaryVar extends AbstractDwgEntity {
         return DwgObjectType.ACAD_DICTIONARYVAR;
     }
 
+    @Override
+    public boolean isEntity() { return false; }
+
     public String varName() { return varName; }
     public void setVarName(String varName) { this.varName = varName; }
 
@@ -1,12 +1,13 @@
 package io.dwg.entities.concrete;
 
-import io.dwg.entities.AbstractDwgEntity;
+import io.dwg.entities.AbstractDwgObject;
+import io.dwg.entities.DwgNonEntityObject;
 import io.dwg.entities.DwgObjectType;
 
 /**
- * ACAD_FIELD 엔티티 - 계산 필드 (R2005+)
+ * ACAD_FIELD 객체 - 계산 필드 (R2005+)
  */
-public class DwgField extends AbstractDwgEntity {
+public class DwgField extends AbstractDwgObject implements DwgNonEntityObject {
     private String fieldExpression;
     private String fieldValue;
     private int evaluationStatus;  // 0=Not evaluated, 1=Evaluated, 2=Error
@@ -16,6 +17,9 @@ public class DwgField extends AbstractDwgEntity {
     @Override
     public DwgObjectType objectType() { return DwgObjectType.ACAD_FIELD; }
 
+    @Override
+    public boolean isEntity() { return false; }
+
     public String fieldExpression() { return fieldExpression; }
     public String fieldValue() { return fieldValue; }
     public int evaluationStatus() { return evaluationStatus; }
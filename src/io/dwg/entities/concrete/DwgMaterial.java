@@ -1,9 +1,10 @@
 package io.dwg.entities.concrete;
 
-import io.dwg.entities.AbstractDwgEntity;
+import io.dwg.entities.AbstractDwgObject;
+import io.dwg.entities.DwgNonEntityObject;
 import io.dwg.entities.DwgObjectType;
 
-public class DwgMaterial extends AbstractDwgEntity {
+public class DwgMaterial extends AbstractDwgObject implements DwgNonEntityObject {
     private String materialName;
     private String description;
     private double ambientColorRed;
@@ -24,6 +25,9 @@ public class DwgMaterial extends AbstractDwgEntity {
         return DwgObjectType.ACAD_MATERIAL;
     }
 
+    @Override
+    public boolean isEntity() { return false; }
+
     public String materialName() { return materialName; }
     public void setMaterialName(String materialName) { this.materialName = materialName; }
 
@@ -1,11 +1,12 @@
 package io.dwg.entities.concrete;
 
-import io.dwg.entities.AbstractDwgEntity;
+import io.dwg.entities.AbstractDwgObject;
+import io.dwg.entities.DwgNonEntityObject;
 import io.dwg.entities.DwgObjectType;
 import java.util.ArrayList;
 import java.util.List;
 
-public class DwgPersSubentManager extends AbstractDwgEntity {
+public class DwgPersSubentManager extends AbstractDwgObject implements DwgNonEntityObject {
     private String managerName;
     private int subentityCount;
     private List<Integer> subentityIds;
@@ -23,6 +24,9 @@ public class DwgPersSubentManager extends AbstractDwgEntity {
         return DwgObjectType.ACAD_PERSSUBENTMANAGER;
     }
 
+    @Override
+    public boolean isEntity() { return false; }
+
     public String managerName() { return managerName; }
     public void setManagerName(String managerName) { this.managerName = managerName; }
 
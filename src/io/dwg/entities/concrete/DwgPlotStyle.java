@@ -1,9 +1,10 @@
 package io.dwg.entities.concrete;
 
-import io.dwg.entities.AbstractDwgEntity;
+import io.dwg.entities.AbstractDwgObject;
+import io.dwg.entities.DwgNonEntityObject;
 import io.dwg.entities.DwgObjectType;
 
-public class DwgPlotStyle extends AbstractDwgEntity {
+public class DwgPlotStyle extends AbstractDwgObject implements DwgNonEntityObject {
     private String plotStyleName;
     private String description;
     private int lineWeightValue;
@@ -16,6 +17,9 @@ public class DwgPlotStyle extends AbstractDwgEntity {
         return DwgObjectType.ACAD_PLOTSTYLE;
     }
 
+    @Override
+    public boolean isEntity() { return false; }
+
     public String plotStyleName() { return plotStyleName; }
     public void setPlotStyleName(String plotStyleName) { this.plotStyleName = plotStyleName; }
 
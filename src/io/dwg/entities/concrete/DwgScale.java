@@ -1,12 +1,13 @@
 package io.dwg.entities.concrete;
 
-import io.dwg.entities.AbstractDwgEntity;
+import io.dwg.entities.AbstractDwgObject;
+import io.dwg.entities.DwgNonEntityObject;
 import io.dwg.entities.DwgObjectType;
 
 /**
- * SCALE 엔티티 - 축척 객체 (R2000+)
+ * SCALE 객체 - 축척 (R2000+)
  */
-public class DwgScale extends AbstractDwgEntity {
+public class DwgScale extends AbstractDwgObject implements DwgNonEntityObject {
     private String scaleName;
     private double paperUnits;
     private double drawingUnits;
@@ -16,6 +17,9 @@ public class DwgScale extends AbstractDwgEntity {
     @Override
     public DwgObjectType objectType() { return DwgObjectType.SCALE; }
 
+    @Override
+    public boolean isEntity() { return false; }
+
     public String scaleName() { return scaleName; }
     public double paperUnits() { return paperUnits; }
     public double drawingUnits() { return drawingUnits; }
@@ -1,11 +1,12 @@
 package io.dwg.entities.concrete;
 
-import io.dwg.entities.AbstractDwgEntity;
+import io.dwg.entities.AbstractDwgObject;
+import io.dwg.entities.DwgNonEntityObject;
 import io.dwg.entities.DwgObjectType;
 import java.util.ArrayList;
 import java.util.List;
 
-public class DwgScaleList extends AbstractDwgEntity {
+public class DwgScaleList extends AbstractDwgObject implements DwgNonEntityObject {
     private String listName;
     private List<Double> scaleFactors;
     private boolean isUnitScale;
@@ -21,6 +22,9 @@ public class DwgScaleList extends AbstractDwgEntity {
         return DwgObjectType.ACAD_SCALE_LIST;
     }
 
+    @Override
+    public boolean isEntity() { return false; }
+
     public String listName() { return listName; }
     public void setListName(String listName) { this.listName = listName; }
 
@@ -0,0 +1,34 @@
+package io.dwg.entities.concrete;
+
+import io.dwg.entities.AbstractDwgObject;
+import io.dwg.entities.DwgNonEntityObject;
+import io.dwg.entities.DwgObjectType;
+
+/**
+ * 테이블 제어 오브젝트 (BLOCK_CONTROL 0x30, APPID_CONTROL 0x42, DIMSTYLE_CONTROL 0x44, VX_CONTROL 0x46)
+ * 테이블 엔트리 핸들 목록을 가진다. BLOCK_CONTROL은 *Model_Space / *Paper_Space 블록도 따로 가리킨다.
+ */
+public class DwgTableControl extends AbstractDwgObject implements DwgNonEntityObject {
+    private final DwgObjectType type;
+    private long[] entryHandles = new long[0]; // 테이블 엔트리 (파일에 기록된 순서)
+    private long modelSpaceHandle;              // BLOCK_CONTROL: *Model_Space 블록 (없으면 0)
+    private long paperSpaceHandle;              // BLOCK_CONTROL: *Paper_Space 블록 (없으면 0)
+
+    public DwgTableControl(DwgObjectType type) {
+        this.type = type;
+    }
+
+    @Override
+    public DwgObjectType objectType() { return type; }
+
+    @Override
+    public boolean isEntity() { return false; }
+
+    public long[] entryHandles() { return entryHandles; }
+    public long modelSpaceHandle() { return modelSpaceHandle; }
+    public long paperSpaceHandle() { return paperSpaceHandle; }
+
+    public void setEntryHandles(long[] handles) { this.entryHandles = handles; }
+    public void setModelSpaceHandle(long handle) { this.modelSpaceHandle = handle; }
+    public void setPaperSpaceHandle(long handle) { this.paperSpaceHandle = handle; }
+}
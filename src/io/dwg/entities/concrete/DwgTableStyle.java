@@ -1,9 +1,10 @@
 package io.dwg.entities.concrete;
 
-import io.dwg.entities.AbstractDwgEntity;
+import io.dwg.entities.AbstractDwgObject;
+import io.dwg.entities.DwgNonEntityObject;
 import io.dwg.entities.DwgObjectType;
 
-public class DwgTableStyle extends AbstractDwgEntity {
+public class DwgTableStyle extends AbstractDwgObject implements DwgNonEntityObject {
     private String tableName;
     private String description;
     private int tableStyleFlags;
@@ -18,6 +19,9 @@ public class DwgTableStyle extends AbstractDwgEntity {
         return DwgObjectType.ACAD_TABLESTYLE;
     }
 
+    @Override
+    public boolean isEntity() { return false; }
+
     public String tableName() { return tableName; }
     public void setTableName(String tableName) { this.tableName = tableName; }
 
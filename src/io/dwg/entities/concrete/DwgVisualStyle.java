@@ -1,12 +1,13 @@
 package io.dwg.entities.concrete;
 
-import io.dwg.entities.AbstractDwgEntity;
+import io.dwg.entities.AbstractDwgObject;
+import io.dwg.entities.DwgNonEntityObject;
 import io.dwg.entities.DwgObjectType;
 
 /**
- * VISUALSTYLE 엔티티 - 비주얼 스타일 (R2007+)
+ * VISUALSTYLE 객체 - 비주얼 스타일 (R2007+)
  */
-public class DwgVisualStyle extends AbstractDwgEntity {
+public class DwgVisualStyle extends AbstractDwgObject implements DwgNonEntityObject {
     private String styleName;
     private String description;
     private int styleType;  // 0=Basic, 1=Advanced
@@ -21,6 +22,9 @@ public class DwgVisualStyle extends AbstractDwgEntity {
     @Override
     public DwgObjectType objectType() { return DwgObjectType.VISUALSTYLE; }
 
+    @Override
+    public boolean isEntity() { return false; }
+
     public String styleName() { return styleName; }
     public String description() { return description; }
     public int styleType() { return styleType; }
@@ -1,10 +1,14 @@
 package io.dwg.format.common;
 
+import io.dwg.core.exception.DwgDiagnostics;
 import io.dwg.core.io.BitInput;
 import io.dwg.core.io.BitOutput;
+import io.dwg.core.io.PendingSection;
 import io.dwg.core.io.SectionInputStream;
 import io.dwg.core.version.DwgVersion;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 /**
  * 버전별 파일 구조 처리기의 계약 (Strategy 패턴)
@@ -26,6 +30,24 @@ public interface DwgFileStructureHandler {
      */
     Map<String, SectionInputStream> readSections(BitInput input, FileHeaderFields header) throws Exception;
 
+    /**
+     * 섹션명 → 압축 해제 전 섹션 맵 구성. 압축 해제는 각 섹션을 기다리거나 시작할 때 이루어진다.
+     * 기본 구현은 {@link #readSections}로 모두 읽은 뒤 완료된 섹션으로 감싼다.
+     */
+    default Map<String, PendingSection> readSectionsDeferred(BitInput input, FileHeaderFields header)
+            throws Exception {
+        Map<String, PendingSection> sections = new HashMap<>();
+        readSections(input, header).forEach((name, s) -> sections.put(name, PendingSection.completed(s)));
+        return sections;
+    }
+
+    /**
+     * 섹션을 읽으며 모은 페이지/섹션 맵 실패 기록. 기록하지 않는 핸들러는 빈 기록을 돌려준다.
+     */
+    default DwgDiagnostics diagnostics() {
+        return new DwgDiagnostics();
+    }
+
     /**
      * 헤더를 파일에 씀
      */
@@ -36,6 +58,15 @@ public interface DwgFileStructureHandler {
      */
     void writeSections(BitOutput output, Map<String, byte[]> sections, FileHeaderFields header) throws Exception;
 
+    /**
+     * 각 섹션 바이트를 파일 구조에 맞게 씀. 페이지 압축 같은 독립 작업은 executor에서 돌릴 수 있다.
+     * 기본 구현은 executor 없이 {@link #writeSections(BitOutput, Map, FileHeaderFields)}.
+     */
+    default void writeSections(BitOutput output, Map<String, byte[]> sections, FileHeaderFields header,
+            Executor executor) throws Exception {
+        writeSections(output, sections, header);
+    }
+
     /**
      * 이 핸들러가 해당 버전을 처리할 수 있는지
      */
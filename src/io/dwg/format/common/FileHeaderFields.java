@@ -15,9 +15,11 @@ public class FileHeaderFields {
     private int securityFlags;
     private long summaryInfoOffset;
     private long vbaProjectOffset;
-    private long sectionMapOffset;  // R2004 only
+    private long sectionMapOffset;  // R2004 only (page map address - 0x100)
     private long pageMapOffset;     // R2007+ only
-    private long sectionMapId;      // R2007+ only (page ID of section map)
+    private long sectionMapId;      // R2004+ (page ID of section map)
+    private long pageMapId;         // R2004 only (page ID of page map)
+    private int sectionPageCount;   // R2004 only
     private long pageMapSizeComp;   // R2007+ only
     private long pageMapSizeUncomp; // R2007+ only
     private long sectionsMapSizeComp;   // R2007+ only
@@ -116,6 +118,22 @@ public class FileHeaderFields {
         this.sectionMapId = id;
     }
 
+    public long pageMapId() {
+        return pageMapId;
+    }
+
+    public void setPageMapId(long id) {
+        this.pageMapId = id;
+    }
+
+    public int sectionPageCount() {
+        return sectionPageCount;
+    }
+
+    public void setSectionPageCount(int count) {
+        this.sectionPageCount = count;
+    }
+
     public Map<String, Long> sectionOffsets() {
         return sectionOffsets;
     }
@@ -9,6 +9,9 @@ public class SectionDescriptor {
     private long compressedSize;
     private long uncompressedSize;
     private int compressionType;  // 0=none, 2=LZ77
+    private int sectionId;        // R2004: 데이터 페이지 헤더의 섹션 번호
+    private int encrypted;        // R2004: 0=없음, 1=암호화, 2=알 수 없음
+    private long maxPageSize;     // R2004: 페이지당 최대 압축 해제 크기
     private java.util.List<PageInfo> pages;
 
     public SectionDescriptor(String name) {
@@ -52,6 +55,30 @@ public class SectionDescriptor {
         this.compressionType = type;
     }
 
+    public int sectionId() {
+        return sectionId;
+    }
+
+    public void setSectionId(int id) {
+        this.sectionId = id;
+    }
+
+    public int encrypted() {
+        return encrypted;
+    }
+
+    public void setEncrypted(int encrypted) {
+        this.encrypted = encrypted;
+    }
+
+    public long maxPageSize() {
+        return maxPageSize;
+    }
+
+    public void setMaxPageSize(long size) {
+        this.maxPageSize = size;
+    }
+
     public java.util.List<PageInfo> pages() {
         return pages;
     }
@@ -0,0 +1,30 @@
+package io.dwg.format.r2004;
+
+/**
+ * R2004 페이지 체크섬 (Adler-32 변형, libredwg dwg_section_page_checksum()).
+ * 두 누적 합을 0x15B0바이트마다 0xFFF1로 나눈 나머지로 유지한다.
+ */
+final class R2004Checksum {
+    private static final int CHUNK = 0x15B0;
+    private static final int MOD = 0xFFF1;
+
+    private R2004Checksum() {}
+
+    static int of(int seed, byte[] data, int offset, int length) {
+        long sum1 = seed & 0xFFFF;
+        long sum2 = (seed >>> 16) & 0xFFFF;
+        int pos = offset;
+        int remaining = length;
+        while (remaining > 0) {
+            int chunk = Math.min(remaining, CHUNK);
+            for (int end = pos + chunk; pos < end; pos++) {
+                sum1 += data[pos] & 0xFF;
+                sum2 += sum1;
+            }
+            sum1 %= MOD;
+            sum2 %= MOD;
+            remaining -= chunk;
+        }
+        return (int) ((sum2 << 16) | (sum1 & 0xFFFF));
+    }
+}
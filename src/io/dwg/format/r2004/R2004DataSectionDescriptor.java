@@ -1,55 +1,79 @@
 package io.dwg.format.r2004;
 
 import io.dwg.core.io.BitInput;
+import io.dwg.core.io.BitOutput;
 import io.dwg.format.common.PageInfo;
 import io.dwg.format.common.SectionDescriptor;
 
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * §4 Data Section Map 엔트리: 섹션명 + 압축 정보 + 페이지 목록.
+ *
+ * RLL 섹션 크기, RL 페이지 수, RL 페이지당 최대 크기, RL unknown, RL 압축(1=없음, 2=LZ77),
+ * RL 섹션 번호, RL 암호화, char[64] 이름, 페이지 수만큼 {@link R2004PageDescriptor}
  */
 public class R2004DataSectionDescriptor {
+    private static final int NAME_LENGTH = 64;
 
     public static SectionDescriptor read(BitInput input) {
         try {
-            long compressedSize   = input.readRawLong() & 0xFFFFFFFFL;
-            long uncompressedSize = input.readRawLong() & 0xFFFFFFFFL;
-            int  compressionType  = input.readRawLong();  // 0=none, 2=LZ77
-            input.readRawLong();
-            input.readRawLong();
+            long size = (input.readRawLong() & 0xFFFFFFFFL) | ((long) input.readRawLong() << 32);
+            int pageCount = input.readRawLong();
+            long maxPageSize = input.readRawLong() & 0xFFFFFFFFL;
             input.readRawLong();
+            int compressed = input.readRawLong();
+            int sectionId = input.readRawLong();
+            int encrypted = input.readRawLong();
 
-            byte[] nameBytes = new byte[64];
-            for (int i = 0; i < 64; i++) nameBytes[i] = (byte) input.readRawChar();
-            String name = parseUtf16Name(nameBytes);
+            byte[] nameBytes = new byte[NAME_LENGTH];
+            input.readBytes(nameBytes, 0, NAME_LENGTH);
 
-            int pageCount = input.readRawLong();
-
-            List<PageInfo> pages = new ArrayList<>();
+            SectionDescriptor desc = new SectionDescriptor(parseName(nameBytes));
+            desc.setUncompressedSize(size);
+            desc.setMaxPageSize(maxPageSize);
+            desc.setCompressionType(compressed == 2 ? 2 : 0);
+            desc.setSectionId(sectionId);
+            desc.setEncrypted(encrypted);
+            long compressedSize = 0;
             for (int i = 0; i < pageCount; i++) {
                 R2004PageDescriptor pd = R2004PageDescriptor.read(input);
-                pages.add(new PageInfo(pd.pageOffset(), pd.dataSize(), pd.pageId()));
+                desc.addPage(new PageInfo(pd.pageOffset(), pd.dataSize(), pd.pageId()));
+                compressedSize += pd.dataSize();
             }
-
-            SectionDescriptor desc = new SectionDescriptor(name);
             desc.setCompressedSize(compressedSize);
-            desc.setUncompressedSize(uncompressedSize);
-            desc.setCompressionType(compressionType);
-            pages.forEach(desc::addPage);
             return desc;
-        } catch (Exception e) {
+        } catch (RuntimeException e) {
             return null;
         }
     }
 
-    private static String parseUtf16Name(byte[] bytes) {
+    public static void write(BitOutput output, SectionDescriptor desc) {
+        long size = desc.uncompressedSize();
+        output.writeRawLong((int) size);
+        output.writeRawLong((int) (size >>> 32));
+        output.writeRawLong(desc.pages().size());
+        output.writeRawLong((int) desc.maxPageSize());
+        output.writeRawLong(1);
+        output.writeRawLong(desc.compressionType() == 2 ? 2 : 1);
+        output.writeRawLong(desc.sectionId());
+        output.writeRawLong(desc.encrypted());
+
+        byte[] name = new byte[NAME_LENGTH];
+        byte[] ascii = desc.name().getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(ascii, 0, name, 0, Math.min(ascii.length, NAME_LENGTH - 1));
+        output.writeBytes(name, 0, NAME_LENGTH);
+
+        for (PageInfo page : desc.pages()) {
+            new R2004PageDescriptor(page.pageId(), page.dataSize(), page.pageOffset()).write(output);
+        }
+    }
+
+    private static String parseName(byte[] bytes) {
         int len = 0;
-        while (len + 1 < bytes.length && (bytes[len] != 0 || bytes[len + 1] != 0)) {
-            len += 2;
+        while (len < bytes.length && bytes[len] != 0) {
+            len++;
         }
-        return new String(bytes, 0, len, StandardCharsets.UTF_16LE);
+        return new String(bytes, 0, len, StandardCharsets.US_ASCII);
     }
 }
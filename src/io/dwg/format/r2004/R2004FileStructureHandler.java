@@ -1,35 +1,59 @@
 package io.dwg.format.r2004;
 
+import io.dwg.core.exception.DwgDecodeException;
+import io.dwg.core.exception.DwgDiagnostics;
 import io.dwg.core.io.BitInput;
 import io.dwg.core.io.BitOutput;
+import io.dwg.core.io.LargeByteBuffer;
+import io.dwg.core.io.PendingSection;
 import io.dwg.core.io.SectionInputStream;
 import io.dwg.core.util.ByteUtils;
 import io.dwg.core.util.CrcLookupTables;
+import io.dwg.core.util.R2004Lz77Compressor;
+import io.dwg.core.util.R2004Lz77Decompressor;
 import io.dwg.core.version.DwgVersion;
 import io.dwg.format.common.AbstractFileStructureHandler;
 import io.dwg.format.common.FileHeaderFields;
+import io.dwg.format.common.PageInfo;
+import io.dwg.format.common.SectionDescriptor;
 
-import java.io.ByteArrayOutputStream;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * 스펙 §4 (R2004 DWG FILE FORMAT ORGANIZATION) 구현
  */
 public class R2004FileStructureHandler extends AbstractFileStructureHandler {
+    private static final String[] SECTION_ORDER = {
+        "AcDb:Header", "AcDb:AuxHeader", "AcDb:Classes", "AcDb:Handles",
+        "AcDb:Template", "AcDb:ObjFreeSpace", "AcDb:Objects"
+    };
+    // 이 수 이상의 페이지를 쓸 때 페이지 압축을 병렬로
+    private static final int PARALLEL_PAGE_THRESHOLD = 4;
 
-    // readHeader → readSections 로 전달되는 값들
-    private long sectionMapOffset;
-    private int sectionPageAmount;
+    private final DwgDiagnostics diagnostics = new DwgDiagnostics();
 
     @Override
     public DwgVersion version() {
         return DwgVersion.R2004;
     }
 
+    /** 손상 페이지(0으로 채운 구간)와 페이지 스캔 대체 기록 */
+    @Override
+    public DwgDiagnostics diagnostics() {
+        return diagnostics;
+    }
+
     @Override
     public boolean supports(DwgVersion version) {
         // libredwg uses decode_R2004 for R2010+ as well (see decode.c line 222-226).
@@ -134,15 +158,17 @@ public class R2004FileStructureHandler extends AbstractFileStructureHandler {
 
         decOffset += 4;   // 0x3C-0x3F: gapAmount
 
-        this.sectionPageAmount = (int) (ByteUtils.readLE32(decryptedHeader, decOffset) & 0xFFFFFFFF);
+        fields.setSectionPageCount((int) ByteUtils.readLE32(decryptedHeader, decOffset));
         decOffset += 4;
 
         decOffset += 4;  // 0x44-0x47
         decOffset += 4;  // 0x48-0x4B
         decOffset += 4;  // 0x4C-0x4F
 
-        // 5. Extract section map offset from encrypted header (0x54-0x5B)
-        sectionMapOffset = ByteUtils.readLE64(decryptedHeader, 0x54) & 0xFFFFFFFFFFFFFFFFL;
+        // 5. 페이지 맵 ID (0x50), 페이지 맵 주소 (0x54-0x5B), 섹션 맵 ID (0x5C)
+        fields.setPageMapId(ByteUtils.readLE32(decryptedHeader, 0x50));
+        fields.setSectionMapOffset(ByteUtils.readLE64(decryptedHeader, 0x54));
+        fields.setSectionMapId(ByteUtils.readLE32(decryptedHeader, 0x5C));
 
         // 6. 복호화된 헤더 CRC 검증
         verifyCrc32(decryptedHeader);
@@ -200,198 +226,309 @@ public class R2004FileStructureHandler extends AbstractFileStructureHandler {
     }
 
     // -------------------------------------------------------------------------
-    // readSections - Simplified using DecoderR2004 logic
+    // readSections
     // -------------------------------------------------------------------------
     @Override
     public Map<String, SectionInputStream> readSections(BitInput input, FileHeaderFields header)
             throws Exception {
-        Map<String, SectionInputStream> sections = new HashMap<>();
-
-        if (sectionMapOffset == 0) return sections;
+        Map<String, SectionInputStream> sections = readMappedSections(input, header);
+        return sections != null ? sections : scanDataPages(input, header);
+    }
 
-        // STEP 1: Initialize default section names
-        Map<Integer, String> sectionNames = new HashMap<>();
-        sectionNames.put(1, "AcDb:Header");
-        sectionNames.put(2, "AcDb:AuxHeader");
-        sectionNames.put(3, "AcDb:Classes");
-        sectionNames.put(4, "AcDb:Handles");
-        sectionNames.put(5, "AcDb:Template");
-        sectionNames.put(6, "AcDb:AuxHeader2");
-        sectionNames.put(7, "AcDb:Objects");
+    /**
+     * 섹션 맵까지만 읽고 각 섹션의 압축 페이지를 모아 둔다. 압축 해제는 섹션마다
+     * {@link PendingSection}이 시작될 때 페이지 순서대로 진행되며, 페이지 하나가 풀릴 때마다
+     * 그 앞부분을 소비자에게 알린다. 페이지 맵을 읽지 못하면 기존 경로로 모두 읽는다.
+     */
+    @Override
+    public Map<String, PendingSection> readSectionsDeferred(BitInput input, FileHeaderFields header)
+            throws Exception {
+        SectionMaps maps = readSectionMaps(input, header);
+        if (maps == null) {
+            Map<String, PendingSection> scanned = new HashMap<>();
+            scanDataPages(input, header).forEach((name, s) -> scanned.put(name, PendingSection.completed(s)));
+            return scanned;
+        }
 
-        // STEP 2: Read data pages from 0x100 onwards
-        long sectionDataStart = 0x100;
-        input.seek(sectionDataStart * 8);
+        Map<String, PendingSection> sections = new HashMap<>();
+        byte[] rawHeader = new byte[R2004DataPageHeader.SIZE];
+        for (SectionDescriptor desc : maps.sectionMap().descriptors()) {
+            long size = usableSize(desc);
+            if (size <= 0) continue;
+            if (size > Integer.MAX_VALUE - 8) {
+                // 배열 하나에 담을 수 없는 섹션은 바로 읽는다
+                SectionInputStream stream = new SectionInputStream(
+                    readSection(input, maps.pages(), desc, new R2004Lz77Decompressor(), rawHeader, diagnostics),
+                    desc.name());
+                sections.put(desc.name(), PendingSection.completed(stream));
+                continue;
+            }
 
-        long maxRead = sectionMapOffset - sectionDataStart;
-        if (maxRead > 1000000) maxRead = 1000000;
+            // 입력은 스레드 간에 나눠 쓸 수 없으므로 압축 페이지 원본만 지금 복사해 둔다
+            List<PageInfo> ordered = new ArrayList<>(desc.pages());
+            ordered.sort(Comparator.comparingLong(PageInfo::pageOffset));
+            byte[][] compressed = new byte[ordered.size()][];
+            for (int p = 0; p < compressed.length; p++) {
+                compressed[p] = readCompressedPage(input, maps.pages(), desc, ordered.get(p), size, rawHeader,
+                                                   diagnostics);
+            }
 
-        ByteArrayOutputStream sectionDataStream = new ByteArrayOutputStream();
-        try {
-            for (long i = 0; i < maxRead; i++) {
-                try {
-                    int b = input.readRawChar() & 0xFF;
-                    sectionDataStream.write(b);
-                } catch (Exception e) {
-                    break;
+            R2004PageMap pageMap = maps.pages();
+            sections.put(desc.name(), new PendingSection(desc.name(), new byte[(int) size], (data, ready) -> {
+                R2004Lz77Decompressor decompressor = new R2004Lz77Decompressor();
+                for (int p = 0; p < compressed.length; p++) {
+                    if (compressed[p] != null) {
+                        byte[] decomp = decompressPage(compressed[p], decompressor, pageMap, desc, ordered, p,
+                                                       diagnostics);
+                        if (decomp != null) {
+                            int start = (int) ordered.get(p).pageOffset();
+                            System.arraycopy(decomp, 0, data, start, Math.min(decomp.length, data.length - start));
+                        }
+                        compressed[p] = null;
+                    }
+                    // 다음 페이지 시작 전까지는 더 바뀌지 않는다
+                    ready.accept(p + 1 < compressed.length ? ordered.get(p + 1).pageOffset() : data.length);
                 }
-            }
-        } catch (Exception e) {
-            // Reading error
+            }));
         }
-        byte[] allData = sectionDataStream.toByteArray();
-
-        // FIRST PASS: Read exactly sectionPageAmount pages from 0x100
-        Map<Integer, SectionInfo> dataPages = new HashMap<>();
-        int scanOffset = 0;
-        int pagesRead = 0;
-
-        while (scanOffset + 4 <= allData.length && pagesRead < sectionPageAmount) {
-            int rawPageType = ByteBuffer.wrap(allData, scanOffset, 4).order(ByteOrder.LITTLE_ENDIAN).getInt();
-            byte[] pageHeader;
-            int pageType;
-
-            if (rawPageType == 0x41630e3b || rawPageType == 0x4163003b) {
-                if (scanOffset + 32 > allData.length) break;
-                pageHeader = new byte[32];
-                System.arraycopy(allData, scanOffset, pageHeader, 0, 32);
-                pageType = rawPageType;
-            } else {
-                if (scanOffset + 32 > allData.length) break;
-                long actualFileOffset = sectionDataStart + scanOffset;
-                int secMask = (int)(0x4164536bL ^ (actualFileOffset & 0xFFFFFFFFL));
-                pageHeader = new byte[32];
-                for (int i = 0; i < 8; i++) {
-                    int hdr = ByteBuffer.wrap(allData, scanOffset + i*4, 4).order(ByteOrder.LITTLE_ENDIAN).getInt();
-                    hdr ^= secMask;
-                    byte[] decrypted = ByteBuffer.allocate(4).putInt(hdr).array();
-                    System.arraycopy(decrypted, 0, pageHeader, i*4, 4);
-                }
-                pageType = ByteBuffer.wrap(pageHeader, 0, 4).order(ByteOrder.BIG_ENDIAN).getInt();
-            }
-            int compSize = ByteBuffer.wrap(pageHeader, 8, 4).order(ByteOrder.BIG_ENDIAN).getInt();
+        return sections;
+    }
 
-            if (compSize < 0 || compSize > 100000) {
-                break;
-            }
+    /** 페이지 맵과 섹션 맵 */
+    private record SectionMaps(R2004PageMap pages, R2004SectionMap sectionMap) { }
 
-            pagesRead++;
+    /**
+     * 페이지 맵 → 섹션 맵. 어느 쪽이든 읽지 못하거나 섹션이 없으면 기록을 남기고 null
+     */
+    private SectionMaps readSectionMaps(BitInput input, FileHeaderFields header) {
+        R2004PageMap pages = null;
+        R2004SectionMap sectionMap = null;
+        try {
+            pages = R2004PageMap.read(input, header.sectionMapOffset());
+            sectionMap = pages == null ? null : R2004SectionMap.read(input, pages, header.sectionMapId());
+        } catch (Exception e) {
+            // 아래에서 기록
+        }
+        if (sectionMap == null || sectionMap.descriptors().isEmpty()) {
+            // 페이지 맵을 못 읽었으면 페이지 맵 위치, 섹션 맵이 문제면 섹션 맵 페이지 위치
+            long pageId = pages == null ? header.pageMapId() : header.sectionMapId();
+            long offset = pages == null ? header.sectionMapOffset() + 0x100 : pages.offsetOf(header.sectionMapId());
+            diagnostics.recordPage(DwgDecodeException.Kind.SECTION_MAP_UNREADABLE, "", pageId, offset);
+            return null;
+        }
+        return new SectionMaps(pages, sectionMap);
+    }
 
-            if (pageType == 0x4163043b) {
-                int sectionNum = ByteBuffer.wrap(pageHeader, 4, 4).order(ByteOrder.BIG_ENDIAN).getInt();
-                int decompSize = ByteBuffer.wrap(pageHeader, 12, 4).order(ByteOrder.BIG_ENDIAN).getInt();
-                int address = ByteBuffer.wrap(pageHeader, 16, 4).order(ByteOrder.BIG_ENDIAN).getInt();
+    /**
+     * 페이지 맵 → 섹션 맵 → 각 섹션의 페이지를 파일 오프셋으로 바로 찾아 조립.
+     * 페이지 맵이나 섹션 맵을 읽지 못하면 null
+     */
+    private Map<String, SectionInputStream> readMappedSections(BitInput input, FileHeaderFields header) {
+        SectionMaps maps = readSectionMaps(input, header);
+        if (maps == null) {
+            return null;
+        }
 
-                if (sectionNum <= 28) {
-                    if (!dataPages.containsKey(sectionNum)) {
-                        dataPages.put(sectionNum, new SectionInfo());
-                    }
-                    dataPages.get(sectionNum).pages.add(new PageInfo(scanOffset + 32, compSize, decompSize, address));
-                }
-            }
+        Map<String, SectionInputStream> sections = new HashMap<>();
+        R2004Lz77Decompressor lz77 = new R2004Lz77Decompressor();
+        byte[] rawHeader = new byte[R2004DataPageHeader.SIZE];
+        for (SectionDescriptor desc : maps.sectionMap().descriptors()) {
+            if (usableSize(desc) <= 0) continue;
+            LargeByteBuffer data = readSection(input, maps.pages(), desc, lz77, rawHeader, diagnostics);
+            sections.put(desc.name(), new SectionInputStream(data, desc.name()));
+        }
+        return sections;
+    }
 
-            scanOffset += 32 + compSize;
+    /** 조립할 섹션의 크기. 이름이 없거나 비었거나 기술자가 손상됐으면 0 */
+    private static long usableSize(SectionDescriptor desc) {
+        long size = desc.uncompressedSize();
+        if (desc.name().isEmpty() || size <= 0 || desc.pages().isEmpty()) return 0;
+        if (size > (long) desc.pages().size() * maxPageSize(desc)) return 0;  // 손상된 기술자
+        return size;
+    }
 
-            if (scanOffset % 0x20 != 0) {
-                int align = 0x20 - (scanOffset % 0x20);
-                scanOffset += align;
-            }
+    private static int maxPageSize(SectionDescriptor desc) {
+        return desc.maxPageSize() > 0 ? (int) desc.maxPageSize() : R2004SectionMap.MAX_PAGE_SIZE;
+    }
 
-            if (scanOffset >= allData.length) break;
+    private static LargeByteBuffer readSection(BitInput input, R2004PageMap pages, SectionDescriptor desc,
+            R2004Lz77Decompressor lz77, byte[] rawHeader, DwgDiagnostics diagnostics) {
+        long size = desc.uncompressedSize();
+        LargeByteBuffer data = LargeByteBuffer.allocate(size);
+        List<PageInfo> ordered = new ArrayList<>(desc.pages());
+        ordered.sort(Comparator.comparingLong(PageInfo::pageOffset));
+        for (int p = 0; p < ordered.size(); p++) {
+            PageInfo page = ordered.get(p);
+            byte[] comp = readCompressedPage(input, pages, desc, page, size, rawHeader, diagnostics);
+            if (comp == null) continue;
+            // 손상된 페이지는 0으로 남겨 두고 나머지 페이지를 계속 조립
+            byte[] decomp = decompressPage(comp, lz77, pages, desc, ordered, p, diagnostics);
+            if (decomp == null) continue;
+            int length = (int) Math.min(decomp.length, size - page.pageOffset());
+            data.put(page.pageOffset(), decomp, 0, length);
         }
+        return data;
+    }
 
-        // SECOND PASS: Assemble each section using address-based placement.
-        // libredwg: max_decomp_size = 0x7400 for all standard sections (Objects, Handles, Classes, etc.)
-        // Each page is decompressed into a fixed 0x7400-byte slot at page.address offset.
-        final int MAX_DECOMP_SIZE = 0x7400;
+    /**
+     * ordered(섹션 내 오프셋 순) 중 p번째 페이지를 푼다. 압축 해제기는 손상된 데이터에서 예외 없이
+     * 일찍 멈추므로, 다음 페이지(마지막이면 섹션 끝)까지 채우지 못해도 손상으로 기록한다.
+     * 예외가 나면 기록하고 null
+     */
+    private static byte[] decompressPage(byte[] comp, R2004Lz77Decompressor lz77, R2004PageMap pages,
+            SectionDescriptor desc, List<PageInfo> ordered, int p, DwgDiagnostics diagnostics) {
+        PageInfo page = ordered.get(p);
+        int maxPageSize = maxPageSize(desc);
+        long next = p + 1 < ordered.size() ? ordered.get(p + 1).pageOffset() : desc.uncompressedSize();
+        long expected = Math.min(maxPageSize, next - page.pageOffset());
+        byte[] decomp;
+        try {
+            decomp = desc.compressionType() == 2 ? lz77.decompress(comp, maxPageSize) : comp;
+        } catch (Exception e) {
+            decomp = null;
+        }
+        if (decomp == null || decomp.length < expected) {
+            diagnostics.recordPage(DwgDecodeException.Kind.PAGE_DECOMPRESS_FAILED,
+                                   desc.name(), page.pageId(), pages.offsetOf(page.pageId()));
+        }
+        return decomp;
+    }
 
-        for (Integer sectionNum : dataPages.keySet()) {
-            SectionInfo info = dataPages.get(sectionNum);
-            String sectionName = sectionNames.getOrDefault(sectionNum, "Unknown(" + sectionNum + ")");
+    /**
+     * 데이터 페이지 하나의 압축 바이트. 페이지 맵에 없거나, 헤더가 데이터 페이지가 아니거나,
+     * 크기가 맞지 않으면 기록을 남기고 null
+     */
+    private static byte[] readCompressedPage(BitInput input, R2004PageMap pages, SectionDescriptor desc,
+            PageInfo page, long sectionSize, byte[] rawHeader, DwgDiagnostics diagnostics) {
+        long address = pages.offsetOf(page.pageId());
+        long start = page.pageOffset();
+        byte[] comp = address < 0 || start < 0 || start >= sectionSize
+            ? null : readDataPage(input, pages, page, address, rawHeader);
+        if (comp == null) {
+            diagnostics.recordPage(DwgDecodeException.Kind.PAGE_UNREADABLE, desc.name(), page.pageId(), address);
+        }
+        return comp;
+    }
 
-            // Compute total output buffer size from page addresses
-            int totalSize = 0;
-            for (PageInfo page : info.pages) {
-                int end = page.address + MAX_DECOMP_SIZE;
-                if (end > totalSize) totalSize = end;
+    private static byte[] readDataPage(BitInput input, R2004PageMap pages, PageInfo page, long address,
+            byte[] rawHeader) {
+        try {
+            input.seek(address * 8);
+            input.readBytes(rawHeader, 0, rawHeader.length);
+            R2004DataPageHeader pageHeader = R2004DataPageHeader.decode(rawHeader, address);
+            int compSize = pageHeader.compressedSize();
+            if (pageHeader.type() != R2004DataPageHeader.DATA_PAGE
+                    || compSize < 0 || compSize > pages.sizeOf(page.pageId())) {
+                return null;
             }
-            if (totalSize <= 0) continue;
+            byte[] comp = new byte[compSize];
+            input.readBytes(comp, 0, compSize);
+            return comp;
+        } catch (Exception e) {
+            return null;
+        }
+    }
 
-            byte[] outputBuffer = new byte[totalSize]; // zero-filled
+    /**
+     * 페이지 맵을 쓸 수 없을 때의 대체 경로: 0x100부터 페이지를 순서대로 훑어
+     * 데이터 페이지를 섹션 번호별로 모은다. 섹션 이름은 표준 번호 배정을 가정한다.
+     */
+    private Map<String, SectionInputStream> scanDataPages(BitInput input, FileHeaderFields header) {
+        Map<String, SectionInputStream> sections = new HashMap<>();
+        if (header.sectionMapOffset() == 0) return sections;
 
-            for (PageInfo page : info.pages) {
-                int available = Math.min(page.compSize, allData.length - page.headerEnd);
-                if (available <= 0) continue;
-                byte[] compressedData = new byte[available];
-                System.arraycopy(allData, page.headerEnd, compressedData, 0, available);
+        Map<Integer, String> sectionNames = new HashMap<>();
+        sectionNames.put(1, "AcDb:Header");
+        sectionNames.put(2, "AcDb:AuxHeader");
+        sectionNames.put(3, "AcDb:Classes");
+        sectionNames.put(4, "AcDb:Handles");
+        sectionNames.put(5, "AcDb:Template");
+        sectionNames.put(6, "AcDb:AuxHeader2");
+        sectionNames.put(7, "AcDb:Objects");
 
+        // 섹션 번호 → {페이지 주소, 섹션 내 시작 오프셋}
+        Map<Integer, List<long[]>> dataPages = new HashMap<>();
+        long end = header.sectionMapOffset() + 0x100;
+        long address = 0x100;
+        byte[] raw = new byte[R2004DataPageHeader.SIZE];
+        for (int pagesRead = 0; address + raw.length <= end && pagesRead < header.sectionPageCount(); pagesRead++) {
+            try {
+                input.seek(address * 8);
+                input.readBytes(raw, 0, raw.length);
+            } catch (RuntimeException e) {
+                break;
+            }
+            int rawType = (int) ByteUtils.readLE32(raw, 0);
+            long pageSize;
+            if (rawType == R2004SystemPage.PAGE_MAP || rawType == R2004SystemPage.SECTION_MAP) {
+                pageSize = R2004SystemPage.HEADER_SIZE + ByteUtils.readLE32(raw, 8);
+            } else {
+                R2004DataPageHeader pageHeader = R2004DataPageHeader.decode(raw, address);
+                if (pageHeader.type() != R2004DataPageHeader.DATA_PAGE || pageHeader.compressedSize() < 0) break;
+                dataPages.computeIfAbsent(pageHeader.sectionId(), k -> new ArrayList<>())
+                         .add(new long[] {address, pageHeader.startOffset()});
+                pageSize = R2004DataPageHeader.SIZE + pageHeader.compressedSize();
+            }
+            address += (pageSize + 0x1F) & ~0x1FL;
+        }
+
+        R2004Lz77Decompressor lz77 = new R2004Lz77Decompressor();
+        for (Map.Entry<Integer, List<long[]>> entry : dataPages.entrySet()) {
+            String sectionName = sectionNames.getOrDefault(entry.getKey(), "Unknown(" + entry.getKey() + ")");
+            // 섹션 크기를 모르므로 페이지마다 최대 크기 슬롯을 잡는다
+            long totalSize = 0;
+            for (long[] page : entry.getValue()) {
+                totalSize = Math.max(totalSize, page[1] + R2004SectionMap.MAX_PAGE_SIZE);
+            }
+            if (totalSize <= 0 || totalSize > Integer.MAX_VALUE - 8) continue;
+            byte[] data = new byte[(int) totalSize];
+            for (long[] page : entry.getValue()) {
                 try {
-                    io.dwg.core.util.R2004Lz77Decompressor lz77 = new io.dwg.core.util.R2004Lz77Decompressor();
-                    byte[] pageDecomp = lz77.decompress(compressedData, MAX_DECOMP_SIZE);
-                    int copyLen = Math.min(pageDecomp.length, MAX_DECOMP_SIZE);
-                    int destOff = page.address;
-                    if (destOff >= 0 && destOff + copyLen <= totalSize) {
-                        System.arraycopy(pageDecomp, 0, outputBuffer, destOff, copyLen);
+                    input.seek(page[0] * 8);
+                    input.readBytes(raw, 0, raw.length);
+                    byte[] comp = new byte[R2004DataPageHeader.decode(raw, page[0]).compressedSize()];
+                    input.readBytes(comp, 0, comp.length);
+                    byte[] decomp = lz77.decompress(comp, R2004SectionMap.MAX_PAGE_SIZE);
+                    if (page[1] >= 0) {
+                        System.arraycopy(decomp, 0, data, (int) page[1], decomp.length);
                     }
                 } catch (Exception e) {
-                    // Fallback: raw copy at address offset
-                    int destOff = page.address;
-                    if (destOff >= 0 && destOff + available <= totalSize) {
-                        System.arraycopy(compressedData, 0, outputBuffer, destOff, available);
-                    }
+                    // 손상된 페이지 건너뜀 (스캔 경로에는 페이지 번호가 없다)
+                    diagnostics.recordPage(DwgDecodeException.Kind.PAGE_DECOMPRESS_FAILED, sectionName, -1, page[0]);
                 }
             }
-
-            sections.put(sectionName, new SectionInputStream(outputBuffer, sectionName));
+            sections.put(sectionName, new SectionInputStream(data, sectionName));
         }
-
         return sections;
     }
 
-    // Helper classes for section tracking
-    private static class SectionInfo {
-        java.util.List<PageInfo> pages = new java.util.ArrayList<>();
-    }
-
-    private static class PageInfo {
-        int headerEnd, compSize, address;
-        PageInfo(int hEnd, int comp, int decomp, int addr) {
-            headerEnd = hEnd; compSize = comp; address = addr;
-        }
-    }
-
     // -------------------------------------------------------------------------
     // writeHeader / writeSections
     // -------------------------------------------------------------------------
     @Override
     public void writeHeader(BitOutput output, FileHeaderFields header) throws Exception {
-        // 1. Version string (6 bytes) - "AC1018"
-        byte[] versionStr = "AC1018".getBytes(java.nio.charset.StandardCharsets.US_ASCII);
-        for (byte b : versionStr) {
-            output.writeRawChar(b & 0xFF);
-        }
+        // 1. Version string (6 bytes) - "AC1018" 등
+        byte[] versionStr = header.version().versionString().getBytes(StandardCharsets.US_ASCII);
+        output.writeBytes(versionStr, 0, versionStr.length);
 
-        // 2. Live data fields (0x06-0x7A, 0x7A bytes)
+        // 2. Live data fields (0x06-0x7F, 0x7A bytes)
         byte[] liveData = new byte[0x7A];
-        for (int i = 0; i < liveData.length; i++) {
-            output.writeRawChar(0);
-        }
+        liveData[5] = (byte) header.maintenanceVersion();
+        ByteUtils.writeLE16(liveData, 0x0D, header.codePage());
+        output.writeBytes(liveData, 0, liveData.length);
 
-        // 3. 암호화된 헤더 생성 (0x7A-0xE5, 0x6C bytes)
+        // 3. 암호화된 헤더 생성 (0x80-0xEB, 0x6C bytes)
         byte[] headerToEncrypt = buildEncryptedHeaderData(header);
 
         // 4. 헤더 암호화
         byte[] encryptedHeader = encryptR2004Header(headerToEncrypt);
 
         // 5. 암호화된 헤더 쓰기
-        for (byte b : encryptedHeader) {
-            output.writeRawChar(b & 0xFF);
-        }
+        output.writeBytes(encryptedHeader, 0, encryptedHeader.length);
 
-        // 6. 패딩 (0xE6-0xFF, 0x1A bytes)
-        for (int i = 0; i < 0x1A; i++) {
-            output.writeRawChar(0);
-        }
+        // 6. 패딩 (0xEC-0xFF, 0x14 bytes)
+        output.writeBytes(new byte[0x14], 0, 0x14);
     }
 
     /**
@@ -405,9 +542,16 @@ public class R2004FileStructureHandler extends AbstractFileStructureHandler {
         byte[] fileIdBytes = fileId.getBytes(java.nio.charset.StandardCharsets.US_ASCII);
         System.arraycopy(fileIdBytes, 0, data, 0, Math.min(fileIdBytes.length, 12));
 
-        // 0x54-0x5B: Section map offset (8 bytes, LE64)
-        long sectionMapOffset = header.sectionMapOffset();
-        writeLE64(data, 0x54, sectionMapOffset);
+        int pageCount = header.sectionPageCount();
+        writeLE32(data, 0x28, (int) header.pageMapId());   // 마지막 페이지 ID
+        writeLE32(data, 0x40, pageCount);
+        writeLE32(data, 0x44, 0x20);
+        writeLE32(data, 0x48, 0x80);
+        writeLE32(data, 0x4C, 0x40);
+        writeLE32(data, 0x50, (int) header.pageMapId());
+        writeLE64(data, 0x54, header.sectionMapOffset()); // 페이지 맵 주소 - 0x100
+        writeLE32(data, 0x5C, (int) header.sectionMapId());
+        writeLE32(data, 0x60, pageCount);
 
         // CRC32 계산 (CRC 필드는 0으로)
         int crc32 = calculateCrc32(data, 0, 0x6C);
@@ -451,81 +595,154 @@ public class R2004FileStructureHandler extends AbstractFileStructureHandler {
         data[offset + 3] = (byte) ((value >>> 24) & 0xFF);
     }
 
+    /**
+     * 0x100 이후 본문 쓰기. 페이지 압축은 공용 ForkJoinPool에서 병렬로 수행한다.
+     * @see #writeSections(BitOutput, Map, FileHeaderFields, Executor)
+     */
     @Override
     public void writeSections(BitOutput output, Map<String, byte[]> sections,
             FileHeaderFields header) throws Exception {
-        long currentOffset = 0x100 / 0x100;
-        java.util.Map<String, Long> sectionOffsets = new java.util.HashMap<>();
-        java.util.Map<String, Long> sectionSizes = new java.util.HashMap<>();
-
-        for (String sectionName : sections.keySet()) {
-            byte[] sectionData = sections.get(sectionName);
-            if (sectionData != null && sectionData.length > 0) {
-                sectionOffsets.put(sectionName, currentOffset);
-                sectionSizes.put(sectionName, (long)sectionData.length);
-
-                for (byte b : sectionData) {
-                    output.writeRawChar(b & 0xFF);
-                }
+        writeSections(output, sections, header, ForkJoinPool.commonPool());
+    }
 
-                currentOffset += sectionData.length;
+    /**
+     * 0x100 이후 본문 쓰기. 호출 측은 output의 시작이 파일 오프셋 0x100이 되도록 배치해야 한다.
+     *
+     * <p>각 섹션을 0x7400바이트 데이터 페이지로 나눠 쓰고, 섹션 맵과 페이지 맵을 마지막에 붙인다.
+     * 페이지 ID는 파일 배치 순서대로 1부터 붙인다. 페이지 맵 위치와 ID는 header에 기록되어
+     * {@link #writeHeader}가 사용한다.</p>
+     *
+     * <p>페이지는 서로 독립이므로 압축과 체크섬 계산은 executor에서 페이지마다 따로 하고,
+     * 주소 배치와 맵 구성만 순서대로 한다. 결과는 executor와 무관하게 같다.</p>
+     */
+    @Override
+    public void writeSections(BitOutput output, Map<String, byte[]> sections,
+            FileHeaderFields header, Executor executor) throws Exception {
+        List<SectionDescriptor> descs = new ArrayList<>();
+        List<PageJob> jobs = new ArrayList<>();
+        int sectionId = 0;
+        for (String name : orderedSectionNames(sections)) {
+            byte[] data = sections.get(name);
+            if (data == null) continue;
+            SectionDescriptor desc = new SectionDescriptor(name);
+            desc.setSectionId(++sectionId);
+            desc.setUncompressedSize(data.length);
+            desc.setMaxPageSize(R2004SectionMap.MAX_PAGE_SIZE);
+            desc.setCompressionType(2);
+            descs.add(desc);
+            for (int start = 0; start < data.length; start += R2004SectionMap.MAX_PAGE_SIZE) {
+                jobs.add(new PageJob(desc, data, start, Math.min(R2004SectionMap.MAX_PAGE_SIZE, data.length - start)));
             }
         }
-
-        long sectionMapStartOffset = currentOffset;
-
-        int sectionCount = 0;
-        for (String sectionName : sections.keySet()) {
-            if (sections.get(sectionName) != null && sections.get(sectionName).length > 0) {
-                sectionCount++;
-            }
+        byte[][] pages = encodePages(jobs, executor);
+
+        R2004PageMap pageMap = new R2004PageMap();
+        R2004SectionMap sectionMap = new R2004SectionMap();
+        long address = 0x100;
+        int pageId = 0;
+        for (int i = 0; i < pages.length; i++) {
+            PageJob job = jobs.get(i);
+            byte[] page = pages[i];
+            int compSize = (int) ByteUtils.readLE32(page, 8);
+            R2004DataPageHeader.place(page, address);
+            output.writeBytes(page, 0, page.length);
+            pageMap.put(++pageId, address, page.length);
+            job.desc().addPage(new PageInfo(job.start(), compSize, pageId));
+            job.desc().setCompressedSize(job.desc().compressedSize() + compSize);
+            address += page.length;
+        }
+        for (SectionDescriptor desc : descs) {
+            sectionMap.add(desc);
         }
-        output.writeRawLong(sectionCount);
+        byte[] maps = encodeMaps(pageMap, sectionMap, pageId, address, header);
+        output.writeBytes(maps, 0, maps.length);
+    }
 
-        for (String sectionName : sections.keySet()) {
-            byte[] sectionData = sections.get(sectionName);
-            if (sectionData != null && sectionData.length > 0) {
-                writeR2004DataSectionDescriptor(output, sectionName, sectionData,
-                    sectionOffsets.get(sectionName));
-            }
+    /**
+     * 마지막 데이터 페이지(ID lastPageId) 다음 address에 놓일 섹션 맵 페이지 + 페이지 맵 페이지.
+     * 두 페이지를 pageMap에 등록하고 페이지 맵 위치와 ID를 header에 기록한다.
+     */
+    static byte[] encodeMaps(R2004PageMap pageMap, R2004SectionMap sectionMap, int lastPageId, long address,
+                             FileHeaderFields header) {
+        int pageId = lastPageId;
+        byte[] sectionMapPage = R2004SystemPage.encode(R2004SystemPage.SECTION_MAP, sectionMap.toBytes());
+        int sectionMapId = ++pageId;
+        pageMap.put(sectionMapId, address, sectionMapPage.length);
+        address += sectionMapPage.length;
+
+        // 페이지 맵은 자기 자신의 크기도 담으므로 크기가 더 늘지 않을 때까지 다시 만든다
+        int pageMapId = ++pageId;
+        long reserved = 0;
+        byte[] pageMapPage;
+        while (true) {
+            pageMap.put(pageMapId, address, reserved);
+            pageMapPage = R2004SystemPage.encode(R2004SystemPage.PAGE_MAP, pageMap.toBytes());
+            if (pageMapPage.length <= reserved) break;
+            reserved = pageMapPage.length;
         }
+
+        header.setSectionMapOffset(address - 0x100);
+        header.setSectionMapId(sectionMapId);
+        header.setPageMapId(pageMapId);
+        header.setSectionPageCount(pageId);
+
+        byte[] maps = Arrays.copyOf(sectionMapPage, sectionMapPage.length + (int) reserved);
+        System.arraycopy(pageMapPage, 0, maps, sectionMapPage.length, pageMapPage.length);
+        return maps;
     }
 
+    /** 섹션 desc의 data[start, start+length)를 한 데이터 페이지로 */
+    private record PageJob(SectionDescriptor desc, byte[] data, int start, int length) {}
+
     /**
-     * R2004 Data Section Descriptor 쓰기
+     * 페이지마다 압축 + 체크섬. 페이지가 {@link #PARALLEL_PAGE_THRESHOLD}개 이상이면 executor에 나눠 맡긴다.
+     * 헤더는 아직 평문 ({@link R2004DataPageHeader#place}로 주소를 입혀야 한다).
      */
-    private void writeR2004DataSectionDescriptor(BitOutput output, String sectionName,
-            byte[] sectionData, long sectionStartOffset) throws Exception {
-
-        int compressedSize = sectionData.length;
-        int uncompressedSize = sectionData.length;
-        int compressionType = 0;  // No compression
-
-        output.writeRawLong(compressedSize);
-        output.writeRawLong(uncompressedSize);
-        output.writeRawLong(compressionType);
-
-        output.writeRawLong(0);
-        output.writeRawLong(0);
-        output.writeRawLong(0);
-
-        // sectionName (64 bytes, UTF-16LE, null-terminated)
-        byte[] nameBytes = sectionName.getBytes(java.nio.charset.StandardCharsets.UTF_16LE);
-        for (int i = 0; i < 64; i++) {
-            if (i < nameBytes.length) {
-                output.writeRawChar(nameBytes[i] & 0xFF);
-            } else {
-                output.writeRawChar(0);
+    private static byte[][] encodePages(List<PageJob> jobs, Executor executor) throws Exception {
+        byte[][] pages = new byte[jobs.size()][];
+        R2004Lz77Compressor compressor = new R2004Lz77Compressor();
+        if (jobs.size() < PARALLEL_PAGE_THRESHOLD) {
+            for (int i = 0; i < pages.length; i++) {
+                pages[i] = encodePage(compressor, jobs.get(i));
             }
+            return pages;
         }
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[pages.length];
+        for (int i = 0; i < pages.length; i++) {
+            int p = i;
+            futures[i] = CompletableFuture.runAsync(() -> pages[p] = encodePage(compressor, jobs.get(p)), executor);
+        }
+        try {
+            CompletableFuture.allOf(futures).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+        return pages;
+    }
 
-        int pageCount = 1;
-        output.writeRawLong(pageCount);
-
-        output.writeRawLong(0);
-        output.writeRawLong(sectionData.length);
-        output.writeRawLong((int)(sectionStartOffset & 0xFFFFFFFFL));
+    private static byte[] encodePage(R2004Lz77Compressor compressor, PageJob job) {
+        return encodePage(compressor, job.desc().sectionId(), job.data(), job.start(), job.length(), job.start());
     }
 
+    /** data[off, off+length)를 압축해 섹션 sectionId의 startOffset 위치 데이터 페이지로 (헤더는 평문) */
+    static byte[] encodePage(R2004Lz77Compressor compressor, int sectionId, byte[] data, int off, int length,
+                             long startOffset) {
+        byte[] comp = compressor.compress(data, off, length);
+        return R2004DataPageHeader.encodePage(sectionId, comp, length, startOffset);
+    }
 
+    /**
+     * 표준 섹션 순서 우선, 나머지는 이름순
+     */
+    private static List<String> orderedSectionNames(Map<String, byte[]> sections) {
+        List<String> names = new ArrayList<>();
+        for (String name : SECTION_ORDER) {
+            if (sections.containsKey(name)) names.add(name);
+        }
+        List<String> rest = new ArrayList<>(sections.keySet());
+        rest.removeAll(names);
+        Collections.sort(rest);
+        names.addAll(rest);
+        return names;
+    }
 }
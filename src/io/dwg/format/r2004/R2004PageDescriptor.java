@@ -1,9 +1,10 @@
 package io.dwg.format.r2004;
 
 import io.dwg.core.io.BitInput;
+import io.dwg.core.io.BitOutput;
 
 /**
- * 페이지 위치와 크기.
+ * 섹션 맵의 페이지 항목: 페이지 ID, 압축 데이터 크기, 섹션 내 시작 오프셋.
  */
 public class R2004PageDescriptor {
     private final long pageId;
@@ -16,13 +17,23 @@ public class R2004PageDescriptor {
         this.pageOffset = pageOffset;
     }
 
+    /**
+     * RL pageId, RL dataSize, RLL startOffset
+     */
     public static R2004PageDescriptor read(BitInput input) {
         long pageId     = input.readRawLong() & 0xFFFFFFFFL;
         long dataSize   = input.readRawLong() & 0xFFFFFFFFL;
-        long pageOffset = input.readRawLong() & 0xFFFFFFFFL;
+        long pageOffset = (input.readRawLong() & 0xFFFFFFFFL) | ((long) input.readRawLong() << 32);
         return new R2004PageDescriptor(pageId, dataSize, pageOffset);
     }
 
+    public void write(BitOutput output) {
+        output.writeRawLong((int) pageId);
+        output.writeRawLong((int) dataSize);
+        output.writeRawLong((int) pageOffset);
+        output.writeRawLong((int) (pageOffset >>> 32));
+    }
+
     public long pageId()     { return pageId; }
     public long dataSize()   { return dataSize; }
     public long pageOffset() { return pageOffset; }
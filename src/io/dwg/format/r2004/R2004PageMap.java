@@ -1,61 +1,117 @@
 package io.dwg.format.r2004;
 
 import io.dwg.core.io.BitInput;
+import io.dwg.core.util.ByteUtils;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
 import java.util.Optional;
 
 /**
  * R2004 페이지 맵. 페이지 ID → 파일 오프셋 매핑.
  * 스펙 §4.2: Page Map = pageId → offset 매핑 테이블.
+ *
+ * <p>페이지 ID는 1부터 조밀하게 붙으므로 ID를 인덱스로 하는 배열에 보관한다.</p>
  */
 public class R2004PageMap {
-    private final Map<Long, Long> pageOffsets = new HashMap<>();
+    private long[] offsets = new long[16];
+    private long[] sizes = new long[16];
+    private int maxPageId;
+    private int pageCount;
 
-    private R2004PageMap() {}
+    public R2004PageMap() {
+        Arrays.fill(offsets, -1L);
+    }
+
+    /**
+     * Page Map을 읽습니다. pageMapAddress는 암호화 헤더 0x54의 값(파일 오프셋 - 0x100).
+     * 페이지 맵 시스템 페이지가 아니면 null
+     */
+    public static R2004PageMap read(BitInput input, long pageMapAddress) throws Exception {
+        byte[] data = R2004SystemPage.read(input, pageMapAddress + 0x100, R2004SystemPage.PAGE_MAP);
+        return data == null ? null : parse(data);
+    }
 
     /**
-     * Page Map을 파일 오프셋에서 읽습니다.
-     * 페이지 맵 구조 (스펙 §4.2):
+     * 압축 해제된 페이지 맵 해석 (스펙 §4.2):
      *   반복:
-     *     pageId   (RL, 4 bytes) - 양수=데이터, 음수=여유 공간
-     *     pageSize (RL, 4 bytes) - 페이지 크기
+     *     pageId   (RL) - 양수=사용 중, 음수=빈 페이지 (뒤에 RL 4개가 더 붙음)
+     *     pageSize (RL) - 페이지 크기
      *   파일 오프셋은 0x100에서 시작해 각 pageSize만큼 누적
      */
-    public static R2004PageMap read(BitInput input, long pageMapOffset) throws Exception {
+    public static R2004PageMap parse(byte[] data) {
         R2004PageMap map = new R2004PageMap();
+        long address = 0x100;
+        int pos = 0;
+        while (pos + 8 <= data.length) {
+            int pageId = (int) ByteUtils.readLE32(data, pos);
+            long pageSize = ByteUtils.readLE32(data, pos + 4);
+            pos += 8;
+            if (pageId < 0) {
+                pos += 16;  // parent, left, right, 0
+            } else if (pageId > 0) {
+                map.put(pageId, address, pageSize);
+            }
+            address += pageSize;
+        }
+        return map;
+    }
 
-        long actualOffset = pageMapOffset * 8;
-        input.seek(actualOffset);
-
-        long runningOffset = 0x100;
-        int entryCount = 0;
-
-        while (entryCount < 10000) {
-            long pageId = input.readRawLong() & 0xFFFFFFFFL;
-            long pageSize = input.readRawLong() & 0xFFFFFFFFL;
+    /**
+     * 페이지 등록 (쓰기용). 페이지 ID 순서가 곧 파일 배치 순서여야 한다.
+     */
+    public void put(int pageId, long offset, long size) {
+        if (pageId >= offsets.length) {
+            int capacity = Math.max(pageId + 1, offsets.length * 2);
+            int old = offsets.length;
+            offsets = Arrays.copyOf(offsets, capacity);
+            sizes = Arrays.copyOf(sizes, capacity);
+            Arrays.fill(offsets, old, capacity, -1L);
+        }
+        if (offsets[pageId] < 0) pageCount++;
+        offsets[pageId] = offset;
+        sizes[pageId] = size;
+        maxPageId = Math.max(maxPageId, pageId);
+    }
 
-            if (pageId == 0 && pageSize == 0) {
-                break;
-            }
+    /**
+     * 페이지의 파일 오프셋. 없으면 -1
+     */
+    public long offsetOf(long pageId) {
+        return pageId > 0 && pageId <= maxPageId ? offsets[(int) pageId] : -1L;
+    }
 
-            if (pageSize > 0x10000000) {
-                break;
-            }
+    /**
+     * 페이지 크기 (헤더 포함). 없으면 0
+     */
+    public long sizeOf(long pageId) {
+        return offsetOf(pageId) < 0 ? 0 : sizes[(int) pageId];
+    }
 
-            if (pageId > 0) {
-                map.pageOffsets.put(pageId, runningOffset);
-            }
+    public Optional<Long> offsetForPage(long pageId) {
+        long offset = offsetOf(pageId);
+        return offset < 0 ? Optional.empty() : Optional.of(offset);
+    }
 
-            runningOffset += pageSize;
-            entryCount++;
-        }
+    public int pageCount() {
+        return pageCount;
+    }
 
-        return map;
+    public int maxPageId() {
+        return maxPageId;
     }
 
-    public Optional<Long> offsetForPage(long pageId) {
-        return Optional.ofNullable(pageOffsets.get(pageId));
+    /**
+     * 페이지 맵 직렬화 (페이지 ID 순)
+     */
+    public byte[] toBytes() {
+        byte[] data = new byte[pageCount * 8];
+        int pos = 0;
+        for (int id = 1; id <= maxPageId; id++) {
+            if (offsets[id] < 0) continue;
+            ByteUtils.writeLE32(data, pos, id);
+            ByteUtils.writeLE32(data, pos + 4, sizes[id]);
+            pos += 8;
+        }
+        return data;
     }
 }
@@ -0,0 +1,100 @@
+package io.dwg.format.r2004;
+
+import io.dwg.core.exception.DwgCorruptedException;
+import io.dwg.core.io.BitInput;
+import io.dwg.core.io.ByteBufferBitInput;
+import io.dwg.core.io.ChunkedBitInput;
+import io.dwg.core.io.LargeByteBuffer;
+import io.dwg.format.common.FileHeaderFields;
+import io.dwg.format.common.PageInfo;
+import io.dwg.format.common.SectionDescriptor;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 이미 있는 R2004 계열 파일의 헤더, 페이지 맵, 섹션 맵.
+ * 증분 저장에서 바뀌지 않은 압축 페이지를 풀지 않고 그대로 옮겨 담는 데 쓴다 ({@link R2004StreamingWriter#copySection}).
+ */
+public final class R2004SourceFile {
+    private final LargeByteBuffer data;
+    private final FileHeaderFields header;
+    private final R2004PageMap pages;
+    private final R2004SectionMap sectionMap;
+
+    private R2004SourceFile(LargeByteBuffer data, FileHeaderFields header, R2004PageMap pages,
+                            R2004SectionMap sectionMap) {
+        this.data = data;
+        this.header = header;
+        this.pages = pages;
+        this.sectionMap = sectionMap;
+    }
+
+    /**
+     * 파일 헤더와 두 맵을 읽는다. 맵을 읽지 못하면 페이지를 옮길 수 없으므로 {@link DwgCorruptedException}
+     */
+    public static R2004SourceFile open(LargeByteBuffer data) throws Exception {
+        R2004FileStructureHandler handler = new R2004FileStructureHandler();
+        FileHeaderFields header = handler.readHeader(input(data));
+        R2004PageMap pages = R2004PageMap.read(input(data), header.sectionMapOffset());
+        R2004SectionMap sectionMap = pages == null ? null
+            : R2004SectionMap.read(input(data), pages, header.sectionMapId());
+        if (sectionMap == null || sectionMap.descriptors().isEmpty()) {
+            throw new DwgCorruptedException("R2004 source", "page map or section map is unreadable");
+        }
+        return new R2004SourceFile(data, header, pages, sectionMap);
+    }
+
+    private static BitInput input(LargeByteBuffer data) {
+        return data.array() != null ? new ByteBufferBitInput(data.array()) : new ChunkedBitInput(data);
+    }
+
+    public FileHeaderFields header() {
+        return header;
+    }
+
+    /** 섹션 맵 순서의 섹션 기술자 */
+    public List<SectionDescriptor> sections() {
+        return sectionMap.descriptors();
+    }
+
+    public Optional<SectionDescriptor> section(String name) {
+        return sectionMap.find(name);
+    }
+
+    /** 페이지의 파일 주소. 페이지 맵에 없으면 -1 */
+    long addressOf(PageInfo page) {
+        return pages.offsetOf(page.pageId());
+    }
+
+    /**
+     * 파일에 있는 그대로의 데이터 페이지 (주소로 가린 헤더 + 압축 데이터 + 패딩).
+     * 데이터 페이지가 아니거나 크기가 맞지 않으면 {@link DwgCorruptedException}
+     */
+    byte[] readPage(PageInfo page) {
+        long address = addressOf(page);
+        long size = pages.sizeOf(page.pageId());
+        if (address < 0 || size < R2004DataPageHeader.SIZE || address + size > data.size()) {
+            throw new DwgCorruptedException("R2004 page " + page.pageId(), "not in page map or out of file");
+        }
+        byte[] raw = new byte[(int) size];
+        data.get(address, raw, 0, raw.length);
+        R2004DataPageHeader head = R2004DataPageHeader.decode(raw, address);
+        if (head.type() != R2004DataPageHeader.DATA_PAGE
+                || head.compressedSize() < 0 || head.compressedSize() > size - R2004DataPageHeader.SIZE) {
+            throw new DwgCorruptedException("R2004 page " + page.pageId(), "not a data page");
+        }
+        return raw;
+    }
+
+    /**
+     * 섹션 뒤에 데이터를 덧붙일 때의 섹션 내 시작 위치: 마지막 페이지 다음 페이지 경계.
+     * 마지막 페이지가 덜 찼으면 그 사이는 빈 채로 두고 건너뛴다.
+     */
+    public long appendOffset(SectionDescriptor desc) {
+        long pageSize = desc.maxPageSize() > 0 ? desc.maxPageSize() : R2004SectionMap.MAX_PAGE_SIZE;
+        long end = 0;
+        for (PageInfo page : desc.pages()) end = Math.max(end, page.pageOffset() + pageSize);
+        return end;
+    }
+}
@@ -0,0 +1,245 @@
+package io.dwg.format.r2004;
+
+import io.dwg.core.io.ByteBufferBitOutput;
+import io.dwg.core.util.ByteUtils;
+import io.dwg.core.util.R2004Lz77Compressor;
+import io.dwg.format.common.FileHeaderFields;
+import io.dwg.format.common.PageInfo;
+import io.dwg.format.common.SectionDescriptor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * R2004 계열 파일을 채널에 바로 쓰는 라이터.
+ *
+ * <p>0x100 헤더 자리를 비워 두고 섹션 바이트를 받는 대로 0x7400바이트 페이지로 잘라 압축해 이어 쓴다.
+ * 압축은 executor에서 돌리되 아직 쓰지 않은 페이지는 {@link #MAX_PAGES_IN_FLIGHT}개까지만 두므로,
+ * 메모리는 도면 크기와 무관하게 페이지 몇 개 분량이다. {@link #finish}에서 섹션 맵과 페이지 맵을 붙이고
+ * 파일 앞으로 돌아가 헤더를 쓴다. 같은 섹션을 같은 순서로 쓰면
+ * {@link R2004FileStructureHandler#writeSections}와 같은 파일이 된다.</p>
+ *
+ * <p>증분 저장에서는 원본 파일({@link R2004SourceFile})의 섹션 페이지를 압축된 채로 옮기고
+ * ({@link #copySection}), 바뀐 데이터만 새 페이지로 덧붙인다 ({@link #appendSection}).</p>
+ */
+public final class R2004StreamingWriter {
+
+    /** 압축 중이거나 쓰기를 기다리는 페이지 최대 수 */
+    static final int MAX_PAGES_IN_FLIGHT = 8;
+
+    /** 압축을 맡긴 페이지 */
+    private record Pending(SectionDescriptor desc, long start, CompletableFuture<byte[]> page) { }
+
+    private final SeekableByteChannel channel;
+    private final FileHeaderFields header;
+    private final Executor executor;
+    private final R2004Lz77Compressor compressor = new R2004Lz77Compressor();
+    private final R2004PageMap pageMap = new R2004PageMap();
+    private final R2004SectionMap sectionMap = new R2004SectionMap();
+    private final ArrayDeque<Pending> inFlight = new ArrayDeque<>();
+
+    private long address = 0x100;
+    private int pageId;
+    private int sectionId;
+    private SectionStream open;
+    private boolean finished;
+
+    /**
+     * @param channel 비어 있는 (또는 덮어쓸) 채널. 위치 0이 파일 시작이 된다
+     */
+    public R2004StreamingWriter(SeekableByteChannel channel, FileHeaderFields header, Executor executor)
+            throws IOException {
+        this.channel = channel;
+        this.header = header;
+        this.executor = executor;
+        channel.position(0x100);
+    }
+
+    /**
+     * 섹션 하나를 쓰는 스트림. 한 번에 한 섹션만 열 수 있고, close()해야 다음 섹션을 열 수 있다.
+     */
+    public OutputStream section(String name) {
+        return open(newDescriptor(name, sectionId + 1), 0, 0);
+    }
+
+    /** 원본 섹션 like와 같은 이름과 번호로 내용을 새로 쓰는 스트림 */
+    public OutputStream section(SectionDescriptor like) {
+        return open(newDescriptor(like.name(), like.sectionId()), 0, 0);
+    }
+
+    /**
+     * 원본 파일의 섹션을 같은 이름과 번호로 옮긴다. 압축 여부와 관계없이 페이지는 풀지 않고 그대로 쓰며
+     * 페이지 헤더의 주소 마스크만 새 주소로 바꾼다.
+     */
+    public void copySection(R2004SourceFile source, SectionDescriptor desc) throws IOException {
+        copyPages(source, desc).close();
+    }
+
+    /**
+     * {@link #copySection}으로 옮긴 뒤 새 데이터를 이어 쓰는 스트림. 이어 쓴 첫 바이트는
+     * 섹션 내 {@link R2004SourceFile#appendOffset}에 놓인다. 덧붙인 페이지는 LZ77로 압축하므로
+     * LZ77 섹션에만 쓸 수 있다.
+     */
+    public OutputStream appendSection(R2004SourceFile source, SectionDescriptor desc) throws IOException {
+        if (desc.compressionType() != 2) {
+            throw new IllegalArgumentException("Cannot append to section " + desc.name() + ": not LZ77-compressed");
+        }
+        return copyPages(source, desc);
+    }
+
+    /** 원본 페이지를 옮기고, 원본과 같은 압축/암호화 설정으로 이어 쓸 스트림을 연다 */
+    private SectionStream copyPages(R2004SourceFile source, SectionDescriptor desc) throws IOException {
+        SectionDescriptor copy = newDescriptor(desc.name(), desc.sectionId());
+        copy.setCompressionType(desc.compressionType());
+        copy.setEncrypted(desc.encrypted());
+        copy.setMaxPageSize(desc.maxPageSize() > 0 ? desc.maxPageSize() : R2004SectionMap.MAX_PAGE_SIZE);
+        SectionStream stream = (SectionStream) open(copy, source.appendOffset(desc), desc.uncompressedSize());
+        // 옮긴 페이지가 앞서 맡긴 페이지들보다 뒤에 놓이도록
+        while (!inFlight.isEmpty()) writeOldest();
+        for (PageInfo page : desc.pages()) {
+            byte[] raw = source.readPage(page);
+            long from = source.addressOf(page);
+            int compSize = R2004DataPageHeader.decode(raw, from).compressedSize();
+            R2004DataPageHeader.place(raw, from);
+            R2004DataPageHeader.place(raw, address);
+            write(raw);
+            pageMap.put(++pageId, address, raw.length);
+            copy.addPage(new PageInfo(page.pageOffset(), compSize, pageId));
+            copy.setCompressedSize(copy.compressedSize() + compSize);
+            address += raw.length;
+        }
+        return stream;
+    }
+
+    private SectionDescriptor newDescriptor(String name, int id) {
+        if (finished) throw new IllegalStateException("Writer already finished");
+        if (open != null) throw new IllegalStateException("Section " + open.desc.name() + " is still open");
+        SectionDescriptor desc = new SectionDescriptor(name);
+        desc.setSectionId(id);
+        desc.setMaxPageSize(R2004SectionMap.MAX_PAGE_SIZE);
+        desc.setCompressionType(2);
+        sectionId = Math.max(sectionId, id);
+        return desc;
+    }
+
+    private OutputStream open(SectionDescriptor desc, long base, long initialSize) {
+        sectionMap.add(desc);
+        open = new SectionStream(desc, base, initialSize);
+        return open;
+    }
+
+    /** 섹션 하나를 통째로 쓰기 */
+    public void section(String name, byte[] data) throws IOException {
+        try (OutputStream out = section(name)) {
+            out.write(data);
+        }
+    }
+
+    /**
+     * 남은 페이지와 섹션 맵/페이지 맵을 쓰고 헤더를 파일 앞에 채운다. 채널은 닫지 않는다.
+     */
+    public void finish() throws Exception {
+        if (open != null) throw new IllegalStateException("Section " + open.desc.name() + " is still open");
+        if (finished) return;
+        finished = true;
+        while (!inFlight.isEmpty()) writeOldest();
+        write(R2004FileStructureHandler.encodeMaps(pageMap, sectionMap, pageId, address, header));
+
+        ByteBufferBitOutput head = new ByteBufferBitOutput();
+        new R2004FileStructureHandler().writeHeader(head, header);
+        long end = channel.position();
+        channel.position(0);
+        write(head.toByteArray());
+        channel.position(end);
+    }
+
+    /** 페이지 압축을 맡기고, 기다리는 페이지가 너무 많으면 가장 오래된 것부터 쓴다 */
+    private void submit(SectionDescriptor desc, byte[] data, long start, int length) throws IOException {
+        int id = desc.sectionId();
+        inFlight.add(new Pending(desc, start, CompletableFuture.supplyAsync(
+            () -> R2004FileStructureHandler.encodePage(compressor, id, data, 0, length, start), executor)));
+        while (inFlight.size() > MAX_PAGES_IN_FLIGHT) writeOldest();
+    }
+
+    private void writeOldest() throws IOException {
+        Pending pending = inFlight.poll();
+        byte[] page;
+        try {
+            page = pending.page().join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        int compSize = (int) ByteUtils.readLE32(page, 8);
+        R2004DataPageHeader.place(page, address);
+        write(page);
+        pageMap.put(++pageId, address, page.length);
+        pending.desc().addPage(new PageInfo(pending.start(), compSize, pageId));
+        pending.desc().setCompressedSize(pending.desc().compressedSize() + compSize);
+        address += page.length;
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) channel.write(buffer);
+    }
+
+    /** 페이지 크기만큼 모이면 압축을 맡기는 섹션 스트림 */
+    private final class SectionStream extends OutputStream {
+        private final SectionDescriptor desc;
+        /** 이어 쓰기 전 섹션 크기 (옮긴 페이지만 있는 경우 그대로 둔다) */
+        private final long base;
+        private final long initialSize;
+        private byte[] buffer;
+        private int filled;
+        private long written;
+
+        SectionStream(SectionDescriptor desc, long base, long initialSize) {
+            this.desc = desc;
+            this.base = base;
+            this.initialSize = initialSize;
+            this.written = base;
+            this.buffer = new byte[(int) desc.maxPageSize()];
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            buffer[filled++] = (byte) b;
+            if (filled == buffer.length) flushPage();
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                int n = Math.min(len, buffer.length - filled);
+                System.arraycopy(b, off, buffer, filled, n);
+                filled += n;
+                off += n;
+                len -= n;
+                if (filled == buffer.length) flushPage();
+            }
+        }
+
+        /** 채운 페이지를 넘기고 새 버퍼로 (넘긴 버퍼는 압축이 끝날 때까지 쓰인다) */
+        private void flushPage() throws IOException {
+            if (filled == 0) return;
+            submit(desc, buffer, written, filled);
+            written += filled;
+            buffer = new byte[buffer.length];
+            filled = 0;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (open != this) return;
+            flushPage();
+            desc.setUncompressedSize(written > base ? written : initialSize);
+            open = null;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package io.dwg.format.r2004;
+
+import io.dwg.core.io.BitInput;
+import io.dwg.core.util.ByteUtils;
+import io.dwg.core.util.R2004Lz77Compressor;
+import io.dwg.core.util.R2004Lz77Decompressor;
+
+/**
+ * R2004 시스템 페이지 (페이지 맵, 섹션 맵).
+ * 데이터 페이지와 달리 20바이트 헤더가 암호화되지 않는다.
+ *
+ * 헤더: RL 페이지 타입, RL 압축 해제 크기, RL 압축 크기, RL 압축 방식(2), RL 체크섬
+ */
+final class R2004SystemPage {
+    static final int PAGE_MAP = 0x41630e3b;
+    static final int SECTION_MAP = 0x4163003b;
+    static final int HEADER_SIZE = 20;
+
+    private R2004SystemPage() {}
+
+    /**
+     * address(파일 바이트 오프셋)의 시스템 페이지를 읽어 압축 해제한 내용 반환.
+     * 페이지 타입이 expectedType이 아니면 null
+     */
+    static byte[] read(BitInput input, long address, int expectedType) throws Exception {
+        byte[] header = new byte[HEADER_SIZE];
+        input.seek(address * 8);
+        input.readBytes(header, 0, HEADER_SIZE);
+        if ((int) ByteUtils.readLE32(header, 0) != expectedType) {
+            return null;
+        }
+        long decompSize = ByteUtils.readLE32(header, 4);
+        long compSize = ByteUtils.readLE32(header, 8);
+        int compression = (int) ByteUtils.readLE32(header, 12);
+        if (compSize > Integer.MAX_VALUE - 8 || decompSize > Integer.MAX_VALUE - 8) {
+            return null;
+        }
+        byte[] data = new byte[(int) compSize];
+        input.readBytes(data, 0, data.length);
+        if (compression != 2) {
+            return data;
+        }
+        return new R2004Lz77Decompressor().decompress(data, (int) decompSize);
+    }
+
+    /**
+     * data를 압축해 헤더를 붙인 시스템 페이지 생성 (0x20 정렬 패딩 포함)
+     */
+    static byte[] encode(int type, byte[] data) {
+        byte[] comp = new R2004Lz77Compressor().compress(data);
+        int size = HEADER_SIZE + comp.length;
+        byte[] page = new byte[(size + 0x1F) & ~0x1F];
+        ByteUtils.writeLE32(page, 0, type);
+        ByteUtils.writeLE32(page, 4, data.length);
+        ByteUtils.writeLE32(page, 8, comp.length);
+        ByteUtils.writeLE32(page, 12, 2);
+        System.arraycopy(comp, 0, page, HEADER_SIZE, comp.length);
+        int checksum = R2004Checksum.of(R2004Checksum.of(0, page, 0, HEADER_SIZE), comp, 0, comp.length);
+        ByteUtils.writeLE32(page, 16, checksum & 0xFFFFFFFFL);
+        return page;
+    }
+}
@@ -2,7 +2,7 @@ package io.dwg.format.r2007;
 
 import io.dwg.core.io.BitInput;
 import io.dwg.core.io.BitOutput;
-import io.dwg.core.io.ByteBufferBitInput;
+import io.dwg.core.io.LargeByteBuffer;
 import io.dwg.core.io.SectionInputStream;
 import io.dwg.core.util.Lz77Decompressor;
 import io.dwg.core.util.Lz77Compressor;
@@ -11,17 +11,18 @@ import io.dwg.core.version.DwgVersion;
 import io.dwg.format.common.AbstractFileStructureHandler;
 import io.dwg.format.common.FileHeaderFields;
 
-import java.io.ByteArrayOutputStream;
-import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.List;
+import java.util.stream.IntStream;
 
 /**
  * 스펙 §5 (R2007 DWG FILE FORMAT ORGANIZATION) 구현.
  * LZ77 압축, UTF-16 문자열, Page Map → Section Map 처리.
  */
 public class R2007FileStructureHandler extends AbstractFileStructureHandler {
+    // 이 수 이상의 페이지로 된 섹션은 페이지를 병렬로 디코딩
+    private static final int PARALLEL_PAGE_THRESHOLD = 4;
 
     @Override
     public DwgVersion version() { return DwgVersion.R2007; }
@@ -58,43 +59,34 @@ public class R2007FileStructureHandler extends AbstractFileStructureHandler {
         Map<String, SectionInputStream> sections = new HashMap<>();
 
         try {
-            byte[] fileData = readAllData(input);
+            input.seek(0);
+            R2007FileHeader r2007Header = R2007FileHeader.read(input);
 
-            R2007FileHeader r2007Header = R2007FileHeader.read(
-                new ByteBufferBitInput(java.nio.ByteBuffer.wrap(fileData)));
-
-            byte[] pageMapDecompressed = R2007SystemPageReader.readSystemPage(
-                new ByteBufferBitInput(java.nio.ByteBuffer.wrap(fileData)),
+            byte[] pageMapDecompressed = R2007SystemPageReader.readSystemPage(input,
                 0x480L + r2007Header.pageMapOffset(), r2007Header.pageMapSizeComp(),
                 r2007Header.pageMapSizeUncomp(), r2007Header.pageMapCorrection());
 
             java.util.List<R2007PageMapParser.PageMapEntry> pageMap =
                 R2007PageMapParser.parsePageMap(pageMapDecompressed);
+            R2007PageIndex pages = R2007PageIndex.build(pageMap, 0x480L + r2007Header.pageMapOffset());
 
-            long cumulativeOffset = 0, sectionMapFileOffset = -1;
-            for (R2007PageMapParser.PageMapEntry entry : pageMap) {
-                if (entry.pageId == r2007Header.sectionsMapId()) {
-                    sectionMapFileOffset = 0x480L + r2007Header.pageMapOffset() + cumulativeOffset;
-                    break;
-                }
-                cumulativeOffset += entry.size;
-            }
-
+            long sectionMapFileOffset = pages.offsetOf(r2007Header.sectionsMapId());
             if (sectionMapFileOffset >= 0) {
-                byte[] sectionMapDecompressed = R2007SystemPageReader.readSystemPage(
-                    new ByteBufferBitInput(java.nio.ByteBuffer.wrap(fileData)),
+                byte[] sectionMapDecompressed = R2007SystemPageReader.readSystemPage(input,
                     sectionMapFileOffset, r2007Header.sectionsMapSizeComp(),
                     r2007Header.sectionsMapSizeUncomp(), r2007Header.sectionsMapCorrection());
 
                 java.util.List<R2007SectionMapParser.SectionMapEntry> sectionMap =
                     R2007SectionMapParser.parseSectionMap(sectionMapDecompressed);
 
-                for (int i = 0; i < sectionMap.size(); i++) {
-                    R2007SectionMapParser.SectionMapEntry section = sectionMap.get(i);
-                    byte[] sectionData = extractObjectsData(fileData, section, pageMap,
-                        r2007Header.pageMapOffset());
-
-                    if (sectionData != null && sectionData.length > 0) {
+                for (R2007SectionMapParser.SectionMapEntry section : sectionMap) {
+                    LargeByteBuffer sectionData;
+                    try {
+                        sectionData = extractSectionData(input, section, pages);
+                    } catch (Exception e) {
+                        continue;  // 손상된 섹션만 건너뜀
+                    }
+                    if (sectionData.size() > 0) {
                         String sectionName = section.sectionName;
                         sections.put(sectionName, new SectionInputStream(sectionData, sectionName));
                     }
@@ -108,79 +100,85 @@ public class R2007FileStructureHandler extends AbstractFileStructureHandler {
     }
 
     /**
-     * Extract Objects section data using RS(255,251) + LZ77 decompression
+     * 섹션 데이터 조립 (Header, Classes, Handles, Objects 등 모든 섹션 공통).
+     * 페이지 원본은 입력에서 순서대로 읽고, 페이지마다 독립적인 RS(255,251) 디코딩 + LZ77 압축 해제는
+     * 페이지가 여러 개면 병렬로 수행한다. 결과는 섹션 맵 순서대로 이어 붙인다.
      */
-    private byte[] extractObjectsData(byte[] fileData,
-            R2007SectionMapParser.SectionMapEntry objectsSection,
-            java.util.List<R2007PageMapParser.PageMapEntry> pageMap,
-            long pageMapOffset) throws Exception {
-
-        byte[] allObjectsData = new byte[(int)objectsSection.dataSize];
-        int objectsOffset = 0;
-
-        for (int p = 0; p < objectsSection.pages.size(); p++) {
-            R2007SectionMapParser.SectionPageEntry page = objectsSection.pages.get(p);
-
-            long filePageOffset = -1, pageSize = -1, cumul = 0;
-            for (R2007PageMapParser.PageMapEntry pm : pageMap) {
-                if (pm.pageId == page.id) {
-                    filePageOffset = 0x480L + pageMapOffset + cumul;
-                    pageSize = pm.size;
-                    break;
-                }
-                cumul += pm.size;
-            }
-
+    private LargeByteBuffer extractSectionData(BitInput input, R2007SectionMapParser.SectionMapEntry section,
+            R2007PageIndex pages) throws Exception {
+        List<R2007SectionMapParser.SectionPageEntry> sectionPages = section.pages;
+        byte[][] raw = new byte[sectionPages.size()][];
+        for (int p = 0; p < raw.length; p++) {
+            long id = sectionPages.get(p).id;
+            long filePageOffset = pages.offsetOf(id);
             if (filePageOffset < 0) continue;
+            raw[p] = new byte[pages.sizeOf(id)];
+            input.seek(filePageOffset * 8);
+            input.readBytes(raw[p], 0, raw[p].length);
+        }
 
-            byte[] rsData = new byte[(int)pageSize];
-            System.arraycopy(fileData, (int)filePageOffset, rsData, 0, (int)pageSize);
-
-            long pesize = (page.compSize + 7) & ~7L;
-            long blockCount = (pesize + 250) / 251;
-            byte[][] blocks = new byte[(int)blockCount][255];
-            for (int i = 0; i < blockCount; i++) {
-                for (int j = 0; j < 255; j++) {
-                    int srcOffset = i + j * (int)blockCount;
-                    if (srcOffset < rsData.length) {
-                        blocks[i][j] = rsData[srcOffset];
+        byte[][] decoded = new byte[raw.length][];
+        if (raw.length >= PARALLEL_PAGE_THRESHOLD) {
+            try {
+                IntStream.range(0, raw.length).parallel().forEach(p -> {
+                    try {
+                        decoded[p] = decodePage(raw[p], sectionPages.get(p));
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
                     }
-                }
+                });
+            } catch (IllegalStateException e) {
+                throw e.getCause() instanceof Exception cause ? cause : e;
             }
-
-            for (int i = 0; i < blockCount; i++) {
-                ReedSolomon251Decoder.decodeBlock(blocks[i], true);
+        } else {
+            for (int p = 0; p < raw.length; p++) {
+                decoded[p] = decodePage(raw[p], sectionPages.get(p));
             }
+        }
 
-            byte[] pedata = new byte[(int)blockCount * 251];
-            for (int i = 0; i < blockCount; i++) {
-                System.arraycopy(blocks[i], 0, pedata, (int)i * 251, 251);
+        LargeByteBuffer sectionData = LargeByteBuffer.allocate(section.dataSize);
+        long sectionOffset = 0;
+        for (byte[] page : decoded) {
+            if (page != null && sectionOffset + page.length <= sectionData.size()) {
+                sectionData.put(sectionOffset, page, 0, page.length);
+                sectionOffset += page.length;
             }
+        }
+        return sectionData;
+    }
 
-            byte[] decompressed;
-            if (page.compSize < page.uncompSize) {
-                Lz77Decompressor lz77 = new Lz77Decompressor();
-                decompressed = lz77.decompress(pedata, (int)page.uncompSize);
-            } else {
-                decompressed = pedata;
+    /**
+     * 페이지 하나 디코딩. 페이지 맵에 없던 페이지(rsData == null)면 null
+     */
+    private static byte[] decodePage(byte[] rsData, R2007SectionMapParser.SectionPageEntry page)
+            throws Exception {
+        if (rsData == null) return null;
+
+        long pesize = (page.compSize + 7) & ~7L;
+        int blockCount = (int) ((pesize + 250) / 251);
+        byte[][] blocks = new byte[blockCount][255];
+        for (int i = 0; i < blockCount; i++) {
+            for (int j = 0; j < 255; j++) {
+                int srcOffset = i + j * blockCount;
+                if (srcOffset < rsData.length) {
+                    blocks[i][j] = rsData[srcOffset];
+                }
             }
+        }
 
-            if (objectsOffset + decompressed.length <= allObjectsData.length) {
-                System.arraycopy(decompressed, 0, allObjectsData, objectsOffset,
-                    decompressed.length);
-                objectsOffset += decompressed.length;
-            }
+        for (int i = 0; i < blockCount; i++) {
+            ReedSolomon251Decoder.decodeBlock(blocks[i], true);
         }
 
-        return allObjectsData;
-    }
+        byte[] pedata = new byte[blockCount * 251];
+        for (int i = 0; i < blockCount; i++) {
+            System.arraycopy(blocks[i], 0, pedata, i * 251, 251);
+        }
 
-    private byte[] readAllData(BitInput input) throws Exception {
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        while (!input.isEof()) {
-            baos.write(input.readRawChar());
+        if (page.compSize < page.uncompSize) {
+            return new Lz77Decompressor().decompress(pedata, (int) page.uncompSize);
         }
-        return baos.toByteArray();
+        return pedata;
     }
 
     // -------------------------------------------------------------------------
@@ -0,0 +1,81 @@
+package io.dwg.format.r2007;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * R2007 페이지 ID → 파일 오프셋/크기 색인.
+ * {@link R2007PageMapParser#parsePageMap(byte[])} 결과로 한 번 만들고 모든 섹션 조립에 재사용한다.
+ *
+ * <p>페이지 크기를 누적해 오프셋을 계산하고, 페이지 ID 오름차순 배열에서 이진 검색한다.
+ * 같은 ID가 여러 번 나오면 페이지 맵에서 먼저 나온 항목을 쓴다.</p>
+ */
+public final class R2007PageIndex {
+    private final int[] ids;
+    private final long[] offsets;
+    private final int[] sizes;
+
+    private R2007PageIndex(int[] ids, long[] offsets, int[] sizes) {
+        this.ids = ids;
+        this.offsets = offsets;
+        this.sizes = sizes;
+    }
+
+    /**
+     * @param pageMap    페이지 맵 항목 (파일 배치 순서)
+     * @param baseOffset 첫 페이지의 파일 오프셋
+     */
+    public static R2007PageIndex build(List<R2007PageMapParser.PageMapEntry> pageMap, long baseOffset) {
+        int n = pageMap.size();
+        long[] entryOffsets = new long[n];
+        // 상위 32비트 페이지 ID, 하위 32비트 원래 순서 → 정렬하면 같은 ID 안에서 먼저 나온 항목이 앞선다
+        long[] keys = new long[n];
+        long cumulative = baseOffset;
+        for (int i = 0; i < n; i++) {
+            R2007PageMapParser.PageMapEntry e = pageMap.get(i);
+            entryOffsets[i] = cumulative;
+            cumulative += e.size;
+            keys[i] = ((long) e.pageId << 32) | i;
+        }
+        Arrays.sort(keys);
+
+        int[] ids = new int[n];
+        long[] offsets = new long[n];
+        int[] sizes = new int[n];
+        int count = 0;
+        for (int k = 0; k < n; k++) {
+            int id = (int) (keys[k] >> 32);
+            if (count > 0 && ids[count - 1] == id) continue;
+            int i = (int) keys[k];
+            ids[count] = id;
+            offsets[count] = entryOffsets[i];
+            sizes[count] = pageMap.get(i).size;
+            count++;
+        }
+        return new R2007PageIndex(Arrays.copyOf(ids, count), Arrays.copyOf(offsets, count),
+            Arrays.copyOf(sizes, count));
+    }
+
+    /** 페이지 파일 오프셋. 없으면 -1 */
+    public long offsetOf(long pageId) {
+        int i = indexOf(pageId);
+        return i < 0 ? -1L : offsets[i];
+    }
+
+    /** 페이지 크기. 없으면 -1 */
+    public int sizeOf(long pageId) {
+        int i = indexOf(pageId);
+        return i < 0 ? -1 : sizes[i];
+    }
+
+    /** 서로 다른 페이지 ID 수 */
+    public int size() {
+        return ids.length;
+    }
+
+    private int indexOf(long pageId) {
+        if (pageId < Integer.MIN_VALUE || pageId > Integer.MAX_VALUE) return -1;
+        int i = Arrays.binarySearch(ids, (int) pageId);
+        return i < 0 ? -1 : i;
+    }
+}
@@ -33,9 +33,7 @@ public class R2007SystemPageReader {
         // Read RS-encoded data from file
         input.seek(fileOffset * 8);
         byte[] rsData = new byte[(int)(Math.min(pageSize, Integer.MAX_VALUE))];
-        for (int i = 0; i < rsData.length && !input.isEof(); i++) {
-            rsData[i] = (byte) input.readRawChar();
-        }
+        input.readBytes(rsData, 0, (int) Math.min(rsData.length, Math.max(0, input.length() - fileOffset)));
 
         // RS decode: blockCount blocks of 255 bytes each → 239 bytes data per block
         byte[] pedata = decodeRSBlocks(rsData, blockCount);
@@ -36,35 +36,103 @@ public class ClassesSectionParser extends AbstractSectionParser<List<DwgClassDef
         // 섹션 크기 (RL)
         int sectionSize = r.getInput().readRawLong();
         long startBit = r.position();
-
         long endBit = startBit + (long) sectionSize * 8;
-        while (r.position() < endBit - END_SENTINEL.length * 8) {
+
+        // R2007+: 문자열은 데이터 끝의 문자열 스트림에 따로 저장
+        BitStreamReader strings = r;
+        long dataEndBit = endBit - 8;  // 마지막 바이트의 채움 비트 제외
+        if (version.from(DwgVersion.R2007)) {
+            long sizeBase = r.position();
+            int bitSize = r.getInput().readRawLong();
+            // R2010+ (유지보수 버전 > 3): 크기 상위 RL(항상 0)이 먼저 오고, 섹션 크기는 그 뒤부터 센다
+            if (version.from(DwgVersion.R2010) && bitSize == 0) {
+                sizeBase = r.position();
+                endBit += 32;
+                bitSize = r.getInput().readRawLong();
+            }
+            dataEndBit = sizeBase + bitSize - 1;
+            strings = stringStream(stream, version, dataEndBit);
+        }
+
+        int maxClassNumber = -1;
+        if (version.from(DwgVersion.R2004)) {
+            maxClassNumber = r.readBitShort();
+            r.getInput().readBits(8);   // RC 0x00
+            r.getInput().readBits(8);   // RC 0x00
+            r.getInput().readBit();     // B true
+        }
+
+        while (r.position() < dataEndBit) {
             try {
-                DwgClassDefinition def = parseOneClass(r, version);
+                DwgClassDefinition def = parseOneClass(r, strings, version);
                 classes.add(def);
+                if (def.classNumber() == maxClassNumber) break;
             } catch (Exception e) {
                 break;
             }
         }
 
-        // 종료 Sentinel 검증
+        // CRC (RS) 다음 종료 Sentinel 검증
+        r.seek(endBit);
+        r.getInput().readRawShort();
         validateSentinel(r, END_SENTINEL);
 
         return classes;
     }
 
-    private DwgClassDefinition parseOneClass(BitStreamReader r, DwgVersion v) {
+    /**
+     * R2007+ 문자열 스트림 위치 찾기. dataEndBit의 비트가 1이면 그 앞 RS(필요하면 상위 RS 하나 더)가
+     * 문자열 데이터 크기이고, 데이터는 그 크기만큼 앞에서 시작한다.
+     */
+    private BitStreamReader stringStream(SectionInputStream stream, DwgVersion version, long dataEndBit) {
+        BitStreamReader s = new BitStreamReader(stream.newBitInput(), version);
+        s.seek(dataEndBit);
+        if (!s.getInput().readBit()) {
+            return s;
+        }
+        long pos = dataEndBit - 16;
+        s.seek(pos);
+        long dataSize = readBitRS(s);
+        if ((dataSize & 0x8000) != 0) {
+            pos -= 16;
+            s.seek(pos);
+            dataSize = (dataSize & 0x7FFF) | ((long) readBitRS(s) << 15);
+        }
+        s.seek(pos - dataSize);
+        return s;
+    }
+
+    private static int readBitRS(BitStreamReader r) {
+        int low = r.getInput().readBits(8);
+        return low | (r.getInput().readBits(8) << 8);
+    }
+
+    private DwgClassDefinition parseOneClass(BitStreamReader r, BitStreamReader strings, DwgVersion v) {
         DwgClassDefinition def = new DwgClassDefinition();
         def.setClassNumber(r.readBitShort());
         def.setVersion(r.readBitShort());
-        def.setApplicationName(r.readVariableText());
-        def.setCppClassName(r.readVariableText());
-        def.setDxfRecordName(r.readVariableText());
-        def.setWasAZombie(r.getInput().readBit() == false ? false : true);
-        def.setAnEntity(r.readBitShort() != 0);
+        def.setApplicationName(text(strings));
+        def.setCppClassName(text(strings));
+        def.setDxfRecordName(text(strings));
+        def.setWasAZombie(r.getInput().readBit());
+        // item class id: 0x1F2 엔티티, 0x1F3 객체
+        def.setAnEntity(r.readBitShort() == 0x1F2);
+        if (v.from(DwgVersion.R2004)) {
+            r.readBitLong();    // 인스턴스 수
+            r.readBitShort();   // DWG 버전
+            r.readBitShort();   // 유지보수 버전
+            r.readBitLong();    // unknown
+            r.readBitLong();    // unknown
+        }
         return def;
     }
 
+    /** 이름 끝의 NUL/공백 제거 */
+    private static String text(BitStreamReader r) {
+        String s = r.readVariableText();
+        return s != null ? s.trim() : null;
+    }
+
     @Override
     public String sectionName() {
         return SectionType.CLASSES.sectionName();
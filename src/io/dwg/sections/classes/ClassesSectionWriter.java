@@ -65,6 +65,6 @@ public class ClassesSectionWriter implements SectionWriter<List<DwgClassDefiniti
         writer.writeVariableText(def.cppClassName());
         writer.writeVariableText(def.dxfRecordName());
         writer.getOutput().writeBit(def.wasAZombie());
-        writer.writeBitShort(def.isEntity() ? 1 : 0);
+        writer.writeBitShort(def.isEntity() ? 0x1F2 : 0x1F3);  // item class id
     }
 }
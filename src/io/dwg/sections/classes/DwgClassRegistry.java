@@ -1,5 +1,7 @@
 package io.dwg.sections.classes;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -25,4 +27,9 @@ public class DwgClassRegistry {
     public Optional<DwgClassDefinition> findByDxfName(String dxfName) {
         return Optional.ofNullable(byDxfName.get(dxfName));
     }
+
+    /** 등록된 모든 클래스 정의 */
+    public Collection<DwgClassDefinition> classes() {
+        return Collections.unmodifiableCollection(byNumber.values());
+    }
 }
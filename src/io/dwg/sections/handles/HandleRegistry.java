@@ -4,30 +4,141 @@ import java.util.*;
 
 /**
  * 핸들 값 → 파일 오프셋 매핑. 모든 객체 조회의 중심.
+ *
+ * <p>핸들 수가 수십만~백만 단위가 되므로 박싱 없는 long → long 개방 주소 해시로 저장한다.
+ * 키 0은 빈 칸 표시로 쓰므로 따로 보관한다.</p>
  */
 public class HandleRegistry {
-    private final Map<Long, Long> handleToOffset = new HashMap<>();
+
+    /** (핸들, 오프셋) 쌍 소비자 */
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long handle, long offset);
+    }
+
+    private long[] keys = new long[16];
+    private long[] values = new long[16];
+    private int size;
+    private boolean hasZero;
+    private long zeroValue;
 
     public void put(long handle, long offset) {
-        handleToOffset.put(handle, offset);
+        if (handle == 0) {
+            if (!hasZero) size++;
+            hasZero = true;
+            zeroValue = offset;
+            return;
+        }
+        if ((size + 1) * 2 > keys.length) grow(keys.length * 2);
+        int i = slot(handle);
+        if (keys[i] == 0) {
+            keys[i] = handle;
+            size++;
+        }
+        values[i] = offset;
+    }
+
+    /** handles[0..count)와 offsets[0..count)를 차례로 등록 */
+    public void putAll(long[] handles, long[] offsets, int count) {
+        int needed = size + count;
+        if (needed * 2 > keys.length) grow(Integer.highestOneBit(Math.max(needed * 2 - 1, 8)) * 2);
+        for (int i = 0; i < count; i++) put(handles[i], offsets[i]);
     }
 
     public Optional<Long> offsetFor(long handle) {
-        return Optional.ofNullable(handleToOffset.get(handle));
+        return contains(handle) ? Optional.of(offsetOf(handle)) : Optional.empty();
+    }
+
+    /** 핸들의 오프셋. 없으면 -1 */
+    public long offsetOf(long handle) {
+        if (handle == 0) return hasZero ? zeroValue : -1;
+        int i = slot(handle);
+        return keys[i] != 0 ? values[i] : -1;
+    }
+
+    public boolean contains(long handle) {
+        return handle == 0 ? hasZero : keys[slot(handle)] != 0;
     }
 
     public int size() {
-        return handleToOffset.size();
+        return size;
+    }
+
+    /** 모든 (핸들, 오프셋) 쌍. 순서는 정해져 있지 않다 */
+    public void forEach(EntryConsumer action) {
+        if (hasZero) action.accept(0, zeroValue);
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) action.accept(keys[i], values[i]);
+        }
     }
 
     public Set<Long> allHandles() {
-        return Collections.unmodifiableSet(handleToOffset.keySet());
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Long> iterator() {
+                return new Iterator<>() {
+                    private int next = hasZero ? -1 : advance(0);
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < keys.length;
+                    }
+
+                    @Override
+                    public Long next() {
+                        if (!hasNext()) throw new NoSuchElementException();
+                        long h = next < 0 ? 0 : keys[next];
+                        next = advance(next + 1);
+                        return h;
+                    }
+                };
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return o instanceof Long h && HandleRegistry.this.contains(h);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
     }
 
     public List<HandleEntry> sortedEntries() {
-        List<HandleEntry> list = new ArrayList<>();
-        handleToOffset.forEach((h, o) -> list.add(new HandleEntry(h, o)));
+        List<HandleEntry> list = new ArrayList<>(size);
+        forEach((h, o) -> list.add(new HandleEntry(h, o)));
         list.sort(Comparator.comparingLong(HandleEntry::handle));
         return list;
     }
+
+    private int advance(int from) {
+        int i = from;
+        while (i < keys.length && keys[i] == 0) i++;
+        return i;
+    }
+
+    private int slot(long handle) {
+        int mask = keys.length - 1;
+        long x = handle * 0x9E3779B97F4A7C15L;
+        int i = (int) (x ^ (x >>> 32)) & mask;
+        while (keys[i] != 0 && keys[i] != handle) i = (i + 1) & mask;
+        return i;
+    }
+
+    private void grow(int capacity) {
+        if (capacity <= keys.length) return;
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        keys = new long[capacity];
+        values = new long[capacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int j = slot(oldKeys[i]);
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+            }
+        }
+    }
 }
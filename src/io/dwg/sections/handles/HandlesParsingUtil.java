@@ -1,7 +1,7 @@
 package io.dwg.sections.handles;
 
-import io.dwg.core.io.BitInput;
-import io.dwg.core.io.BitStreamReader;
+import java.util.Arrays;
+import java.util.stream.IntStream;
 
 /**
  * Handles 섹션 파싱의 공통 유틸리티.
@@ -11,111 +11,86 @@ import io.dwg.core.io.BitStreamReader;
  * - page_size와 CRC는 RS_BE (big-endian)
  * - handle_delta는 UMC (unsigned modular char)
  * - offset_delta는 MC (signed modular char) - 음수 가능
- * - 각 페이지는 독립적인 CRC 검증
+ * - 각 페이지는 독립적인 CRC 검증, 핸들/오프셋 증분도 페이지마다 0에서 시작
  */
 public class HandlesParsingUtil {
 
-    /**
-     * R13/R14 Handles 섹션 파싱 (블록 기반)
-     */
-    public static void parseHandlesBlocksR13(BitInput input, HandleRegistry registry) {
-        while (!input.isEof()) {
-            long lastHandle = 0;
-            long lastOffset = 0;
-
-            long blockStartBit = input.position();
-
-            int byte1 = input.readRawChar() & 0xFF;
-            if (input.isEof()) break;
-            int byte2 = input.readRawChar() & 0xFF;
-            int blockSize = (byte1 << 8) | byte2;  // RS_BE
-
-            if (blockSize <= 2) {
-                if (!input.isEof()) { input.readRawChar(); input.readRawChar(); }
-                break;
-            }
-
-            if (blockSize > 2040) {
-                break;
-            }
-
-            long dataEndBit = blockStartBit + (long) blockSize * 8;
+    /** 병렬 디코딩으로 전환하는 최소 페이지 수 */
+    static final int PARALLEL_PAGE_THRESHOLD = 8;
 
-            while (input.position() < dataEndBit && !input.isEof()) {
-                int handleDelta = readUnsignedModularChar(input);
-                if (handleDelta == 0) break;
-                if (input.position() > dataEndBit) break;
+    /** 페이지 최대 크기 (RS_BE 크기 필드 포함) */
+    static final int MAX_PAGE_SIZE = 2040;
 
-                int offsetDelta = readSignedModularChar(input);
+    /** 페이지 하나의 디코딩 결과 */
+    private record PageEntries(long[] handles, long[] offsets, int count) { }
 
-                lastHandle += handleDelta;
-                lastOffset += offsetDelta;
-                registry.put(lastHandle, lastOffset);
-            }
+    /**
+     * Handles 섹션 파싱 (R13~R2018 공통, 압축 해제 후 바이트).
+     * 페이지 = RS_BE 크기(크기 필드 포함) + (UMC 핸들 증분, MC 오프셋 증분)* + RS_BE CRC.
+     * 증분은 페이지마다 0에서 다시 시작하므로, 크기만 훑어 페이지 시작 위치를 모은 뒤
+     * 페이지별 기본형 배열로 따로 디코딩하고 페이지 순서대로 registry에 합친다.
+     *
+     * @param parallel true면 페이지가 많을 때 공용 ForkJoinPool에서 병렬 디코딩
+     */
+    public static void parseHandlesPages(byte[] raw, HandleRegistry registry, boolean parallel) {
+        int[] starts = scanPages(raw);
+        PageEntries[] pages = new PageEntries[starts.length];
+        IntStream range = IntStream.range(0, starts.length);
+        if (parallel && starts.length >= PARALLEL_PAGE_THRESHOLD) range = range.parallel();
+        range.forEach(p -> pages[p] = decodePage(raw, starts[p]));
+        for (PageEntries page : pages) {
+            registry.putAll(page.handles(), page.offsets(), page.count());
+        }
+    }
 
-            input.seek(dataEndBit);
-            if (!input.isEof()) {
-                input.readRawShort(); // CRC (LE)
-            }
+    /** 페이지 시작 위치들. 크기가 2 이하(끝 표시)이거나 범위를 벗어나면 멈춘다 */
+    static int[] scanPages(byte[] raw) {
+        int[] starts = new int[16];
+        int n = 0;
+        int pos = 0;
+        while (pos + 2 <= raw.length) {
+            int pageSize = ((raw[pos] & 0xFF) << 8) | (raw[pos + 1] & 0xFF);
+            if (pageSize <= 2 || pageSize > MAX_PAGE_SIZE) break;
+            if (n == starts.length) starts = Arrays.copyOf(starts, n * 2);
+            starts[n++] = pos;
+            pos += pageSize + 2;  // + CRC
         }
+        return Arrays.copyOf(starts, n);
     }
 
-    /**
-     * R2000+ Handles 섹션 파싱 (페이지 기반, LZ77 해제 후)
-     */
-    public static void parseHandlesPagesR2000(BitStreamReader reader, HandleRegistry registry) {
+    private static PageEntries decodePage(byte[] raw, int start) {
+        int pageSize = ((raw[start] & 0xFF) << 8) | (raw[start + 1] & 0xFF);
+        int end = Math.min(start + pageSize, raw.length);
+        // 쌍 하나는 최소 2바이트
+        long[] handles = new long[(pageSize - 2) / 2];
+        long[] offsets = new long[handles.length];
+        int count = 0;
         long lastHandle = 0;
         long lastOffset = 0;
-
-        while (!reader.isEof()) {
-            int pageSize = reader.readBigEndianShort();
-
-            if (pageSize <= 2) {
-                break;
-            }
-
-            if (pageSize < 2 || pageSize > 2040) {
-                break;
-            }
-
-            int bytesRead = 0;
-            int pairsDataSize = pageSize - 2;
-
-            while (bytesRead < pairsDataSize && !reader.isEof()) {
-                long beforePos = reader.position();
-
-                int handleDelta = reader.readUnsignedModularChar();
-                if (handleDelta == 0) break;
-
-                int offsetDelta = reader.readModularChar();
-
-                long afterPos = reader.position();
-                bytesRead += (int)((afterPos - beforePos) / 8);
-
-                lastHandle += handleDelta;
-                lastOffset += offsetDelta;
-
-                registry.put(lastHandle, lastOffset);
-            }
-
-            long currentPos = reader.position();
-            if ((currentPos % 8) != 0) {
-                int paddingBits = 8 - (int)(currentPos % 8);
-                reader.getInput().readBits(paddingBits);
-            }
-
-            reader.readBigEndianShort();
+        int[] pos = {start + 2};
+        while (pos[0] < end && count < handles.length) {
+            int handleDelta = readUnsignedModularChar(raw, pos, end);
+            if (handleDelta <= 0) break;
+            if (pos[0] >= end) break;
+            int offsetDelta = readSignedModularChar(raw, pos, end);
+            lastHandle += handleDelta;
+            lastOffset += offsetDelta;
+            handles[count] = lastHandle;
+            offsets[count] = lastOffset;
+            count++;
         }
+        return new PageEntries(handles, offsets, count);
     }
 
-    private static int readUnsignedModularChar(BitInput input) {
+    private static int readUnsignedModularChar(byte[] raw, int[] pos, int end) {
         int result = 0;
         int shift = 0;
         int b;
         do {
-            b = input.readRawChar() & 0xFF;
-            result |= (b & 0x7F) << (shift * 7);
-            shift++;
+            if (pos[0] >= end || shift > 28) return -1;
+            b = raw[pos[0]++] & 0xFF;
+            result |= (b & 0x7F) << shift;
+            shift += 7;
         } while ((b & 0x80) != 0);
         return result;
     }
@@ -126,21 +101,21 @@ public class HandlesParsingUtil {
      *   - Non-last bytes: 7 bits (0x7F mask) contribute to value
      *   - Last byte (high bit=0): bit 6 (0x40) is sign flag, cleared before use (0xBF mask)
      */
-    private static int readSignedModularChar(BitInput input) {
+    private static int readSignedModularChar(byte[] raw, int[] pos, int end) {
         int result = 0;
         int shift = 0;
-        while (true) {
-            int b = input.readRawChar() & 0xFF;
+        while (pos[0] < end && shift <= 28) {
+            int b = raw[pos[0]++] & 0xFF;
             if ((b & 0x80) != 0) {
-                result |= (b & 0x7F) << (shift * 7);
-                shift++;
+                result |= (b & 0x7F) << shift;
+                shift += 7;
             } else {
                 boolean negative = (b & 0x40) != 0;
-                b &= 0xBF;
-                result |= (b & 0x7F) << (shift * 7);
+                result |= (b & 0x3F) << shift;
                 return negative ? -result : result;
             }
         }
+        return result;
     }
 
     public static long accumulateOffset(long currentOffset, int delta) {
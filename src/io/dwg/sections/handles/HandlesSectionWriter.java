@@ -1,21 +1,29 @@
 package io.dwg.sections.handles;
 
+import io.dwg.core.io.ArrayBitOutput;
 import io.dwg.core.io.BitStreamWriter;
-import io.dwg.core.io.ByteBufferBitOutput;
 import io.dwg.core.io.SectionOutputStream;
+import io.dwg.core.util.CrcCalculator;
 import io.dwg.core.version.DwgVersion;
 import io.dwg.format.common.SectionType;
 import io.dwg.sections.SectionWriter;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 /**
  * Handles Section Writer (Spec §23: AcDb:Handles)
  * Serializes handle-to-offset mapping for object reference resolution
+ *
+ * <p>{@link HandlesParsingUtil}이 읽는 형식: 페이지 = RS_BE 크기(크기 필드 포함, 최대 2040)
+ * + (UMC 핸들 증분, MC 오프셋 증분)* + RS_BE CRC. 증분은 페이지마다 0에서 다시 시작하고,
+ * 크기 2짜리 빈 페이지로 끝난다. CRC는 seed 0xC0C1로 크기 필드부터 페이지 끝까지 계산한다.</p>
  */
 public class HandlesSectionWriter implements SectionWriter<HandleRegistry> {
 
-    private static final int BLOCK_SIZE = 2048; // Default block size for handles
+    /** UMC 핸들 증분 최대 8바이트 + MC 오프셋 증분 최대 5바이트 */
+    private static final int MAX_ENTRY_SIZE = 13;
 
     @Override
     public String sectionName() {
@@ -25,70 +33,51 @@ public class HandlesSectionWriter implements SectionWriter<HandleRegistry> {
     @Override
     public SectionOutputStream write(HandleRegistry registry, DwgVersion version) throws Exception {
         SectionOutputStream section = new SectionOutputStream(sectionName());
-        ByteBufferBitOutput output = new ByteBufferBitOutput();
+        writeTo(registry, version, section.asStream());
+        return section;
+    }
 
+    /** 페이지를 하나씩 만들어 output으로 흘려보낸다 */
+    public void writeTo(HandleRegistry registry, DwgVersion version, OutputStream output) throws IOException {
         // Get sorted entries for deterministic output
         List<HandleEntry> entries = registry.sortedEntries();
 
-        if (entries.isEmpty()) {
-            // Empty handles section - just write terminator
-            output.writeRawShort((short) 2);
-            return section;
-        }
-
-        // Write handles in blocks with deltas
-        int blockStart = 0;
-        while (blockStart < entries.size()) {
-            int blockEnd = Math.min(blockStart + BLOCK_SIZE, entries.size());
-            writeBlock(output, entries.subList(blockStart, blockEnd));
-            blockStart = blockEnd;
-        }
-
-        // Write terminator block (size = 2)
-        output.writeRawShort((short) 2);
-
-        // Copy the output to section
-        byte[] data = output.toByteArray();
-        for (byte b : data) {
-            section.getBitOutput().writeRawChar(b & 0xFF);
+        ArrayBitOutput page = new ArrayBitOutput(HandlesParsingUtil.MAX_PAGE_SIZE + MAX_ENTRY_SIZE);
+        BitStreamWriter writer = new BitStreamWriter(page, version);
+        int next = 0;
+        while (next < entries.size()) {
+            page.reset();
+            page.writeRawShort((short) 0);  // 크기 자리
+            long lastHandle = 0;
+            long lastOffset = 0;
+            while (next < entries.size()) {
+                HandleEntry entry = entries.get(next);
+                int mark = page.byteLength();
+                writer.writeUnsignedModularChar(entry.handle() - lastHandle);
+                writer.writeModularChar(Math.toIntExact(entry.offset() - lastOffset));
+                if (page.byteLength() > HandlesParsingUtil.MAX_PAGE_SIZE) {
+                    // 넘친 항목은 다음 페이지에서 다시 쓴다
+                    writePage(output, page.buffer(), mark);
+                    break;
+                }
+                lastHandle = entry.handle();
+                lastOffset = entry.offset();
+                next++;
+            }
+            if (next == entries.size()) writePage(output, page.buffer(), page.byteLength());
         }
 
-        return section;
+        // 끝 표시: 크기 2짜리 빈 페이지
+        writePage(output, new byte[2], 2);
     }
 
-    private void writeBlock(ByteBufferBitOutput blockOutput, List<HandleEntry> entries) throws Exception {
-        ByteBufferBitOutput blockData = new ByteBufferBitOutput();
-        BitStreamWriter writer = new BitStreamWriter(blockData, DwgVersion.R2004);
-
-        long lastHandle = 0;
-        long lastOffset = 0;
-
-        for (HandleEntry entry : entries) {
-            long handleDelta = entry.handle() - lastHandle;
-            long offsetDelta = entry.offset() - lastOffset;
-
-            writer.writeModularChar((int) handleDelta);
-            writer.writeModularChar((int) offsetDelta);
-
-            lastHandle = entry.handle();
-            lastOffset = entry.offset();
-        }
-
-        // Write end marker
-        writer.writeModularChar(0);
-
-        byte[] data = blockData.toByteArray();
-        int blockSize = data.length + 4; // data + size(2) + crc(2)
-
-        // Write block size
-        blockOutput.writeRawShort((short) blockSize);
-
-        // Write block data
-        for (byte b : data) {
-            blockOutput.writeRawChar(b & 0xFF);
-        }
-
-        // Write CRC (simplified - proper implementation would calculate actual CRC)
-        blockOutput.writeRawShort((short) 0);
+    /** page[0..size)에 크기를 채우고 CRC와 함께 내보낸다 */
+    private static void writePage(OutputStream output, byte[] page, int size) throws IOException {
+        page[0] = (byte) (size >>> 8);
+        page[1] = (byte) size;
+        int crc = CrcCalculator.Crc16Calculator.compute(CrcCalculator.Crc16Calculator.OBJECT_SEED, page, 0, size);
+        output.write(page, 0, size);
+        output.write(crc >>> 8);
+        output.write(crc);
     }
 }
@@ -0,0 +1,330 @@
+package io.dwg.sections.objects;
+
+import io.dwg.core.exception.DwgDecodeException;
+import io.dwg.core.io.BitInput;
+import io.dwg.core.io.BitStreamReader;
+import io.dwg.core.io.ByteBufferBitInput;
+import io.dwg.core.io.ChunkedBitInput;
+import io.dwg.core.io.LargeByteBuffer;
+import io.dwg.core.version.DwgVersion;
+import io.dwg.entities.DwgObjectType;
+import io.dwg.sections.classes.DwgClassRegistry;
+import io.dwg.sections.handles.HandleRegistry;
+
+/**
+ * Objects 섹션 바이트 위를 움직이는 읽기 전용 커서 (플라이웨이트).
+ *
+ * <p>객체를 만들지 않고 커서 하나가 객체를 오프셋 순서로 옮겨 다니며, 필드는 물어볼 때 섹션 버퍼에서 읽는다.
+ * 객체마다 (오프셋, 핸들) 한 쌍만 표로 들고 있고, 현재 객체의 필드 비트 위치 표는 처음 필드를 물을 때
+ * 한 번 만들어 재사용한다. 그래서 개수 세기나 경계 상자 같은 읽기 전용 작업은 객체마다 힙 할당이 없다.</p>
+ *
+ * <p>디코딩은 {@link ObjectsSectionParser}와 같은 순서(공통 헤더, 엔티티 헤더, 공통 엔티티 데이터, 타입별 필드)를
+ * 따르므로 값은 파서가 만든 DwgLine/DwgLwPolyline과 같다. 타입별 필드는 LINE과 LWPOLYLINE만 제공한다.
+ * 디코딩에 실패한 객체는 {@link #decodeFailed()}가 true이고 좌표가 NaN이다.</p>
+ *
+ * <p>한 스레드에서만 쓴다. 여러 스레드에서 읽으려면 스레드마다 {@link #copy()}로 커서를 만든다 (표는 공유).</p>
+ */
+public final class EntityCursor {
+
+    // LINE 필드 비트 위치 (fieldBits 색인)
+    private static final int START_X = 0;
+    private static final int START_Y = 1;
+    private static final int START_Z = 2;
+    private static final int END_X = 3;
+    private static final int END_Y = 4;
+    private static final int END_Z = 5;
+    private static final int THICKNESS = 6;
+
+    private static final int NOT_DECODED = 0;
+    private static final int DECODED = 1;
+    private static final int FAILED = 2;
+
+    /** LWPOLYLINE 꼭짓점 수 상한 ({@link io.dwg.sections.objects.readers.LwPolylineObjectReader}와 같음) */
+    private static final int MAX_COUNT = 100000;
+
+    private final LargeByteBuffer data;
+    private final DwgVersion version;
+    private final ObjectDispatchTable dispatch;
+    /** [2i] = 오프셋, [2i+1] = 핸들 (오프셋 오름차순) */
+    private final long[] pairs;
+    private final BitInput bits;
+    private final BitStreamReader reader;
+
+    private int index = -1;
+    private int typeCode;
+    private ObjectDispatchTable.Entry entry;
+    /** 타입 코드 다음 비트 */
+    private long afterType;
+    private int state;
+
+    /** 현재 객체의 필드 비트 위치. z가 0으로 생략된 LINE은 START_Z/END_Z가 -1 */
+    private final long[] fieldBits = new long[THICKNESS + 1];
+    private int flags;
+    private int vertexCount;
+    /** 현재 LWPOLYLINE 꼭짓점 (x, y)*. 커서 안에서 재사용 */
+    private double[] vertices = new double[64];
+
+    /**
+     * @param data    Objects 섹션 바이트 (R2004 이전은 파일 전체). 2GB를 넘어도 된다
+     * @param handles 핸들 → 섹션 내 오프셋
+     * @param classes Classes 섹션 (클래스 번호로 저장되는 LWPOLYLINE 등). 없으면 빈 레지스트리
+     */
+    public EntityCursor(LargeByteBuffer data, HandleRegistry handles, DwgVersion version, DwgClassRegistry classes) {
+        this(data, version, ObjectDispatchTable.forDocument(ObjectTypeResolver.defaultResolver(classes), classes),
+            ObjectsSectionParser.offsetOrderedPairs(handles, data.size()));
+    }
+
+    private EntityCursor(LargeByteBuffer data, DwgVersion version, ObjectDispatchTable dispatch, long[] pairs) {
+        this.data = data;
+        this.version = version;
+        this.dispatch = dispatch;
+        this.pairs = pairs;
+        this.bits = data.array() != null ? new ByteBufferBitInput(data.array()) : new ChunkedBitInput(data);
+        this.reader = new BitStreamReader(bits, version);
+    }
+
+    /** 같은 섹션과 표를 쓰는 새 커서 (처음 위치) */
+    public EntityCursor copy() {
+        return new EntityCursor(data, version, dispatch, pairs);
+    }
+
+    /** 객체 수 */
+    public int count() {
+        return pairs.length / 2;
+    }
+
+    /** 처음 {@link #next()} 전 위치로 */
+    public void reset() {
+        index = -1;
+        entry = null;
+    }
+
+    /** 다음 객체로. 더 없으면 false */
+    public boolean next() {
+        while (index + 1 < count()) {
+            if (moveTo(index + 1)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * i번째 객체(오프셋 순서)로. 크기나 타입 코드를 읽지 못하면 false이고 위치만 옮긴다.
+     */
+    public boolean moveTo(int i) {
+        index = i;
+        state = NOT_DECODED;
+        entry = null;
+        try {
+            bits.seek(pairs[2 * i] * 8L);
+            if (reader.readModularShort() <= 0) return false;
+            if (version.from(DwgVersion.R2010)) reader.readUMC();
+            typeCode = version.from(DwgVersion.R2010) ? reader.readBOT() : reader.readBitShort();
+            afterType = reader.position();
+            entry = dispatch.lookup(typeCode);
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    public long handle() {
+        return pairs[2 * index + 1];
+    }
+
+    /** 섹션 내 바이트 오프셋 */
+    public long offset() {
+        return pairs[2 * index];
+    }
+
+    /** 파일에 저장된 타입 코드 (클래스 번호 포함) */
+    public int typeCode() {
+        return typeCode;
+    }
+
+    /** 클래스 번호까지 풀어낸 타입 */
+    public DwgObjectType type() {
+        return entry != null ? entry.type() : DwgObjectType.UNKNOWN;
+    }
+
+    public boolean isLine() {
+        return type() == DwgObjectType.LINE;
+    }
+
+    public boolean isLwPolyline() {
+        return type() == DwgObjectType.LWPLINE;
+    }
+
+    /** 현재 객체의 타입별 필드를 읽지 못함 (파서라면 diagnostics에 남는 경우) */
+    public boolean decodeFailed() {
+        decode();
+        return state == FAILED;
+    }
+
+    // --- LINE ---
+
+    public double startX() { return lineField(START_X); }
+    public double startY() { return lineField(START_Y); }
+    public double startZ() { return lineField(START_Z); }
+    public double endX() { return lineField(END_X); }
+    public double endY() { return lineField(END_Y); }
+    public double endZ() { return lineField(END_Z); }
+
+    public double thickness() {
+        requireType(DwgObjectType.LINE);
+        decode();
+        if (state != DECODED) return Double.NaN;
+        bits.seek(fieldBits[THICKNESS]);
+        return reader.readBitThickness();
+    }
+
+    // --- LWPOLYLINE ---
+
+    public int flags() {
+        requireType(DwgObjectType.LWPLINE);
+        decode();
+        return flags;
+    }
+
+    public int vertexCount() {
+        requireType(DwgObjectType.LWPLINE);
+        decode();
+        return vertexCount;
+    }
+
+    public double vertexX(int i) {
+        return vertex(i, 0);
+    }
+
+    public double vertexY(int i) {
+        return vertex(i, 1);
+    }
+
+    private double vertex(int i, int axis) {
+        requireType(DwgObjectType.LWPLINE);
+        decode();
+        if (i < 0 || i >= vertexCount) throw new IndexOutOfBoundsException(i);
+        return vertices[2 * i + axis];
+    }
+
+    private double lineField(int field) {
+        requireType(DwgObjectType.LINE);
+        decode();
+        if (state != DECODED) return Double.NaN;
+        long at = fieldBits[field];
+        if (at < 0) return 0.0;
+        bits.seek(at);
+        return reader.readRawDouble();
+    }
+
+    private void requireType(DwgObjectType expected) {
+        if (type() != expected) {
+            throw new IllegalStateException("Object " + Long.toHexString(handle()) + " is " + type() + ", not " + expected);
+        }
+    }
+
+    /** 헤더를 건너뛰고 타입별 필드 위치 표를 만든다 (객체마다 한 번) */
+    private void decode() {
+        if (state != NOT_DECODED) return;
+        flags = 0;
+        vertexCount = 0;
+        if (entry == null) {
+            state = FAILED;
+            return;
+        }
+        if (entry.type() != DwgObjectType.LINE && entry.type() != DwgObjectType.LWPLINE) {
+            // 타입별 필드를 제공하지 않는 타입
+            state = DECODED;
+            return;
+        }
+        if (entry.reader() == null) {
+            state = FAILED;
+            return;
+        }
+        try {
+            bits.seek(afterType);
+            if (!ObjectsSectionParser.isSkipHeaderType(typeCode)) {
+                try {
+                    ObjectsSectionParser.readCommonHeader(reader, null, true, version);
+                } catch (DwgDecodeException e) {
+                    // 파서와 같이 헤더 없이 계속 진행
+                }
+            }
+            EntityHeaderReader.readEntityHeader(reader, version);
+            EntityHeaderReader.readCommonEntityData(reader, version);
+            if (entry.type() == DwgObjectType.LINE) {
+                locateLine();
+            } else {
+                readLwPolyline();
+            }
+            state = DECODED;
+        } catch (Exception e) {
+            state = FAILED;
+        }
+    }
+
+    private void locateLine() {
+        long p = reader.position();
+        if (version.until(DwgVersion.R14)) {
+            for (int f = START_X; f <= END_Z; f++) fieldBits[f] = p + 64L * f;
+            p += 6 * 64;
+        } else {
+            boolean zAreZero = bits.readBit();
+            p++;
+            fieldBits[START_X] = p;
+            fieldBits[END_X] = p + 64;
+            fieldBits[START_Y] = p + 128;
+            fieldBits[END_Y] = p + 192;
+            p += 256;
+            if (zAreZero) {
+                fieldBits[START_Z] = -1;
+                fieldBits[END_Z] = -1;
+            } else {
+                fieldBits[START_Z] = p;
+                fieldBits[END_Z] = p + 64;
+                p += 128;
+            }
+        }
+        if (p > data.size() * 8) throw new IllegalStateException("LINE past end of section");
+        fieldBits[THICKNESS] = p;
+        // 파서처럼 두께와 돌출 방향까지 읽혀야 성공
+        bits.seek(p);
+        reader.readBitThickness();
+        reader.readBitExtrusion();
+    }
+
+    /** {@link io.dwg.sections.objects.readers.LwPolylineObjectReader}와 같은 순서로 꼭짓점까지 읽는다 */
+    private void readLwPolyline() {
+        flags = reader.readBitShort();
+        if ((flags & 4) != 0) reader.readBitDouble();
+        if ((flags & 8) != 0) reader.readBitDouble();
+        if ((flags & 2) != 0) reader.readBitDouble();
+        if ((flags & 1) != 0) {
+            reader.readBitDouble();
+            reader.readBitDouble();
+            reader.readBitDouble();
+        }
+        int numPoints = reader.readBitLong();
+        int numBulges = (flags & 16) != 0 ? reader.readBitLong() : 0;
+        if (version.from(DwgVersion.R2010) && (flags & 1024) != 0) reader.readBitLong();
+        int numWidths = (flags & 32) != 0 ? reader.readBitLong() : 0;
+        if (numPoints < 0 || numPoints > MAX_COUNT || numBulges < 0 || numBulges > MAX_COUNT
+                || numWidths < 0 || numWidths > MAX_COUNT) {
+            return;
+        }
+        if (vertices.length < 2 * numPoints) vertices = new double[Math.max(2 * numPoints, 2 * vertices.length)];
+        double x = 0;
+        double y = 0;
+        for (int i = 0; i < numPoints; i++) {
+            if (i == 0 || version.until(DwgVersion.R14)) {
+                x = reader.readRawDouble();
+                y = reader.readRawDouble();
+            } else {
+                x = reader.readDD(x);
+                y = reader.readDD(y);
+            }
+            vertices[2 * i] = x;
+            vertices[2 * i + 1] = y;
+        }
+        vertexCount = numPoints;
+    }
+}
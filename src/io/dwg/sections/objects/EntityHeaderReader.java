@@ -21,15 +21,18 @@ public class EntityHeaderReader {
     /**
      * Read bitsize + object handle + EED loop.
      * Must be called immediately after typeCode is consumed by the parser.
+     *
+     * @return bitsize for R2000-R2007 (handle stream offset from the object start), -1 otherwise
      */
-    public static void readEntityHeader(BitStreamReader r, DwgVersion v) throws Exception {
+    public static long readEntityHeader(BitStreamReader r, DwgVersion v) throws Exception {
         BitInput input = r.getInput();
 
         // bitsize (RL = 4 raw bytes, no alignment) — R2000 to R2007
         // R13/R14: bitsize appears inside common_entity_data after preview_exists
         // R2010+:  bitsize handled separately before this call
+        long bitsize = -1;
         if (v.from(DwgVersion.R2000) && !v.from(DwgVersion.R2010)) {
-            readRawLong(input);
+            bitsize = readRawLong(input);
         }
 
         // object handle (H): first byte = code[7:4] + count[3:0], then count bytes
@@ -49,6 +52,7 @@ public class EntityHeaderReader {
                 break;
             }
         }
+        return bitsize;
     }
 
     /**
@@ -172,6 +176,27 @@ public class EntityHeaderReader {
         }
     }
 
+    /**
+     * Read handle reference (H) and resolve it against the referencing object's handle.
+     * Codes 6/8 are +1/-1, 0xA/0xC add/subtract the offset, others are absolute.
+     */
+    public static long readHandleRef(BitInput input, long self) {
+        int firstByte = input.readBits(8) & 0xFF;
+        int code = firstByte >>> 4;
+        int count = firstByte & 0x0F;
+        long value = 0;
+        for (int i = 0; i < count; i++) {
+            value = (value << 8) | (input.readBits(8) & 0xFF);
+        }
+        return switch (code) {
+            case 0x6 -> self + 1;
+            case 0x8 -> self - 1;
+            case 0xA -> self + value;
+            case 0xC -> self - value;
+            default -> value;
+        };
+    }
+
     /**
      * Read raw double (RD = 8 bytes, little-endian) without byte alignment.
      * Per libredwg bit_read_RD(): 8 x bit_read_RC().
@@ -184,9 +209,8 @@ public class EntityHeaderReader {
         return Double.longBitsToDouble(bits);
     }
 
-    // --- private helpers ---
-
-    private static long readRawLong(BitInput input) {
+    /** Read RL (4 raw bytes, little-endian) without byte alignment. */
+    public static long readRawLong(BitInput input) {
         long b0 = input.readBits(8) & 0xFF;
         long b1 = input.readBits(8) & 0xFF;
         long b2 = input.readBits(8) & 0xFF;
@@ -0,0 +1,201 @@
+package io.dwg.sections.objects;
+
+import io.dwg.entities.DwgObject;
+import io.dwg.entities.DwgObjectType;
+import io.dwg.entities.concrete.*;
+import io.dwg.sections.classes.DwgClassDefinition;
+import io.dwg.sections.classes.DwgClassRegistry;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 타입 코드 → (객체 생성자, ObjectReader) 디스패치 표.
+ * 객체마다 타입 코드 하나로 생성과 파싱에 필요한 것을 한 번에 찾는다.
+ *
+ * <p>표준 코드(0x200 미만)는 배열 색인, 클래스 번호(500 이상)는 작은 맵으로 조회하고,
+ * 어느 쪽에도 없으면 {@link #fallback()} 항목을 돌려준다.</p>
+ */
+public final class ObjectDispatchTable {
+
+    /**
+     * 한 타입의 디스패치 항목.
+     * @param factory 객체 생성자. null이면 이 타입은 객체를 만들지 않는다
+     * @param reader  타입별 데이터 리더. null이면 공통 헤더만 읽는다
+     */
+    public record Entry(DwgObjectType type, Supplier<? extends DwgObject> factory, ObjectReader reader) {
+        /** 새 객체. 생성하지 않는 타입이면 null */
+        public DwgObject create() {
+            return factory != null ? factory.get() : null;
+        }
+    }
+
+    private final Entry[] standard = new Entry[DwgObjectType.MAX_STANDARD_CODE];
+    private final Map<Integer, Entry> custom = new HashMap<>();
+    private final Entry fallback;
+
+    public ObjectDispatchTable(Entry fallback) {
+        this.fallback = fallback;
+    }
+
+    /** 타입 코드의 항목. 등록되지 않은 코드면 fallback */
+    public Entry lookup(int typeCode) {
+        Entry e;
+        if (typeCode >= 0 && typeCode < standard.length) {
+            e = standard[typeCode];
+        } else {
+            e = custom.get(typeCode);
+        }
+        return e != null ? e : fallback;
+    }
+
+    public void put(int typeCode, Entry entry) {
+        if (typeCode >= 0 && typeCode < standard.length) {
+            standard[typeCode] = entry;
+        } else {
+            custom.put(typeCode, entry);
+        }
+    }
+
+    public Entry fallback() {
+        return fallback;
+    }
+
+    /**
+     * 표준 타입 전체와 resolver에 코드로 등록된 리더로 표를 만든다.
+     * 알 수 없는 코드(커스텀 클래스 등)는 범용 객체(DwgXrecord)로 만든다.
+     */
+    public static ObjectDispatchTable standard(ObjectTypeResolver resolver) {
+        ObjectDispatchTable table = new ObjectDispatchTable(
+            new Entry(DwgObjectType.UNKNOWN, DwgXrecord::new, null));
+        for (DwgObjectType type : DwgObjectType.values()) {
+            if (type == DwgObjectType.UNKNOWN) continue;
+            table.put(type.typeCode(), new Entry(type, factoryFor(type), resolver.reader(type.typeCode())));
+        }
+        for (int code : resolver.typeCodes()) {
+            if (DwgObjectType.fromCode(code) == DwgObjectType.UNKNOWN) {
+                table.put(code, new Entry(DwgObjectType.UNKNOWN, DwgXrecord::new, resolver.reader(code)));
+            }
+        }
+        return table;
+    }
+
+    /**
+     * 도면 하나의 표: 표준 표에 Classes 섹션의 클래스 번호를 더한다.
+     * 클래스 번호는 DXF 이름으로 타입과 리더를 찾고, 둘 다 모르는 클래스는 fallback으로 둔다.
+     */
+    public static ObjectDispatchTable forDocument(ObjectTypeResolver resolver, DwgClassRegistry classes) {
+        ObjectDispatchTable table = standard(resolver);
+        for (DwgClassDefinition def : classes.classes()) {
+            int code = def.classNumber();
+            if (DwgObjectType.fromCode(code) != DwgObjectType.UNKNOWN) continue;
+            DwgObjectType type = DwgObjectType.fromDxfName(def.dxfRecordName());
+            ObjectReader reader = def.dxfRecordName() != null ? resolver.reader(def.dxfRecordName()) : null;
+            if (type == DwgObjectType.UNKNOWN && reader == null) continue;
+            table.put(code, new Entry(type, factoryFor(type), reader));
+        }
+        return table;
+    }
+
+    /** 표준 타입의 생성자. 객체를 만들지 않는 타입이면 null */
+    static Supplier<? extends DwgObject> factoryFor(DwgObjectType type) {
+        return switch (type) {
+            case TEXT                -> DwgText::new;
+            case ATTDEF              -> DwgAttdef::new;
+            case ATTRIB              -> DwgAttrib::new;
+            case SEQEND              -> DwgSeqEnd::new;
+            case ENDBLK              -> DwgXrecord::new;
+            case INSERT              -> DwgInsert::new;
+            case MINSERT             -> DwgMinsert::new;
+            case VERTEX_2D           -> DwgVertex2D::new;
+            case VERTEX_3D           -> DwgVertex3D::new;
+            case VERTEX_MESH         -> DwgVertexMesh::new;
+            case VERTEX_PFACE        -> DwgVertexPface::new;
+            case VERTEX_PFACE_FACE   -> DwgVertexPfaceFace::new;
+            case POLYLINE_2D         -> DwgPolyline2D::new;
+            case POLYLINE_3D         -> DwgPolyline3D::new;
+            case ARC                 -> DwgArc::new;
+            case CIRCLE              -> DwgCircle::new;
+            case LINE                -> DwgLine::new;
+            case DIMENSION_ORDINATE  -> DwgDimensionOrdinate::new;
+            case DIMENSION_LINEAR    -> DwgDimensionLinear::new;
+            case DIMENSION_ALIGNED   -> DwgDimensionAligned::new;
+            case DIMENSION_ANG_3PT   -> DwgDimensionAng3pt::new;
+            case DIMENSION_ANG_2LN   -> DwgDimensionAng2ln::new;
+            case DIMENSION_RADIUS    -> DwgDimensionRadius::new;
+            case DIMENSION_DIAMETER  -> DwgDimensionDiameter::new;
+            case POINT               -> DwgPoint::new;
+            case FACE3D              -> DwgFace3D::new;
+            case POLYLINE_PFACE      -> DwgPolylinePface::new;
+            case POLYLINE_MESH       -> DwgPolylineMesh::new;
+            case SOLID               -> DwgSolid::new;
+            case TRACE               -> DwgTrace::new;
+            case SHAPE               -> DwgShape::new;
+            case VIEWPORT            -> DwgViewport::new;
+            case ELLIPSE             -> DwgEllipse::new;
+            case SPLINE              -> DwgSpline::new;
+            case REGION              -> DwgRegion::new;
+            case SOLID3D             -> DwgSolid3d::new;
+            case BODY                -> DwgBody::new;
+            case RAY                 -> DwgRay::new;
+            case XLINE               -> DwgXLine::new;
+            case DICTIONARY          -> DwgDictionary::new;
+            case MTEXT               -> DwgMText::new;
+            case LEADER              -> DwgLeader::new;
+            case TOLERANCE           -> DwgTolerance::new;
+            case MLINE               -> DwgMLine::new;
+            case BLOCK_HEADER        -> DwgBlockHeader::new;
+            case BLOCK_CONTROL       -> () -> new DwgTableControl(type);
+            case LAYER               -> DwgLayer::new;
+            case GROUP               -> DwgGroup::new;
+            case OLE2FRAME           -> DwgOle2frame::new;
+            case LWPLINE             -> DwgLwPolyline::new;
+            case HATCH               -> DwgHatch::new;
+            case XRECORD             -> DwgXrecord::new;
+            case LTYPE               -> DwgLtype::new;
+            case STYLE               -> DwgStyle::new;
+            case VIEW                -> DwgView::new;
+            case UCS                 -> DwgUcs::new;
+            case VPORT               -> DwgVport::new;
+            case APPID               -> DwgAppId::new;
+            case DIMSTYLE            -> DwgDimStyle::new;
+            case MLINESTYLE          -> DwgMLineStyle::new;
+            case LONG_TRANSACTION    -> DwgLongTransaction::new;
+            case LAYOUT              -> DwgLayout::new;
+            case PLACEHOLDER         -> DwgPlaceholder::new;
+            case VBA_PROJECT         -> DwgVbaProject::new;
+            case LAYOUT_ALTERNATE    -> DwgLayout::new;
+            case UNUSED              -> null;
+            case VP_ENT_HDR          -> null;
+            case STYLE_ALTERNATE     -> DwgStyle::new;
+            case APPID_CONTROL       -> () -> new DwgTableControl(type);
+            case APPID_ALTERNATE     -> DwgAppId::new;
+            case DIMSTYLE_CONTROL    -> () -> new DwgTableControl(type);
+            case DIMSTYLE_ALTERNATE  -> DwgDimStyle::new;
+            case VX_CONTROL          -> () -> new DwgTableControl(type);
+            case MLINESTYLE_ALTERNATE -> DwgMLineStyle::new;
+            case IMAGE               -> DwgImage::new;
+            case WIPEOUT             -> DwgWipeout::new;
+            case XREF                -> DwgXref::new;
+            case UNDERLAY            -> DwgUnderlay::new;
+            case SURFACE             -> DwgSurface::new;
+            case MESH                -> DwgMesh::new;
+            case SCALE               -> DwgScale::new;
+            case VISUALSTYLE         -> DwgVisualStyle::new;
+            case ACAD_FIELD          -> DwgField::new;
+            case ACAD_PROXY_ENTITY   -> DwgProxyEntity::new;
+            case ACAD_DICTIONARYVAR  -> DwgDictionaryVar::new;
+            case ACAD_TABLE          -> DwgTable::new;
+            case ACAD_SCALE_LIST     -> DwgScaleList::new;
+            case ACAD_TABLESTYLE     -> DwgTableStyle::new;
+            case ACAD_CELLSTYLE      -> DwgCellStyle::new;
+            case ACAD_PLOTSTYLE      -> DwgPlotStyle::new;
+            case ACAD_MATERIAL       -> DwgMaterial::new;
+            case ACAD_DATASOURCE     -> DwgDataSource::new;
+            case ACAD_PERSSUBENTMANAGER -> DwgPersSubentManager::new;
+            // 커스텀 R2000 타입(0xF401-0xFC01) 등은 범용 객체로 파싱
+            case UNKNOWN             -> DwgXrecord::new;
+        };
+    }
+}
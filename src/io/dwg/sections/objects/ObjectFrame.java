@@ -0,0 +1,28 @@
+package io.dwg.sections.objects;
+
+import io.dwg.core.version.DwgVersion;
+
+/**
+ * 객체 하나의 위치 정보 (섹션 버퍼 기준 비트 위치).
+ * 데이터 스트림 뒤에 붙은 핸들 스트림/문자열 스트림을 찾는 리더가 쓴다.
+ *
+ * @param dataStart        MS(R2010+는 그 뒤 UMC) 바로 다음 비트. MS 크기와 R2000-R2007 bitsize의 기준점
+ * @param size             MS 값 (객체 바이트 수, CRC 제외)
+ * @param handleStreamBits R2010+ UMC 값 (핸들 스트림 비트 수). 이전 버전은 -1
+ */
+public record ObjectFrame(long dataStart, long size, long handleStreamBits) {
+
+    /** 객체 데이터 끝 비트 (CRC 직전) */
+    public long end() {
+        return dataStart + size * 8;
+    }
+
+    /**
+     * 핸들 스트림 시작 비트. R2010+는 UMC로, 이전 버전은 객체 헤더의 bitsize(RL)로 정한다.
+     *
+     * @param bitsize R13-R2007 객체 헤더의 bitsize. R2010+에서는 쓰지 않는다
+     */
+    public long handleStreamStart(DwgVersion version, long bitsize) {
+        return version.from(DwgVersion.R2010) ? end() - handleStreamBits : dataStart + bitsize;
+    }
+}
@@ -9,5 +9,10 @@ import io.dwg.entities.DwgObject;
  */
 public interface ObjectReader {
     void read(DwgObject target, BitStreamReader r, DwgVersion v) throws Exception;
+
+    /** 핸들 스트림 등 객체 위치가 필요한 리더는 이쪽을 재정의한다 */
+    default void read(DwgObject target, BitStreamReader r, DwgVersion v, ObjectFrame frame) throws Exception {
+        read(target, r, v);
+    }
     int objectType();
 }
@@ -0,0 +1,246 @@
+package io.dwg.sections.objects;
+
+import io.dwg.core.io.BitInput;
+import io.dwg.core.io.BitStreamReader;
+import io.dwg.core.io.ByteBufferBitInput;
+import io.dwg.core.io.ChunkedBitInput;
+import io.dwg.core.io.LargeByteBuffer;
+import io.dwg.core.util.CrcCalculator;
+import io.dwg.core.version.DwgVersion;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * 객체 스트림 순차 스캐너. 핸들 맵 없이(또는 손상되어) 객체 위치를 찾아야 할 때 쓴다.
+ *
+ * <p>객체는 바이트 경계에서 MS(크기) [+ R2010+ UMC] + 데이터 + RS(CRC-16, seed 0xC0C1)로
+ * 저장된다. 후보 위치마다 크기 범위 → 타입 코드 → 자기 핸들 → CRC 순으로 싼 검사부터 해 보고,
+ * 통과하면 그 객체 끝으로 바로 건너뛰고 실패하면 다음 바이트로 넘어간다.
+ * 예외를 쓰지 않으며, 연속으로 검증된 객체 구간을 {@link #recoveredRanges()}로 보고한다.
+ * 위치는 long 바이트 오프셋이라 2GB를 넘는 섹션({@link LargeByteBuffer})도 훑는다.</p>
+ */
+public final class ObjectStreamScanner {
+
+    /** 객체 하나의 최대 크기 (MS 두 단위) */
+    static final int MAX_OBJECT_SIZE = 1 << 24;
+
+    /** 이보다 짧은 구간은 prefix 없이 바로 CRC 계산 */
+    private static final int DIRECT_CRC_LIMIT = 256;
+
+    /**
+     * 검증된 객체.
+     * @param offset     MS 시작 바이트
+     * @param dataOffset 데이터 시작 바이트 (R2010+는 UMC 다음)
+     * @param size       데이터 바이트 수
+     */
+    public record Candidate(long offset, long dataOffset, int size, int typeCode) {
+        /** CRC 다음 바이트 (다음 객체 후보 위치) */
+        public long end() {
+            return dataOffset + size + 2;
+        }
+    }
+
+    /** 연속으로 검증된 객체 구간 [start, end) */
+    public record Range(long start, long end, int objects) { }
+
+    private final LargeByteBuffer data;
+    /** 단일 힙 배열이면 그 배열 (CRC를 복사 없이 계산), 아니면 null */
+    private final byte[] raw;
+    private final long length;
+    private final DwgVersion version;
+    private final IntPredicate knownType;
+    private final BitInput bits;
+    private final BitStreamReader reader;
+
+    /** prefix[i] = raw[0..i)의 CRC-16 (seed 0). 긴 구간 CRC가 처음 필요할 때 채운다 (배열 기반일 때만) */
+    private char[] prefix;
+    private int prefixEnd;
+
+    private long pos;
+    private long candidates;
+    private long skippedBytes;
+    private final List<Range> ranges = new ArrayList<>();
+    private long rangeStart = -1;
+    private long rangeEnd;
+    private int rangeObjects;
+
+    /**
+     * @param knownType 타입 코드가 이 도면에서 나올 수 있는지 (표준 타입 또는 등록된 클래스 번호)
+     */
+    public ObjectStreamScanner(byte[] raw, DwgVersion version, IntPredicate knownType) {
+        this(LargeByteBuffer.wrap(raw), version, knownType);
+    }
+
+    public ObjectStreamScanner(LargeByteBuffer data, DwgVersion version, IntPredicate knownType) {
+        this.data = data;
+        this.raw = data.array();
+        this.length = data.size();
+        this.version = version;
+        this.knownType = knownType;
+        this.bits = raw != null ? new ByteBufferBitInput(raw) : new ChunkedBitInput(data);
+        this.reader = new BitStreamReader(bits, version);
+    }
+
+    /** 다음 검증된 객체. 더 없으면 null */
+    public Candidate next() {
+        while (pos + 4 <= length) {
+            candidates++;
+            Candidate c = validate(pos);
+            if (c != null) {
+                if (rangeStart < 0 || rangeEnd != c.offset()) {
+                    closeRange();
+                    rangeStart = c.offset();
+                }
+                rangeEnd = c.end();
+                rangeObjects++;
+                pos = c.end();
+                return c;
+            }
+            closeRange();
+            pos++;
+            skippedBytes++;
+        }
+        skippedBytes += length - Math.min(pos, length);
+        pos = length;
+        closeRange();
+        return null;
+    }
+
+    /** 지금까지 복구한 구간 (스캔이 끝나면 전체) */
+    public List<Range> recoveredRanges() {
+        return Collections.unmodifiableList(ranges);
+    }
+
+    /** 객체로 인정되지 않아 건너뛴 바이트 수 */
+    public long skippedBytes() {
+        return skippedBytes;
+    }
+
+    /** 검사한 후보 위치 수 */
+    public long candidates() {
+        return candidates;
+    }
+
+    private Candidate validate(long off) {
+        // MS: 15비트 단위 LE16, 최상위 비트가 계속 플래그
+        long p = off;
+        int size = 0;
+        for (int shift = 0; ; shift += 15) {
+            if (p + 2 > length || shift > 15) return null;
+            int w = byteAt(p) | (byteAt(p + 1) << 8);
+            p += 2;
+            size |= (w & 0x7FFF) << shift;
+            if ((w & 0x8000) == 0) break;
+        }
+        if (size <= 0 || size > MAX_OBJECT_SIZE) return null;
+
+        // R2010+: 핸들 스트림 비트 수 (UMC), 크기는 그 다음부터 센다
+        long handleBits = -1;
+        if (version.from(DwgVersion.R2010)) {
+            handleBits = 0;
+            for (int shift = 0; ; shift += 7) {
+                if (p >= length || shift > 28) return null;
+                int b = byteAt(p++);
+                handleBits |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) break;
+            }
+            if (handleBits > (long) size * 8) return null;
+        }
+        long dataOffset = p;
+        long end = dataOffset + size;
+        if (end + 2 > length) return null;
+
+        bits.seek(dataOffset * 8);
+        int typeCode = version.from(DwgVersion.R2010) ? reader.readBOT() : reader.readBitShort();
+        if (!knownType.test(typeCode)) return null;
+
+        // R2000-R2007: 데이터 비트 수(RL), 이어서 자기 핸들(코드 0, 바이트 1-8)
+        if (version.from(DwgVersion.R2000) && version.until(DwgVersion.R2007)) {
+            long dataBits = 0;
+            for (int i = 0; i < 4; i++) {
+                dataBits |= (long) (bits.readBits(8) & 0xFF) << (i * 8);
+            }
+            if (dataBits == 0 || dataBits > (long) size * 8) return null;
+        }
+        int handleCode = bits.readBits(4);
+        int handleBytes = bits.readBits(4);
+        if (handleCode != 0 || handleBytes == 0 || handleBytes > 8) return null;
+
+        if (handleBits > 0 && !plausibleTail(dataOffset, size, handleBits)) return null;
+
+        int stored = byteAt(end) | (byteAt(end + 1) << 8);
+        int crc = rangeCrc(off, end);
+        return crc == stored ? new Candidate(off, dataOffset, size, typeCode) : null;
+    }
+
+    /**
+     * R2010+: 핸들 스트림 첫 항목은 핸들 참조(코드 0-C, 바이트 0-8)이고,
+     * 데이터 스트림 마지막 비트가 문자열 스트림 플래그면 그 앞 RS 크기가 데이터 안에 들어가야 한다.
+     */
+    private boolean plausibleTail(long dataOffset, int size, long handleBits) {
+        long dataBits = (long) size * 8 - handleBits;
+        bits.seek(dataOffset * 8 + dataBits);
+        int code = bits.readBits(4);
+        int counter = bits.readBits(4);
+        if (counter > 8 || (code != 0 && code < 2) || code > 0xC || code == 7 || code == 9 || code == 0xB) {
+            return false;
+        }
+        if (dataBits < 17) return true;
+        bits.seek(dataOffset * 8 + dataBits - 1);
+        if (!bits.readBit()) return true;
+        bits.seek(dataOffset * 8 + dataBits - 17);
+        long strBits = bits.readBits(8) & 0xFF;
+        strBits |= (long) (bits.readBits(8) & 0xFF) << 8;
+        return (strBits & 0x7FFF) < dataBits;  // 0x8000이면 상위 RS가 더 붙으므로 하한만 비교
+    }
+
+    /**
+     * [from..to)의 객체 CRC. 큰 손상 구간에서는 후보마다 수 KB씩 CRC를 다시 계산하게 되므로,
+     * 한 번 계산한 prefix CRC와 {@link CrcCalculator.Crc16Calculator#shift}로 구간 CRC를 구한다.
+     * 청크 기반 버퍼는 구간(객체 하나, 최대 {@link #MAX_OBJECT_SIZE})을 복사해 바로 계산한다.
+     */
+    private int rangeCrc(long from, long to) {
+        int len = (int) (to - from);
+        if (raw == null) {
+            byte[] copy = new byte[len];
+            data.get(from, copy, 0, len);
+            return CrcCalculator.Crc16Calculator.compute(CrcCalculator.Crc16Calculator.OBJECT_SEED, copy, 0, len);
+        }
+        return rangeCrc((int) from, (int) to);
+    }
+
+    private int rangeCrc(int from, int to) {
+        if (to - from <= DIRECT_CRC_LIMIT) {
+            return CrcCalculator.Crc16Calculator.compute(
+                CrcCalculator.Crc16Calculator.OBJECT_SEED, raw, from, to - from);
+        }
+        if (prefix == null) {
+            prefix = new char[raw.length + 1];
+        }
+        if (prefixEnd < to) {
+            int crc = prefix[prefixEnd];
+            for (int i = prefixEnd; i < to; i++) {
+                crc = CrcCalculator.Crc16Calculator.compute(crc, raw, i, 1);
+                prefix[i + 1] = (char) crc;
+            }
+            prefixEnd = to;
+        }
+        return prefix[to] ^ CrcCalculator.Crc16Calculator.shift(
+            prefix[from] ^ CrcCalculator.Crc16Calculator.OBJECT_SEED, to - from);
+    }
+
+    private int byteAt(long p) {
+        return (raw != null ? raw[(int) p] : data.get(p)) & 0xFF;
+    }
+
+    private void closeRange() {
+        if (rangeStart >= 0) {
+            ranges.add(new Range(rangeStart, rangeEnd, rangeObjects));
+            rangeStart = -1;
+            rangeObjects = 0;
+        }
+    }
+}
@@ -1,28 +1,75 @@
 package io.dwg.sections.objects;
 
+import io.dwg.entities.DwgObjectType;
 import io.dwg.sections.classes.DwgClassRegistry;
 import io.dwg.sections.objects.readers.*;
 
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * 객체 타입 번호 → ObjectReader 인스턴스 매핑.
+ * 표준 코드(0x200 미만)는 배열로, 클래스 번호는 맵으로 찾는다.
  */
 public class ObjectTypeResolver {
-    private final Map<Integer, ObjectReader> readers = new HashMap<>();
+    private final ObjectReader[] standard = new ObjectReader[DwgObjectType.MAX_STANDARD_CODE];
+    private final Map<Integer, ObjectReader> custom = new HashMap<>();
+    private final Map<String, ObjectReader> byDxfName = new HashMap<>();
 
     public void register(ObjectReader reader) {
-        readers.put(reader.objectType(), reader);
+        put(reader.objectType(), reader);
     }
 
     public void registerCustom(int classNum, ObjectReader reader) {
-        readers.put(classNum, reader);
+        put(classNum, reader);
+    }
+
+    /** 클래스 번호가 도면마다 다른 커스텀 클래스용: DXF 레코드 이름으로 리더 등록 */
+    public void registerDxfName(String dxfName, ObjectReader reader) {
+        byDxfName.put(dxfName, reader);
+    }
+
+    /**
+     * DXF 이름의 리더. 이름으로 등록된 리더가 우선이고, 없으면 같은 이름의 표준 타입
+     * ({@link DwgObjectType#fromDxfName})에 등록된 리더. 둘 다 없으면 null
+     */
+    public ObjectReader reader(String dxfName) {
+        ObjectReader reader = byDxfName.get(dxfName);
+        if (reader != null) return reader;
+        DwgObjectType type = DwgObjectType.fromDxfName(dxfName);
+        return type != DwgObjectType.UNKNOWN ? reader(type.typeCode()) : null;
     }
 
     public Optional<ObjectReader> resolve(int typeCode) {
-        return Optional.ofNullable(readers.get(typeCode));
+        return Optional.ofNullable(reader(typeCode));
+    }
+
+    /** 등록된 리더. 없으면 null */
+    public ObjectReader reader(int typeCode) {
+        if (typeCode >= 0 && typeCode < standard.length) {
+            return standard[typeCode];
+        }
+        return custom.get(typeCode);
+    }
+
+    /** 등록된 모든 타입 코드 */
+    public Set<Integer> typeCodes() {
+        Set<Integer> codes = new TreeSet<>(custom.keySet());
+        for (int code = 0; code < standard.length; code++) {
+            if (standard[code] != null) codes.add(code);
+        }
+        return codes;
+    }
+
+    private void put(int typeCode, ObjectReader reader) {
+        if (typeCode >= 0 && typeCode < standard.length) {
+            standard[typeCode] = reader;
+        } else {
+            custom.put(typeCode, reader);
+        }
     }
 
     public static ObjectTypeResolver defaultResolver(DwgClassRegistry classReg) {
@@ -73,7 +120,10 @@ public class ObjectTypeResolver {
         resolver.register(new LwPolylineObjectReader());
         resolver.register(new HatchObjectReader());
         resolver.register(new BlockHeaderObjectReader());
-        resolver.register(new BlockEndObjectReader());
+        resolver.register(new TableControlObjectReader(DwgObjectType.BLOCK_CONTROL));
+        resolver.register(new TableControlObjectReader(DwgObjectType.APPID_CONTROL));
+        resolver.register(new TableControlObjectReader(DwgObjectType.DIMSTYLE_CONTROL));
+        resolver.register(new TableControlObjectReader(DwgObjectType.VX_CONTROL));
         resolver.register(new LayerObjectReader());
         resolver.register(new LtypeObjectReader());
         resolver.register(new StyleObjectReader());
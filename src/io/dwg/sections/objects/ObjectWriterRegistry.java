@@ -1,5 +1,6 @@
 package io.dwg.sections.objects;
 
+import io.dwg.entities.DwgObjectType;
 import io.dwg.sections.objects.writers.*;
 
 import java.util.HashMap;
@@ -46,7 +47,10 @@ public class ObjectWriterRegistry {
         registry.register(new AttdefObjectWriter());
         registry.register(new MinsertObjectWriter());
         registry.register(new BlockHeaderObjectWriter());
-        registry.register(new BlockEndObjectWriter());
+        registry.register(new TableControlObjectWriter(DwgObjectType.BLOCK_CONTROL));
+        registry.register(new TableControlObjectWriter(DwgObjectType.APPID_CONTROL));
+        registry.register(new TableControlObjectWriter(DwgObjectType.DIMSTYLE_CONTROL));
+        registry.register(new TableControlObjectWriter(DwgObjectType.VX_CONTROL));
         registry.register(new SplineObjectWriter());
         registry.register(new HatchObjectWriter());
         registry.register(new LeaderObjectWriter());
@@ -1,203 +1,220 @@
 package io.dwg.sections.objects;
 
+import io.dwg.core.exception.DwgDecodeException;
+import io.dwg.core.exception.DwgDiagnostics;
+import io.dwg.core.io.BitInput;
 import io.dwg.core.io.BitStreamReader;
-import io.dwg.core.io.ByteBufferBitInput;
+import io.dwg.core.io.PendingSection;
 import io.dwg.core.io.SectionInputStream;
 import io.dwg.core.type.DwgHandleRef;
 import io.dwg.core.version.DwgVersion;
 import io.dwg.entities.AbstractDwgEntity;
 import io.dwg.entities.AbstractDwgObject;
 import io.dwg.entities.DwgObject;
-import io.dwg.entities.DwgObjectType;
-import io.dwg.entities.concrete.*;
+import io.dwg.entities.DwgObjectIndex;
 import io.dwg.format.common.SectionType;
 import io.dwg.sections.AbstractSectionParser;
 import io.dwg.sections.classes.DwgClassRegistry;
 import io.dwg.sections.handles.HandleRegistry;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * 스펙 §20 AcDb:AcDbObjects 섹션 파서.
+ * 섹션은 {@link SectionInputStream#newBitInput()}으로 읽고 오프셋은 long이라 2GB를 넘는 섹션도 디코딩한다.
  */
 public class ObjectsSectionParser extends AbstractSectionParser<Map<Long, DwgObject>> {
 
     private HandleRegistry handles;
     private DwgClassRegistry classRegistry;
-    private ObjectTypeResolver resolver;
+    private ObjectDispatchTable dispatch;
+    private DwgObjectIndex index = new DwgObjectIndex();
+    private List<ObjectStreamScanner.Range> recoveredRanges = List.of();
+    private DwgDiagnostics diagnostics = new DwgDiagnostics();
 
     public ObjectsSectionParser() {
-        this.resolver = ObjectTypeResolver.defaultResolver(new DwgClassRegistry());
+        this.dispatch = ObjectDispatchTable.standard(ObjectTypeResolver.defaultResolver(new DwgClassRegistry()));
     }
 
     public void setHandleRegistry(HandleRegistry handles) { this.handles = handles; }
     public void setClassRegistry(DwgClassRegistry classRegistry) {
         this.classRegistry = classRegistry;
-        this.resolver = ObjectTypeResolver.defaultResolver(this.classRegistry);
+        // 클래스 번호 → DXF 이름 → 리더 매핑을 도면당 한 번만 만든다
+        this.dispatch = ObjectDispatchTable.forDocument(
+            ObjectTypeResolver.defaultResolver(classRegistry), classRegistry);
     }
 
-    @Override
-    public Map<Long, DwgObject> parse(SectionInputStream stream, DwgVersion version) throws Exception {
-        Map<Long, DwgObject> result = new HashMap<>();
+    /** 마지막 parse 호출에서 객체를 넣으며 함께 만든 타입/이름 색인 */
+    public DwgObjectIndex objectIndex() { return index; }
 
-        boolean useSequentialParsing = false;
+    /** 마지막 parse 호출이 순차 스캔이었으면 복구한 객체 구간, 아니면 빈 목록 */
+    public List<ObjectStreamScanner.Range> recoveredRanges() { return recoveredRanges; }
 
-        if (handles != null && !handles.allHandles().isEmpty() && version.from(DwgVersion.R2007)) {
-            byte[] raw = stream.rawBytes();
-            long outOfRangeCount = 0;
+    /** 마지막 parse 호출에서 실패한 객체/필드 기록 */
+    public DwgDiagnostics diagnostics() { return diagnostics; }
 
-            for (long h : handles.allHandles()) {
-                var offset = handles.offsetFor(h);
-                if (offset.isPresent()) {
-                    long off = offset.get();
-                    if (off < 0 || off >= raw.length) outOfRangeCount++;
-                }
-            }
+    @Override
+    public Map<Long, DwgObject> parse(SectionInputStream stream, DwgVersion version) throws Exception {
+        return parse(PendingSection.completed(stream), version);
+    }
 
-            double invalidRatio = (double) outOfRangeCount / handles.allHandles().size();
-            if (invalidRatio > 0.2) {
-                useSequentialParsing = true;
+    /**
+     * 압축 해제 중인 섹션에서 객체 디코딩. 핸들 맵 경로는 오프셋 오름차순으로 디코딩하므로,
+     * 객체마다 그 바이트(MS부터 CRC까지)가 풀릴 때까지만 기다리고 나머지 페이지의 압축 해제와 겹쳐 진행한다.
+     * 순차 스캔 경로는 섹션 전체를 기다린다.
+     */
+    public Map<Long, DwgObject> parse(PendingSection section, DwgVersion version) throws Exception {
+        Map<Long, DwgObject> result = new HashMap<>();
+        index = new DwgObjectIndex();
+        recoveredRanges = List.of();
+        diagnostics = new DwgDiagnostics();
+
+        if (handles != null && handles.size() > 0) {
+            BitInput in = section.stream().newBitInput();
+            long[] pairs = offsetOrderedPairs(handles, section.stream().length());
+            int inRange = pairs.length / 2;
+
+            // R2007+: 핸들 맵 오프셋이 20% 넘게 범위를 벗어나면 맵을 믿지 않고 순차 스캔
+            double invalidRatio = (double) (handles.size() - inRange) / handles.size();
+            if (version.from(DwgVersion.R2007) && invalidRatio > 0.2) {
+                return parseStreaming(section.await(), version);
             }
-        }
 
-        if (!useSequentialParsing && handles != null && !handles.allHandles().isEmpty()) {
-            byte[] raw = stream.rawBytes();
-
-            for (Map.Entry<Long, Long> entry : sortedHandleOffsets()) {
-                long handle = entry.getKey();
-                long offset = entry.getValue();
-
-                if (offset < 0 || offset >= raw.length) {
-                    continue;
+            // 오프셋 오름차순으로 디코딩: 섹션 버퍼를 앞에서부터 한 번 훑는다
+            for (int i = 0; i < pairs.length; i += 2) {
+                long offset = pairs[i];
+                long handle = pairs[i + 1];
+                if (!section.isDone()) {
+                    awaitObject(section, in, offset, version);
                 }
-
                 try {
-                    DwgObject obj = parseObjectAt(raw, (int) offset, version, handle);
+                    DwgObject obj = parseObjectAt(in, offset, version, handle);
                     if (obj != null) {
                         result.put(handle, obj);
+                        index.add(obj);
                     }
                 } catch (Exception e) {
-                    // Silently skip failed objects
+                    diagnostics.record(e, handle, -1, offset * 8L);
                 }
             }
         } else {
-            result = parseStreaming(stream, version);
+            result = parseStreaming(section.await(), version);
         }
 
         return result;
     }
 
+    /** MS(최대 4바이트)와 R2010+ UMC(최대 5바이트)를 읽고, 객체 끝의 CRC까지 풀릴 때까지 기다림 */
+    private static void awaitObject(PendingSection section, BitInput in, long offset, DwgVersion version)
+            throws InterruptedException {
+        section.awaitBytes(offset + 9);
+        long length = in.length();
+        long p = offset;
+        long size = 0;
+        in.seek(p * 8);
+        for (int shift = 0; shift <= 15 && p + 2 <= length; shift += 15) {
+            int w = in.readRawShort() & 0xFFFF;
+            p += 2;
+            size |= (long) (w & 0x7FFF) << shift;
+            if ((w & 0x8000) == 0) break;
+        }
+        if (version.from(DwgVersion.R2010)) {
+            for (int shift = 0; shift <= 28 && p < length; shift += 7) {
+                p++;
+                if ((in.readRawChar() & 0x80) == 0) break;
+            }
+        }
+        section.awaitBytes(p + size + 2);
+    }
+
+    /**
+     * 핸들 맵을 쓸 수 없을 때: {@link ObjectStreamScanner}로 크기/타입/CRC가 맞는 객체만 찾아
+     * 순서대로 핸들을 매긴다. 복구한 구간은 {@link #recoveredRanges()}로 확인.
+     */
     private Map<Long, DwgObject> parseStreaming(SectionInputStream stream, DwgVersion version) throws Exception {
         Map<Long, DwgObject> result = new HashMap<>();
-        byte[] raw = stream.rawBytes();
+        BitInput in = stream.newBitInput();
         long nextHandle = 1;
-        long bitOffset = 0;
-
-        // FIX 1: create buffer once and seek per iteration;
-        // ByteBuffer.wrap(raw, offset, ...) + new ByteBufferBitInput(buf) is broken because
-        // the constructor calls buffer.position(0), discarding the wrap() offset every time.
-        ByteBufferBitInput bbuf = new ByteBufferBitInput(raw);
 
-        while (bitOffset < (long)(raw.length - 6) * 8L) {
-            long startBitOffset = bitOffset;
+        ObjectStreamScanner scanner = new ObjectStreamScanner(stream.buffer(), version, this::isKnownType);
+        for (ObjectStreamScanner.Candidate c = scanner.next(); c != null; c = scanner.next()) {
             try {
-                bbuf.seek(bitOffset);
-                BitStreamReader r = new BitStreamReader(bbuf, version);
-
-                int objSizeBits = r.readModularShort();
-
-                // R2010+: UMC (handlestream_size) between MS and type code
-                if (version.from(DwgVersion.R2010)) {
-                    r.readUMC();
-                }
-
-                long afterMsBitPos = bbuf.position();
-
-                if (objSizeBits <= 0 || objSizeBits > 0x200000) {
-                    bitOffset = startBitOffset + 16;
-                    continue;
-                }
-
-                // R2010+ uses BOT; pre-R2010 uses BS
-                int typeCode = version.from(DwgVersion.R2010) ? r.readBOT() : r.readBitShort();
-
-                if (typeCode < 0 || typeCode > 5000) {
-                    bitOffset = startBitOffset + 16;
-                    continue;
-                }
-
-                DwgObject obj = createObject(typeCode);
-                if (obj == null) {
-                    // FIX 3: advance using bit positions (objSizeBits is in bits, not bytes)
-                    bitOffset = afterMsBitPos + objSizeBits;
-                    continue;
+                DwgObject obj = parseObjectAt(in, c.offset(), version, nextHandle);
+                if (obj != null) {
+                    result.put(nextHandle, obj);
+                    index.add(obj);
+                    nextHandle++;
                 }
-
-                ((AbstractDwgObject) obj).setHandle(nextHandle);
-                ((AbstractDwgObject) obj).setRawTypeCode(typeCode);
-
-                boolean skipHeaderStreaming = isSkipHeaderType(typeCode);
-                if (!skipHeaderStreaming) {
-                    try {
-                        parseCommonHeader(r, obj, version);
-                    } catch (Exception e) {
-                        // Common header parsing failed, object still stored
-                    }
-                }
-                resolver.resolve(typeCode).ifPresent(reader -> {
-                    try {
-                        reader.read(obj, r, version);
-                    } catch (Exception e) {
-                        // Type-specific parsing failed silently
-                    }
-                });
-
-                result.put(nextHandle, obj);
-                nextHandle++;
-
-                // FIX 3: objSizeBits is the object size in bits starting from afterMsBitPos
-                bitOffset = afterMsBitPos + objSizeBits;
-
             } catch (Exception e) {
-                bitOffset = startBitOffset + 16;
+                // CRC는 맞지만 디코딩 실패: 객체만 건너뛴다
+                diagnostics.record(e, nextHandle, c.typeCode(), c.offset() * 8L);
             }
         }
-
+        recoveredRanges = scanner.recoveredRanges();
         return result;
     }
 
-    private Iterable<Map.Entry<Long, Long>> sortedHandleOffsets() {
-        Map<Long, Long> map = new HashMap<>();
-        for (long h : handles.allHandles()) {
-            handles.offsetFor(h).ifPresent(o -> map.put(h, o));
+    /** 표준 타입이거나 이 도면의 Classes 섹션에 있는 클래스 번호 */
+    private boolean isKnownType(int typeCode) {
+        if (dispatch.lookup(typeCode) != dispatch.fallback()) return true;
+        return typeCode >= 500 && classRegistry != null && classRegistry.find(typeCode).isPresent();
+    }
+
+    /**
+     * 섹션 범위 [0, limit) 안의 (오프셋, 핸들) 쌍을 오프셋 오름차순으로 한 배열에 담는다:
+     * [2i] = 오프셋, [2i+1] = 핸들. 오프셋과 원래 순번을 long 하나로 묶어 한 번만 정렬한다
+     * (순번에 필요한 비트만 쓰므로 오프셋은 2^(63 - 순번 비트)까지).
+     */
+    static long[] offsetOrderedPairs(HandleRegistry handles, long limit) {
+        long[] handleAt = new long[handles.size()];
+        long[] keys = new long[handles.size()];
+        int indexBits = Math.max(1, 32 - Integer.numberOfLeadingZeros(handles.size()));
+        if (limit > 1L << (63 - indexBits)) {
+            throw new IllegalArgumentException("section too large to order " + handles.size() + " handles: " + limit);
+        }
+        int[] n = {0};
+        handles.forEach((h, off) -> {
+            if (off < 0 || off >= limit) return;
+            handleAt[n[0]] = h;
+            keys[n[0]] = (off << indexBits) | n[0];
+            n[0]++;
+        });
+        int count = n[0];
+        Arrays.sort(keys, 0, count);
+        long indexMask = (1L << indexBits) - 1;
+        long[] pairs = new long[count * 2];
+        for (int i = 0; i < count; i++) {
+            pairs[2 * i] = keys[i] >>> indexBits;
+            pairs[2 * i + 1] = handleAt[(int) (keys[i] & indexMask)];
         }
-        return map.entrySet();
+        return pairs;
     }
 
-    private DwgObject parseObjectAt(byte[] raw, int byteOffset, DwgVersion version, long handle)
+    /** in의 byteOffset 위치 객체 하나를 디코딩. in은 섹션 전체를 읽는 입력 (위치는 여기서 옮긴다) */
+    private DwgObject parseObjectAt(BitInput in, long byteOffset, DwgVersion version, long handle)
             throws Exception {
-        // Use the whole buffer and seek to the correct offset
-        // (ByteBufferBitInput constructor resets position to 0, so we must seek)
-        ByteBufferBitInput buf = new ByteBufferBitInput(raw);
-        buf.seek((long) byteOffset * 8L);
-        BitStreamReader r = new BitStreamReader(buf, version);
+        in.seek(byteOffset * 8L);
+        BitStreamReader r = new BitStreamReader(in, version);
 
         int objSize = r.readModularShort();
 
         if (objSize <= 0) {
+            diagnostics.record(DwgDecodeException.Kind.INVALID_OBJECT_SIZE, handle, -1, byteOffset * 8L);
             return null;
         }
 
         // R2010+: UMC (handlestream_size) comes between MS and type code
-        if (version.from(DwgVersion.R2010)) {
-            r.readUMC(); // skip handlestream_size
-        }
+        long handleStreamBits = version.from(DwgVersion.R2010) ? r.readUMC() : -1;
+        long dataStart = r.position();
 
         // R2010+ uses BOT (Bit Object Type); pre-R2010 uses BS
         int typeCode = version.from(DwgVersion.R2010) ? r.readBOT() : r.readBitShort();
 
-        DwgObject obj = createObject(typeCode);
+        ObjectDispatchTable.Entry entry = dispatch.lookup(typeCode);
+        DwgObject obj = entry.create();
         if (obj == null) {
             return null;
         }
@@ -208,31 +225,32 @@ public class ObjectsSectionParser extends AbstractSectionParser<Map<Long, DwgObj
         boolean skipHeader = isSkipHeaderType(typeCode);
         if (!skipHeader) {
             try {
-                parseCommonHeader(r, obj, version);
-            } catch (IllegalStateException e) {
-                if (e.getMessage() != null && e.getMessage().contains("Invalid BL opcode")) {
-                    // Expected for certain types, continue without header
-                } else {
-                    throw e;
-                }
+                readCommonHeader(r, (AbstractDwgObject) obj,
+                    obj.isEntity() && obj instanceof AbstractDwgEntity, version);
+            } catch (DwgDecodeException e) {
+                // 헤더 없이 계속 진행
+                diagnostics.record(e, handle, typeCode, r.position());
             }
         }
 
-        resolver.resolve(typeCode).ifPresent(reader -> {
+        if (entry.reader() != null) {
             try {
-                reader.read(obj, r, version);
+                entry.reader().read(obj, r, version, new ObjectFrame(dataStart, objSize, handleStreamBits));
             } catch (Exception e) {
-                // Type-specific parsing failed silently
+                // 타입별 데이터만 실패: 객체는 유지하고 기록만 남긴다
+                diagnostics.record(e, handle, typeCode, r.position());
             }
-        });
+        }
 
         return obj;
     }
 
-    private void parseCommonHeader(BitStreamReader r, DwgObject obj, DwgVersion version)
+    /**
+     * 공통 헤더 (리액터 수, xdic 플래그, 엔티티 모드, 소유자/리액터/xdic 핸들).
+     * ao가 null이면 값을 담지 않고 건너뛰기만 한다 ({@link EntityCursor}).
+     */
+    static void readCommonHeader(BitStreamReader r, AbstractDwgObject ao, boolean entity, DwgVersion version)
             throws Exception {
-        AbstractDwgObject ao = (AbstractDwgObject) obj;
-
         int numReactors = r.readBitLong();
 
         if (numReactors > 100000) {
@@ -244,10 +262,9 @@ public class ObjectsSectionParser extends AbstractSectionParser<Map<Long, DwgObj
             hasXDic = r.getInput().readBit();
         }
 
-        if (obj.isEntity() && obj instanceof AbstractDwgEntity) {
-            AbstractDwgEntity ae = (AbstractDwgEntity) obj;
+        if (entity) {
             int entityMode = r.getInput().readBits(2);
-            ae.setEntityMode(entityMode);
+            if (ao instanceof AbstractDwgEntity ae) ae.setEntityMode(entityMode);
 
             if (version.from(DwgVersion.R2000)) {
                 int ltFlags = r.getInput().readBits(2);
@@ -257,122 +274,22 @@ public class ObjectsSectionParser extends AbstractSectionParser<Map<Long, DwgObj
             }
         }
 
-        ao.setOwnerHandle(new DwgHandleRef(r.readHandle()));
+        long owner = r.readHandle();
+        if (ao != null) ao.setOwnerHandle(new DwgHandleRef(owner));
 
         for (int i = 0; i < numReactors; i++) {
-            ao.addReactorHandle(new DwgHandleRef(r.readHandle()));
+            long reactor = r.readHandle();
+            if (ao != null) ao.addReactorHandle(new DwgHandleRef(reactor));
         }
 
         if (hasXDic) {
-            ao.setXDicHandle(new DwgHandleRef(r.readHandle()));
+            long xdic = r.readHandle();
+            if (ao != null) ao.setXDicHandle(new DwgHandleRef(xdic));
         }
     }
 
-    private DwgObject createObject(int typeCode) {
-        DwgObjectType type = DwgObjectType.fromCode(typeCode);
-        return switch (type) {
-            case TEXT                -> new DwgText();
-            case ATTDEF              -> new DwgAttdef();
-            case ATTRIB              -> new DwgAttrib();
-            case SEQEND              -> new DwgSeqEnd();
-            case ENDBLK              -> new DwgXrecord();
-            case INSERT              -> new DwgInsert();
-            case MINSERT             -> new DwgMinsert();
-            case VERTEX_2D           -> new DwgVertex2D();
-            case VERTEX_3D           -> new DwgVertex3D();
-            case VERTEX_MESH         -> new DwgVertexMesh();
-            case VERTEX_PFACE        -> new DwgVertexPface();
-            case VERTEX_PFACE_FACE   -> new DwgVertexPfaceFace();
-            case POLYLINE_2D         -> new DwgPolyline2D();
-            case POLYLINE_3D         -> new DwgPolyline3D();
-            case ARC                 -> new DwgArc();
-            case CIRCLE              -> new DwgCircle();
-            case LINE                -> new DwgLine();
-            case DIMENSION_ORDINATE  -> new DwgDimensionOrdinate();
-            case DIMENSION_LINEAR    -> new DwgDimensionLinear();
-            case DIMENSION_ALIGNED   -> new DwgDimensionAligned();
-            case DIMENSION_ANG_3PT   -> new DwgDimensionAng3pt();
-            case DIMENSION_ANG_2LN   -> new DwgDimensionAng2ln();
-            case DIMENSION_RADIUS    -> new DwgDimensionRadius();
-            case DIMENSION_DIAMETER  -> new DwgDimensionDiameter();
-            case POINT               -> new DwgPoint();
-            case FACE3D              -> new DwgFace3D();
-            case POLYLINE_PFACE      -> new DwgPolylinePface();
-            case POLYLINE_MESH       -> new DwgPolylineMesh();
-            case SOLID               -> new DwgSolid();
-            case TRACE               -> new DwgTrace();
-            case SHAPE               -> new DwgShape();
-            case VIEWPORT            -> new DwgViewport();
-            case ELLIPSE             -> new DwgEllipse();
-            case SPLINE              -> new DwgSpline();
-            case REGION              -> new DwgRegion();
-            case SOLID3D             -> new DwgSolid3d();
-            case BODY                -> new DwgBody();
-            case RAY                 -> new DwgRay();
-            case XLINE               -> new DwgXLine();
-            case DICTIONARY          -> new DwgDictionary();
-            case MTEXT               -> new DwgMText();
-            case LEADER              -> new DwgLeader();
-            case TOLERANCE           -> new DwgTolerance();
-            case MLINE               -> new DwgMLine();
-            case BLOCK_HEADER        -> new DwgBlockHeader();
-            case BLOCK_END           -> new DwgBlockEnd();
-            case LAYER               -> new DwgLayer();
-            case GROUP               -> new DwgGroup();
-            case OLE2FRAME           -> new DwgOle2frame();
-            case LWPLINE             -> new DwgLwPolyline();
-            case HATCH               -> new DwgHatch();
-            case XRECORD             -> new DwgXrecord();
-            case LTYPE               -> new DwgLtype();
-            case STYLE               -> new DwgStyle();
-            case VIEW                -> new DwgView();
-            case UCS                 -> new DwgUcs();
-            case VPORT               -> new DwgVport();
-            case APPID               -> new DwgAppId();
-            case DIMSTYLE            -> new DwgDimStyle();
-            case MLINESTYLE          -> new DwgMLineStyle();
-            case LONG_TRANSACTION    -> new DwgLongTransaction();
-            case LAYOUT              -> new DwgLayout();
-            case PLACEHOLDER         -> new DwgPlaceholder();
-            case VBA_PROJECT         -> new DwgVbaProject();
-            case LAYOUT_ALTERNATE    -> new DwgLayout();
-            case UNUSED              -> null;
-            case VP_ENT_HDR          -> null;
-            case STYLE_ALTERNATE     -> new DwgStyle();
-            case APPID_CONTROL       -> new DwgXrecord();
-            case APPID_ALTERNATE     -> new DwgAppId();
-            case DIMSTYLE_CONTROL    -> new DwgXrecord();
-            case DIMSTYLE_ALTERNATE  -> new DwgDimStyle();
-            case VX_CONTROL          -> new DwgXrecord();
-            case MLINESTYLE_ALTERNATE -> new DwgMLineStyle();
-            case IMAGE               -> new DwgImage();
-            case WIPEOUT             -> new DwgWipeout();
-            case XREF                -> new DwgXref();
-            case UNDERLAY            -> new DwgUnderlay();
-            case SURFACE             -> new DwgSurface();
-            case MESH                -> new DwgMesh();
-            case SCALE               -> new DwgScale();
-            case VISUALSTYLE         -> new DwgVisualStyle();
-            case ACAD_FIELD          -> new DwgField();
-            case ACAD_PROXY_ENTITY   -> new DwgProxyEntity();
-            case ACAD_DICTIONARYVAR  -> new DwgDictionaryVar();
-            case ACAD_TABLE          -> new DwgTable();
-            case ACAD_SCALE_LIST     -> new DwgScaleList();
-            case ACAD_TABLESTYLE     -> new DwgTableStyle();
-            case ACAD_CELLSTYLE      -> new DwgCellStyle();
-            case ACAD_PLOTSTYLE      -> new DwgPlotStyle();
-            case ACAD_MATERIAL       -> new DwgMaterial();
-            case ACAD_DATASOURCE     -> new DwgDataSource();
-            case ACAD_PERSSUBENTMANAGER -> new DwgPersSubentManager();
-            case UNKNOWN -> {
-                // For unknown types, create DwgXrecord to allow parsing as generic object
-                // This handles custom R2000 types (0xF401-0xFC01) and other extensions
-                yield new DwgXrecord();
-            }
-        };
-    }
-
-    private boolean isSkipHeaderType(int typeCode) {
+    /** 공통 헤더 없이 바로 타입별 리더로 넘기는 타입 */
+    static boolean isSkipHeaderType(int typeCode) {
         if (typeCode == 0x2A) {  // DICTIONARY
             return true;
         }
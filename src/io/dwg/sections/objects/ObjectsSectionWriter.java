@@ -1,19 +1,43 @@
 package io.dwg.sections.objects;
 
+import io.dwg.core.io.ArrayBitOutput;
 import io.dwg.core.io.BitStreamWriter;
 import io.dwg.core.io.SectionOutputStream;
+import io.dwg.core.util.CrcCalculator;
 import io.dwg.core.version.DwgVersion;
 import io.dwg.entities.DwgObject;
 import io.dwg.sections.SectionWriter;
+import io.dwg.sections.handles.HandleRegistry;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
 import java.util.Map;
+import java.util.stream.IntStream;
 
 /**
  * Objects Section Writer (Spec §20: AcDb:AcDbObjects)
  * Serializes all DwgObject instances in handle order
+ *
+ * <p>객체마다 = MS 크기 + (R2010+) UMC 핸들 스트림 비트 수 + 데이터 + RS CRC.
+ * 데이터를 먼저 재사용 스크래치 버퍼에 써서 크기를 안 뒤 앞에 MS를 붙이므로 되돌아가 고쳐 쓸 일이 없다.
+ * 객체를 {@link #CHUNK_SIZE}개씩 묶어 묶음마다 따로 직렬화하고, 핸들 순서대로 이어 붙이며 각 객체의 섹션 내
+ * 오프셋을 기록한다. 객체가 {@link #PARALLEL_OBJECT_THRESHOLD}개 이상이면 묶음을 공용 ForkJoinPool에서 병렬로 만든다.</p>
  */
 public class ObjectsSectionWriter implements SectionWriter<Map<Long, DwgObject>> {
 
+    /** 병렬 직렬화로 전환하는 최소 객체 수 */
+    static final int PARALLEL_OBJECT_THRESHOLD = 4096;
+
+    /** 한 작업이 맡는 객체 수 */
+    static final int CHUNK_SIZE = 1024;
+
+    /** 한 번에 만들어 두는 묶음 수 */
+    static final int BATCH_CHUNKS = 32;
+
+    /** 묶음 하나의 직렬화 결과. offsets는 묶음 시작 기준 */
+    private record Chunk(byte[] bytes, int length, long[] offsets) { }
+
     private final ObjectWriterRegistry writerRegistry;
 
     public ObjectsSectionWriter() {
@@ -31,37 +55,112 @@ public class ObjectsSectionWriter implements SectionWriter<Map<Long, DwgObject>>
 
     @Override
     public SectionOutputStream write(Map<Long, DwgObject> objectMap, DwgVersion version) throws Exception {
+        return write(objectMap, version, new HandleRegistry());
+    }
+
+    /**
+     * 객체를 핸들 순서로 쓰고 핸들 → 섹션 내 바이트 오프셋을 offsets에 등록한다.
+     * 결과 offsets를 {@link io.dwg.sections.handles.HandlesSectionWriter}에 넘기면 Handles 섹션이 된다.
+     */
+    public SectionOutputStream write(Map<Long, DwgObject> objectMap, DwgVersion version,
+                                     HandleRegistry offsets) throws Exception {
         SectionOutputStream section = new SectionOutputStream(sectionName());
-        BitStreamWriter writer = section.writer(version);
-
-        // Write objects in handle order (sorted)
-        objectMap.entrySet().stream()
-            .sorted((a, b) -> Long.compare(a.getKey(), b.getKey()))
-            .forEach(entry -> {
-                try {
-                    writeObject(writer, entry.getValue(), version);
-                } catch (Exception e) {
-                    throw new RuntimeException("Failed to write object handle " + entry.getKey(), e);
-                }
+        writeTo(objectMap, version, offsets, section.asStream());
+        return section;
+    }
+
+    /**
+     * {@link #write(Map, DwgVersion, HandleRegistry)}와 같은 바이트를 out으로 흘려보낸다.
+     * 묶음은 {@link #BATCH_CHUNKS}개씩만 만들어 두므로 섹션 전체를 메모리에 모으지 않는다.
+     */
+    public void writeTo(Map<Long, DwgObject> objectMap, DwgVersion version, HandleRegistry offsets,
+                        OutputStream out) throws IOException {
+        long[] handles = objectMap.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        int n = handles.length;
+        int chunkCount = (n + CHUNK_SIZE - 1) / CHUNK_SIZE;
+
+        Chunk[] chunks = new Chunk[Math.min(chunkCount, BATCH_CHUNKS)];
+        long base = 0;
+        for (int first = 0; first < chunkCount; first += chunks.length) {
+            int batch = Math.min(chunks.length, chunkCount - first);
+            int firstChunk = first;
+            IntStream range = IntStream.range(0, batch);
+            if (n >= PARALLEL_OBJECT_THRESHOLD) range = range.parallel();
+            range.forEach(c -> {
+                int from = (firstChunk + c) * CHUNK_SIZE;
+                chunks[c] = writeChunk(objectMap, handles, from, Math.min(from + CHUNK_SIZE, n), version);
             });
 
-        return section;
+            for (int c = 0; c < batch; c++) {
+                Chunk chunk = chunks[c];
+                long[] chunkOffsets = chunk.offsets();
+                for (int i = 0; i < chunkOffsets.length; i++) chunkOffsets[i] += base;
+                int from = (first + c) * CHUNK_SIZE;
+                offsets.putAll(Arrays.copyOfRange(handles, from, from + chunkOffsets.length),
+                    chunkOffsets, chunkOffsets.length);
+                out.write(chunk.bytes(), 0, chunk.length());
+                base += chunk.length();
+                chunks[c] = null;
+            }
+        }
     }
 
-    private void writeObject(BitStreamWriter writer, DwgObject obj, DwgVersion version) throws Exception {
-        // Placeholder for object size (MS - Modular Short)
-        writer.writeModularShort(0);
+    /** handles[from..to) 객체를 한 버퍼에 이어 쓴다. 스크래치 버퍼는 묶음 안에서 재사용 */
+    private Chunk writeChunk(Map<Long, DwgObject> objectMap, long[] handles, int from, int to, DwgVersion version) {
+        ArrayBitOutput scratch = new ArrayBitOutput(512);
+        BitStreamWriter data = new BitStreamWriter(scratch, version);
+        ArrayBitOutput out = new ArrayBitOutput((to - from) * 64);
+        BitStreamWriter framed = new BitStreamWriter(out, version);
+        long[] chunkOffsets = new long[to - from];
+        for (int i = from; i < to; i++) {
+            scratch.reset();
+            try {
+                writeObject(data, objectMap.get(handles[i]), version);
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to write object handle " + handles[i], e);
+            }
+            chunkOffsets[i - from] = appendFramed(scratch, framed, out, version);
+        }
+        return new Chunk(out.buffer(), out.byteLength(), chunkOffsets);
+    }
 
-        // Write type code (BS)
-        writer.writeBitShort(obj.objectType().typeCode());
+    /**
+     * data에 쓴 객체 하나(타입 + 본문)에 크기와 CRC를 붙여 out 끝에 덧붙인다. framed는 out에 쓰는 writer.
+     *
+     * @return out 안에서 객체가 시작하는 바이트 위치
+     */
+    public static int appendFramed(ArrayBitOutput data, BitStreamWriter framed, ArrayBitOutput out,
+                                   DwgVersion version) {
+        int start = out.byteLength();
+        int size = data.byteLength();
+        framed.writeModularShort(size);
+        if (version.from(DwgVersion.R2010)) {
+            // 핸들 참조를 따로 모으지 않으므로 핸들 스트림은 비어 있다
+            framed.writeUnsignedModularChar(0);
+        }
+        out.writeBytes(data.buffer(), 0, size);
+        int crc = CrcCalculator.Crc16Calculator.compute(
+            CrcCalculator.Crc16Calculator.OBJECT_SEED, out.buffer(), start, out.byteLength() - start);
+        out.writeRawShort((short) crc);
+        return start;
+    }
+
+    private void writeObject(BitStreamWriter writer, DwgObject obj, DwgVersion version) throws Exception {
+        int typeCode = obj.objectType().typeCode();
+        writeType(writer, typeCode, version);
 
-        // Write object-specific data using registered ObjectWriter
-        ObjectWriter objWriter = writerRegistry.resolve(obj.objectType().typeCode())
+        ObjectWriter objWriter = writerRegistry.resolve(typeCode)
             .orElseThrow(() -> new IllegalStateException(
-                "No ObjectWriter registered for type " + obj.objectType().typeCode()));
+                "No ObjectWriter registered for type " + typeCode));
         objWriter.write(obj, writer, version);
+    }
 
-        // Note: In a production implementation, would need to go back and write actual size
-        // This requires buffering or two-pass writing; for now using streaming approach
+    /** 객체 타입 코드: R2010+ BOT, 그 전 BS */
+    public static void writeType(BitStreamWriter writer, int typeCode, DwgVersion version) {
+        if (version.from(DwgVersion.R2010)) {
+            writer.writeBitObjectType(typeCode);
+        } else {
+            writer.writeBitShort(typeCode);
+        }
     }
 }
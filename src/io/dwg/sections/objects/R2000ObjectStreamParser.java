@@ -139,13 +139,14 @@ public class R2000ObjectStreamParser extends AbstractSectionParser<Map<Long, Dwg
             parseCommonHeader(r, obj, version);
 
             // Parse type-specific data
-            resolver.resolve(typeCode).ifPresent(reader -> {
+            ObjectReader reader = resolver.reader(typeCode);
+            if (reader != null) {
                 try {
                     reader.read(obj, r, version);
                 } catch (Exception e) {
                     // Type-specific parsing failed, but we have basic object data
                 }
-            });
+            }
 
             // Calculate next offset: objSize is the data size (doesn't include the 2-byte size field)
             int nextOffset = byteOffset + 2 + objSize;
@@ -247,7 +248,6 @@ public class R2000ObjectStreamParser extends AbstractSectionParser<Map<Long, Dwg
             case TOLERANCE           -> new DwgTolerance();
             case MLINE               -> new DwgMLine();
             case BLOCK_HEADER        -> new DwgBlockHeader();
-            case BLOCK_END           -> new DwgBlockEnd();
             case LAYER               -> new DwgLayer();
             case GROUP               -> new DwgGroup();
             case OLE2FRAME           -> new DwgOle2frame();
@@ -1,5 +1,6 @@
 package io.dwg.sections.objects.readers;
 
+import io.dwg.core.io.BitInput;
 import io.dwg.core.io.BitStreamReader;
 import io.dwg.core.type.Point3D;
 import io.dwg.core.version.DwgVersion;
@@ -7,37 +8,155 @@ import io.dwg.entities.DwgObject;
 import io.dwg.entities.DwgObjectType;
 import io.dwg.entities.concrete.DwgBlockHeader;
 import io.dwg.sections.objects.EntityHeaderReader;
+import io.dwg.sections.objects.ObjectFrame;
 import io.dwg.sections.objects.ObjectReader;
 
 /**
- * BLOCK_HEADER 엔티티 리더 (타입 0x30)
- * 블록 정의의 시작
+ * BLOCK_HEADER 테이블 레코드 리더 (타입 0x31)
+ *
+ * <p>데이터 스트림에서 이름/플래그/기준점을 읽고, 핸들 스트림에서 블록 엔티티 목록을 읽는다:
+ * R2004+는 소유 엔티티 핸들 전체(그리기 순서), 이전 버전은 첫/마지막 엔티티만 기록된다.
+ * R2007+ 문자열은 객체 끝의 문자열 스트림에 있다.</p>
+ *
+ * <p>프레임이 없으면 핸들 스트림 위치를 알 수 없으므로 데이터 스트림 필드만 채운다
+ * (R2007+ 이름/xref 경로와 엔티티 목록은 비어 있다).</p>
  */
 public class BlockHeaderObjectReader implements ObjectReader {
+    /** 소유 엔티티 수 상한 (이보다 크면 잘못 읽은 값) */
+    private static final int MAX_COUNT = 0xF00000;
+
     @Override
     public int objectType() { return DwgObjectType.BLOCK_HEADER.typeCode(); }
 
     @Override
     public void read(DwgObject target, BitStreamReader r, DwgVersion v) throws Exception {
-        EntityHeaderReader.readEntityHeader(r, v);
-        EntityHeaderReader.readCommonEntityData(r, v);
+        read(target, r, v, null);
+    }
 
+    @Override
+    public void read(DwgObject target, BitStreamReader r, DwgVersion v, ObjectFrame frame) throws Exception {
         DwgBlockHeader block = (DwgBlockHeader) target;
+        BitInput in = r.getInput();
+
+        // 공통 비엔티티 데이터
+        long bitsize = EntityHeaderReader.readEntityHeader(r, v);
+        if (v.until(DwgVersion.R14)) {
+            bitsize = EntityHeaderReader.readRawLong(in);
+        }
+        int numReactors = r.readBitLong();
+        boolean xdicMissing = v.from(DwgVersion.R2004) && in.readBit();
+        if (v.from(DwgVersion.R2013)) {
+            in.readBit();  // has DS binary data
+        }
+
+        // 테이블 레코드 공통 + 블록 플래그
+        boolean inlineStrings = !v.usesUnicode();
+        String name = inlineStrings ? r.readVariableText() : null;
+        in.readBit();          // 64-flag
+        if (!v.from(DwgVersion.R2007)) {
+            r.readBitShort();  // xrefindex + 1 (R2007+ 데이터 스트림에는 없다)
+        }
+        in.readBit();          // xdep
+        boolean anonymous = in.readBit();
+        boolean hasAttributes = in.readBit();
+        boolean xref = in.readBit();
+        boolean overlaid = in.readBit();
+        if (v.from(DwgVersion.R2000)) {
+            in.readBit();      // loaded
+        }
+        int ownedCount = 0;
+        if (v.from(DwgVersion.R2004) && !xref && !overlaid) {
+            ownedCount = r.readBitLong();
+        }
+        double[] base = r.read3BitDouble();
+        String xrefPath = inlineStrings ? r.readVariableText() : null;
+        if (v.from(DwgVersion.R2000)) {
+            while (in.readBits(8) != 0) {
+                // INSERT 수: 0이 나올 때까지 RC 반복
+            }
+            if (inlineStrings) r.readVariableText();  // description
+            long previewSize = r.readBitLong();
+            if (previewSize < 0) throw new IllegalStateException("Negative preview size " + previewSize);
+            r.seek(r.position() + previewSize * 8);
+        }
 
-        // 1. blockName (TU)
-        String blockName = r.readVariableText();
-        block.setBlockName(blockName);
+        block.setFlags((anonymous ? 0x01 : 0) | (hasAttributes ? 0x02 : 0) | (xref ? 0x04 : 0) | (overlaid ? 0x08 : 0));
+        block.setBasePoint(new Point3D(base[0], base[1], base[2]));
+        if (frame == null) {
+            block.setBlockName(stripNul(name));
+            block.setXrefPath(stripNul(xrefPath));
+            return;
+        }
 
-        // 2. flags (BS)
-        int flags = r.readBitShort();
-        block.setFlags(flags);
+        long handleStream = frame.handleStreamStart(v, bitsize);
+        if (!inlineStrings) {
+            // R2007+: 이름, xref 경로 순서로 문자열 스트림에 있다
+            long strings = stringStreamStart(r, handleStream);
+            if (strings >= 0) {
+                r.seek(strings);
+                name = r.readVariableText();
+                xrefPath = r.readVariableText();
+            }
+        }
+        block.setBlockName(stripNul(name));
+        block.setXrefPath(stripNul(xrefPath));
 
-        // 3. basePoint (3RD)
-        double[] pt = r.read3RawDouble();
-        block.setBasePoint(new Point3D(pt[0], pt[1], pt[2]));
+        // 핸들 스트림: 소유자(블록 컨트롤), 리액터, xdic, xref 블록(NULL), BLOCK 엔티티, 엔티티 목록, ENDBLK ...
+        r.seek(handleStream);
+        long self = block.handle();
+        EntityHeaderReader.readHandleRef(in, self);
+        for (int i = 0; i < numReactors; i++) {
+            EntityHeaderReader.readHandleRef(in, self);
+        }
+        if (!xdicMissing) {
+            EntityHeaderReader.readHandleRef(in, self);
+        }
+        EntityHeaderReader.readHandleRef(in, self);  // xref 블록
+        EntityHeaderReader.readHandleRef(in, self);  // BLOCK 엔티티
+        if (v.from(DwgVersion.R2004)) {
+            if (ownedCount < 0 || ownedCount > MAX_COUNT) {
+                throw new IllegalStateException("Invalid owned entity count " + ownedCount);
+            }
+            long[] owned = new long[ownedCount];
+            for (int i = 0; i < ownedCount; i++) {
+                owned[i] = EntityHeaderReader.readHandleRef(in, self);
+            }
+            block.setOwnedEntityHandles(owned);
+        } else if (!xref && !overlaid) {
+            block.setFirstEntityHandle(EntityHeaderReader.readHandleRef(in, self));
+            block.setLastEntityHandle(EntityHeaderReader.readHandleRef(in, self));
+        }
+        if (r.position() > frame.end()) {
+            throw new IllegalStateException("BLOCK_HEADER handle stream past end of object");
+        }
+    }
+
+    /**
+     * R2007+ 문자열 스트림 시작 비트. 스트림 끝(핸들 스트림 직전) 비트가 0이면 문자열이 없어 -1
+     */
+    private static long stringStreamStart(BitStreamReader r, long handleStream) {
+        BitInput in = r.getInput();
+        r.seek(handleStream - 1);
+        if (!in.readBit()) return -1;
+        long at = handleStream - 1 - 16;
+        r.seek(at);
+        long size = readRawShort(in);
+        if ((size & 0x8000) != 0) {
+            at -= 16;
+            r.seek(at);
+            size = (size & 0x7FFF) | (readRawShort(in) << 15);
+        }
+        return at - size;
+    }
+
+    /** R2007 이전 T 문자열은 끝의 NUL까지 길이에 포함한다 */
+    private static String stripNul(String s) {
+        return s != null && s.endsWith("\0") ? s.substring(0, s.length() - 1) : s;
+    }
 
-        // 4. xrefPath (TU)
-        String xrefPath = r.readVariableText();
-        block.setXrefPath(xrefPath);
+    private static long readRawShort(BitInput in) {
+        long lo = in.readBits(8) & 0xFF;
+        long hi = in.readBits(8) & 0xFF;
+        return lo | (hi << 8);
     }
 }
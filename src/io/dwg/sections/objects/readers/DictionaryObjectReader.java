@@ -1,5 +1,6 @@
 package io.dwg.sections.objects.readers;
 
+import io.dwg.core.exception.DwgDecodeException;
 import io.dwg.core.io.BitStreamReader;
 import io.dwg.core.version.DwgVersion;
 import io.dwg.entities.DwgObject;
@@ -50,30 +51,20 @@ public class DictionaryObjectReader implements ObjectReader {
         dict.setDuplicateRecordCloning(dupCloning);
 
         // 6. numEntries (BL)
-        try {
-            long numEntries = r.readBitLong();
+        long countAt = r.position();
+        long numEntries = r.readBitLong();
 
-            // Safety check for invalid numEntries
-            if (numEntries < 0 || numEntries > 100000) {
-                System.err.printf("[WARN] DictionaryObjectReader: numEntries=%d (invalid), skipping entries%n",
-                    numEntries);
-                return;
-            }
+        // 잘못 읽은 개수: 항목은 건너뛰고 도면 진단 기록에 남긴다
+        if (numEntries < 0 || numEntries > 100000) {
+            throw new DwgDecodeException(DwgDecodeException.Kind.INVALID_COUNT, countAt);
+        }
 
-            // 4. entries - numEntries개의 (name, handle) 쌍
-            for (int i = 0; i < numEntries; i++) {
-                String name = r.readVariableText();
-                // Handle would be resolved in post-processing
-                long handle = r.readBitLongLong();
-                dict.addEntry(name, handle);
-            }
-        } catch (IllegalStateException e) {
-            if (e.getMessage() != null && e.getMessage().contains("Invalid BL opcode")) {
-                // Bit stream is misaligned or corrupted - log and skip
-                System.err.printf("[WARN] DictionaryObjectReader: %s, skipping dictionary%n", e.getMessage());
-            } else {
-                throw e;
-            }
+        // 4. entries - numEntries개의 (name, handle) 쌍
+        for (int i = 0; i < numEntries; i++) {
+            String name = r.readVariableText();
+            // Handle would be resolved in post-processing
+            long handle = r.readBitLongLong();
+            dict.addEntry(name, handle);
         }
     }
 }
@@ -55,6 +55,12 @@ public class LwPolylineObjectReader implements ObjectReader {
         int numWidths = 0;
         if ((flags & 32) != 0) numWidths = r.readBitLong();
 
+        // Sanity check: counts from a misaligned stream would read zeros past the end forever
+        if (numPoints < 0 || numPoints > 100000 || numBulges < 0 || numBulges > 100000
+                || numWidths < 0 || numWidths > 100000) {
+            return;
+        }
+
         // points: first as 2RD, subsequent as 2DD relative to previous
         List<Point2D> vertices = new ArrayList<>();
         double prevX = 0, prevY = 0;
@@ -0,0 +1,81 @@
+package io.dwg.sections.objects.readers;
+
+import io.dwg.core.io.BitInput;
+import io.dwg.core.io.BitStreamReader;
+import io.dwg.core.version.DwgVersion;
+import io.dwg.entities.DwgObject;
+import io.dwg.entities.DwgObjectType;
+import io.dwg.entities.concrete.DwgTableControl;
+import io.dwg.sections.objects.EntityHeaderReader;
+import io.dwg.sections.objects.ObjectFrame;
+import io.dwg.sections.objects.ObjectReader;
+
+/**
+ * 테이블 제어 오브젝트 리더 (BLOCK_CONTROL, APPID_CONTROL, DIMSTYLE_CONTROL, VX_CONTROL)
+ *
+ * <p>데이터 스트림에는 엔트리 수만 있고, 엔트리 핸들은 핸들 스트림에 있다:
+ * 소유자(NULL), 리액터, xdic, 엔트리 × 수, (BLOCK_CONTROL) *Model_Space, *Paper_Space.
+ * 객체 프레임 없이 읽으면 핸들 스트림 위치를 모르므로 엔트리 수까지만 읽는다.</p>
+ */
+public class TableControlObjectReader implements ObjectReader {
+    /** 엔트리 수 상한 (이보다 크면 잘못 읽은 값) */
+    private static final int MAX_COUNT = 0xF00000;
+
+    private final DwgObjectType type;
+
+    public TableControlObjectReader(DwgObjectType type) {
+        this.type = type;
+    }
+
+    @Override
+    public int objectType() { return type.typeCode(); }
+
+    @Override
+    public void read(DwgObject target, BitStreamReader r, DwgVersion v) throws Exception {
+        read(target, r, v, null);
+    }
+
+    @Override
+    public void read(DwgObject target, BitStreamReader r, DwgVersion v, ObjectFrame frame) throws Exception {
+        DwgTableControl control = (DwgTableControl) target;
+        BitInput in = r.getInput();
+
+        // 공통 비엔티티 데이터
+        long bitsize = EntityHeaderReader.readEntityHeader(r, v);
+        if (v.until(DwgVersion.R14)) {
+            bitsize = EntityHeaderReader.readRawLong(in);
+        }
+        int numReactors = r.readBitLong();
+        boolean xdicMissing = v.from(DwgVersion.R2004) && in.readBit();
+        if (v.from(DwgVersion.R2013)) {
+            in.readBit();  // has DS binary data
+        }
+        int count = r.readBitLong();
+        if (count < 0 || count > MAX_COUNT) {
+            throw new IllegalStateException("Invalid table entry count " + count);
+        }
+        if (frame == null) return;
+
+        r.seek(frame.handleStreamStart(v, bitsize));
+        long self = control.handle();
+        EntityHeaderReader.readHandleRef(in, self);  // 소유자 (NULL)
+        for (int i = 0; i < numReactors; i++) {
+            EntityHeaderReader.readHandleRef(in, self);
+        }
+        if (!xdicMissing) {
+            EntityHeaderReader.readHandleRef(in, self);
+        }
+        long[] entries = new long[count];
+        for (int i = 0; i < count; i++) {
+            entries[i] = EntityHeaderReader.readHandleRef(in, self);
+        }
+        control.setEntryHandles(entries);
+        if (type == DwgObjectType.BLOCK_CONTROL) {
+            control.setModelSpaceHandle(EntityHeaderReader.readHandleRef(in, self));
+            control.setPaperSpaceHandle(EntityHeaderReader.readHandleRef(in, self));
+        }
+        if (r.position() > frame.end()) {
+            throw new IllegalStateException(type + " handle stream past end of object");
+        }
+    }
+}
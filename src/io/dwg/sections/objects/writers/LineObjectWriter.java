@@ -16,30 +16,38 @@ public class LineObjectWriter implements ObjectWriter {
     @Override
     public void write(DwgObject source, BitStreamWriter w, DwgVersion v) throws Exception {
         DwgLine line = (DwgLine) source;
+        Point3D start = line.start();
+        Point3D end = line.end();
+        writeLine(w, v, start.x(), start.y(), start.z(), end.x(), end.y(), end.z(),
+            line.thickness(), line.extrusion());
+    }
 
+    /** LINE 본문을 좌표로 바로 쓴다 (DwgLine 없이 쓰는 {@link io.dwg.api.DwgBulkBuilder}용) */
+    public static void writeLine(BitStreamWriter w, DwgVersion v, double x1, double y1, double z1,
+                                 double x2, double y2, double z2, double thickness, double[] extrusion) {
         if (v.until(DwgVersion.R14)) {
-            Point3D start = line.start();
-            Point3D end = line.end();
-            w.write3RawDouble(new double[]{start.x(), start.y(), start.z()});
-            w.write3RawDouble(new double[]{end.x(), end.y(), end.z()});
+            w.writeRawDouble(x1);
+            w.writeRawDouble(y1);
+            w.writeRawDouble(z1);
+            w.writeRawDouble(x2);
+            w.writeRawDouble(y2);
+            w.writeRawDouble(z2);
         } else {
-            Point3D start = line.start();
-            Point3D end = line.end();
-            boolean zAreZero = (start.z() == 0.0 && end.z() == 0.0);
+            boolean zAreZero = (z1 == 0.0 && z2 == 0.0);
             w.getOutput().writeBit(zAreZero);
 
-            w.getOutput().writeRawDouble(start.x());
-            w.getOutput().writeRawDouble(end.x());
-            w.getOutput().writeRawDouble(start.y());
-            w.getOutput().writeRawDouble(end.y());
+            w.writeRawDouble(x1);
+            w.writeRawDouble(x2);
+            w.writeRawDouble(y1);
+            w.writeRawDouble(y2);
 
             if (!zAreZero) {
-                w.getOutput().writeRawDouble(start.z());
-                w.getOutput().writeRawDouble(end.z());
+                w.writeRawDouble(z1);
+                w.writeRawDouble(z2);
             }
         }
 
-        w.writeBitThickness(line.thickness());
-        w.writeBitExtrusion(line.extrusion());
+        w.writeBitThickness(thickness);
+        w.writeBitExtrusion(extrusion);
     }
 }
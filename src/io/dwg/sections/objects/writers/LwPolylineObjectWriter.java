@@ -17,20 +17,11 @@ public class LwPolylineObjectWriter implements ObjectWriter {
     public void write(DwgObject source, BitStreamWriter w, DwgVersion v) throws Exception {
         DwgLwPolyline lwp = (DwgLwPolyline) source;
 
-        w.writeBitShort(lwp.flags());
-        w.writeBitDouble(lwp.constantWidth());
-        w.writeBitDouble(lwp.elevation());
-        w.writeBitThickness(lwp.thickness());
-        w.writeBitExtrusion(lwp.extrusion());
-
         List<Double> bulges = lwp.bulges();
-        w.writeBitLong(bulges.size());
-
         List<double[]> widths = lwp.widths();
-        w.writeBitLong(widths.size());
-
         List<Point2D> vertices = lwp.vertices();
-        w.writeBitLong(vertices.size());
+        writeHead(w, lwp.flags(), lwp.constantWidth(), lwp.elevation(), lwp.thickness(), lwp.extrusion(),
+            bulges.size(), widths.size(), vertices.size());
 
         for (Double b : bulges) {
             w.writeBitDouble(b);
@@ -46,4 +37,29 @@ public class LwPolylineObjectWriter implements ObjectWriter {
             w.writeBitDouble(vertex.y());
         }
     }
+
+    /**
+     * 볼록도와 폭 없는 LWPOLYLINE 본문을 xy[offset..offset + 2 * count) 좌표로 바로 쓴다
+     * (DwgLwPolyline 없이 쓰는 {@link io.dwg.api.DwgBulkBuilder}용)
+     */
+    public static void writeVertices(BitStreamWriter w, int flags, double constantWidth, double elevation,
+                                     double thickness, double[] extrusion, double[] xy, int offset, int count) {
+        writeHead(w, flags, constantWidth, elevation, thickness, extrusion, 0, 0, count);
+        for (int i = offset, end = offset + 2 * count; i < end; i += 2) {
+            w.writeBitDouble(xy[i]);
+            w.writeBitDouble(xy[i + 1]);
+        }
+    }
+
+    private static void writeHead(BitStreamWriter w, int flags, double constantWidth, double elevation,
+                                  double thickness, double[] extrusion, int bulges, int widths, int vertices) {
+        w.writeBitShort(flags);
+        w.writeBitDouble(constantWidth);
+        w.writeBitDouble(elevation);
+        w.writeBitThickness(thickness);
+        w.writeBitExtrusion(extrusion);
+        w.writeBitLong(bulges);
+        w.writeBitLong(widths);
+        w.writeBitLong(vertices);
+    }
 }
@@ -17,9 +17,9 @@ public class MLineObjectWriter implements ObjectWriter {
         DwgMLine mline = (DwgMLine) source;
         w.writeBitExtrusion(mline.extrusion());
         w.writeVariableText(mline.styleHandle());
-        w.getOutput().writeRawShort((short) mline.justification());
-        w.getOutput().writeRawDouble(mline.scale());
-        w.getOutput().writeRawShort((short) mline.vertices().size());
+        w.writeRawShort((short) mline.justification());
+        w.writeRawDouble(mline.scale());
+        w.writeRawShort((short) mline.vertices().size());
         for (Point3D vertex : mline.vertices()) {
             w.write3BitDouble(new double[]{vertex.x(), vertex.y(), vertex.z()});
         }
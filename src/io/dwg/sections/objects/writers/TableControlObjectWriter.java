@@ -0,0 +1,32 @@
+package io.dwg.sections.objects.writers;
+
+import io.dwg.core.io.BitStreamWriter;
+import io.dwg.core.version.DwgVersion;
+import io.dwg.entities.DwgObject;
+import io.dwg.entities.DwgObjectType;
+import io.dwg.entities.concrete.DwgTableControl;
+import io.dwg.sections.objects.ObjectWriter;
+
+public class TableControlObjectWriter implements ObjectWriter {
+    private final DwgObjectType type;
+
+    public TableControlObjectWriter(DwgObjectType type) {
+        this.type = type;
+    }
+
+    @Override
+    public int objectType() { return type.typeCode(); }
+
+    @Override
+    public void write(DwgObject source, BitStreamWriter w, DwgVersion v) throws Exception {
+        DwgTableControl control = (DwgTableControl) source;
+        w.writeBitLong(control.entryHandles().length);
+        for (long handle : control.entryHandles()) {
+            w.writeHandle(handle);
+        }
+        if (type == DwgObjectType.BLOCK_CONTROL) {
+            w.writeHandle(control.modelSpaceHandle());
+            w.writeHandle(control.paperSpaceHandle());
+        }
+    }
+}
@@ -17,9 +17,9 @@ public class ViewportObjectWriter implements ObjectWriter {
         DwgViewport viewport = (DwgViewport) source;
         Point3D center = viewport.center();
         w.write3BitDouble(new double[]{center.x(), center.y(), center.z()});
-        w.getOutput().writeRawDouble(viewport.width());
-        w.getOutput().writeRawDouble(viewport.height());
-        w.getOutput().writeRawDouble(viewport.viewHeight());
+        w.writeRawDouble(viewport.width());
+        w.writeRawDouble(viewport.height());
+        w.writeRawDouble(viewport.viewHeight());
         w.writeBitExtrusion(viewport.extrusion());
     }
 }
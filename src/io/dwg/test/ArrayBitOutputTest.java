@@ -0,0 +1,228 @@
+package io.dwg.test;
+
+import io.dwg.core.io.ArrayBitOutput;
+import io.dwg.core.io.BitOutput;
+import io.dwg.core.io.BitStreamReader;
+import io.dwg.core.io.BitStreamWriter;
+import io.dwg.core.io.ByteBufferBitInput;
+import io.dwg.core.io.ByteBufferBitOutput;
+import io.dwg.core.type.Point3D;
+import io.dwg.core.version.DwgVersion;
+import io.dwg.entities.DwgObject;
+import io.dwg.entities.concrete.DwgLine;
+import io.dwg.sections.objects.ObjectWriter;
+import io.dwg.sections.objects.ObjectsSectionWriter;
+import io.dwg.sections.objects.writers.LineObjectWriter;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * ArrayBitOutput 테스트 (JUnit 없이 실행 가능)
+ * 64비트 레지스터 기반 출력이 기존 ByteBufferBitOutput과 같은 바이트를 내는지,
+ * BitStreamWriter로 쓴 값을 BitStreamReader가 바이트 경계와 무관하게 그대로 읽는지 확인합니다.
+ */
+public class ArrayBitOutputTest {
+
+    private static int passCount = 0;
+    private static int failCount = 0;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("═══════════════════════════════════════════════════════════════");
+        System.out.println("  ArrayBitOutput 테스트");
+        System.out.println("═══════════════════════════════════════════════════════════════\n");
+
+        testSameBytes();
+        testBuffer();
+        testWriterRoundTrip();
+        testObjectsSection(args.length > 0 ? Integer.parseInt(args[0]) : 100_000);
+
+        System.out.println("\n═══════════════════════════════════════════════════════════════");
+        System.out.printf("  테스트 결과: %d 통과, %d 실패\n", passCount, failCount);
+        System.out.println("═══════════════════════════════════════════════════════════════");
+    }
+
+    private static void testSameBytes() {
+        System.out.println("\n[TEST 1] ByteBufferBitOutput과 같은 출력");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        Random random = new Random(3);
+        int same = 0;
+        int trials = 500;
+        for (int t = 0; t < trials; t++) {
+            ByteBufferBitOutput expected = new ByteBufferBitOutput();
+            ArrayBitOutput actual = new ArrayBitOutput(16);
+            boolean positions = true;
+            int ops = random.nextInt(400);
+            for (int i = 0; i < ops; i++) {
+                int op = random.nextInt(20);
+                int value = random.nextInt();
+                for (BitOutput out : new BitOutput[] {expected, actual}) {
+                    switch (op) {
+                        case 0 -> out.writeRawChar(value);
+                        case 1 -> out.writeRawShort((short) value);
+                        case 2 -> out.writeRawLong(value);
+                        case 3 -> out.writeRawDouble(Double.longBitsToDouble(value * 0x9E3779B97F4A7C15L));
+                        case 4 -> out.writeBytes(new byte[] {(byte) value, 1, 2, (byte) (value >> 8)}, 1, 3);
+                        case 5, 6, 7 -> out.writeBit((value & 1) != 0);
+                        case 8 -> out.writeLongBits(value * 0x9E3779B97F4A7C15L, 1 + (value >>> 26));
+                        default -> out.writeBits(value, (value >>> 8) % 33);
+                    }
+                }
+                positions &= expected.position() == actual.position();
+            }
+            if (positions && Arrays.equals(expected.toByteArray(), actual.toByteArray())) same++;
+        }
+        report(String.format("무작위 쓰기 %d회: 바이트/비트 위치 일치 %d회", trials, same), same == trials);
+    }
+
+    private static void testBuffer() {
+        System.out.println("\n[TEST 2] 호출 측 배열");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        byte[] given = new byte[64];
+        ArrayBitOutput out = new ArrayBitOutput(given);
+        out.writeBits(0b101, 3);
+        out.writeRawChar(0x7F);
+        out.writeBits(0x3, 2);
+        report("넘치지 않으면 준 배열에 씀",
+            out.buffer() == given && out.byteLength() == 3
+                && (given[0] & 0xFF) == 0xA0 && given[1] == 0x7F && (given[2] & 0xFF) == 0xC0);
+
+        for (int i = 0; i < 100; i++) out.writeRawDouble(i);
+        report("넘치면 늘린 배열로 옮김", out.buffer() != given && out.byteLength() == 3 + 800
+            && out.toByteArray().length == out.byteLength());
+
+        out.reset();
+        out.writeBits(0xABCD, 16);
+        report("reset 뒤 처음부터", out.position() == 16 && Arrays.equals(out.toByteArray(), new byte[] {(byte) 0xAB, (byte) 0xCD}));
+    }
+
+    private static void testWriterRoundTrip() {
+        System.out.println("\n[TEST 3] BitStreamWriter → BitStreamReader (비트 경계 0-7)");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        Random random = new Random(5);
+        String[] names = {"BS", "BL", "BLL", "BD", "MC", "UMC", "MS", "RD", "H", "TU", "BE/BT", "BOT"};
+        int[] failures = new int[names.length];
+        for (int t = 0; t < 2000; t++) {
+            int shift = t % 8;
+            int bs = random.nextBoolean() ? random.nextInt(0x10000) : random.nextInt(300);
+            int bl = random.nextBoolean() ? random.nextInt() : random.nextInt(300);
+            long bll = random.nextLong() >>> (8 + random.nextInt(56));
+            double bd = random.nextInt(4) == 0 ? random.nextInt(2) : random.nextGaussian() * 1e6;
+            int mc = (random.nextInt(1 << 30) >> random.nextInt(30)) * (random.nextBoolean() ? 1 : -1);
+            long umc = random.nextLong() >>> (8 + random.nextInt(56));
+            int ms = random.nextInt() >>> (1 + random.nextInt(31));
+            double rd = random.nextDouble();
+            long handle = ((long) random.nextInt(16) << 56) | (random.nextLong() >>> (9 + random.nextInt(55)));
+            String text = "선" + random.nextInt(100000) + "Ω";
+            double thickness = random.nextBoolean() ? 0.0 : 2.5;
+            double[] extrusion = random.nextBoolean() ? new double[] {0, 0, 1} : new double[] {0.5, 0.25, 0.75};
+            int[] types = {random.nextInt(0x100), 0x1F0 + random.nextInt(0x100), 0x300 + random.nextInt(0xFD00)};
+            int type = types[random.nextInt(types.length)];
+
+            BitStreamWriter w = new BitStreamWriter(DwgVersion.R2007);
+            w.getOutput().writeBits(0, shift);
+            w.writeBitShort(bs);
+            w.writeBitLong(bl);
+            w.writeBitLongLong(bll);
+            w.writeBitDouble(bd);
+            w.writeModularChar(mc);
+            w.writeUnsignedModularChar(umc);
+            w.writeModularShort(ms);
+            w.writeRawDouble(rd);
+            w.writeHandle(handle);
+            w.writeUnicodeText(text);
+            w.writeBitThickness(thickness);
+            w.writeBitExtrusion(extrusion);
+            w.writeBitObjectType(type);
+
+            BitStreamReader r = new BitStreamReader(new ByteBufferBitInput(w.toByteArray()), DwgVersion.R2007);
+            r.getInput().readBits(shift);
+            boolean[] ok = {
+                r.readBitShort() == bs,
+                r.readBitLong() == bl,
+                r.readBitLongLong() == bll,
+                r.readBitDouble() == bd,
+                r.readModularChar() == mc,
+                r.readUMC() == umc,
+                r.readModularShort() == ms,
+                r.readRawDouble() == rd,
+                readHandle(r, handle),
+                r.readUnicodeText().equals(text),
+                r.readBitThickness() == thickness && Arrays.equals(r.readBitExtrusion(), extrusion),
+                r.readBOT() == type,
+            };
+            for (int i = 0; i < ok.length; i++) {
+                if (!ok[i]) failures[i]++;
+            }
+        }
+        for (int i = 0; i < names.length; i++) {
+            report(String.format("%-5s 2000건 일치", names[i]), failures[i] == 0);
+        }
+    }
+
+    /** 읽는 쪽은 코드를 값 바이트 바로 위에 붙여 돌려준다 */
+    private static boolean readHandle(BitStreamReader r, long handle) {
+        long value = handle & 0xFFFFFFFFFFFFFFL;
+        int counter = Math.max(1, (64 - Long.numberOfLeadingZeros(value) + 7) >>> 3);
+        long code = (handle >>> 56) & 0x0F;
+        return r.readHandle() == (((code << 8) << ((counter - 1) * 8)) | value);
+    }
+
+    /**
+     * LINE 엔티티로 된 Objects 섹션 쓰기. 같은 BitStreamWriter 호출을 기존 출력과 새 출력에 보내
+     * 바이트가 같은지 본다. 쓰기 시간은 {@code ObjectsSectionWriteBenchmark}(JMH)에서 잰다.
+     */
+    private static void testObjectsSection(int count) throws Exception {
+        System.out.println("\n[TEST 4] LINE " + count + "개 Objects 섹션 쓰기");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        Map<Long, DwgObject> objects = lines(count);
+        byte[] before = writeLines(objects, ByteBufferBitOutput::new);
+        byte[] after = writeLines(objects, ArrayBitOutput::new);
+        report(String.format("두 출력의 섹션 바이트 일치 (%d KB)", after.length >> 10), Arrays.equals(before, after));
+        report("ObjectsSectionWriter로 섹션 쓰기",
+            new ObjectsSectionWriter().write(objects, DwgVersion.R2004).toByteArray().length > after.length);
+    }
+
+    /** 무작위 LINE count개 (핸들 0x100부터) */
+    static Map<Long, DwgObject> lines(int count) {
+        Random random = new Random(11);
+        Map<Long, DwgObject> objects = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            DwgLine line = new DwgLine();
+            line.setHandle(0x100 + i);
+            line.setStart(new Point3D(random.nextDouble() * 1000, random.nextDouble() * 1000, 0));
+            line.setEnd(new Point3D(random.nextDouble() * 1000, random.nextDouble() * 1000, i % 10 == 0 ? 5 : 0));
+            line.setThickness(i % 7 == 0 ? 1.5 : 0);
+            objects.put(line.handle(), line);
+        }
+        return objects;
+    }
+
+    static byte[] writeLines(Map<Long, DwgObject> objects, Supplier<BitOutput> output) throws Exception {
+        BitStreamWriter writer = new BitStreamWriter(output.get(), DwgVersion.R2004);
+        ObjectWriter lines = new LineObjectWriter();
+        for (DwgObject obj : objects.values()) {
+            writer.writeModularShort(0);
+            writer.writeBitShort(obj.objectType().typeCode());
+            lines.write(obj, writer, DwgVersion.R2004);
+        }
+        return writer.toByteArray();
+    }
+
+    private static void report(String name, boolean ok) {
+        if (ok) {
+            System.out.println("  ✓ " + name);
+            passCount++;
+        } else {
+            System.out.println("  ✗ " + name);
+            failCount++;
+        }
+    }
+}
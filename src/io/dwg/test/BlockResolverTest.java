@@ -0,0 +1,379 @@
+package io.dwg.test;
+
+import io.dwg.api.DwgBlockResolver;
+import io.dwg.api.DwgDocument;
+import io.dwg.api.DwgReader;
+import io.dwg.core.type.BoundingBox;
+import io.dwg.core.type.DwgHandleRef;
+import io.dwg.core.type.Point3D;
+import io.dwg.core.version.DwgVersion;
+import io.dwg.entities.AbstractDwgObject;
+import io.dwg.entities.DwgEntity;
+import io.dwg.entities.DwgObject;
+import io.dwg.entities.concrete.DwgAttrib;
+import io.dwg.entities.concrete.DwgBlockHeader;
+import io.dwg.entities.concrete.DwgInsert;
+import io.dwg.entities.concrete.DwgLine;
+import io.dwg.entities.concrete.DwgMinsert;
+import io.dwg.entities.concrete.DwgPolyline2D;
+import io.dwg.entities.concrete.DwgSeqEnd;
+import io.dwg.entities.concrete.DwgVertex2D;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * 블록 참조 해석 테스트 (JUnit 없이 실행 가능)
+ * 중첩 INSERT 평탄화, 합성 변환, 블록 경계 캐시, 순환/깊이 제한,
+ * 샘플 파일 블록 헤더의 엔티티 목록 순서와 하위 엔티티(VERTEX/SEQEND/ATTRIB)의 소속을 검증합니다.
+ */
+public class BlockResolverTest {
+
+    private static int passCount = 0;
+    private static int failCount = 0;
+
+    private static final Map<Long, DwgObject> objects = new HashMap<>();
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("═══════════════════════════════════════════════════════════════");
+        System.out.println("  블록 참조 해석 테스트");
+        System.out.println("═══════════════════════════════════════════════════════════════\n");
+
+        // *Model_Space(0x1F) ─ INSERT(0x100) → OUTER(0x20) ─ INSERT(0x101) → INNER(0x21) ─ LINE(0x102)
+        //                   └ MINSERT(0x103) → INNER 2x3 배열
+        //                   └ INSERT(0x104) → LOOP_A(0x22) ↔ LOOP_B(0x23)
+        block(0x1F, "*Model_Space", Point3D.ORIGIN);
+        block(0x20, "OUTER", Point3D.ORIGIN);
+        block(0x21, "INNER", new Point3D(1, 1, 0));
+        block(0x22, "LOOP_A", Point3D.ORIGIN);
+        block(0x23, "LOOP_B", Point3D.ORIGIN);
+
+        DwgLine line = new DwgLine();
+        line.setStart(new Point3D(1, 1, 0));
+        line.setEnd(new Point3D(3, 1, 0));
+        own(line, 0x102, 0x21);
+
+        DwgInsert inner = insert(0x101, 0x20, 0x21, new Point3D(10, 0, 0), 2.0, 0.0);
+        DwgInsert outer = insert(0x100, 0x1F, 0x20, new Point3D(100, 100, 0), 1.0, Math.PI / 2);
+
+        DwgMinsert grid = new DwgMinsert();
+        grid.setBlockName("inner");
+        grid.setInsertionPoint(new Point3D(0, 0, 0));
+        grid.setScale(new double[]{1, 1, 1});
+        grid.setRowCount(2);
+        grid.setColumnCount(3);
+        grid.setRowSpacing(5);
+        grid.setColumnSpacing(10);
+        own(grid, 0x103, 0x1F);
+
+        insert(0x104, 0x1F, 0x22, Point3D.ORIGIN, 1.0, 0.0);
+        insert(0x105, 0x22, 0x23, Point3D.ORIGIN, 1.0, 0.0);
+        insert(0x106, 0x23, 0x22, Point3D.ORIGIN, 1.0, 0.0);
+
+        DwgDocument doc = new DwgDocument(DwgVersion.R2004);
+        doc.setObjectMap(new HashMap<>(objects));
+        DwgBlockResolver blocks = doc.blocks();
+
+        testBlockExtents(blocks);
+        testFlatten(blocks, outer);
+        testMinsert(blocks, grid);
+        testCycle(blocks);
+        testSpatialIndex(doc);
+        testConcurrentExtents(blocks);
+        testDrawOrder();
+        testSampleOrder();
+        testSubEntities();
+        report("문서당 해석기 재사용", doc.blocks() == blocks);
+
+        System.out.println("\n═══════════════════════════════════════════════════════════════");
+        System.out.printf("  테스트 결과: %d 통과, %d 실패\n", passCount, failCount);
+        System.out.println("═══════════════════════════════════════════════════════════════");
+    }
+
+    private static void testBlockExtents(DwgBlockResolver blocks) {
+        System.out.println("\n[TEST 1] 블록 경계 (기준점 보정)");
+        System.out.println("─────────────────────────────────────────────────────────────");
+        // INNER: 선 (1,1)-(3,1), 기준점 (1,1) → (0,0)-(2,0)
+        check("INNER", blocks.blockExtents(0x21), new BoundingBox(0, 0, 2, 0));
+        // OUTER: INNER를 (10,0)에 2배 → (10,0)-(14,0)
+        check("OUTER", blocks.blockExtents(0x20), new BoundingBox(10, 0, 14, 0));
+        report("이름 조회 (대소문자 무시)", blocks.blockByName("outer").map(b -> b.handle() == 0x20).orElse(false));
+        report("블록 정의 구성원 판정", blocks.isBlockDefinitionMember((DwgLine) objects.get(0x102L))
+            && !blocks.isBlockDefinitionMember((DwgInsert) objects.get(0x100L)));
+    }
+
+    private static void testFlatten(DwgBlockResolver blocks, DwgInsert outer) {
+        System.out.println("\n[TEST 2] 중첩 INSERT 평탄화");
+        System.out.println("─────────────────────────────────────────────────────────────");
+        List<double[]> points = new ArrayList<>();
+        int[] depth = new int[1];
+        int skipped = blocks.flatten(outer, (e, t, d) -> {
+            DwgLine l = (DwgLine) e;
+            points.add(new double[]{t.applyX(l.start().x(), l.start().y(), 0), t.applyY(l.start().x(), l.start().y(), 0)});
+            points.add(new double[]{t.applyX(l.end().x(), l.end().y(), 0), t.applyY(l.end().x(), l.end().y(), 0)});
+            depth[0] = d;
+        });
+        // 선 (1,1) → INNER 기준점 보정 (0,0) → x2, +(10,0) → (10,0) → 90° 회전 → (0,10) → +(100,100)
+        report("건너뛴 참조 없음", skipped == 0);
+        report("깊이 2", depth[0] == 2);
+        report("시작점 (100, 110)", points.size() == 2 && near(points.get(0), 100, 110));
+        report("끝점 (100, 114)", points.size() == 2 && near(points.get(1), 100, 114));
+    }
+
+    private static void testMinsert(DwgBlockResolver blocks, DwgMinsert grid) {
+        System.out.println("\n[TEST 3] MINSERT 배열");
+        System.out.println("─────────────────────────────────────────────────────────────");
+        int[] count = new int[1];
+        blocks.flatten(grid, (e, t, d) -> count[0]++);
+        report("2x3 = 6개 방문", count[0] == 6);
+    }
+
+    private static void testCycle(DwgBlockResolver blocks) {
+        System.out.println("\n[TEST 4] 순환 참조");
+        System.out.println("─────────────────────────────────────────────────────────────");
+        int[] count = new int[1];
+        int skipped = blocks.flatten((DwgInsert) objects.get(0x104L), (e, t, d) -> count[0]++);
+        report("순환 참조 1회 차단", skipped == 1 && count[0] == 0);
+        // 순환 지점의 INSERT는 삽입점만 기여
+        check("순환 블록 경계 계산 종료", blocks.blockExtents(0x22), new BoundingBox(0, 0, 0, 0));
+    }
+
+    private static void testSpatialIndex(DwgDocument doc) {
+        System.out.println("\n[TEST 5] 공간 색인 연동");
+        System.out.println("─────────────────────────────────────────────────────────────");
+        long[] hits = doc.spatialIndex().query(new BoundingBox(99, 109, 101, 115));
+        report("INSERT 경계로 조회", hits.length == 1 && hits[0] == 0x100);
+        long[] all = doc.spatialIndex().query(doc.spatialIndex().bounds());
+        report("블록 정의 내부 엔티티는 색인 제외", all.length == 3
+            && java.util.Arrays.stream(all).noneMatch(h -> h == 0x102 || h == 0x101));
+    }
+
+    private static void testConcurrentExtents(DwgBlockResolver expected) throws InterruptedException {
+        System.out.println("\n[TEST 6] 여러 스레드에서 블록 경계 계산");
+        System.out.println("─────────────────────────────────────────────────────────────");
+        long[] handles = {0x20, 0x21, 0x22, 0x23};
+        boolean same = true;
+        for (int round = 0; round < 50; round++) {
+            // 캐시가 빈 새 해석기에 동시에 묻는다 (스레드마다 다른 순서)
+            DwgDocument doc = new DwgDocument(DwgVersion.R2004);
+            doc.setObjectMap(new HashMap<>(objects));
+            DwgBlockResolver blocks = doc.blocks();
+            CountDownLatch start = new CountDownLatch(1);
+            BoundingBox[][] results = new BoundingBox[4][handles.length];
+            Thread[] threads = new Thread[4];
+            for (int t = 0; t < threads.length; t++) {
+                int id = t;
+                threads[t] = new Thread(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < handles.length; i++) {
+                        int k = (i + id) % handles.length;
+                        results[id][k] = blocks.blockExtents(handles[k]);
+                    }
+                });
+                threads[t].start();
+            }
+            start.countDown();
+            for (Thread thread : threads) thread.join();
+            for (BoundingBox[] r : results) {
+                for (int k = 0; k < handles.length; k++) same &= sameBox(r[k], expected.blockExtents(handles[k]));
+            }
+        }
+        report("4 스레드 × 50회, 순환 블록 포함 결과 동일", same);
+    }
+
+    private static void testDrawOrder() {
+        System.out.println("\n[TEST 7] 모형/배치 공간 그리기 순서");
+        System.out.println("─────────────────────────────────────────────────────────────");
+        objects.clear();
+        block(0x1F, "*Model_Space", Point3D.ORIGIN);
+        block(0x1E, "*Paper_Space", Point3D.ORIGIN);
+        for (long h : new long[]{0x30, 0x31, 0x32, 0x33}) {
+            own(new DwgLine(), h, 0x1F);
+        }
+        own(new DwgLine(), 0x40, 0x1E);
+        DwgLine noOwnerPaper = new DwgLine();
+        noOwnerPaper.setHandle(0x50);
+        noOwnerPaper.setEntityMode(1);
+        objects.put(0x50L, noOwnerPaper);
+        DwgLine noOwner = new DwgLine();
+        noOwner.setHandle(0x2F);
+        objects.put(0x2FL, noOwner);
+        // 블록 헤더의 엔티티 목록이 핸들 순서보다 우선 (목록에 없는 구성원은 뒤에 핸들 순)
+        ((DwgBlockHeader) objects.get(0x1FL)).setOwnedEntityHandles(new long[]{0x32, 0x30, 0x999});
+
+        DwgDocument doc = new DwgDocument(DwgVersion.R2004);
+        doc.setObjectMap(new HashMap<>(objects));
+        long[] model = doc.blocks().modelSpaceHandles();
+        report("모형 공간 순서 " + java.util.Arrays.toString(model),
+            java.util.Arrays.equals(model, new long[]{0x32, 0x30, 0x2F, 0x31, 0x33}));
+        report("배치 공간 (소유자 + entity mode 1)",
+            java.util.Arrays.equals(doc.blocks().paperSpaceHandles(), new long[]{0x40, 0x50}));
+        report("List/배열 순서 일치", doc.modelSpace().get(0).handle() == 0x32
+            && doc.modelSpace().size() == model.length);
+        report("캐시 배열 보호 (복사본 반환)", doc.blocks().modelSpaceHandles() != doc.blocks().modelSpaceHandles());
+
+        // R2004 이전 형식: 첫/마지막 엔티티만 기록
+        DwgBlockHeader paper = (DwgBlockHeader) objects.get(0x1EL);
+        for (long h : new long[]{0x41, 0x42}) {
+            own(new DwgLine(), h, 0x1E);
+        }
+        paper.setFirstEntityHandle(0x42);
+        paper.setLastEntityHandle(0x40);
+        doc.setObjectMap(new HashMap<>(objects));
+        report("첫/마지막 엔티티는 양 끝 " + Arrays.toString(doc.blocks().paperSpaceHandles()),
+            Arrays.equals(doc.blocks().paperSpaceHandles(), new long[]{0x42, 0x41, 0x50, 0x40}));
+    }
+
+    private static void testSampleOrder() throws Exception {
+        System.out.println("\n[TEST 8] 샘플 파일 블록 헤더의 엔티티 목록");
+        System.out.println("─────────────────────────────────────────────────────────────");
+        long[] expectedOwned = null;
+        for (String name : new String[] {"example_2004.dwg", "example_2007.dwg", "example_2010.dwg", "example_2018.dwg"}) {
+            Path file = Paths.get("samples", name);
+            if (!Files.exists(file)) continue;
+            DwgDocument doc = DwgReader.defaultReader().open(file);
+            DwgBlockHeader model = doc.blocks().blockByName("*Model_Space").orElse(null);
+            long[] owned = model != null ? model.ownedEntityHandles() : null;
+            if (expectedOwned == null) expectedOwned = owned;
+            report(name + ": *Model_Space 엔티티 " + (owned != null ? owned.length : -1) + "개 (버전 간 동일)",
+                owned != null && owned.length > 0 && Arrays.equals(owned, expectedOwned));
+            if (owned == null) continue;
+
+            // 목록에 있고 객체로 읽힌 엔티티가 그 순서대로 앞에 온다
+            long[] listed = Arrays.stream(owned).filter(h -> doc.objectMap().get(h) instanceof DwgEntity).toArray();
+            long[] handles = doc.blocks().modelSpaceHandles();
+            report(name + ": 모형 공간 순서 = 헤더 목록 순서",
+                listed.length > 0 && handles.length >= listed.length
+                    && Arrays.equals(Arrays.copyOf(handles, listed.length), listed));
+        }
+        Path r2000 = Paths.get("samples", "example_2000.dwg");
+        if (Files.exists(r2000)) {
+            DwgDocument doc = DwgReader.defaultReader().open(r2000);
+            DwgBlockHeader model = doc.blocks().blockByName("*Model_Space").orElse(null);
+            long[] handles = doc.blocks().modelSpaceHandles();
+            report("example_2000.dwg: 첫/마지막 엔티티가 모형 공간 양 끝", model != null && handles.length > 1
+                && model.ownedEntityHandles() == null
+                && handles[0] == model.firstEntityHandle() && handles[handles.length - 1] == model.lastEntityHandle());
+        }
+    }
+
+    private static void testSubEntities() {
+        System.out.println("\n[TEST 9] 블록 안 POLYLINE/INSERT의 하위 엔티티");
+        System.out.println("─────────────────────────────────────────────────────────────");
+        // *Model_Space(0x1F) ─ INSERT(0x60) → DETAIL(0x24) ─ POLYLINE(0x70) ─ VERTEX(0x71, 0x72), SEQEND(0x73)
+        //                                                  └ INSERT(0x74) → PART(0x25) ─ ATTRIB(0x75), SEQEND(0x76)
+        //                   └ POLYLINE(0x80) ─ VERTEX(0x81), SEQEND(0x82)
+        objects.clear();
+        block(0x1F, "*Model_Space", Point3D.ORIGIN);
+        block(0x24, "DETAIL", Point3D.ORIGIN);
+        block(0x25, "PART", Point3D.ORIGIN);
+        DwgLine part = new DwgLine();
+        part.setStart(new Point3D(0, 0, 0));
+        part.setEnd(new Point3D(1, 1, 0));
+        own(part, 0x26, 0x25);
+
+        insert(0x60, 0x1F, 0x24, new Point3D(1000, 1000, 0), 1.0, 0.0);
+        own(new DwgPolyline2D(), 0x70, 0x24);
+        for (long h : new long[]{0x71, 0x72}) {
+            DwgVertex2D v = new DwgVertex2D();
+            v.setLocation(new Point3D(h, h, 0));
+            own(v, h, 0x70);
+        }
+        own(new DwgSeqEnd(), 0x73, 0x70);
+        insert(0x74, 0x24, 0x25, new Point3D(5, 5, 0), 1.0, 0.0);
+        DwgAttrib attrib = new DwgAttrib();
+        attrib.setLocation(new Point3D(5, 5, 0));
+        attrib.setText("TAG-1");
+        attrib.setHeight(2.0);
+        own(attrib, 0x75, 0x74);
+        own(new DwgSeqEnd(), 0x76, 0x74);
+        own(new DwgPolyline2D(), 0x80, 0x1F);
+        own(new DwgVertex2D(), 0x81, 0x80);
+        own(new DwgSeqEnd(), 0x82, 0x80);
+
+        DwgDocument doc = new DwgDocument(DwgVersion.R2004);
+        doc.setObjectMap(new HashMap<>(objects));
+        DwgBlockResolver blocks = doc.blocks();
+        report("블록 목록에는 POLYLINE/INSERT만 " + Arrays.toString(blocks.entityHandlesOf(0x24)),
+            Arrays.equals(blocks.entityHandlesOf(0x24), new long[]{0x70, 0x74}));
+        report("모형 공간에 하위 엔티티 없음 " + Arrays.toString(blocks.modelSpaceHandles()),
+            Arrays.equals(blocks.modelSpaceHandles(), new long[]{0x60, 0x80}));
+        boolean nested = true;
+        for (long h : new long[]{0x71, 0x72, 0x73, 0x75, 0x76}) {
+            DwgEntity e = (DwgEntity) objects.get(h);
+            nested &= blocks.isSubEntity(e) && blocks.isBlockDefinitionMember(e);
+        }
+        report("블록 안 VERTEX/SEQEND/ATTRIB는 블록 정의 구성원", nested);
+        report("모형 공간 POLYLINE의 VERTEX는 블록 정의 구성원 아님",
+            blocks.isSubEntity((DwgEntity) objects.get(0x81L))
+                && !blocks.isBlockDefinitionMember((DwgEntity) objects.get(0x81L)));
+        long[] all = doc.spatialIndex().query(doc.spatialIndex().bounds());
+        report("블록 안 ATTRIB는 월드 좌표로 색인하지 않음 " + Arrays.toString(all),
+            Arrays.stream(all).noneMatch(h -> h == 0x75 || h == 0x71 || h == 0x72)
+                && Arrays.stream(all).anyMatch(h -> h == 0x60));
+    }
+
+    private static void block(long handle, String name, Point3D base) {
+        DwgBlockHeader b = new DwgBlockHeader();
+        b.setHandle(handle);
+        b.setBlockName(name);
+        b.setBasePoint(base);
+        objects.put(handle, b);
+    }
+
+    private static DwgInsert insert(long handle, long owner, long block, Point3D at, double scale, double rotation) {
+        DwgInsert ins = new DwgInsert();
+        ins.setInsertionPoint(at);
+        ins.setXScale(scale);
+        ins.setYScale(scale);
+        ins.setRotation(rotation);
+        ins.setBlockHeaderHandle(new DwgHandleRef(block));
+        own(ins, handle, owner);
+        return ins;
+    }
+
+    private static void own(AbstractDwgObject o, long handle, long owner) {
+        o.setHandle(handle);
+        o.setOwnerHandle(new DwgHandleRef(owner));
+        objects.put(handle, o);
+    }
+
+    private static boolean near(double[] p, double x, double y) {
+        return Math.abs(p[0] - x) < 1e-9 && Math.abs(p[1] - y) < 1e-9;
+    }
+
+    private static boolean sameBox(BoundingBox a, BoundingBox b) {
+        return a == null ? b == null : b != null && a.minX() == b.minX() && a.minY() == b.minY()
+            && a.maxX() == b.maxX() && a.maxY() == b.maxY();
+    }
+
+    private static void check(String name, BoundingBox actual, BoundingBox expected) {
+        boolean ok = actual != null
+            && Math.abs(actual.minX() - expected.minX()) < 1e-9
+            && Math.abs(actual.minY() - expected.minY()) < 1e-9
+            && Math.abs(actual.maxX() - expected.maxX()) < 1e-9
+            && Math.abs(actual.maxY() - expected.maxY()) < 1e-9;
+        report(name + " → " + actual, ok);
+    }
+
+    private static void report(String name, boolean ok) {
+        if (ok) {
+            System.out.println("  ✓ " + name);
+            passCount++;
+        } else {
+            System.out.println("  ✗ " + name);
+            failCount++;
+        }
+    }
+}
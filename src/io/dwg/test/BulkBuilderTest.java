@@ -0,0 +1,177 @@
+package io.dwg.test;
+
+import io.dwg.api.DwgBulkBuilder;
+import io.dwg.api.DwgDocument;
+import io.dwg.api.DwgReader;
+import io.dwg.api.DwgWriter;
+import io.dwg.core.exception.DwgWriteException;
+import io.dwg.core.io.SectionOutputStream;
+import io.dwg.core.type.Point2D;
+import io.dwg.core.type.Point3D;
+import io.dwg.core.version.DwgVersion;
+import io.dwg.entities.DwgObject;
+import io.dwg.entities.DwgObjectType;
+import io.dwg.entities.concrete.DwgLine;
+import io.dwg.entities.concrete.DwgLwPolyline;
+import io.dwg.sections.handles.HandleRegistry;
+import io.dwg.sections.objects.ObjectsSectionWriter;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 대량 엔티티 빌더 테스트 (JUnit 없이 실행 가능)
+ * 좌표 배열에서 바로 인코딩한 Objects 섹션이 같은 엔티티를 객체로 만들어 쓴 결과와 같은지,
+ * 저장한 파일을 다시 읽을 수 있는지 확인하고 LINE 인코딩 속도를 잽니다.
+ */
+public class BulkBuilderTest {
+
+    private static int passCount = 0;
+    private static int failCount = 0;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("═══════════════════════════════════════════════════════════════");
+        System.out.println("  대량 엔티티 빌더 테스트");
+        System.out.println("═══════════════════════════════════════════════════════════════\n");
+
+        testSameBytes(DwgVersion.R2004);
+        testSameBytes(DwgVersion.R2010);
+        testWriteAndRead();
+        testThroughput(args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000);
+
+        System.out.println("\n═══════════════════════════════════════════════════════════════");
+        System.out.printf("  테스트 결과: %d 통과, %d 실패\n", passCount, failCount);
+        System.out.println("═══════════════════════════════════════════════════════════════");
+    }
+
+    private static void testSameBytes(DwgVersion version) throws Exception {
+        System.out.println("\n[TEST] " + version + ": 객체로 쓴 Objects 섹션과 비교");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        Random random = new Random(5);
+        DwgBulkBuilder bulk = new DwgBulkBuilder(version);
+        Map<Long, DwgObject> objects = new HashMap<>();
+        for (int i = 0; i < 60_000; i++) {
+            if (i % 10 == 0) {
+                int n = 2 + random.nextInt(8);
+                double[] xy = new double[2 + 2 * n];
+                for (int k = 2; k < xy.length; k++) xy[k] = Math.round(random.nextDouble() * 1000);
+                boolean closed = random.nextBoolean();
+                long h = bulk.lwPolyline(xy, 2, n, closed);
+                objects.put(h, polyline(h, xy, 2, n, closed));
+            } else {
+                double x1 = random.nextDouble() * 1000, y1 = random.nextDouble() * 1000;
+                double x2 = random.nextDouble() * 1000, y2 = random.nextDouble() * 1000;
+                double z = i % 7 == 0 ? random.nextDouble() : 0.0;
+                long h = bulk.line(x1, y1, z, x2, y2, 0.0);
+                objects.put(h, line(h, new Point3D(x1, y1, z), new Point3D(x2, y2, 0.0)));
+            }
+        }
+
+        HandleRegistry expectedOffsets = new HandleRegistry();
+        byte[] expected = new ObjectsSectionWriter().write(objects, version, expectedOffsets).toByteArray();
+        HandleRegistry offsets = new HandleRegistry();
+        SectionOutputStream section = new SectionOutputStream("objects");
+        bulk.writeTo(offsets, section.asStream());
+        byte[] actual = section.toByteArray();
+
+        report("핸들 0x100부터 연속 " + bulk.size() + "개", bulk.size() == 60_000 && bulk.nextHandle() == 0x100 + 60_000);
+        report("바이트 동일 (" + actual.length + " bytes, 1MB 블록 " + (actual.length >> 20) + "개 넘김)",
+            Arrays.equals(expected, actual) && bulk.byteLength() == actual.length);
+        boolean same = offsets.size() == expectedOffsets.size();
+        for (long h = 0x100; same && h < 0x100 + 60_000; h++) same = offsets.offsetOf(h) == expectedOffsets.offsetOf(h);
+        report("오프셋 동일", same);
+    }
+
+    private static void testWriteAndRead() throws Exception {
+        System.out.println("\n[TEST] 파일로 저장하고 다시 읽기");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        DwgBulkBuilder bulk = new DwgBulkBuilder(DwgVersion.R2004, 0x400);
+        double[] xy = new double[4 * 5000];
+        Random random = new Random(9);
+        for (int i = 0; i < xy.length; i++) xy[i] = random.nextDouble() * 100;
+        long first = bulk.lines(xy, 0, 5000);
+        bulk.lwPolyline(new double[] {0, 0, 10, 0, 10, 10, 0, 10}, 0, 4, true);
+
+        Path file = Files.createTempFile("bulk", ".dwg");
+        try {
+            DwgWriter.forVersion(DwgVersion.R2004).write(bulk, file);
+            DwgDocument doc = DwgReader.defaultReader().open(file);
+            report("첫 핸들 0x400", first == 0x400);
+            report("핸들 5001개", doc.handleRegistry().size() == 5001);
+            long lines = doc.objectMap().values().stream().filter(o -> o.objectType() == DwgObjectType.LINE).count();
+            DwgObject last = doc.objectMap().get(0x400L + 5000);
+            report("LINE 5000개 + LWPOLYLINE 1개", lines == 5000 && last != null
+                && last.objectType() == DwgObjectType.LWPLINE);
+            DwgDocument fromBytes = DwgReader.defaultReader().open(DwgWriter.forVersion(DwgVersion.R2004).toBytes(bulk));
+            report("toBytes 결과도 다시 읽힘", fromBytes.handleRegistry().size() == 5001);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        boolean rejected;
+        try {
+            DwgWriter.forVersion(DwgVersion.R2010).toBytes(bulk);
+            rejected = false;
+        } catch (DwgWriteException e) {
+            rejected = true;
+        }
+        report("인코딩한 버전과 다르면 DwgWriteException", rejected);
+    }
+
+    private static void testThroughput(int count) {
+        System.out.println("\n[TEST] LINE " + count + "개 인코딩 속도 (한 스레드)");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        double[] xy = new double[4 * 10_000];
+        Random random = new Random(3);
+        for (int i = 0; i < xy.length; i++) xy[i] = random.nextDouble() * 1000;
+
+        // 워밍업
+        DwgBulkBuilder warm = new DwgBulkBuilder(DwgVersion.R2004);
+        for (int i = 0; i < 20; i++) warm.lines(xy, 0, 10_000);
+
+        DwgBulkBuilder bulk = new DwgBulkBuilder(DwgVersion.R2004);
+        long t0 = System.nanoTime();
+        for (int done = 0; done < count; done += 10_000) bulk.lines(xy, 0, Math.min(10_000, count - done));
+        long t1 = System.nanoTime();
+        double perSecond = count / ((t1 - t0) / 1e9);
+        System.out.printf("  %.0f ms, 초당 %.2fM 개, %.1f MB\n", (t1 - t0) / 1e6, perSecond / 1e6, bulk.byteLength() / 1e6);
+        report("LINE " + count + "개", bulk.size() == count);
+    }
+
+    private static DwgLine line(long handle, Point3D start, Point3D end) {
+        DwgLine line = new DwgLine();
+        line.setHandle(handle);
+        line.setStart(start);
+        line.setEnd(end);
+        return line;
+    }
+
+    private static DwgLwPolyline polyline(long handle, double[] xy, int offset, int n, boolean closed) {
+        DwgLwPolyline p = new DwgLwPolyline();
+        p.setHandle(handle);
+        p.setFlags(closed ? 0x01 : 0);
+        List<Point2D> vertices = new ArrayList<>();
+        for (int k = 0; k < n; k++) vertices.add(new Point2D(xy[offset + 2 * k], xy[offset + 2 * k + 1]));
+        p.setVertices(vertices);
+        return p;
+    }
+
+    private static void report(String name, boolean ok) {
+        if (ok) {
+            System.out.println("  ✓ " + name);
+            passCount++;
+        } else {
+            System.out.println("  ✗ " + name);
+            failCount++;
+        }
+    }
+}
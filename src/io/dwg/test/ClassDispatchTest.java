@@ -0,0 +1,129 @@
+package io.dwg.test;
+
+import io.dwg.api.DwgDocument;
+import io.dwg.api.DwgReader;
+import io.dwg.core.io.BitStreamReader;
+import io.dwg.core.version.DwgVersion;
+import io.dwg.entities.DwgObject;
+import io.dwg.entities.DwgObjectType;
+import io.dwg.entities.concrete.DwgLayout;
+import io.dwg.entities.concrete.DwgLwPolyline;
+import io.dwg.entities.concrete.DwgXrecord;
+import io.dwg.sections.classes.DwgClassDefinition;
+import io.dwg.sections.classes.DwgClassRegistry;
+import io.dwg.sections.objects.ObjectDispatchTable;
+import io.dwg.sections.objects.ObjectReader;
+import io.dwg.sections.objects.ObjectTypeResolver;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * 커스텀 클래스(500 이상) 디스패치 테스트 (JUnit 없이 실행 가능)
+ * 클래스 번호가 Classes 섹션의 DXF 이름을 거쳐 타입/리더로 연결되는지 확인합니다.
+ */
+public class ClassDispatchTest {
+
+    private static int passCount = 0;
+    private static int failCount = 0;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("═══════════════════════════════════════════════════════════════");
+        System.out.println("  커스텀 클래스 디스패치 테스트");
+        System.out.println("═══════════════════════════════════════════════════════════════\n");
+
+        testSynthetic();
+        testSampleFiles(args.length > 0 ? args[0] : "samples");
+
+        System.out.println("\n═══════════════════════════════════════════════════════════════");
+        System.out.printf("  테스트 결과: %d 통과, %d 실패\n", passCount, failCount);
+        System.out.println("═══════════════════════════════════════════════════════════════");
+    }
+
+    private static void testSynthetic() {
+        System.out.println("\n[TEST 1] 합성 클래스 레지스트리");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        DwgClassRegistry classes = new DwgClassRegistry();
+        classes.register(classDef(500, "LWPOLYLINE"));
+        classes.register(classDef(612, "LAYOUT"));
+        classes.register(classDef(700, "ACME_WIDGET"));
+        classes.register(classDef(701, "ACME_UNKNOWN"));
+
+        ObjectReader widget = new ObjectReader() {
+            @Override public void read(DwgObject target, BitStreamReader r, DwgVersion v) { }
+            @Override public int objectType() { return -1; }
+        };
+        ObjectTypeResolver resolver = ObjectTypeResolver.defaultResolver(classes);
+        resolver.registerDxfName("ACME_WIDGET", widget);
+        ObjectDispatchTable table = ObjectDispatchTable.forDocument(resolver, classes);
+
+        ObjectDispatchTable.Entry lw = table.lookup(500);
+        report("500 → LWPOLYLINE 타입/리더", lw.type() == DwgObjectType.LWPLINE
+            && lw.create() instanceof DwgLwPolyline
+            && lw.reader() == resolver.reader(DwgObjectType.LWPLINE.typeCode()));
+        report("612 → LAYOUT (배열 범위 밖)", table.lookup(612).create() instanceof DwgLayout);
+        report("DXF 이름으로 등록한 리더", table.lookup(700).reader() == widget
+            && table.lookup(700).create() instanceof DwgXrecord);
+        report("모르는 DXF 이름은 fallback", table.lookup(701) == table.fallback());
+        report("표준 코드는 그대로", table.lookup(0x13).type() == DwgObjectType.LINE);
+    }
+
+    private static void testSampleFiles(String dir) throws Exception {
+        System.out.println("\n[TEST 2] 샘플 파일 (" + dir + ")");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        Path base = Paths.get(dir);
+        if (!Files.isDirectory(base)) {
+            System.out.println("  (샘플 디렉터리 없음 - 건너뜀)");
+            return;
+        }
+        try (var files = Files.list(base)) {
+            for (Path file : files.filter(p -> p.toString().toLowerCase().endsWith(".dwg")).sorted().toList()) {
+                DwgDocument doc;
+                try {
+                    doc = DwgReader.defaultReader().open(file);
+                } catch (Exception e) {
+                    System.out.println("  - " + file.getFileName() + ": 읽기 실패 (" + e.getMessage() + ")");
+                    continue;
+                }
+                if (doc.version().until(DwgVersion.R14) && doc.customClasses().isEmpty()) {
+                    continue;
+                }
+                int classObjects = 0;
+                int typed = 0;
+                for (DwgObject o : doc.objectMap().values()) {
+                    if (o.rawTypeCode() < 500) continue;
+                    String dxfName = doc.classRegistry().find(o.rawTypeCode())
+                        .map(DwgClassDefinition::dxfRecordName).orElse(null);
+                    if (dxfName == null) continue;
+                    classObjects++;
+                    if (DwgObjectType.fromDxfName(dxfName) == o.objectType()) typed++;
+                }
+                boolean namesClean = doc.customClasses().stream()
+                    .allMatch(c -> c.dxfRecordName() != null && c.dxfRecordName().equals(c.dxfRecordName().trim()));
+                report(String.format("%s: 클래스 %d개, 클래스 객체 %d개 중 표준 타입 %d개", file.getFileName(),
+                    doc.customClasses().size(), classObjects, typed),
+                    !doc.customClasses().isEmpty() && namesClean && typed > 0);
+            }
+        }
+    }
+
+    private static DwgClassDefinition classDef(int number, String dxfName) {
+        DwgClassDefinition def = new DwgClassDefinition();
+        def.setClassNumber(number);
+        def.setDxfRecordName(dxfName);
+        return def;
+    }
+
+    private static void report(String name, boolean ok) {
+        if (ok) {
+            System.out.println("  ✓ " + name);
+            passCount++;
+        } else {
+            System.out.println("  ✗ " + name);
+            failCount++;
+        }
+    }
+}
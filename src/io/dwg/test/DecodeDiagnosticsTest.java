@@ -0,0 +1,259 @@
+package io.dwg.test;
+
+import io.dwg.api.DwgDocument;
+import io.dwg.api.DwgReader;
+import io.dwg.core.exception.DwgDecodeException;
+import io.dwg.core.exception.DwgDiagnostics;
+import io.dwg.core.io.BitStreamReader;
+import io.dwg.core.io.BitStreamWriter;
+import io.dwg.core.io.ByteBufferBitInput;
+import io.dwg.core.version.DwgVersion;
+import io.dwg.entities.concrete.DwgDictionary;
+import io.dwg.format.common.FileHeaderFields;
+import io.dwg.format.common.SectionDescriptor;
+import io.dwg.format.r2004.R2004FileStructureHandler;
+import io.dwg.format.r2004.R2004PageMap;
+import io.dwg.format.r2004.R2004SectionMap;
+import io.dwg.sections.objects.readers.DictionaryObjectReader;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 디코딩 실패 기록 테스트 (JUnit 없이 실행 가능)
+ * 비트 스트림 실패가 종류/위치를 담은 스택 없는 예외로 나오고, 도면별 기록에 쌓이는지 확인하고,
+ * 실패 한 번의 비용을 일반 IllegalStateException과 비교합니다.
+ */
+public class DecodeDiagnosticsTest {
+
+    private static int passCount = 0;
+    private static int failCount = 0;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("═══════════════════════════════════════════════════════════════");
+        System.out.println("  디코딩 실패 기록 테스트");
+        System.out.println("═══════════════════════════════════════════════════════════════\n");
+
+        testDecodeException();
+        testDiagnostics();
+        testInvalidCount();
+        testSampleFiles(args.length > 0 ? args[0] : "samples");
+        testCorruptPages(args.length > 0 ? args[0] : "samples");
+        benchmark();
+
+        System.out.println("\n═══════════════════════════════════════════════════════════════");
+        System.out.printf("  테스트 결과: %d 통과, %d 실패\n", passCount, failCount);
+        System.out.println("═══════════════════════════════════════════════════════════════");
+    }
+
+    private static void testDecodeException() {
+        System.out.println("\n[TEST 1] BD opcode 11");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        // 3비트 건너뛴 뒤 BD opcode 11
+        byte[] data = {(byte) 0b0001_1000, 0};
+        ByteBufferBitInput in = new ByteBufferBitInput(data);
+        in.readBits(3);
+        BitStreamReader r = new BitStreamReader(in, DwgVersion.R2004);
+        try {
+            r.readBitDouble();
+            report("예외 발생", false);
+        } catch (DwgDecodeException e) {
+            report("종류 INVALID_BD_OPCODE", e.kind() == DwgDecodeException.Kind.INVALID_BD_OPCODE);
+            report("opcode 위치 (비트 3)", e.bitOffset() == 3);
+            report("스택 트레이스 없음", e.getStackTrace().length == 0);
+            report("IllegalStateException 호환", e instanceof IllegalStateException);
+        }
+    }
+
+    private static void testDiagnostics() {
+        System.out.println("\n[TEST 2] 실패 기록");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        DwgDiagnostics d = new DwgDiagnostics(3);
+        d.record(DwgDecodeException.Kind.INVALID_BD_OPCODE, 0x10, 0x13, 100);
+        d.record(new ArrayIndexOutOfBoundsException(), 0x11, 0x14, 200);
+        d.record(new DwgDecodeException(DwgDecodeException.Kind.INVALID_BDWMD_OPCODE, 77), 0x12, 0x15, 300);
+        d.record(new NullPointerException(), 0x13, 0x16, 400);
+        report("종류별 개수", d.count() == 4 && d.count(DwgDecodeException.Kind.OUT_OF_BOUNDS) == 1
+            && d.count(DwgDecodeException.Kind.READER_FAILED) == 1);
+        report("상세 기록은 용량까지만", d.entries().size() == 3);
+        DwgDiagnostics.Entry e = d.entries().get(2);
+        report("예외의 위치를 우선 사용", e.bitOffset() == 77 && e.handle() == 0x12 && e.typeCode() == 0x15);
+
+        DwgDiagnostics merged = new DwgDiagnostics();
+        merged.addAll(d);
+        merged.addAll(d);
+        report("병합 후 개수 보존", merged.count() == 8 && merged.entries().size() == 6);
+    }
+
+    private static void testInvalidCount() throws Exception {
+        System.out.println("\n[TEST 3] 잘못된 DICTIONARY 항목 수");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        // 리액터 0, xdic 없음, 소유자 NULL, 타입/복제 0, 항목 수 -5
+        BitStreamWriter w = new BitStreamWriter(DwgVersion.R2004);
+        w.writeBitLong(0);
+        w.getOutput().writeBit(false);
+        w.writeHandle(0);
+        w.writeBitShort(0);
+        w.writeBitShort(0);
+        w.writeBitLong(-5);
+        BitStreamReader r = new BitStreamReader(new ByteBufferBitInput(w.toByteArray()), DwgVersion.R2004);
+        try {
+            new DictionaryObjectReader().read(new DwgDictionary(), r, DwgVersion.R2004);
+            report("예외 발생", false);
+        } catch (DwgDecodeException e) {
+            report("종류 INVALID_COUNT, 개수 위치 " + e.bitOffset(), e.kind() == DwgDecodeException.Kind.INVALID_COUNT
+                && e.bitOffset() == 2 + 1 + 16 + 2 + 2);
+            DwgDiagnostics d = new DwgDiagnostics();
+            d.record(e, 0x2A0, 0x2A, -1);
+            report("진단 기록에 종류별로 집계", d.count(DwgDecodeException.Kind.INVALID_COUNT) == 1
+                && d.entries().get(0).bitOffset() == e.bitOffset());
+        }
+    }
+
+    private static void testSampleFiles(String dir) throws Exception {
+        System.out.println("\n[TEST 4] 샘플 파일 (" + dir + ")");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        Path base = Paths.get(dir);
+        if (!Files.isDirectory(base)) {
+            System.out.println("  (샘플 디렉터리 없음 - 건너뜀)");
+            return;
+        }
+        try (var files = Files.list(base)) {
+            for (Path file : files.filter(p -> p.toString().toLowerCase().endsWith(".dwg")).sorted().toList()) {
+                DwgDocument doc;
+                try {
+                    doc = DwgReader.defaultReader().open(file);
+                } catch (Exception ex) {
+                    System.out.println("  - " + file.getFileName() + ": 읽기 실패 (" + ex.getMessage() + ")");
+                    continue;
+                }
+                DwgDiagnostics d = doc.diagnostics();
+                boolean located = d.entries().stream().allMatch(en -> en.bitOffset() >= 0
+                    && (en.handle() < 0 || doc.handleRegistry().offsetFor(en.handle()).isPresent()));
+                report(String.format("%s: 객체 %d개, %s", file.getFileName(), doc.objectMap().size(), d),
+                    located);
+            }
+        }
+    }
+
+    private static void testCorruptPages(String dir) throws Exception {
+        System.out.println("\n[TEST 5] 손상된 섹션 페이지 (" + dir + ")");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        Path file = Paths.get(dir, "example_2004.dwg");
+        if (!Files.isRegularFile(file)) {
+            System.out.println("  (example_2004.dwg 없음 - 건너뜀)");
+            return;
+        }
+        byte[] original = Files.readAllBytes(file);
+        FileHeaderFields header = new R2004FileStructureHandler().readHeader(new ByteBufferBitInput(original));
+        R2004PageMap pages = R2004PageMap.read(new ByteBufferBitInput(original), header.sectionMapOffset());
+        R2004SectionMap sectionMap = R2004SectionMap.read(new ByteBufferBitInput(original), pages,
+            header.sectionMapId());
+        SectionDescriptor objects = sectionMap.descriptors().stream()
+            .filter(d -> d.name().equals("AcDb:AcDbObjects")).findFirst().orElseThrow();
+        long pageId = objects.pages().get(objects.pages().size() - 1).pageId();
+        int offset = (int) pages.offsetOf(pageId);
+
+        // 페이지 헤더 손상 → 페이지를 찾지 못함
+        byte[] data = original.clone();
+        Arrays.fill(data, offset, offset + 32, (byte) 0);
+        List<DwgDiagnostics.PageEntry> found = DwgReader.defaultReader().open(data).diagnostics().pages();
+        report("헤더 손상: PAGE_UNREADABLE, 섹션/페이지/오프셋 기록", found.contains(new DwgDiagnostics.PageEntry(
+            DwgDecodeException.Kind.PAGE_UNREADABLE, "AcDb:AcDbObjects", pageId, offset)));
+
+        // 압축 데이터 손상 → 압축 해제 실패 (순차/파이프라인 경로 모두)
+        data = original.clone();
+        Arrays.fill(data, offset + 32, offset + 32 + 64, (byte) 0xFF);
+        DwgDiagnostics.PageEntry expected = new DwgDiagnostics.PageEntry(
+            DwgDecodeException.Kind.PAGE_DECOMPRESS_FAILED, "AcDb:AcDbObjects", pageId, offset);
+        report("압축 데이터 손상: PAGE_DECOMPRESS_FAILED",
+            DwgReader.defaultReader().open(data).diagnostics().pages().contains(expected));
+        report("파이프라인 읽기도 기록",
+            DwgReader.defaultReader().pipelined().open(data).diagnostics().pages().contains(expected));
+
+        // 페이지 맵 손상 → 페이지 스캔으로 대체
+        data = original.clone();
+        int mapOffset = (int) header.sectionMapOffset() + 0x100;
+        Arrays.fill(data, mapOffset, mapOffset + 20, (byte) 0);
+        DwgDocument doc = DwgReader.defaultReader().open(data);
+        report("맵 손상: SECTION_MAP_UNREADABLE, 페이지 스캔으로 객체 " + doc.objectMap().size() + "개",
+            doc.diagnostics().pages().contains(new DwgDiagnostics.PageEntry(
+                DwgDecodeException.Kind.SECTION_MAP_UNREADABLE, "", header.pageMapId(), mapOffset))
+            && doc.diagnostics().count(DwgDecodeException.Kind.SECTION_MAP_UNREADABLE) == 1);
+    }
+
+    private static void benchmark() {
+        System.out.println("\n[TEST 6] 실패 한 번의 비용");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        int n = 200_000;
+        long legacy = 0;
+        long current = 0;
+        int sink = 0;
+        for (int round = 0; round < 5; round++) {
+            long t0 = System.nanoTime();
+            for (int i = 0; i < n; i++) {
+                try {
+                    throwLegacy(i);
+                } catch (IllegalStateException e) {
+                    // 이전 parseObjectAt처럼 메시지 문자열로 판정
+                    if (e.getMessage() != null && e.getMessage().contains("Invalid BL opcode")) sink++;
+                }
+            }
+            long t1 = System.nanoTime();
+            DwgDiagnostics d = new DwgDiagnostics();
+            for (int i = 0; i < n; i++) {
+                try {
+                    throwCurrent(i);
+                } catch (DwgDecodeException e) {
+                    d.record(e, i, 0x13, -1);
+                }
+            }
+            long t2 = System.nanoTime();
+            sink += (int) d.count();
+            if (round > 0) {  // 첫 회는 워밍업
+                legacy += t1 - t0;
+                current += t2 - t1;
+            }
+        }
+        double perLegacy = legacy / 4.0 / n;
+        double perCurrent = current / 4.0 / n;
+        report(String.format("IllegalStateException+문자열 %.0f ns/건, 스택 없는 예외+기록 %.0f ns/건 (%.1fx)",
+            perLegacy, perCurrent, perLegacy / perCurrent), sink != 0 && perCurrent < perLegacy);
+    }
+
+    // 리더 몇 단계 아래에서 던지는 상황 흉내
+    private static void throwLegacy(int depth) {
+        if ((depth & 7) != 0) {
+            throwLegacy(depth - 1);
+            return;
+        }
+        throw new IllegalStateException("Invalid BD opcode 11");
+    }
+
+    private static void throwCurrent(int depth) {
+        if ((depth & 7) != 0) {
+            throwCurrent(depth - 1);
+            return;
+        }
+        throw new DwgDecodeException(DwgDecodeException.Kind.INVALID_BD_OPCODE, depth);
+    }
+
+    private static void report(String name, boolean ok) {
+        if (ok) {
+            System.out.println("  ✓ " + name);
+            passCount++;
+        } else {
+            System.out.println("  ✗ " + name);
+            failCount++;
+        }
+    }
+}
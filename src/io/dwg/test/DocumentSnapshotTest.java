@@ -0,0 +1,240 @@
+package io.dwg.test;
+
+import io.dwg.api.DwgDocument;
+import io.dwg.api.DwgSnapshot;
+import io.dwg.api.DwgTransaction;
+import io.dwg.core.util.PersistentLongMap;
+import io.dwg.core.version.DwgVersion;
+import io.dwg.entities.DwgObject;
+import io.dwg.entities.concrete.DwgLine;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 문서 스냅샷/트랜잭션 테스트 (JUnit 없이 실행 가능)
+ * 영속 맵을 HashMap과 비교하고, 스냅샷이 이후 커밋과 무관하게 남는지, 충돌한 커밋을 거부하는지,
+ * 편집 중에도 읽는 스레드가 항상 한 버전 전체를 보는지 확인합니다.
+ */
+public class DocumentSnapshotTest {
+
+    private static int passCount = 0;
+    private static int failCount = 0;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("═══════════════════════════════════════════════════════════════");
+        System.out.println("  문서 스냅샷/트랜잭션 테스트");
+        System.out.println("═══════════════════════════════════════════════════════════════\n");
+
+        testPersistentMap();
+        testSnapshotIsolation();
+        testTransactions();
+        testConcurrentReaders();
+
+        System.out.println("\n═══════════════════════════════════════════════════════════════");
+        System.out.printf("  테스트 결과: %d 통과, %d 실패\n", passCount, failCount);
+        System.out.println("═══════════════════════════════════════════════════════════════");
+    }
+
+    private static void testPersistentMap() {
+        System.out.println("\n[TEST 1] 영속 맵 = HashMap (무작위 추가/교체/제거)");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        Random random = new Random(7);
+        Map<Long, Integer> expected = new HashMap<>();
+        PersistentLongMap<Integer> map = PersistentLongMap.empty();
+        PersistentLongMap.Builder<Integer> builder = PersistentLongMap.<Integer>empty().builder();
+        List<PersistentLongMap<Integer>> versions = new ArrayList<>();
+        List<Map<Long, Integer>> versionContents = new ArrayList<>();
+        boolean same = true;
+        for (int i = 0; i < 200_000; i++) {
+            // 연속 핸들, 흩어진 핸들, 상위 비트만 다른 키를 섞는다
+            long key = switch (random.nextInt(3)) {
+                case 0 -> 0x100 + random.nextInt(5000);
+                case 1 -> random.nextLong() & 0xFFFF_FFFFL;
+                default -> ((long) random.nextInt(8) << 60) | random.nextInt(4);
+            };
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                map = map.without(key);
+                builder.remove(key);
+            } else {
+                int value = random.nextInt();
+                expected.put(key, value);
+                map = map.with(key, value);
+                builder.put(key, value);
+            }
+            if (i % 20_000 == 0) {
+                versions.add(map);
+                versionContents.add(new HashMap<>(expected));
+            }
+            if (i % 997 == 0) same &= map.get(key) == null ? !expected.containsKey(key) : map.get(key).equals(expected.get(key));
+        }
+        report("크기 " + expected.size(), map.size() == expected.size() && builder.size() == expected.size());
+        report("조회 일치", same && map.asMap().equals(expected));
+        report("빌더 결과 일치", builder.build().asMap().equals(expected));
+        report("순회 항목 수 = 크기", map.asMap().entrySet().stream().count() == expected.size());
+
+        boolean kept = true;
+        for (int i = 0; i < versions.size(); i++) kept &= versions.get(i).asMap().equals(versionContents.get(i));
+        report("이전 버전 " + versions.size() + "개가 그대로", kept);
+
+        // build() 뒤 빌더를 더 고쳐도 만든 맵은 그대로
+        PersistentLongMap.Builder<Integer> b = PersistentLongMap.<Integer>empty().builder();
+        for (long k = 0; k < 100; k++) b.put(k, (int) k);
+        PersistentLongMap<Integer> built = b.build();
+        for (long k = 0; k < 100; k += 2) b.remove(k);
+        b.put(1, -1);
+        report("build() 뒤 빌더 수정은 영향 없음",
+            built.size() == 100 && built.get(0) == 0 && built.get(1) == 1 && b.size() == 50 && b.get(1) == -1);
+
+        // 모두 지우면 빈 맵
+        PersistentLongMap<Integer> cleared = map;
+        for (long k : expected.keySet()) cleared = cleared.without(k);
+        report("모두 제거하면 빈 맵", cleared.isEmpty() && !cleared.asMap().entrySet().iterator().hasNext());
+    }
+
+    private static void testSnapshotIsolation() {
+        System.out.println("\n[TEST 2] 스냅샷은 이후 편집에 영향받지 않음");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        DwgDocument doc = new DwgDocument(DwgVersion.R2004);
+        for (long h = 0x100; h < 0x100 + 1000; h++) doc.addObject(line(h, 0));
+        DwgSnapshot before = doc.snapshot();
+
+        doc.addObject(line(0x100, 5));
+        doc.removeObject(0x101);
+        doc.addObject(line(0x5000, 0));
+        DwgSnapshot after = doc.snapshot();
+
+        report("이전 스냅샷 그대로", before.size() == 1000 && thickness(before.object(0x100)) == 0
+            && before.object(0x101) != null && before.object(0x5000) == null);
+        report("새 스냅샷에 반영", after.size() == 1000 && thickness(after.object(0x100)) == 5
+            && after.object(0x101) == null && after.object(0x5000) != null);
+        report("버전 번호 증가", after.version() == before.version() + 3);
+        report("바뀐 핸들은 버전마다", after.modifiedHandles().size() == 1001 && before.modifiedHandles().size() == 1000);
+
+        doc.setSource(null);
+        report("setSource 뒤 수정 기록 없음 (이전 스냅샷은 유지)",
+            doc.modifiedHandles().isEmpty() && after.modifiedHandles().size() == 1001);
+        doc.markModified(0x102);
+        report("markModified", doc.snapshot().isModified(0x102) && doc.modifiedHandles().size() == 1);
+        report("색인 = 스냅샷", doc.objectIndex().countOf(DwgLine.class) == doc.snapshot().size()
+            && doc.entities().size() == doc.snapshot().size());
+    }
+
+    private static void testTransactions() {
+        System.out.println("\n[TEST 3] 트랜잭션 커밋과 충돌");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        DwgDocument doc = new DwgDocument(DwgVersion.R2004);
+        for (long h = 0x100; h < 0x110; h++) doc.addObject(line(h, 0));
+
+        DwgTransaction tx = doc.begin();
+        tx.put(line(0x200, 1));
+        tx.remove(0x100);
+        report("커밋 전에는 보이지 않음", doc.snapshot().object(0x200) == null && doc.snapshot().object(0x100) != null);
+        report("트랜잭션 안에서는 보임", tx.object(0x200) != null && tx.object(0x100) == null);
+        DwgSnapshot committed = tx.commit();
+        report("커밋 후 반영", doc.snapshot() == committed && committed.object(0x200) != null
+            && committed.object(0x100) == null && doc.layers().isEmpty() && doc.entities().size() == 16);
+
+        DwgTransaction first = doc.begin();
+        DwgTransaction second = doc.begin();
+        first.put(line(0x300, 0));
+        second.put(line(0x301, 0));
+        first.commit();
+        boolean rejected;
+        try {
+            second.commit();
+            rejected = false;
+        } catch (ConcurrentModificationException e) {
+            rejected = true;
+        }
+        report("늦게 커밋한 쪽은 ConcurrentModificationException", rejected && doc.snapshot().object(0x301) == null);
+
+        AtomicInteger attempts = new AtomicInteger();
+        DwgSnapshot retried = doc.edit(t -> {
+            if (attempts.incrementAndGet() == 1) doc.addObject(line(0x400, 0));  // 중간에 끼어든 커밋
+            t.put(line(0x401, 0));
+        });
+        report("edit()는 충돌하면 다시 실행", attempts.get() == 2
+            && retried.object(0x400) != null && retried.object(0x401) != null);
+    }
+
+    private static void testConcurrentReaders() throws Exception {
+        System.out.println("\n[TEST 4] 편집 중 여러 스레드에서 읽기");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        int count = 5000;
+        DwgDocument doc = new DwgDocument(DwgVersion.R2004);
+        doc.edit(tx -> {
+            for (long h = 0; h < count; h++) tx.put(line(0x100 + h, 0));
+        });
+
+        // 편집 한 번마다 모든 LINE의 두께를 같은 값으로 바꾼다: 읽는 쪽은 항상 한 가지 두께만 봐야 한다
+        AtomicBoolean stop = new AtomicBoolean();
+        AtomicLong reads = new AtomicLong();
+        AtomicInteger torn = new AtomicInteger();
+        List<Thread> readers = new ArrayList<>();
+        for (int r = 0; r < 4; r++) {
+            Thread reader = new Thread(() -> {
+                while (!stop.get()) {
+                    DwgSnapshot s = doc.snapshot();
+                    double t = thickness(s.object(0x100));
+                    for (DwgObject o : s.objectMap().values()) {
+                        if (thickness(o) != t) {
+                            torn.incrementAndGet();
+                            break;
+                        }
+                    }
+                    if (s.size() != count) torn.incrementAndGet();
+                    reads.incrementAndGet();
+                }
+            });
+            reader.start();
+            readers.add(reader);
+        }
+        int generations = 50;
+        for (int g = 1; g <= generations; g++) {
+            int thickness = g;
+            doc.edit(tx -> {
+                for (long h = 0; h < count; h++) tx.put(line(0x100 + h, thickness));
+            });
+        }
+        stop.set(true);
+        for (Thread reader : readers) reader.join();
+
+        report("읽기 " + reads.get() + "번 모두 한 버전만 봄", torn.get() == 0 && reads.get() > 0);
+        report("마지막 버전", thickness(doc.snapshot().object(0x100 + count - 1)) == generations);
+        report("색인 = 스냅샷", doc.objectIndex().countOf(DwgLine.class) == count);
+    }
+
+    private static double thickness(DwgObject obj) {
+        return obj instanceof DwgLine line ? line.thickness() : -1;
+    }
+
+    private static DwgLine line(long handle, double thickness) {
+        DwgLine line = new DwgLine();
+        line.setHandle(handle);
+        line.setThickness(thickness);
+        return line;
+    }
+
+    private static void report(String name, boolean ok) {
+        if (ok) {
+            System.out.println("  ✓ " + name);
+            passCount++;
+        } else {
+            System.out.println("  ✗ " + name);
+            failCount++;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package io.dwg.test;
+
+import io.dwg.api.DwgBulkBuilder;
+import io.dwg.api.DwgDocument;
+import io.dwg.api.DwgReader;
+import io.dwg.api.DwgWriter;
+import io.dwg.core.io.LargeByteBuffer;
+import io.dwg.core.type.Point2D;
+import io.dwg.core.version.DwgVersion;
+import io.dwg.entities.DwgObject;
+import io.dwg.entities.concrete.DwgLine;
+import io.dwg.entities.concrete.DwgLwPolyline;
+import io.dwg.sections.objects.EntityCursor;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * 엔티티 커서 테스트 (JUnit 없이 실행 가능)
+ * 객체를 만들지 않는 커서가 읽은 LINE/LWPOLYLINE 값이 같은 파일을 DwgReader.open으로 읽어 만든 객체와 같은지,
+ * 커서만으로 구한 경계 상자가 객체로 구한 것과 같은지 확인합니다.
+ */
+public class EntityCursorTest {
+
+    private static int passCount = 0;
+    private static int failCount = 0;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("═══════════════════════════════════════════════════════════════");
+        System.out.println("  엔티티 커서 테스트");
+        System.out.println("═══════════════════════════════════════════════════════════════\n");
+
+        for (String name : new String[] {"example_2000.dwg", "example_2004.dwg", "example_2007.dwg",
+                "example_2010.dwg", "example_2013.dwg", "example_2018.dwg"}) {
+            Path file = Paths.get("samples", name);
+            if (Files.exists(file)) testSameAsObjects(file);
+        }
+        testBulkFile();
+
+        System.out.println("\n═══════════════════════════════════════════════════════════════");
+        System.out.printf("  테스트 결과: %d 통과, %d 실패\n", passCount, failCount);
+        System.out.println("═══════════════════════════════════════════════════════════════");
+    }
+
+    private static void testSameAsObjects(Path file) throws Exception {
+        System.out.println("\n[TEST] " + file.getFileName() + ": 커서 = 객체");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        DwgDocument doc = DwgReader.defaultReader().open(file);
+        EntityCursor cursor = DwgReader.defaultReader().cursor(file);
+        compare(doc, cursor);
+
+        EntityCursor other = cursor.copy();
+        int again = 0;
+        while (other.next()) again++;
+        cursor.reset();
+        int fromReset = 0;
+        while (cursor.next()) fromReset++;
+        report("copy()/reset()은 처음부터 같은 객체 수", again == fromReset && again > 0);
+    }
+
+    private static void testBulkFile() throws Exception {
+        System.out.println("\n[TEST] 대량 빌더 파일: 커서 = 객체, 객체 없이 경계 상자");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        Random random = new Random(11);
+        DwgBulkBuilder bulk = new DwgBulkBuilder(DwgVersion.R2004);
+        double[] xy = new double[4 * 20_000];
+        for (int i = 0; i < xy.length; i++) xy[i] = random.nextDouble() * 1000 - 500;
+        bulk.lines(xy, 0, 20_000);
+        bulk.lwPolyline(new double[] {-600, 1, 700, 2, 3, 900}, 0, 3, true);
+        bulk.line(1, 2, 3, 4, 5, 6);
+        byte[] bytes = DwgWriter.forVersion(DwgVersion.R2004).toBytes(bulk);
+
+        DwgDocument doc = DwgReader.defaultReader().open(bytes);
+        EntityCursor cursor = DwgReader.defaultReader().cursor(LargeByteBuffer.wrap(bytes));
+        compare(doc, cursor);
+
+        // 객체의 경계 상자와 커서만으로 구한 경계 상자
+        double[] expected = emptyBox();
+        for (DwgObject obj : doc.objectMap().values()) {
+            if (obj instanceof DwgLine line && line.end() != null) {
+                include(expected, line.start().x(), line.start().y());
+                include(expected, line.end().x(), line.end().y());
+            } else if (obj instanceof DwgLwPolyline p) {
+                for (Point2D v : p.vertices()) include(expected, v.x(), v.y());
+            }
+        }
+        double[] box = emptyBox();
+        int lines = 0;
+        int polylines = 0;
+        cursor.reset();
+        while (cursor.next()) {
+            if (cursor.isLine()) {
+                lines++;
+                if (cursor.decodeFailed()) continue;
+                include(box, cursor.startX(), cursor.startY());
+                include(box, cursor.endX(), cursor.endY());
+            } else if (cursor.isLwPolyline()) {
+                polylines++;
+                for (int i = 0; i < cursor.vertexCount(); i++) include(box, cursor.vertexX(i), cursor.vertexY(i));
+            }
+        }
+        report("LINE 20001개 + LWPOLYLINE 1개", lines == 20_001 && polylines == 1 && cursor.count() == 20_002);
+        report("경계 상자 = 객체로 구한 값", Arrays.equals(box, expected));
+
+        boolean rejected;
+        cursor.moveTo(0);
+        try {
+            cursor.vertexCount();
+            rejected = false;
+        } catch (IllegalStateException e) {
+            rejected = true;
+        }
+        report("다른 타입 필드를 물으면 IllegalStateException", rejected && cursor.isLine());
+    }
+
+    /** 디코딩에 성공한 LINE/LWPOLYLINE마다 커서 값 = 파서가 만든 객체 값 */
+    private static void compare(DwgDocument doc, EntityCursor cursor) {
+        int lines = 0;
+        int polylines = 0;
+        int mismatches = 0;
+        cursor.reset();
+        while (cursor.next()) {
+            DwgObject obj = doc.objectMap().get(cursor.handle());
+            if (cursor.isLine()) {
+                if (cursor.decodeFailed()) continue;
+                lines++;
+                if (!(obj instanceof DwgLine line) || line.end() == null
+                        || !same(cursor.startX(), line.start().x()) || !same(cursor.startY(), line.start().y())
+                        || !same(cursor.startZ(), line.start().z()) || !same(cursor.endX(), line.end().x())
+                        || !same(cursor.endY(), line.end().y()) || !same(cursor.endZ(), line.end().z())
+                        || !same(cursor.thickness(), line.thickness())) {
+                    mismatches++;
+                }
+            } else if (cursor.isLwPolyline()) {
+                if (cursor.decodeFailed()) continue;
+                polylines++;
+                boolean ok = obj instanceof DwgLwPolyline p && cursor.flags() == p.flags()
+                    && cursor.vertexCount() == p.vertexCount();
+                for (int i = 0; ok && i < cursor.vertexCount(); i++) {
+                    Point2D v = ((DwgLwPolyline) obj).vertices().get(i);
+                    ok = same(cursor.vertexX(i), v.x()) && same(cursor.vertexY(i), v.y());
+                }
+                if (!ok) mismatches++;
+            }
+        }
+        report("객체 " + cursor.count() + "개 중 LINE " + lines + "개, LWPOLYLINE " + polylines + "개 값 일치",
+            mismatches == 0 && cursor.count() > 0);
+    }
+
+    private static double[] emptyBox() {
+        return new double[] {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+            Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+    }
+
+    private static void include(double[] box, double x, double y) {
+        box[0] = Math.min(box[0], x);
+        box[1] = Math.min(box[1], y);
+        box[2] = Math.max(box[2], x);
+        box[3] = Math.max(box[3], y);
+    }
+
+    private static boolean same(double a, double b) {
+        return Double.compare(a, b) == 0 || a == b;
+    }
+
+    private static void report(String name, boolean ok) {
+        if (ok) {
+            System.out.println("  ✓ " + name);
+            passCount++;
+        } else {
+            System.out.println("  ✗ " + name);
+            failCount++;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package io.dwg.test;
+
+import io.dwg.core.io.BitStreamReader;
+import io.dwg.core.io.ByteBufferBitInput;
+import io.dwg.core.io.SectionInputStream;
+import io.dwg.core.util.CrcCalculator;
+import io.dwg.core.version.DwgVersion;
+import io.dwg.core.version.DwgVersionDetector;
+import io.dwg.format.common.DwgFileStructureHandler;
+import io.dwg.format.common.DwgFileStructureHandlerFactory;
+import io.dwg.format.common.FileHeaderFields;
+import io.dwg.sections.handles.HandleRegistry;
+import io.dwg.sections.handles.HandlesParsingUtil;
+import io.dwg.sections.objects.ObjectStreamScanner;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Handles 섹션 페이지 파싱 테스트 (JUnit 없이 실행 가능)
+ * 페이지마다 증분이 0에서 시작하는 규칙, 병렬/순차 결과 일치, 기본형 핸들 맵 동작을 확인하고,
+ * 핸들 100만 개 섹션에서 기존 방식(순차 + HashMap)과 시간을 비교합니다.
+ */
+public class HandlesPageParsingTest {
+
+    private static int passCount = 0;
+    private static int failCount = 0;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("═══════════════════════════════════════════════════════════════");
+        System.out.println("  Handles 섹션 페이지 파싱 테스트");
+        System.out.println("═══════════════════════════════════════════════════════════════\n");
+
+        testRegistry();
+        testSynthetic();
+        testSampleFiles(args.length > 0 ? args[0] : "samples");
+        benchmark();
+
+        System.out.println("\n═══════════════════════════════════════════════════════════════");
+        System.out.printf("  테스트 결과: %d 통과, %d 실패\n", passCount, failCount);
+        System.out.println("═══════════════════════════════════════════════════════════════");
+    }
+
+    private static void testRegistry() {
+        System.out.println("\n[TEST 1] 기본형 핸들 맵");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        HandleRegistry registry = new HandleRegistry();
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(39);
+        for (int i = 0; i < 200_000; i++) {
+            long h = random.nextInt(300_000);
+            long off = random.nextInt(1 << 30);
+            registry.put(h, off);
+            expected.put(h, off);
+        }
+        boolean same = registry.size() == expected.size();
+        for (Map.Entry<Long, Long> e : expected.entrySet()) {
+            same &= registry.offsetOf(e.getKey()) == e.getValue();
+        }
+        report("HashMap과 같은 내용 (0 포함, 덮어쓰기)", same && registry.contains(0) == expected.containsKey(0L));
+        Set<Long> iterated = new HashSet<>(registry.allHandles());
+        report("allHandles 순회", iterated.equals(expected.keySet()));
+        report("없는 핸들은 -1 / empty", registry.offsetOf(999_999) == -1
+            && registry.offsetFor(999_999).isEmpty());
+    }
+
+    private static void testSynthetic() {
+        System.out.println("\n[TEST 2] 합성 섹션");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        long[][] entries = entries(20_000, new Random(1));
+        byte[] section = encode(entries[0], entries[1], entries[0].length);
+
+        HandleRegistry sequential = new HandleRegistry();
+        HandlesParsingUtil.parseHandlesPages(section, sequential, false);
+        HandleRegistry parallel = new HandleRegistry();
+        HandlesParsingUtil.parseHandlesPages(section, parallel, true);
+
+        boolean ok = sequential.size() == entries[0].length;
+        for (int i = 0; i < entries[0].length; i++) {
+            ok &= sequential.offsetOf(entries[0][i]) == entries[1][i]
+                && parallel.offsetOf(entries[0][i]) == entries[1][i];
+        }
+        report(String.format("핸들 %d개 (여러 페이지, 음수 오프셋 증분 포함) 복원", entries[0].length), ok);
+        report("병렬 = 순차", parallel.size() == sequential.size());
+    }
+
+    private static void testSampleFiles(String dir) throws Exception {
+        System.out.println("\n[TEST 3] 샘플 파일 (" + dir + ")");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        String[] names = {"example_r14.dwg", "example_2000.dwg", "example_2004.dwg", "example_2018.dwg",
+            "2018/Dynblocks.dwg"};
+        for (String name : names) {
+            Path file = Paths.get(dir, name);
+            if (!Files.exists(file)) {
+                System.out.println("  - " + name + ": 없음");
+                continue;
+            }
+            byte[] data = Files.readAllBytes(file);
+            DwgVersion version = DwgVersionDetector.detect(data);
+            DwgFileStructureHandler handler = DwgFileStructureHandlerFactory.forVersion(version);
+            FileHeaderFields fields = handler.readHeader(new ByteBufferBitInput(data));
+            Map<String, SectionInputStream> sections = handler.readSections(new ByteBufferBitInput(data), fields);
+            SectionInputStream objects = sections.getOrDefault("AcDb:AcDbObjects", sections.get("AcDb:Objects"));
+            byte[] raw = objects != null ? objects.rawBytes() : data;
+
+            HandleRegistry registry = new HandleRegistry();
+            HandlesParsingUtil.parseHandlesPages(sections.get("AcDb:Handles").rawBytes(), registry, true);
+
+            // 핸들 맵 오프셋마다 CRC가 맞는 객체가 있는지
+            Set<Long> valid = new HashSet<>();
+            ObjectStreamScanner scanner = new ObjectStreamScanner(raw, version, code -> true);
+            for (ObjectStreamScanner.Candidate c = scanner.next(); c != null; c = scanner.next()) {
+                valid.add(c.offset());
+            }
+            int[] hit = {0};
+            registry.forEach((h, off) -> {
+                if (valid.contains(off)) hit[0]++;
+            });
+            report(String.format("%s: 핸들 %d개 중 %d개가 CRC 맞는 객체를 가리킴", name, registry.size(), hit[0]),
+                hit[0] == registry.size());
+        }
+    }
+
+    private static void benchmark() {
+        System.out.println("\n[TEST 4] 핸들 100만 개");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        long[][] entries = entries(1_000_000, new Random(2));
+        byte[] section = encode(entries[0], entries[1], entries[0].length);
+
+        long legacy = Long.MAX_VALUE;
+        long sequential = Long.MAX_VALUE;
+        long parallel = Long.MAX_VALUE;
+        int sizes = 0;
+        for (int round = 0; round < 5; round++) {
+            long t0 = System.nanoTime();
+            sizes += legacyParse(section).size();
+            long t1 = System.nanoTime();
+            HandleRegistry a = new HandleRegistry();
+            HandlesParsingUtil.parseHandlesPages(section, a, false);
+            long t2 = System.nanoTime();
+            HandleRegistry b = new HandleRegistry();
+            HandlesParsingUtil.parseHandlesPages(section, b, true);
+            long t3 = System.nanoTime();
+            sizes += a.size() + b.size();
+            legacy = Math.min(legacy, t1 - t0);
+            sequential = Math.min(sequential, t2 - t1);
+            parallel = Math.min(parallel, t3 - t2);
+        }
+        report(String.format("%d KB: 기존(순차+HashMap) %.1f ms, 페이지 순차 %.1f ms, 페이지 병렬 %.1f ms (%.1fx)",
+            section.length >> 10, legacy / 1e6, sequential / 1e6, parallel / 1e6, (double) legacy / parallel),
+            sizes == 15 * entries[0].length && parallel < legacy);
+    }
+
+    /** 오름차순 핸들과 대체로 증가하지만 가끔 줄어드는 오프셋 */
+    private static long[][] entries(int n, Random random) {
+        long[] handles = new long[n];
+        long[] offsets = new long[n];
+        long h = 0;
+        long off = 0;
+        for (int i = 0; i < n; i++) {
+            h += 1 + (random.nextInt(10) == 0 ? random.nextInt(5000) : 0);
+            off = Math.max(0, off + (random.nextInt(20) == 0 ? -random.nextInt(4000) : random.nextInt(600)));
+            handles[i] = h;
+            offsets[i] = off;
+        }
+        return new long[][] {handles, offsets};
+    }
+
+    /** 페이지(최대 2032바이트 데이터)마다 증분을 0부터 다시 시작해 인코딩 */
+    private static byte[] encode(long[] handles, long[] offsets, int n) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int i = 0;
+        while (i < n) {
+            ByteArrayOutputStream page = new ByteArrayOutputStream();
+            page.write(0);
+            page.write(0);
+            long lastHandle = 0;
+            long lastOffset = 0;
+            while (i < n && page.size() < 2030) {
+                writeUmc(page, handles[i] - lastHandle);
+                writeMc(page, offsets[i] - lastOffset);
+                lastHandle = handles[i];
+                lastOffset = offsets[i];
+                i++;
+            }
+            byte[] bytes = page.toByteArray();
+            bytes[0] = (byte) (bytes.length >> 8);
+            bytes[1] = (byte) bytes.length;
+            int crc = CrcCalculator.Crc16Calculator.compute(0xC0C1, bytes, 0, bytes.length);
+            out.writeBytes(bytes);
+            out.write(crc >> 8);
+            out.write(crc);
+        }
+        out.write(0);
+        out.write(2);
+        out.write(0);
+        out.write(0);
+        return out.toByteArray();
+    }
+
+    private static void writeUmc(ByteArrayOutputStream out, long value) {
+        do {
+            int b = (int) (value & 0x7F);
+            value >>>= 7;
+            out.write(value != 0 ? b | 0x80 : b);
+        } while (value != 0);
+    }
+
+    private static void writeMc(ByteArrayOutputStream out, long value) {
+        boolean negative = value < 0;
+        long v = Math.abs(value);
+        while (v >= 0x40) {
+            out.write((int) (v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        out.write((int) v | (negative ? 0x40 : 0));
+    }
+
+    /** 이전 방식: BitStreamReader로 페이지를 차례로 읽어 박싱된 HashMap에 넣기 (증분은 페이지마다 0부터) */
+    private static Map<Long, Long> legacyParse(byte[] raw) {
+        Map<Long, Long> map = new HashMap<>();
+        BitStreamReader reader = new BitStreamReader(new ByteBufferBitInput(raw), DwgVersion.R2004);
+        while (!reader.isEof()) {
+            int pageSize = reader.readBigEndianShort();
+            if (pageSize <= 2) break;
+            long end = reader.position() + (pageSize - 2) * 8L;
+            long lastHandle = 0;
+            long lastOffset = 0;
+            while (reader.position() < end) {
+                lastHandle += reader.readUnsignedModularChar();
+                lastOffset += reader.readModularChar();
+                map.put(lastHandle, lastOffset);
+            }
+            reader.readBigEndianShort();
+        }
+        return map;
+    }
+
+    private static void report(String name, boolean ok) {
+        if (ok) {
+            System.out.println("  ✓ " + name);
+            passCount++;
+        } else {
+            System.out.println("  ✗ " + name);
+            failCount++;
+        }
+    }
+}
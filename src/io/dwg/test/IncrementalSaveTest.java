@@ -0,0 +1,255 @@
+package io.dwg.test;
+
+import io.dwg.api.DwgDocument;
+import io.dwg.api.DwgReader;
+import io.dwg.api.DwgWriter;
+import io.dwg.core.exception.DwgWriteException;
+import io.dwg.core.io.ByteBufferBitInput;
+import io.dwg.core.io.LargeByteBuffer;
+import io.dwg.core.io.SectionInputStream;
+import io.dwg.core.type.Point3D;
+import io.dwg.core.version.DwgVersion;
+import io.dwg.entities.DwgObject;
+import io.dwg.entities.concrete.DwgLine;
+import io.dwg.format.common.FileHeaderFields;
+import io.dwg.format.common.SectionDescriptor;
+import io.dwg.format.common.SectionType;
+import io.dwg.format.r2004.R2004FileStructureHandler;
+import io.dwg.format.r2004.R2004SourceFile;
+import io.dwg.sections.handles.HandleRegistry;
+import io.dwg.sections.handles.HandlesParsingUtil;
+import io.dwg.sections.objects.ObjectsSectionWriter;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 증분 저장 테스트 (JUnit 없이 실행 가능)
+ * 읽은 도면에서 객체 몇 개만 바꿔 저장했을 때 원본 Objects 바이트가 그대로 남고,
+ * 바뀐 객체만 뒤에 덧붙으며, Handles 섹션이 새 위치를 가리키는지 확인합니다.
+ * AutoCAD가 저장한 샘플 파일(압축하지 않은 섹션 포함)도 증분 저장해 봅니다.
+ */
+public class IncrementalSaveTest {
+
+    private static int passCount = 0;
+    private static int failCount = 0;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("═══════════════════════════════════════════════════════════════");
+        System.out.println("  증분 저장 테스트");
+        System.out.println("═══════════════════════════════════════════════════════════════\n");
+
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        Path dir = Files.createTempDirectory("incremental");
+        try {
+            testIncrementalSave(dir, count);
+            testRequiresSource(dir);
+            testSampleFiles(dir, Paths.get(args.length > 1 ? args[1] : "samples/2004"));
+        } finally {
+            try (var files = Files.list(dir)) {
+                for (Path p : files.toList()) Files.deleteIfExists(p);
+            }
+            Files.deleteIfExists(dir);
+        }
+
+        System.out.println("\n═══════════════════════════════════════════════════════════════");
+        System.out.printf("  테스트 결과: %d 통과, %d 실패\n", passCount, failCount);
+        System.out.println("═══════════════════════════════════════════════════════════════");
+    }
+
+    private static void testIncrementalSave(Path dir, int count) throws Exception {
+        System.out.println("\n[TEST 1] LINE " + count + "개 도면에서 객체 몇 개만 바꿔 저장");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        Random random = new Random(31);
+        DwgDocument original = new DwgDocument(DwgVersion.R2004);
+        for (int i = 0; i < count; i++) {
+            original.addObject(line(0x100 + i, random));
+        }
+        Path source = dir.resolve("source.dwg");
+        long full0 = System.nanoTime();
+        DwgWriter.forVersion(DwgVersion.R2004).write(original, source);
+        long fullTime = System.nanoTime() - full0;
+
+        DwgDocument document = DwgReader.defaultReader().open(source);
+        report("읽은 직후 수정 기록 없음", document.source() != null && document.modifiedHandles().isEmpty());
+        HandleRegistry before = document.handleRegistry();
+
+        // 교체 2개, 속성 수정 1개, 새 객체 1개, 제거 1개
+        long replaced1 = 0x100 + count / 3;
+        long replaced2 = 0x100 + count - 1;
+        long edited = 0x100 + count / 2;
+        long added = 0x100 + count + 10;
+        long removed = 0x100 + 7;
+        document.addObject(line(replaced1, random));
+        document.addObject(line(replaced2, random));
+        DwgObject editedObject = document.objectMap().get(edited);
+        if (editedObject instanceof DwgLine line) {
+            // 아직 LINE 공통 데이터를 쓰지 않으므로 다시 읽은 좌표는 비어 있다
+            line.setStart(new Point3D(1, 2, 0));
+            line.setEnd(new Point3D(3, 4, 0));
+            line.setThickness(2.5);
+        }
+        document.markModified(edited);
+        document.addObject(line(added, random));
+        document.removeObject(removed);
+        report("수정 기록 5개", document.modifiedHandles().size() == 5);
+
+        AtomicInteger compressed = new AtomicInteger();
+        Executor counting = task -> {
+            compressed.incrementAndGet();
+            task.run();
+        };
+        Path target = dir.resolve("target.dwg");
+        long t0 = System.nanoTime();
+        DwgWriter.forVersion(DwgVersion.R2004).incremental().compressionPool(counting).write(document, target);
+        long t1 = System.nanoTime();
+        System.out.printf("  증분 저장 %.1f ms (압축한 페이지 %d개), 원본 전체 저장 %.1f ms\n",
+            (t1 - t0) / 1e6, compressed.get(), fullTime / 1e6);
+
+        Map<String, SectionInputStream> sourceSections = readSections(Files.readAllBytes(source));
+        Map<String, SectionInputStream> targetSections = readSections(Files.readAllBytes(target));
+        byte[] oldObjects = sourceSections.get(SectionType.OBJECTS.sectionName()).rawBytes();
+        byte[] newObjects = targetSections.get(SectionType.OBJECTS.sectionName()).rawBytes();
+        long base = (oldObjects.length + 0x73FF) / 0x7400 * 0x7400L;
+
+        Map<Long, DwgObject> changed = new HashMap<>();
+        for (long h : new long[] {replaced1, replaced2, edited, added}) changed.put(h, document.objectMap().get(h));
+        HandleRegistry appended = new HandleRegistry();
+        byte[] expectedTail = new ObjectsSectionWriter().write(changed, DwgVersion.R2004, appended).toByteArray();
+
+        report("원본 Objects 바이트가 그대로 (" + oldObjects.length + " bytes)",
+            newObjects.length > oldObjects.length && Arrays.equals(newObjects, 0, oldObjects.length, oldObjects, 0, oldObjects.length));
+        report("바뀐 객체 4개가 다음 페이지 경계부터",
+            newObjects.length == base + expectedTail.length
+                && Arrays.equals(newObjects, (int) base, newObjects.length, expectedTail, 0, expectedTail.length));
+        report("압축은 덧붙인 페이지와 Handles 페이지만", compressed.get() < 30);
+
+        HandleRegistry after = new HandleRegistry();
+        HandlesParsingUtil.parseHandlesPages(targetSections.get(SectionType.HANDLES.sectionName()).rawBytes(), after, false);
+        int wrong = 0;
+        for (long h = 0x100; h < 0x100 + count; h++) {
+            if (h == removed || changed.containsKey(h)) continue;
+            if (after.offsetOf(h) != before.offsetOf(h)) wrong++;
+        }
+        report("바뀌지 않은 핸들은 원래 오프셋 (다른 것 " + wrong + "개)", wrong == 0);
+        boolean moved = true;
+        for (long h : changed.keySet()) moved &= after.offsetOf(h) == base + appended.offsetOf(h);
+        report("바뀐 핸들은 덧붙인 위치", moved);
+        report("제거한 핸들은 빠짐", !after.contains(removed) && after.size() == count);
+
+        DwgDocument reopened = DwgReader.defaultReader().open(target);
+        report("저장한 파일을 다시 읽음", reopened.handleRegistry().size() == count
+            && reopened.objectMap().containsKey(added) && !reopened.objectMap().containsKey(removed));
+    }
+
+    private static void testRequiresSource(Path dir) throws Exception {
+        System.out.println("\n[TEST 2] 원본이 없는 문서");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        DwgDocument document = new DwgDocument(DwgVersion.R2004);
+        document.addObject(line(0x100, new Random(1)));
+        boolean rejected;
+        try {
+            DwgWriter.forVersion(DwgVersion.R2004).incremental().write(document, dir.resolve("none.dwg"));
+            rejected = false;
+        } catch (DwgWriteException e) {
+            rejected = true;
+        }
+        report("DwgWriteException", rejected);
+    }
+
+    /**
+     * 샘플 파일마다 LINE 하나를 더해 증분 저장: Objects/Handles 밖의 섹션은 내용과 압축/암호화 설정이 그대로
+     */
+    private static void testSampleFiles(Path dir, Path samples) throws Exception {
+        System.out.println("\n[TEST 3] 샘플 파일 증분 저장 (" + samples + ")");
+        System.out.println("─────────────────────────────────────────────────────────────");
+        if (!Files.isDirectory(samples)) {
+            System.out.println("  (샘플 디렉터리 없음 - 건너뜀)");
+            return;
+        }
+
+        int files = 0;
+        int uncompressed = 0;
+        StringBuilder failed = new StringBuilder();
+        try (var list = Files.list(samples)) {
+            for (Path file : list.filter(p -> p.toString().toLowerCase().endsWith(".dwg")).sorted().toList()) {
+                files++;
+                try {
+                    uncompressed += checkSample(dir, file);
+                } catch (Exception e) {
+                    failed.append("\n    ").append(file.getFileName()).append(": ").append(e);
+                }
+            }
+        }
+        report(files + "개 파일 증분 저장 후 다시 읽음 (압축하지 않은 섹션 " + uncompressed + "개 포함)" + failed,
+            files > 0 && failed.length() == 0 && uncompressed > 0);
+    }
+
+    /** @return 압축하지 않은 채로 옮긴 섹션 수 */
+    private static int checkSample(Path dir, Path file) throws Exception {
+        DwgDocument document = DwgReader.defaultReader().open(file);
+        long added = document.objectMap().keySet().stream().mapToLong(Long::longValue).max().orElse(0xFF) + 1;
+        document.addObject(line(added, new Random(added)));
+        Path target = dir.resolve("sample.dwg");
+        DwgWriter.forVersion(document.version()).incremental().write(document, target);
+
+        byte[] sourceBytes = Files.readAllBytes(file);
+        byte[] targetBytes = Files.readAllBytes(target);
+        Map<String, SectionInputStream> before = readSections(sourceBytes);
+        Map<String, SectionInputStream> after = readSections(targetBytes);
+        R2004SourceFile written = R2004SourceFile.open(LargeByteBuffer.wrap(targetBytes));
+        int uncompressed = 0;
+        for (SectionDescriptor desc : R2004SourceFile.open(LargeByteBuffer.wrap(sourceBytes)).sections()) {
+            String name = desc.name();
+            if (name.equals(SectionType.OBJECTS.sectionName()) || name.equals(SectionType.HANDLES.sectionName())) continue;
+            SectionDescriptor copy = written.section(name).orElseThrow(() -> new IllegalStateException(name + " missing"));
+            if (copy.compressionType() != desc.compressionType() || copy.encrypted() != desc.encrypted()
+                    || copy.sectionId() != desc.sectionId()) {
+                throw new IllegalStateException(name + " descriptor changed");
+            }
+            if (before.containsKey(name)
+                    && (!after.containsKey(name) || !Arrays.equals(before.get(name).rawBytes(), after.get(name).rawBytes()))) {
+                throw new IllegalStateException(name + " content changed");
+            }
+            if (desc.compressionType() != 2) uncompressed++;
+        }
+        DwgDocument reopened = DwgReader.defaultReader().open(target);
+        if (!reopened.objectMap().containsKey(added) || reopened.objectMap().size() != document.objectMap().size()) {
+            throw new IllegalStateException("reopened " + reopened.objectMap().size() + " objects");
+        }
+        return uncompressed;
+    }
+
+    private static Map<String, SectionInputStream> readSections(byte[] bytes) throws Exception {
+        R2004FileStructureHandler handler = new R2004FileStructureHandler();
+        FileHeaderFields header = handler.readHeader(new ByteBufferBitInput(bytes));
+        return handler.readSections(new ByteBufferBitInput(bytes), header);
+    }
+
+    private static DwgLine line(long handle, Random random) {
+        DwgLine line = new DwgLine();
+        line.setHandle(handle);
+        line.setStart(new Point3D(random.nextDouble() * 1000, random.nextDouble() * 1000, 0));
+        line.setEnd(new Point3D(random.nextDouble() * 1000, random.nextDouble() * 1000, 0));
+        return line;
+    }
+
+    private static void report(String name, boolean ok) {
+        if (ok) {
+            System.out.println("  ✓ " + name);
+            passCount++;
+        } else {
+            System.out.println("  ✗ " + name);
+            failCount++;
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package io.dwg.test;
+
+import io.dwg.api.DwgDocument;
+import io.dwg.api.DwgReader;
+import io.dwg.core.io.BitInput;
+import io.dwg.core.io.ByteBufferBitInput;
+import io.dwg.core.io.ChunkedBitInput;
+import io.dwg.core.io.LargeByteBuffer;
+import io.dwg.core.io.SectionInputStream;
+import io.dwg.core.version.DwgVersion;
+import io.dwg.core.version.DwgVersionDetector;
+import io.dwg.entities.DwgObject;
+import io.dwg.entities.concrete.DwgBlockHeader;
+import io.dwg.entities.concrete.DwgLine;
+import io.dwg.format.common.DwgFileStructureHandler;
+import io.dwg.format.common.DwgFileStructureHandlerFactory;
+import io.dwg.format.common.FileHeaderFields;
+import io.dwg.sections.classes.ClassesSectionParser;
+import io.dwg.sections.classes.DwgClassRegistry;
+import io.dwg.sections.handles.HandleRegistry;
+import io.dwg.sections.handles.HandlesSectionParser;
+import io.dwg.sections.objects.EntityCursor;
+import io.dwg.sections.objects.ObjectStreamScanner;
+import io.dwg.sections.objects.ObjectsSectionParser;
+
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * 2GB 초과 버퍼 테스트 (JUnit 없이 실행 가능)
+ * ChunkedBitInput이 ByteBufferBitInput과 같은 값을 읽는지, 2GB를 넘는 희소 파일을
+ * 매핑해 long 위치로 읽을 수 있는지, 매핑 경로로 연 샘플 파일이 같은 결과를 내는지,
+ * 2GB 너머에 놓인 Objects 섹션을 파서/커서/스캐너가 배열 기반과 같게 디코딩하는지 확인합니다.
+ */
+public class LargeBufferTest {
+
+    private static int passCount = 0;
+    private static int failCount = 0;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("═══════════════════════════════════════════════════════════════");
+        System.out.println("  대용량 버퍼 테스트");
+        System.out.println("═══════════════════════════════════════════════════════════════\n");
+
+        testEquivalence();
+        testSparseFile();
+        testSampleFiles(args.length > 0 ? args[0] : "samples");
+        for (String name : new String[] {"example_2004.dwg", "example_2018.dwg"}) {
+            Path file = Paths.get(args.length > 0 ? args[0] : "samples", name);
+            if (Files.exists(file)) testLargeObjectsSection(file);
+        }
+
+        System.out.println("\n═══════════════════════════════════════════════════════════════");
+        System.out.printf("  테스트 결과: %d 통과, %d 실패\n", passCount, failCount);
+        System.out.println("═══════════════════════════════════════════════════════════════");
+    }
+
+    private static void testEquivalence() {
+        System.out.println("\n[TEST 1] ChunkedBitInput ↔ ByteBufferBitInput");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        Random random = new Random(33);
+        byte[] data = new byte[4096];
+        random.nextBytes(data);
+        BitInput a = new ByteBufferBitInput(data);
+        BitInput b = new ChunkedBitInput(LargeByteBuffer.wrap(data));
+
+        boolean same = true;
+        for (int i = 0; i < 2000 && same && a.position() < (data.length - 16) * 8L; i++) {
+            switch (random.nextInt(6)) {
+                case 0 -> same = a.readBit() == b.readBit();
+                case 1 -> {
+                    int n = random.nextInt(33);
+                    same = a.readBits(n) == b.readBits(n);
+                }
+                case 2 -> same = a.readRawChar() == b.readRawChar();
+                case 3 -> same = a.readRawShort() == b.readRawShort();
+                case 4 -> same = a.readRawLong() == b.readRawLong();
+                default -> same = Double.compare(a.readRawDouble(), b.readRawDouble()) == 0;
+            }
+            same &= a.position() == b.position();
+        }
+        report("무작위 읽기 2000회 값/위치 일치", same);
+
+        a.seek(8 * 100 + 3);
+        b.seek(8 * 100 + 3);
+        byte[] x = new byte[64];
+        byte[] y = new byte[64];
+        a.readBytes(x, 0, x.length);
+        b.readBytes(y, 0, y.length);
+        report("정렬 후 일괄 읽기 일치", Arrays.equals(x, y) && a.position() == b.position());
+
+        b.seek(data.length * 8L);
+        report("끝 위치에서 isEof", b.isEof() && b.readBits(8) == 0);
+        boolean rejected;
+        try {
+            b.seek(data.length * 8L + 8);
+            rejected = false;
+        } catch (IllegalArgumentException e) {
+            rejected = true;
+        }
+        report("범위 밖 seek 거부", rejected);
+    }
+
+    private static void testSparseFile() throws Exception {
+        System.out.println("\n[TEST 2] 2GB 초과 희소 파일 매핑");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        Path file = Files.createTempFile("large-buffer", ".bin");
+        try {
+            long size = (1L << 31) + 4096;
+            long boundary = 1L << 30;
+            long far = (1L << 31) + 100;
+            try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+                raf.setLength(size);
+                raf.seek(boundary - 2);
+                raf.write(new byte[] {0x11, 0x22, 0x33, 0x44});
+                raf.seek(far);
+                raf.write(new byte[] {(byte) 0xEF, (byte) 0xBE, (byte) 0xAD, (byte) 0xDE});
+            }
+
+            LargeByteBuffer buffer;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                buffer = LargeByteBuffer.map(channel);
+            }
+            report("크기 " + buffer.size() + " (배열 아님)", buffer.size() == size && buffer.array() == null);
+
+            byte[] across = new byte[4];
+            buffer.get(boundary - 2, across, 0, 4);
+            report("청크 경계를 넘는 일괄 읽기", across[0] == 0x11 && across[3] == 0x44);
+
+            ChunkedBitInput input = new ChunkedBitInput(buffer);
+            input.seek((boundary - 2) * 8 + 4);
+            report("청크 경계를 넘는 비트 읽기", input.readBits(16) == 0x1223);
+
+            input.seek(far * 8);
+            report("2GB 너머 RL 읽기", input.readRawLong() == 0xDEADBEEF
+                && input.position() == (far + 4) * 8);
+
+            SectionInputStream section = new SectionInputStream(buffer, "AcDb:AcDbObjects");
+            section.setPosition(far * 8);
+            boolean rawRejected;
+            try {
+                section.rawBytes();
+                rawRejected = false;
+            } catch (IllegalStateException e) {
+                rawRejected = true;
+            }
+            report("2GB 섹션: long 길이, rawBytes 거부", section.length() == size && rawRejected
+                && section.getBitInput().readRawChar() == 0xEF);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void testSampleFiles(String dir) throws Exception {
+        System.out.println("\n[TEST 3] 샘플 파일 매핑 읽기 (" + dir + ")");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        Path base = Paths.get(dir);
+        if (!Files.isDirectory(base)) {
+            System.out.println("  (샘플 디렉터리 없음 - 건너뜀)");
+            return;
+        }
+        try (var files = Files.list(base)) {
+            for (Path file : files.filter(p -> p.toString().toLowerCase().endsWith(".dwg")).sorted().toList()) {
+                DwgDocument expected;
+                try {
+                    expected = DwgReader.defaultReader().open(Files.readAllBytes(file));
+                } catch (Exception e) {
+                    System.out.println("  - " + file.getFileName() + ": 읽기 실패 (" + e.getMessage() + ")");
+                    continue;
+                }
+                LargeByteBuffer mapped;
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                    mapped = LargeByteBuffer.map(channel);
+                }
+                DwgDocument actual = DwgReader.defaultReader().open(mapped);
+                report(String.format("%s: 객체 %d개", file.getFileName(), actual.objectMap().size()),
+                    actual.objectMap().size() == expected.objectMap().size());
+            }
+        }
+    }
+
+    /**
+     * 샘플의 Objects 섹션을 2GB 경계에 걸치도록 희소 파일에 옮겨 매핑하고(청크 기반 섹션),
+     * 핸들 맵 오프셋도 그만큼 옮겨 파싱한 결과가 원래 섹션을 파싱한 결과와 같은지
+     */
+    private static void testLargeObjectsSection(Path file) throws Exception {
+        System.out.println("\n[TEST 4] " + file.getFileName() + ": 2GB 너머 Objects 섹션 디코딩");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        byte[] data = Files.readAllBytes(file);
+        DwgVersion version = DwgVersionDetector.detect(data);
+        DwgFileStructureHandler handler = DwgFileStructureHandlerFactory.forVersion(version);
+        FileHeaderFields fields = handler.readHeader(new ByteBufferBitInput(data));
+        Map<String, SectionInputStream> sections = handler.readSections(new ByteBufferBitInput(data), fields);
+        SectionInputStream objects = sections.get("AcDb:AcDbObjects");
+        DwgClassRegistry classes = new DwgClassRegistry();
+        new ClassesSectionParser().parse(sections.get("AcDb:Classes"), version).forEach(classes::register);
+        HandleRegistry handles = new HandlesSectionParser().parse(sections.get("AcDb:Handles"), version);
+        byte[] raw = objects.rawBytes();
+
+        // 섹션 가운데가 2GB(청크 경계)에 오도록 배치
+        long base = (1L << 31) - raw.length / 2;
+        HandleRegistry shifted = new HandleRegistry();
+        handles.forEach((h, off) -> shifted.put(h, base + off));
+
+        Path sparse = Files.createTempFile("large-objects", ".bin");
+        Path small = Files.createTempFile("objects", ".bin");
+        try {
+            try (RandomAccessFile raf = new RandomAccessFile(sparse.toFile(), "rw")) {
+                raf.setLength(base + raw.length);
+                raf.seek(base);
+                raf.write(raw);
+            }
+            LargeByteBuffer buffer;
+            try (FileChannel channel = FileChannel.open(sparse, StandardOpenOption.READ)) {
+                buffer = LargeByteBuffer.map(channel);
+            }
+            SectionInputStream large = new SectionInputStream(buffer, "AcDb:AcDbObjects");
+            report("섹션 " + large.length() + " bytes, 청크 기반", large.length() > Integer.MAX_VALUE
+                && large.getBitInput() instanceof ChunkedBitInput);
+
+            Map<Long, DwgObject> expected = parse(objects, handles, classes, version);
+            Map<Long, DwgObject> actual = parse(large, shifted, classes, version);
+            int different = 0;
+            for (Map.Entry<Long, DwgObject> e : expected.entrySet()) {
+                if (!signature(e.getValue()).equals(signature(actual.get(e.getKey())))) different++;
+            }
+            report(String.format("ObjectsSectionParser: 객체 %d개 모두 같은 값", expected.size()),
+                !expected.isEmpty() && actual.size() == expected.size() && different == 0);
+
+            EntityCursor expectedCursor = new EntityCursor(LargeByteBuffer.wrap(raw), handles, version, classes);
+            EntityCursor actualCursor = new EntityCursor(buffer, shifted, version, classes);
+            int lines = 0;
+            boolean same = expectedCursor.count() == actualCursor.count();
+            while (same && expectedCursor.next()) {
+                same = actualCursor.next() && actualCursor.handle() == expectedCursor.handle()
+                    && actualCursor.offset() == expectedCursor.offset() + base
+                    && actualCursor.typeCode() == expectedCursor.typeCode();
+                if (same && expectedCursor.isLine() && !expectedCursor.decodeFailed()) {
+                    lines++;
+                    same = Double.compare(actualCursor.endX(), expectedCursor.endX()) == 0
+                        && Double.compare(actualCursor.endY(), expectedCursor.endY()) == 0;
+                }
+            }
+            report("EntityCursor: 객체 " + actualCursor.count() + "개, LINE " + lines + "개 같은 값", same);
+
+            // 스캐너: 매핑한 (청크 기반) 버퍼와 배열에서 같은 객체를 찾는지
+            Files.write(small, raw);
+            LargeByteBuffer mapped;
+            try (FileChannel channel = FileChannel.open(small, StandardOpenOption.READ)) {
+                mapped = LargeByteBuffer.map(channel);
+            }
+            List<Long> fromArray = scan(new ObjectStreamScanner(raw, version, code -> true));
+            List<Long> fromChunks = scan(new ObjectStreamScanner(mapped, version, code -> true));
+            report("ObjectStreamScanner: 청크 기반 버퍼에서 객체 " + fromChunks.size() + "개 같은 위치",
+                mapped.array() == null && !fromArray.isEmpty() && fromArray.equals(fromChunks));
+        } finally {
+            Files.deleteIfExists(sparse);
+            Files.deleteIfExists(small);
+        }
+    }
+
+    private static Map<Long, DwgObject> parse(SectionInputStream section, HandleRegistry handles,
+                                              DwgClassRegistry classes, DwgVersion version) throws Exception {
+        ObjectsSectionParser parser = new ObjectsSectionParser();
+        parser.setClassRegistry(classes);
+        parser.setHandleRegistry(handles);
+        return parser.parse(section, version);
+    }
+
+    private static String signature(DwgObject obj) {
+        if (obj == null) return "null";
+        String s = obj.getClass().getSimpleName() + ":" + obj.handle();
+        if (obj instanceof DwgLine line) {
+            s += ":" + line.start() + ":" + line.end();
+        } else if (obj instanceof DwgBlockHeader block) {
+            s += ":" + block.blockName() + ":" + Arrays.toString(block.ownedEntityHandles());
+        }
+        return s + ":" + Objects.toString(obj.ownerHandle());
+    }
+
+    private static List<Long> scan(ObjectStreamScanner scanner) {
+        List<Long> offsets = new ArrayList<>();
+        for (ObjectStreamScanner.Candidate c = scanner.next(); c != null; c = scanner.next()) {
+            offsets.add(c.offset());
+        }
+        return offsets;
+    }
+
+    private static void report(String name, boolean ok) {
+        if (ok) {
+            System.out.println("  ✓ " + name);
+            passCount++;
+        } else {
+            System.out.println("  ✗ " + name);
+            failCount++;
+        }
+    }
+}
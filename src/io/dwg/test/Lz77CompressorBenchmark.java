@@ -0,0 +1,98 @@
+package io.dwg.test;
+
+import io.dwg.core.util.CompressionLevel;
+import io.dwg.core.util.Lz77Compressor;
+import io.dwg.core.util.R2004Lz77Compressor;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+/**
+ * LZ77 압축기 벤치마크 (JMH)
+ * R2004 이상 샘플 섹션을 0x7400바이트 페이지로 잘라 압축 수준/형식별로 모두 압축합니다.
+ * 보조 카운터 {@code input}, {@code output}은 초당 입력/출력 바이트이므로
+ * input이 처리량(B/s), output / input이 압축률입니다.
+ *
+ * <pre>
+ * mvn -B test-compile
+ * java -cp target/test-classes:&lt;jmh-core, jopt-simple, commons-math3&gt; \
+ *     org.openjdk.jmh.Main Lz77CompressorBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class Lz77CompressorBenchmark {
+
+    @Param({"samples"})
+    public String dir;
+
+    @Param
+    public CompressionLevel level;
+
+    @Param({"R2004", "R2007"})
+    public String format;
+
+    private List<byte[]> pages;
+    private UnaryOperator<byte[]> compressor;
+
+    /** 초당 입력/출력 바이트 */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Bytes {
+        public long input;
+        public long output;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            input = 0;
+            output = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void load() throws Exception {
+        pages = Lz77CompressorTest.samplePages(dir);
+        if (pages.isEmpty()) throw new IllegalStateException("No R2004+ sample pages under " + dir);
+        if (format.equals("R2004")) {
+            compressor = new R2004Lz77Compressor(level)::compress;
+        } else {
+            compressor = new Lz77Compressor(level)::compress;
+        }
+    }
+
+    /** 샘플 페이지 전체 압축 한 번 */
+    @Benchmark
+    public long compressPages(Bytes bytes) {
+        long size = 0;
+        for (byte[] page : pages) {
+            size += compressor.apply(page).length;
+            bytes.input += page.length;
+        }
+        bytes.output += size;
+        return size;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(Lz77CompressorBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,231 @@
+package io.dwg.test;
+
+import io.dwg.core.io.ByteBufferBitInput;
+import io.dwg.core.io.SectionInputStream;
+import io.dwg.core.util.CompressionLevel;
+import io.dwg.core.util.Lz77Compressor;
+import io.dwg.core.util.Lz77Decompressor;
+import io.dwg.core.util.R2004Lz77Compressor;
+import io.dwg.core.util.R2004Lz77Decompressor;
+import io.dwg.core.version.DwgVersion;
+import io.dwg.core.version.DwgVersionDetector;
+import io.dwg.format.common.DwgFileStructureHandler;
+import io.dwg.format.common.DwgFileStructureHandlerFactory;
+import io.dwg.format.common.FileHeaderFields;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * LZ77 압축기 테스트 (JUnit 없이 실행 가능)
+ * R2004/R2007 압축 결과를 각 형식의 압축 해제기로 되돌려 원본과 같은지, 압축 수준별 압축률을 확인합니다.
+ */
+public class Lz77CompressorTest {
+
+    private static final int PAGE_SIZE = 0x7400;
+
+    private static int passCount = 0;
+    private static int failCount = 0;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("═══════════════════════════════════════════════════════════════");
+        System.out.println("  LZ77 압축기 테스트");
+        System.out.println("═══════════════════════════════════════════════════════════════\n");
+
+        String dir = args.length > 0 ? args[0] : "samples";
+        testEdgeCases();
+        testRandom();
+        List<byte[]> pages = samplePages(dir);
+        testSamples(pages);
+        testLevels(pages);
+
+        System.out.println("\n═══════════════════════════════════════════════════════════════");
+        System.out.printf("  테스트 결과: %d 통과, %d 실패\n", passCount, failCount);
+        System.out.println("═══════════════════════════════════════════════════════════════");
+    }
+
+    private static void testEdgeCases() {
+        System.out.println("\n[TEST 1] 경계 입력");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        Random random = new Random(7);
+        List<byte[]> inputs = new ArrayList<>();
+        for (int n = 0; n <= 70; n++) {
+            byte[] literal = new byte[n];
+            random.nextBytes(literal);
+            inputs.add(literal);  // 리터럴 길이 0-70 (R2007 뒤섞기 표 전체)
+        }
+        inputs.add(new byte[0x20000]);  // 0만 있는 긴 run
+        byte[] far = new byte[0x30000];
+        for (int i = 0; i < far.length; i++) {
+            // 0x3000 / 0x9000 / 0xC000 떨어진 반복
+            far[i] = i < 0x10000 ? (byte) random.nextInt(256)
+                : i % 5000 == 0 ? (byte) random.nextInt(256)
+                : far[i - (i < 0x20000 ? 0x9000 : 0x3000)];
+        }
+        inputs.add(far);
+        byte[] mixed = new byte[0x8000];
+        for (int i = 0; i < mixed.length; i++) {
+            // 매치 사이에 1-7바이트 리터럴이 자주 끼는 데이터
+            mixed[i] = i >= 64 && random.nextInt(8) > 0 ? mixed[i - 1 - random.nextInt(48)] : (byte) random.nextInt(256);
+        }
+        inputs.add(mixed);
+
+        for (CompressionLevel level : CompressionLevel.values()) {
+            int r2004 = 0;
+            int r2007 = 0;
+            for (byte[] input : inputs) {
+                if (roundTrip2004(new R2004Lz77Compressor(level), input)) r2004++;
+                if (roundTrip2007(new Lz77Compressor(level), input)) r2007++;
+            }
+            report(String.format("%s: R2004 %d/%d, R2007 %d/%d", level, r2004, inputs.size(), r2007, inputs.size()),
+                r2004 == inputs.size() && r2007 == inputs.size());
+        }
+    }
+
+    private static void testRandom() {
+        System.out.println("\n[TEST 2] 무작위 입력 라운드트립");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        Random random = new Random(1);
+        int cases = 0;
+        int bad2004 = 0;
+        int bad2007 = 0;
+        for (int t = 0; t < 600; t++) {
+            int n = random.nextInt(t % 10 == 0 ? 0x20000 : 3000);
+            int alphabet = 1 + random.nextInt(random.nextBoolean() ? 3 : 256);
+            byte[] data = new byte[n];
+            for (int i = 0; i < n; i++) {
+                data[i] = i > 700 && random.nextInt(4) > 0
+                    ? data[i - 1 - random.nextInt(Math.min(i, 60000))]
+                    : (byte) random.nextInt(alphabet);
+            }
+            for (CompressionLevel level : CompressionLevel.values()) {
+                cases++;
+                if (!roundTrip2004(new R2004Lz77Compressor(level), data)) bad2004++;
+                if (!roundTrip2007(new Lz77Compressor(level), data)) bad2007++;
+            }
+        }
+        report(String.format("%d건: R2004 실패 %d, R2007 실패 %d", cases, bad2004, bad2007), bad2004 == 0 && bad2007 == 0);
+    }
+
+    private static void testSamples(List<byte[]> pages) {
+        System.out.println("\n[TEST 3] 샘플 섹션 페이지 라운드트립");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        if (pages.isEmpty()) {
+            System.out.println("  (샘플 없음 - 건너뜀)");
+            return;
+        }
+        for (CompressionLevel level : CompressionLevel.values()) {
+            R2004Lz77Compressor r2004 = new R2004Lz77Compressor(level);
+            Lz77Compressor r2007 = new Lz77Compressor(level);
+            int ok = 0;
+            for (byte[] page : pages) {
+                if (roundTrip2004(r2004, page) && roundTrip2007(r2007, page)) ok++;
+            }
+            report(String.format("%s: %d/%d 페이지 일치 (R2004, R2007)", level, ok, pages.size()), ok == pages.size());
+        }
+    }
+
+    /**
+     * 수준별 압축률. 처리량은 {@code Lz77CompressorBenchmark}(JMH)에서 잰다.
+     */
+    private static void testLevels(List<byte[]> pages) {
+        System.out.println("\n[TEST 4] 압축 수준별 압축률");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        if (pages.isEmpty()) {
+            System.out.println("  (샘플 없음 - 건너뜀)");
+            return;
+        }
+        long raw = 0;
+        for (byte[] page : pages) raw += page.length;
+
+        long previous = Long.MAX_VALUE;
+        boolean smallerWithLevel = true;
+        for (CompressionLevel level : CompressionLevel.values()) {
+            R2004Lz77Compressor r2004 = new R2004Lz77Compressor(level);
+            Lz77Compressor r2007 = new Lz77Compressor(level);
+            long size2004 = 0;
+            long size2007 = 0;
+            for (byte[] page : pages) {
+                size2004 += r2004.compress(page).length;
+                size2007 += r2007.compress(page).length;
+            }
+            System.out.printf("    %-7s R2004 %5.1f%%   R2007 %5.1f%%\n", level,
+                100.0 * size2004 / raw, 100.0 * size2007 / raw);
+            smallerWithLevel &= size2004 <= previous;
+            previous = size2004;
+        }
+        report(String.format("%d KB: 수준이 높을수록 압축 결과가 작거나 같음", raw >> 10), smallerWithLevel);
+    }
+
+    /** R2004 이상 샘플의 압축 해제된 섹션을 0x7400바이트 페이지로 자른 것 */
+    static List<byte[]> samplePages(String dir) throws Exception {
+        List<byte[]> pages = new ArrayList<>();
+        for (String sub : new String[] {"2004", "2010", "2013", "2018"}) {
+            Path base = Paths.get(dir, sub);
+            if (!Files.isDirectory(base)) continue;
+            List<Path> files = new ArrayList<>();
+            try (var list = Files.list(base)) {
+                list.filter(p -> p.toString().toLowerCase().endsWith(".dwg")).sorted().forEach(files::add);
+            }
+            for (Path file : files) {
+                Map<String, SectionInputStream> sections;
+                try {
+                    byte[] data = Files.readAllBytes(file);
+                    DwgVersion version = DwgVersionDetector.detect(data);
+                    DwgFileStructureHandler handler = DwgFileStructureHandlerFactory.forVersion(version);
+                    FileHeaderFields fields = handler.readHeader(new ByteBufferBitInput(data));
+                    sections = handler.readSections(new ByteBufferBitInput(data), fields);
+                } catch (Exception e) {
+                    continue;  // 섹션을 못 읽는 파일은 건너뜀
+                }
+                for (SectionInputStream section : sections.values()) {
+                    byte[] bytes = section.rawBytes();
+                    for (int start = 0; start < bytes.length; start += PAGE_SIZE) {
+                        pages.add(Arrays.copyOfRange(bytes, start, Math.min(bytes.length, start + PAGE_SIZE)));
+                    }
+                }
+            }
+        }
+        return pages;
+    }
+
+    private static boolean roundTrip2004(R2004Lz77Compressor compressor, byte[] data) {
+        try {
+            byte[] compressed = compressor.compress(data);
+            // 4바이트보다 짧은 입력은 0으로 채워 압축된다
+            byte[] restored = new R2004Lz77Decompressor().decompress(compressed, Math.max(data.length, 4));
+            return Arrays.equals(Arrays.copyOf(restored, data.length), data);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static boolean roundTrip2007(Lz77Compressor compressor, byte[] data) {
+        try {
+            byte[] compressed = compressor.compress(data);
+            return Arrays.equals(new Lz77Decompressor().decompress(compressed, data.length), data);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static void report(String name, boolean ok) {
+        if (ok) {
+            System.out.println("  ✓ " + name);
+            passCount++;
+        } else {
+            System.out.println("  ✗ " + name);
+            failCount++;
+        }
+    }
+}
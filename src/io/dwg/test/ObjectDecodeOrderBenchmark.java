@@ -0,0 +1,79 @@
+package io.dwg.test;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 객체 디코딩 순서 벤치마크 (JMH)
+ * 가장 큰 샘플의 객체를 핸들 맵 순서(HashMap)와 오프셋 오름차순으로 디코딩해 비교합니다.
+ * 샘플 섹션은 캐시에 들어갈 만큼 작으므로, 섹션을 반복해 만든 64MB 섹션(touch64Mb*)에서는
+ * 리더 없이 객체 바이트만 읽어 메모리 접근 순서의 차이만 봅니다.
+ *
+ * <pre>
+ * mvn -B test-compile
+ * java -cp target/test-classes:&lt;jmh-core, jopt-simple, commons-math3&gt; \
+ *     org.openjdk.jmh.Main ObjectDecodeOrderBenchmark -prof perfnorm
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ObjectDecodeOrderBenchmark {
+
+    @Param({"samples"})
+    public String dir;
+
+    @Param({"2004/material.dwg", "example_2000.dwg", "example_r13.dwg", "example_2018.dwg"})
+    public String sample;
+
+    private ObjectDecodeOrderTest.Section section;
+    private ObjectDecodeOrderTest.Section big;
+
+    @Setup(Level.Trial)
+    public void load() throws Exception {
+        section = ObjectDecodeOrderTest.Section.load(Paths.get(dir, sample));
+        big = section.repeat(Math.max(1, (64 << 20) / section.raw.length));
+    }
+
+    @Benchmark
+    public int decodeHashOrder() {
+        return ObjectDecodeOrderTest.decodeAll(section.raw, section.version, section.hashOrder);
+    }
+
+    @Benchmark
+    public int decodeOffsetOrder() {
+        return ObjectDecodeOrderTest.decodeAll(section.raw, section.version, section.sorted);
+    }
+
+    @Benchmark
+    public int touch64MbHashOrder() {
+        return ObjectDecodeOrderTest.touchAll(big.raw, big.version, big.hashOrder);
+    }
+
+    @Benchmark
+    public int touch64MbOffsetOrder() {
+        return ObjectDecodeOrderTest.touchAll(big.raw, big.version, big.sorted);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(ObjectDecodeOrderBenchmark.class.getSimpleName()).build()).run();
+    }
+}
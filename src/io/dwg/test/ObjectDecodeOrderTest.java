@@ -0,0 +1,202 @@
+package io.dwg.test;
+
+import io.dwg.api.DwgDocument;
+import io.dwg.api.DwgReader;
+import io.dwg.core.io.BitStreamReader;
+import io.dwg.core.io.ByteBufferBitInput;
+import io.dwg.core.io.SectionInputStream;
+import io.dwg.core.util.CrcCalculator;
+import io.dwg.core.version.DwgVersion;
+import io.dwg.core.version.DwgVersionDetector;
+import io.dwg.entities.DwgObject;
+import io.dwg.format.common.DwgFileStructureHandler;
+import io.dwg.format.common.DwgFileStructureHandlerFactory;
+import io.dwg.format.common.FileHeaderFields;
+import io.dwg.sections.classes.DwgClassRegistry;
+import io.dwg.sections.handles.HandleRegistry;
+import io.dwg.sections.handles.HandlesSectionParser;
+import io.dwg.sections.objects.ObjectDispatchTable;
+import io.dwg.sections.objects.ObjectTypeResolver;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 객체 디코딩 순서 테스트 (JUnit 없이 실행 가능)
+ * 핸들 맵 순서(HashMap)와 오프셋 오름차순으로 같은 객체를 디코딩하는지와 이동 거리를 확인합니다.
+ * 시간 비교는 {@code ObjectDecodeOrderBenchmark}(JMH)에 있습니다.
+ */
+public class ObjectDecodeOrderTest {
+
+    private static int passCount = 0;
+    private static int failCount = 0;
+
+    /** 가장 큰 샘플들 */
+    static final String[] SAMPLES = {"2004/material.dwg", "example_2000.dwg", "example_r13.dwg", "example_2018.dwg"};
+
+    private static final ObjectDispatchTable TABLE =
+        ObjectDispatchTable.standard(ObjectTypeResolver.defaultResolver(new DwgClassRegistry()));
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("═══════════════════════════════════════════════════════════════");
+        System.out.println("  객체 디코딩 순서 테스트");
+        System.out.println("═══════════════════════════════════════════════════════════════\n");
+
+        String dir = args.length > 0 ? args[0] : "samples";
+        testSameObjects(dir);
+        testSampleFiles(dir);
+
+        System.out.println("\n═══════════════════════════════════════════════════════════════");
+        System.out.printf("  테스트 결과: %d 통과, %d 실패\n", passCount, failCount);
+        System.out.println("═══════════════════════════════════════════════════════════════");
+    }
+
+    private static void testSameObjects(String dir) throws Exception {
+        System.out.println("\n[TEST 1] 디코딩 결과");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        Path file = Paths.get(dir, "example_2000.dwg");
+        if (!Files.exists(file)) {
+            System.out.println("  (샘플 없음 - 건너뜀)");
+            return;
+        }
+        DwgDocument doc = DwgReader.defaultReader().open(file);
+        HandleRegistry handles = doc.handleRegistry();
+        long decodable = handles.allHandles().stream()
+            .filter(h -> handles.offsetFor(h).orElse(-1L) >= 0).count();
+        report(String.format("핸들 %d개 중 객체 %d개 + 실패 기록 %d개", decodable, doc.objectMap().size(),
+            doc.diagnostics().count()), doc.objectMap().size() > 0
+            && doc.objectMap().keySet().stream().allMatch(h -> handles.offsetFor(h).isPresent()));
+    }
+
+    private static void testSampleFiles(String dir) throws Exception {
+        System.out.println("\n[TEST 2] 큰 샘플 파일");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        for (String name : SAMPLES) {
+            Path file = Paths.get(dir, name);
+            if (!Files.exists(file)) {
+                System.out.println("  - " + name + ": 없음");
+                continue;
+            }
+            Section s = Section.load(file);
+            report(String.format("%s: 이동 %d → %d KB, 같은 객체 디코딩", name,
+                distance(s.hashOrder) >> 10, distance(s.sorted) >> 10),
+                decodeAll(s.raw, s.version, s.hashOrder) == decodeAll(s.raw, s.version, s.sorted)
+                && touchAll(s.raw, s.version, s.hashOrder) == touchAll(s.raw, s.version, s.sorted)
+                && distance(s.sorted) <= distance(s.hashOrder));
+        }
+    }
+
+    /**
+     * 샘플 하나의 객체 섹션과 두 디코딩 순서 (해시 순서, 오프셋 오름차순).
+     * 시간 비교는 {@code ObjectDecodeOrderBenchmark}(JMH)에서 같은 데이터로 한다.
+     */
+    static final class Section {
+        final byte[] raw;
+        final DwgVersion version;
+        final long[] hashOrder;
+        final long[] sorted;
+
+        private Section(byte[] raw, DwgVersion version, long[] hashOrder) {
+            this.raw = raw;
+            this.version = version;
+            this.hashOrder = hashOrder;
+            this.sorted = hashOrder.clone();
+            Arrays.sort(sorted);
+        }
+
+        static Section load(Path file) throws Exception {
+            byte[] data = Files.readAllBytes(file);
+            DwgVersion version = DwgVersionDetector.detect(data);
+            DwgFileStructureHandler handler = DwgFileStructureHandlerFactory.forVersion(version);
+            FileHeaderFields fields = handler.readHeader(new ByteBufferBitInput(data));
+            Map<String, SectionInputStream> sections = handler.readSections(new ByteBufferBitInput(data), fields);
+            SectionInputStream objects = sections.getOrDefault("AcDb:AcDbObjects", sections.get("AcDb:Objects"));
+            byte[] raw = objects != null ? objects.rawBytes() : data;  // R13-R2000은 파일 전체
+            HandleRegistry handles = new HandlesSectionParser().parse(sections.get("AcDb:Handles"), version);
+
+            Map<Long, Long> map = new HashMap<>();
+            for (long h : handles.allHandles()) {
+                long off = handles.offsetFor(h).orElse(-1L);
+                if (off >= 0 && off < raw.length) map.put(h, off);
+            }
+            return new Section(raw, version, map.values().stream().mapToLong(Long::longValue).toArray());
+        }
+
+        /** 섹션을 copies번 붙이고, 반복본마다 같은 순서를 오프셋만 옮겨 쓴 섹션 */
+        Section repeat(int copies) {
+            byte[] big = new byte[raw.length * copies];
+            long[] bigHash = new long[hashOrder.length * copies];
+            for (int c = 0; c < copies; c++) {
+                System.arraycopy(raw, 0, big, c * raw.length, raw.length);
+                for (int i = 0; i < hashOrder.length; i++) {
+                    // HashMap 순서처럼 반복본 사이도 섞이도록 순번을 교차
+                    bigHash[i * copies + c] = hashOrder[i] + (long) c * raw.length;
+                }
+            }
+            return new Section(big, version, bigHash);
+        }
+    }
+
+    /** 연속한 두 객체 사이 오프셋 차이의 합 */
+    static long distance(long[] offsets) {
+        long sum = 0;
+        for (int i = 1; i < offsets.length; i++) sum += Math.abs(offsets[i] - offsets[i - 1]);
+        return sum;
+    }
+
+    static int decodeAll(byte[] raw, DwgVersion version, long[] offsets) {
+        int count = 0;
+        for (long off : offsets) {
+            try {
+                ByteBufferBitInput in = new ByteBufferBitInput(raw);
+                in.seek(off * 8);
+                BitStreamReader r = new BitStreamReader(in, version);
+                if (r.readModularShort() <= 0) continue;
+                if (version.from(DwgVersion.R2010)) r.readUMC();
+                int type = version.from(DwgVersion.R2010) ? r.readBOT() : r.readBitShort();
+                ObjectDispatchTable.Entry entry = TABLE.lookup(type);
+                DwgObject obj = entry.create();
+                if (obj == null) continue;
+                if (entry.reader() != null) entry.reader().read(obj, r, version);
+                count++;
+            } catch (Exception e) {
+                // 실패한 객체는 세지 않음
+            }
+        }
+        return count;
+    }
+
+    /** 객체마다 MS/타입을 읽고 객체 바이트 전체의 CRC를 계산 (리더 비용 없이 메모리 접근 순서만 본다) */
+    static int touchAll(byte[] raw, DwgVersion version, long[] offsets) {
+        int sum = 0;
+        ByteBufferBitInput in = new ByteBufferBitInput(raw);
+        BitStreamReader r = new BitStreamReader(in, version);
+        for (long off : offsets) {
+            in.seek(off * 8);
+            int size = r.readModularShort();
+            if (version.from(DwgVersion.R2010)) r.readUMC();
+            int start = (int) (in.position() >> 3);
+            // R13-R2000은 파일 전체가 섹션이라 잘못된 핸들 오프셋에서 큰 크기가 나온다
+            if (size <= 0 || size > 0x10000 || start + size > raw.length) continue;
+            int type = version.from(DwgVersion.R2010) ? r.readBOT() : r.readBitShort();
+            sum += type + CrcCalculator.Crc16Calculator.compute(0, raw, start, size);
+        }
+        return sum;
+    }
+
+    private static void report(String name, boolean ok) {
+        if (ok) {
+            System.out.println("  ✓ " + name);
+            passCount++;
+        } else {
+            System.out.println("  ✗ " + name);
+            failCount++;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package io.dwg.test;
+
+import io.dwg.core.io.BitOutput;
+import io.dwg.core.io.BitStreamReader;
+import io.dwg.core.io.BitStreamWriter;
+import io.dwg.core.io.ByteBufferBitInput;
+import io.dwg.core.version.DwgVersion;
+import io.dwg.entities.DwgObject;
+import io.dwg.entities.DwgObjectType;
+import io.dwg.entities.concrete.DwgBlockHeader;
+import io.dwg.entities.concrete.DwgLine;
+import io.dwg.entities.concrete.DwgTableControl;
+import io.dwg.entities.concrete.DwgXrecord;
+import io.dwg.sections.classes.DwgClassRegistry;
+import io.dwg.sections.objects.ObjectDispatchTable;
+import io.dwg.sections.objects.ObjectReader;
+import io.dwg.sections.objects.ObjectTypeResolver;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+/**
+ * 객체 타입 디스패치 테스트 (JUnit 없이 실행 가능)
+ * 배열 기반 fromCode/디스패치 표가 기존 순차 검색과 같은 결과를 내는지 확인하고,
+ * 객체당 디스패치 비용을 기존 방식(values() 순회 + 박싱된 HashMap 조회)과 비교합니다.
+ */
+public class ObjectDispatchTest {
+
+    private static int passCount = 0;
+    private static int failCount = 0;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("═══════════════════════════════════════════════════════════════");
+        System.out.println("  객체 타입 디스패치 테스트");
+        System.out.println("═══════════════════════════════════════════════════════════════\n");
+
+        ObjectTypeResolver resolver = ObjectTypeResolver.defaultResolver(new DwgClassRegistry());
+        ObjectDispatchTable table = ObjectDispatchTable.standard(resolver);
+
+        testFromCode();
+        testTable(resolver, table);
+        testCustomCodes();
+        testFramelessRead(resolver);
+        benchmark(resolver, table);
+
+        System.out.println("\n═══════════════════════════════════════════════════════════════");
+        System.out.printf("  테스트 결과: %d 통과, %d 실패\n", passCount, failCount);
+        System.out.println("═══════════════════════════════════════════════════════════════");
+    }
+
+    private static void testFromCode() {
+        System.out.println("\n[TEST 1] DwgObjectType.fromCode");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        boolean same = true;
+        for (int code = -10; code < 0x10000 && same; code++) {
+            same = DwgObjectType.fromCode(code) == linearFromCode(code);
+        }
+        report("-10..0xFFFF 전체가 순차 검색과 일치", same);
+        report("LINE/LONG_TRANSACTION/클래스 번호", DwgObjectType.fromCode(0x13) == DwgObjectType.LINE
+            && DwgObjectType.fromCode(0x40) == DwgObjectType.LONG_TRANSACTION
+            && DwgObjectType.fromCode(500) == DwgObjectType.UNKNOWN);
+    }
+
+    private static void testTable(ObjectTypeResolver resolver, ObjectDispatchTable table) {
+        System.out.println("\n[TEST 2] 표준 디스패치 표");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        boolean ok = true;
+        for (DwgObjectType type : DwgObjectType.values()) {
+            if (type == DwgObjectType.UNKNOWN) continue;
+            ObjectDispatchTable.Entry e = table.lookup(type.typeCode());
+            ok &= e.type() == type && e.reader() == resolver.reader(type.typeCode());
+        }
+        report("모든 표준 타입: 타입/리더가 resolver와 일치", ok);
+        report("LINE은 DwgLine 생성", table.lookup(0x13).create() instanceof DwgLine);
+        boolean controls = true;
+        for (int code : new int[] { 0x30, 0x42, 0x44, 0x46 }) {
+            DwgObject o = table.lookup(code).create();
+            controls &= o instanceof DwgTableControl && o.objectType().typeCode() == code;
+        }
+        report("테이블 제어 오브젝트는 DwgTableControl 생성", controls);
+        report("UNUSED/VP_ENT_HDR는 생성 안 함",
+            table.lookup(0x00).create() == null && table.lookup(0x3B).create() == null);
+        ObjectDispatchTable.Entry unknown = table.lookup(0x1234);
+        report("알 수 없는 코드는 범용 객체, 리더 없음",
+            unknown == table.fallback() && unknown.create() instanceof DwgXrecord && unknown.reader() == null);
+    }
+
+    private static void testCustomCodes() {
+        System.out.println("\n[TEST 3] 클래스 번호 (500 이상)");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        ObjectReader custom = new ObjectReader() {
+            @Override public void read(DwgObject target, BitStreamReader r, DwgVersion v) { }
+            @Override public int objectType() { return 0x2F1; }
+        };
+        ObjectTypeResolver resolver = ObjectTypeResolver.defaultResolver(new DwgClassRegistry());
+        resolver.registerCustom(501, custom);
+        resolver.register(custom);
+        ObjectDispatchTable table = ObjectDispatchTable.standard(resolver);
+
+        report("배열 범위 안 클래스 번호(501)", table.lookup(501).reader() == custom
+            && resolver.resolve(501).isPresent());
+        report("배열 범위 밖 코드(0x2F1)", table.lookup(0x2F1).reader() == custom
+            && table.lookup(0x2F1).create() instanceof DwgXrecord);
+        report("등록 코드 목록에 포함", resolver.typeCodes().contains(501) && resolver.typeCodes().contains(0x2F1));
+    }
+
+    private static void testFramelessRead(ObjectTypeResolver resolver) throws Exception {
+        System.out.println("\n[TEST 4] 프레임 없는 BLOCK_HEADER 읽기");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        // R2004 BLOCK_HEADER 데이터 스트림 (핸들 스트림 없음)
+        BitStreamWriter w = new BitStreamWriter(DwgVersion.R2004);
+        BitOutput out = w.getOutput();
+        w.writeRawLong(0);            // bitsize
+        w.writeHandle(0x1F);
+        w.writeBitShort(0);           // EED 끝
+        w.writeBitLong(0);            // 리액터 수
+        out.writeBit(true);           // xdic 없음
+        w.writeVariableText("PART\0");
+        out.writeBit(false);          // 64-flag
+        w.writeBitShort(0);           // xrefindex + 1
+        out.writeBit(false);          // xdep
+        out.writeBit(false);          // anonymous
+        out.writeBit(true);           // has attributes
+        out.writeBit(false);          // xref
+        out.writeBit(false);          // overlaid
+        out.writeBit(false);          // loaded
+        w.writeBitLong(3);            // 소유 엔티티 수
+        w.write3BitDouble(new double[] { 1, 2, 3 });
+        w.writeVariableText("");      // xref 경로
+        w.writeRawChar(0);            // INSERT 수 끝
+        w.writeVariableText("");      // description
+        w.writeBitLong(0);            // preview 크기
+
+        DwgBlockHeader block = new DwgBlockHeader();
+        BitStreamReader r = new BitStreamReader(new ByteBufferBitInput(w.toByteArray()), DwgVersion.R2004);
+        boolean threw = false;
+        try {
+            resolver.reader(DwgObjectType.BLOCK_HEADER.typeCode()).read(block, r, DwgVersion.R2004);
+        } catch (Exception e) {
+            threw = true;
+        }
+        report("3인자 read가 예외 없이 끝남", !threw);
+        report("데이터 스트림 필드", "PART".equals(block.blockName()) && block.hasAttributes()
+            && block.basePoint().x() == 1 && block.basePoint().z() == 3);
+        report("핸들 스트림 목록은 비어 있음", block.ownedEntityHandles() == null);
+    }
+
+    private static void benchmark(ObjectTypeResolver resolver, ObjectDispatchTable table) {
+        System.out.println("\n[TEST 5] 객체당 디스패치 비용");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        // 도면에서 흔한 분포: 대부분 표준 엔티티, 일부 클래스 번호
+        int[] common = {0x13, 0x11, 0x12, 0x01, 0x07, 0x4D, 0x4B, 0x33, 0x2A, 0x30, 0x31, 0x04};
+        Random random = new Random(34);
+        int[] codes = new int[1 << 20];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = random.nextInt(10) == 0 ? 500 + random.nextInt(40) : common[random.nextInt(common.length)];
+        }
+        Map<Integer, ObjectReader> boxed = new HashMap<>();
+        for (int code : resolver.typeCodes()) boxed.put(code, resolver.reader(code));
+
+        long legacy = 0;
+        long current = 0;
+        int sink = 0;
+        for (int round = 0; round < 5; round++) {
+            long t0 = System.nanoTime();
+            for (int code : codes) {
+                DwgObjectType type = linearFromCode(code);
+                Optional<ObjectReader> reader = Optional.ofNullable(boxed.get(code));
+                sink += type.ordinal() + (reader.isPresent() ? 1 : 0);
+            }
+            long t1 = System.nanoTime();
+            for (int code : codes) {
+                ObjectDispatchTable.Entry e = table.lookup(code);
+                sink += e.type().ordinal() + (e.reader() != null ? 1 : 0);
+            }
+            long t2 = System.nanoTime();
+            if (round > 0) {  // 첫 회는 워밍업
+                legacy += t1 - t0;
+                current += t2 - t1;
+            }
+        }
+        double perLegacy = legacy / 4.0 / codes.length;
+        double perCurrent = current / 4.0 / codes.length;
+        report(String.format("순차 검색+HashMap %.1f ns/객체, 디스패치 표 %.1f ns/객체 (%.1fx)",
+            perLegacy, perCurrent, perLegacy / perCurrent), sink != 0);
+    }
+
+    private static DwgObjectType linearFromCode(int code) {
+        for (DwgObjectType t : DwgObjectType.values()) {
+            if (t.typeCode() == code) return t;
+        }
+        return DwgObjectType.UNKNOWN;
+    }
+
+    private static void report(String name, boolean ok) {
+        if (ok) {
+            System.out.println("  ✓ " + name);
+            passCount++;
+        } else {
+            System.out.println("  ✗ " + name);
+            failCount++;
+        }
+    }
+}
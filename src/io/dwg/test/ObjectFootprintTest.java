@@ -0,0 +1,147 @@
+package io.dwg.test;
+
+import io.dwg.api.DwgReader;
+import io.dwg.core.type.DwgHandleRef;
+import io.dwg.entities.DwgObject;
+import io.dwg.entities.concrete.DwgLine;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * 객체 공통 필드 메모리 테스트 (JUnit 없이 실행 가능)
+ * 리액터/XData가 없는 객체는 공유 빈 목록을 쓰는지, 리액터 배열이 추가 순서를 지키는지 확인하고
+ * 객체 하나가 차지하는 힙을 잽니다.
+ */
+public class ObjectFootprintTest {
+
+    private static int passCount = 0;
+    private static int failCount = 0;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("═══════════════════════════════════════════════════════════════");
+        System.out.println("  객체 공통 필드 메모리 테스트");
+        System.out.println("═══════════════════════════════════════════════════════════════\n");
+
+        testEmptyShared();
+        testReactors();
+        testLineFootprint();
+        for (String name : new String[] {"example_2000.dwg", "example_2004.dwg", "example_2018.dwg"}) {
+            Path file = Paths.get("samples", name);
+            if (Files.exists(file)) testSampleFootprint(file);
+        }
+
+        System.out.println("\n═══════════════════════════════════════════════════════════════");
+        System.out.printf("  테스트 결과: %d 통과, %d 실패\n", passCount, failCount);
+        System.out.println("═══════════════════════════════════════════════════════════════");
+    }
+
+    private static void testEmptyShared() {
+        System.out.println("\n[TEST 1] 리액터/XData 없는 객체");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        DwgLine a = new DwgLine();
+        DwgLine b = new DwgLine();
+        report("빈 리액터 목록은 공유", a.reactorHandles() == b.reactorHandles() && a.reactorHandles().isEmpty()
+            && a.reactorCount() == 0);
+        report("빈 XData 목록은 공유", a.xData() == b.xData() && a.xData().isEmpty());
+    }
+
+    private static void testReactors() {
+        System.out.println("\n[TEST 2] 리액터 추가와 조회");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        DwgLine line = new DwgLine();
+        for (long h = 1; h <= 37; h++) line.addReactorHandle(new DwgHandleRef(0x100 + h));
+        boolean ordered = line.reactorCount() == 37;
+        for (int i = 0; ordered && i < 37; i++) {
+            ordered = line.reactorHandle(i) == 0x101 + i && line.reactorHandles().get(i).rawHandle() == 0x101 + i;
+        }
+        report("37개 추가 순서대로", ordered && line.reactorHandles().size() == 37);
+
+        boolean readOnly;
+        try {
+            line.reactorHandles().add(new DwgHandleRef(1));
+            readOnly = false;
+        } catch (UnsupportedOperationException e) {
+            readOnly = true;
+        }
+        report("목록은 읽기 전용", readOnly);
+
+        boolean bounds;
+        try {
+            line.reactorHandle(37);
+            bounds = false;
+        } catch (IndexOutOfBoundsException e) {
+            bounds = true;
+        }
+        report("범위 밖 색인은 IndexOutOfBoundsException", bounds);
+        report("목록 equals", line.reactorHandles().contains(new DwgHandleRef(0x125))
+            && !line.reactorHandles().contains(new DwgHandleRef(0x126)));
+    }
+
+    private static void testLineFootprint() {
+        System.out.println("\n[TEST 3] 빈 DwgLine 100만 개의 힙");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        int count = 1_000_000;
+        long before = usedHeap();
+        DwgLine[] lines = new DwgLine[count];
+        for (int i = 0; i < count; i++) {
+            lines[i] = new DwgLine();
+            lines[i].reactorHandles();
+            lines[i].xData();
+        }
+        long after = usedHeap();
+        double perObject = (after - before - 16.0 - 4.0 * count) / count;
+        System.out.printf("  객체당 약 %.1f bytes\n", perObject);
+        report("객체 " + lines.length + "개", perObject > 0);
+    }
+
+    private static void testSampleFootprint(Path file) throws Exception {
+        System.out.println("\n[TEST] " + file.getFileName() + ": 파싱한 객체가 유지하는 힙");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        // 문서(원본 파일 버퍼, 색인)는 버리고 객체만 남긴다
+        int copies = 20;
+        DwgObject[][] kept = new DwgObject[copies][];
+        long before = usedHeap();
+        for (int i = 0; i < copies; i++) {
+            kept[i] = DwgReader.defaultReader().open(file).objectMap().values().toArray(new DwgObject[0]);
+        }
+        long after = usedHeap();
+        long objects = 0;
+        long withReactors = 0;
+        for (DwgObject o : kept[0]) {
+            objects++;
+            if (o.reactorCount() > 0) withReactors++;
+        }
+        double perObject = (after - before - (double) copies * (16 + 4 * objects)) / (copies * objects);
+        System.out.printf("  객체 %d개 (리액터 있음 %d개), 객체당 약 %.0f bytes\n", objects, withReactors, perObject);
+        report("객체 " + copies + " × " + objects + "개 유지", objects > 0 && perObject > 0);
+    }
+
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    private static void report(String name, boolean ok) {
+        if (ok) {
+            System.out.println("  ✓ " + name);
+            passCount++;
+        } else {
+            System.out.println("  ✗ " + name);
+            failCount++;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package io.dwg.test;
+
+import io.dwg.api.DwgDocument;
+import io.dwg.api.DwgReader;
+import io.dwg.core.version.DwgVersion;
+import io.dwg.entities.DwgEntity;
+import io.dwg.entities.DwgObject;
+import io.dwg.entities.concrete.DwgLayer;
+import io.dwg.entities.concrete.DwgLine;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 객체 타입/이름 색인 테스트 (JUnit 없이 실행 가능)
+ * 색인 조회 결과를 objectMap 전체 검색 결과와 비교하고, 객체 추가/제거 시 색인 갱신을 확인합니다.
+ */
+public class ObjectIndexTest {
+
+    private static int passCount = 0;
+    private static int failCount = 0;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("═══════════════════════════════════════════════════════════════");
+        System.out.println("  객체 타입/이름 색인 테스트");
+        System.out.println("═══════════════════════════════════════════════════════════════\n");
+
+        testIncrementalUpdates();
+        testSampleFiles(args.length > 0 ? args[0] : "samples/2018");
+
+        System.out.println("\n═══════════════════════════════════════════════════════════════");
+        System.out.printf("  테스트 결과: %d 통과, %d 실패\n", passCount, failCount);
+        System.out.println("═══════════════════════════════════════════════════════════════");
+    }
+
+    private static void testIncrementalUpdates() {
+        System.out.println("\n[TEST 1] 객체 추가/교체/제거");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        DwgDocument doc = new DwgDocument(DwgVersion.R2018);
+        doc.setObjectMap(new HashMap<>());
+        DwgLayer zero = layer(0x10, "0");
+        doc.addObject(zero);
+        doc.addObject(layer(0x11, "WALL"));
+        for (long h = 0x100; h < 0x110; h++) {
+            DwgLine line = new DwgLine();
+            line.setHandle(h);
+            doc.addObject(line);
+        }
+        report("레이어 2개", doc.layers().size() == 2);
+        report("이름 조회", doc.layer("WALL").map(l -> l.handle() == 0x11).orElse(false));
+        report("엔티티 16개 (핸들 순)", doc.entities().size() == 16 && doc.entities().get(0).handle() == 0x100);
+
+        // 같은 핸들로 교체
+        doc.addObject(layer(0x11, "DOOR"));
+        report("교체 후 이전 이름 제거", doc.layer("WALL").isEmpty());
+        report("교체 후 새 이름 조회", doc.layer("DOOR").isPresent() && doc.layers().size() == 2);
+
+        doc.removeObject(0x100);
+        report("제거 후 엔티티 15개", doc.entities().size() == 15);
+        report("없는 핸들 제거", doc.removeObject(0x999).isEmpty());
+
+        // 이름 변경 절차: remove → rename → add
+        doc.objectIndex().remove(zero);
+        zero.setName("BASE");
+        doc.objectIndex().add(zero);
+        report("이름 변경 반영", doc.layer("BASE").isPresent() && doc.layer("0").isEmpty());
+        report("테이블 API 위임", doc.tables().layerByName("DOOR").isPresent());
+    }
+
+    private static void testSampleFiles(String dir) throws Exception {
+        System.out.println("\n[TEST 2] 샘플 파일 색인 vs 전체 검색 (" + dir + ")");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        Path base = Paths.get(dir);
+        if (!Files.isDirectory(base)) {
+            System.out.println("  (샘플 디렉터리 없음 - 건너뜀)");
+            return;
+        }
+        try (var files = Files.list(base)) {
+            for (Path file : files.filter(p -> p.toString().toLowerCase().endsWith(".dwg")).sorted().toList()) {
+                DwgDocument doc;
+                try {
+                    doc = DwgReader.defaultReader().open(file);
+                } catch (Exception e) {
+                    System.out.println("  - " + file.getFileName() + ": 읽기 실패 (" + e.getMessage() + ")");
+                    continue;
+                }
+                List<DwgObject> all = List.copyOf(doc.objectMap().values());
+                long scanEntities = all.stream().filter(DwgObject::isEntity).count();
+                List<DwgLayer> scanLayers = all.stream().filter(o -> o instanceof DwgLayer)
+                    .map(o -> (DwgLayer) o).collect(Collectors.toList());
+                boolean ok = doc.entities().size() == scanEntities && doc.layers().size() == scanLayers.size();
+                for (DwgLayer l : scanLayers) {
+                    ok &= doc.layer(l.name()).map(found -> found.name().equals(l.name())).orElse(false);
+                }
+                List<DwgEntity> entities = doc.entities();
+                for (int i = 1; i < entities.size() && ok; i++) {
+                    ok = entities.get(i - 1).handle() < entities.get(i).handle();
+                }
+
+                long t0 = System.nanoTime();
+                int hits = 0;
+                for (DwgEntity e : entities) {
+                    if (doc.layer("0").isPresent()) hits++;
+                }
+                long t1 = System.nanoTime();
+                report(String.format("%s: 엔티티 %d, 레이어 %d, 엔티티별 layer() %.2f ms", file.getFileName(),
+                    scanEntities, scanLayers.size(), (t1 - t0) / 1e6), ok && hits >= 0);
+            }
+        }
+    }
+
+    private static DwgLayer layer(long handle, String name) {
+        DwgLayer l = new DwgLayer();
+        l.setHandle(handle);
+        l.setName(name);
+        return l;
+    }
+
+    private static void report(String name, boolean ok) {
+        if (ok) {
+            System.out.println("  ✓ " + name);
+            passCount++;
+        } else {
+            System.out.println("  ✗ " + name);
+            failCount++;
+        }
+    }
+}
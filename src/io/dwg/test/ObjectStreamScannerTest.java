@@ -0,0 +1,284 @@
+package io.dwg.test;
+
+import io.dwg.core.io.BitStreamReader;
+import io.dwg.core.io.ByteBufferBitInput;
+import io.dwg.core.io.SectionInputStream;
+import io.dwg.core.util.CrcCalculator;
+import io.dwg.core.version.DwgVersion;
+import io.dwg.core.version.DwgVersionDetector;
+import io.dwg.entities.DwgObject;
+import io.dwg.entities.DwgObjectType;
+import io.dwg.format.common.DwgFileStructureHandler;
+import io.dwg.format.common.DwgFileStructureHandlerFactory;
+import io.dwg.format.common.FileHeaderFields;
+import io.dwg.sections.classes.DwgClassRegistry;
+import io.dwg.sections.handles.HandleRegistry;
+import io.dwg.sections.handles.HandlesSectionParser;
+import io.dwg.sections.objects.ObjectDispatchTable;
+import io.dwg.sections.objects.ObjectStreamScanner;
+import io.dwg.sections.objects.ObjectTypeResolver;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+/**
+ * 객체 스트림 스캐너 테스트 (JUnit 없이 실행 가능)
+ * 크기/타입/CRC 검증으로 객체를 찾는지, 손상 구간을 건너뛰고 복구 구간을 보고하는지 확인하고,
+ * 손상된 데이터에서 기존 방식(16비트씩 전진하며 예외로 재시도)과 속도를 비교합니다.
+ */
+public class ObjectStreamScannerTest {
+
+    private static int passCount = 0;
+    private static int failCount = 0;
+    private static long legacyNanos = 0;
+    private static long scannerNanos = 0;
+
+    private static final IntPredicate STANDARD =
+        code -> DwgObjectType.fromCode(code) != DwgObjectType.UNKNOWN;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("═══════════════════════════════════════════════════════════════");
+        System.out.println("  객체 스트림 스캐너 테스트");
+        System.out.println("═══════════════════════════════════════════════════════════════\n");
+
+        testSynthetic();
+        testSampleFiles(args.length > 0 ? args[0] : "samples");
+
+        System.out.println("\n═══════════════════════════════════════════════════════════════");
+        System.out.printf("  테스트 결과: %d 통과, %d 실패\n", passCount, failCount);
+        System.out.println("═══════════════════════════════════════════════════════════════");
+    }
+
+    private static void testSynthetic() {
+        System.out.println("\n[TEST 1] 합성 객체 스트림");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        Random random = new Random(36);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int[] expected = new int[40];
+        int junk = 0;
+        for (int i = 0; i < expected.length; i++) {
+            if (i == 10 || i == 25) {
+                byte[] garbage = new byte[37 + i];
+                random.nextBytes(garbage);
+                out.writeBytes(garbage);
+                junk += garbage.length;
+            }
+            expected[i] = out.size();
+            out.writeBytes(object(0x13, 20 + random.nextInt(200), random));
+        }
+        byte[] raw = out.toByteArray();
+
+        ObjectStreamScanner scanner = new ObjectStreamScanner(raw, DwgVersion.R2004, STANDARD);
+        boolean same = true;
+        int found = 0;
+        for (ObjectStreamScanner.Candidate c = scanner.next(); c != null; c = scanner.next()) {
+            same &= found < expected.length && c.offset() == expected[found] && c.typeCode() == 0x13;
+            found++;
+        }
+        report("객체 40개를 정확한 위치에서 찾음", same && found == expected.length);
+        List<ObjectStreamScanner.Range> ranges = scanner.recoveredRanges();
+        report("복구 구간 3개 (10, 15, 15개)", ranges.size() == 3 && ranges.get(0).objects() == 10
+            && ranges.get(1).objects() == 15 && ranges.get(2).objects() == 15
+            && ranges.get(2).end() == raw.length);
+        report("건너뛴 바이트 = 끼워 넣은 잡음", scanner.skippedBytes() == junk);
+
+        byte[] broken = raw.clone();
+        broken[expected[5] + 6] ^= 0x20;  // 데이터 1비트 손상 → CRC 불일치
+        ObjectStreamScanner again = new ObjectStreamScanner(broken, DwgVersion.R2004, STANDARD);
+        int count = 0;
+        while (again.next() != null) count++;
+        report("CRC가 틀린 객체만 제외", count == expected.length - 1);
+    }
+
+    private static void testSampleFiles(String dir) throws Exception {
+        System.out.println("\n[TEST 2] 샘플 파일 (" + dir + ")");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        Path base = Paths.get(dir);
+        if (!Files.isDirectory(base)) {
+            System.out.println("  (샘플 디렉터리 없음 - 건너뜀)");
+            return;
+        }
+        try (var files = Files.list(base)) {
+            for (Path file : files.filter(p -> p.toString().toLowerCase().endsWith(".dwg")).sorted().toList()) {
+                byte[] data = Files.readAllBytes(file);
+                DwgVersion version = DwgVersionDetector.detect(data);
+                if (version.until(DwgVersion.R2000)) continue;
+                DwgFileStructureHandler handler = DwgFileStructureHandlerFactory.forVersion(version);
+                FileHeaderFields fields = handler.readHeader(new ByteBufferBitInput(data));
+                Map<String, SectionInputStream> sections = handler.readSections(new ByteBufferBitInput(data), fields);
+                SectionInputStream objects = sections.getOrDefault("AcDb:AcDbObjects", sections.get("AcDb:Objects"));
+                if (objects == null || !sections.containsKey("AcDb:Handles")) continue;
+                byte[] raw = objects.rawBytes();
+                HandleRegistry handles = new HandlesSectionParser().parse(sections.get("AcDb:Handles"), version);
+
+                IntPredicate known = code -> STANDARD.test(code) || (code >= 500 && code < 1000);
+                Set<Long> scanned = new HashSet<>();
+                ObjectStreamScanner scanner = new ObjectStreamScanner(raw, version, known);
+                for (ObjectStreamScanner.Candidate c = scanner.next(); c != null; c = scanner.next()) {
+                    scanned.add(c.offset());
+                }
+                int mapped = 0;
+                for (long h : handles.allHandles()) {
+                    long off = handles.offsetFor(h).orElse(-1L);
+                    if (off >= 0 && off < raw.length) mapped++;
+                }
+                int matched = 0;
+                for (long h : handles.allHandles()) {
+                    long off = handles.offsetFor(h).orElse(-1L);
+                    if (off >= 0 && off < raw.length && scanned.contains(off)) matched++;
+                }
+                report(String.format("%s: 핸들 맵 %d개 중 %d개 위치 일치, 구간 %d개", file.getFileName(),
+                    mapped, matched, scanner.recoveredRanges().size()), matched >= mapped * 9 / 10);
+
+                benchmark(file.getFileName().toString(), raw, version, known);
+            }
+        }
+        if (scannerNanos > 0) {
+            double speedup = (double) legacyNanos / scannerNanos;
+            report(String.format("손상본 전체: 재시도 %.1f ms, 스캐너 %.1f ms (%.0fx, 목표 10x)",
+                legacyNanos / 1e6, scannerNanos / 1e6, speedup), speedup >= 10);
+        }
+    }
+
+    /** 앞 64KB에서 4KB마다 64바이트를 망가뜨린 뒤 두 방식으로 복구 */
+    private static void benchmark(String name, byte[] raw, DwgVersion version, IntPredicate known) {
+        byte[] damaged = Arrays.copyOf(raw, Math.min(raw.length, 64 * 1024));
+        Random random = new Random(name.hashCode());
+        for (int off = 2048; off + 64 < damaged.length; off += 4096) {
+            for (int i = 0; i < 64; i++) damaged[off + i] = (byte) random.nextInt(256);
+        }
+        ObjectDispatchTable table = ObjectDispatchTable.standard(ObjectTypeResolver.defaultResolver(new DwgClassRegistry()));
+
+        long t0 = System.nanoTime();
+        int legacy = legacyRetry(damaged, version, table);
+        long t1 = System.nanoTime();
+        int scanned = 0;
+        ObjectStreamScanner scanner = new ObjectStreamScanner(damaged, version, known);
+        for (ObjectStreamScanner.Candidate c = scanner.next(); c != null; c = scanner.next()) {
+            if (decode(damaged, c.offset(), version, table) != null) scanned++;
+        }
+        long t2 = System.nanoTime();
+        legacyNanos += t1 - t0;
+        scannerNanos += t2 - t1;
+        // 찾은 객체의 디코딩 비용은 양쪽 모두 같으므로 파일별 배율은 참고용
+        report(String.format("  손상본: 재시도 %d개 %.1f ms, 스캐너 %d개 %.1f ms (%.0fx)", legacy,
+            (t1 - t0) / 1e6, scanned, (t2 - t1) / 1e6, (double) (t1 - t0) / Math.max(1, t2 - t1)),
+            scanned >= legacy * 9 / 10);
+    }
+
+    /**
+     * 예외로 재시도하는 방식: 바이트마다 객체를 끝까지 디코딩해 보고, 크기가 범위를 벗어나거나
+     * CRC가 맞지 않으면 예외를 던져 다음 바이트에서 다시 시도한다 (스캐너와 같은 판정 기준).
+     */
+    private static int legacyRetry(byte[] raw, DwgVersion version, ObjectDispatchTable table) {
+        int count = 0;
+        int pos = 0;
+        while (pos + 4 <= raw.length) {
+            try {
+                ByteBufferBitInput in = new ByteBufferBitInput(raw);
+                in.seek((long) pos * 8);
+                BitStreamReader r = new BitStreamReader(in, version);
+                int size = r.readModularShort();
+                if (version.from(DwgVersion.R2010)) r.readUMC();
+                int dataOffset = (int) (in.position() / 8);
+                int end = dataOffset + size;
+                if (size <= 0 || end + 2 > raw.length) {
+                    throw new IllegalStateException("Invalid object size: " + size);
+                }
+                int type = version.from(DwgVersion.R2010) ? r.readBOT() : r.readBitShort();
+                ObjectDispatchTable.Entry entry = table.lookup(type);
+                DwgObject obj = entry.create();
+                if (obj != null) {
+                    try {
+                        readBody(r, obj, entry, version);
+                    } catch (Exception e) {
+                        // parseObjectAt처럼 타입별 파싱 실패는 무시
+                    }
+                }
+                int stored = (raw[end] & 0xFF) | ((raw[end + 1] & 0xFF) << 8);
+                int crc = CrcCalculator.Crc16Calculator.compute(
+                    CrcCalculator.Crc16Calculator.OBJECT_SEED, raw, pos, end - pos);
+                if (crc != stored) {
+                    throw new IllegalStateException("Object CRC mismatch at " + pos);
+                }
+                count++;
+                pos = end + 2;
+            } catch (Exception e) {
+                pos++;
+            }
+        }
+        return count;
+    }
+
+    private static DwgObject decode(byte[] raw, long offset, DwgVersion version, ObjectDispatchTable table) {
+        ByteBufferBitInput in = new ByteBufferBitInput(raw);
+        in.seek((long) offset * 8);
+        BitStreamReader r = new BitStreamReader(in, version);
+        r.readModularShort();
+        if (version.from(DwgVersion.R2010)) r.readUMC();
+        int type = version.from(DwgVersion.R2010) ? r.readBOT() : r.readBitShort();
+        ObjectDispatchTable.Entry entry = table.lookup(type);
+        DwgObject obj = entry.create();
+        if (obj != null) {
+            try {
+                readBody(r, obj, entry, version);
+            } catch (Exception e) {
+                // 타입별 파싱 실패는 객체 수에 영향 없음
+            }
+        }
+        return obj;
+    }
+
+    private static void readBody(BitStreamReader r, DwgObject obj, ObjectDispatchTable.Entry entry,
+                                 DwgVersion version) throws Exception {
+        if (entry.reader() != null) entry.reader().read(obj, r, version);
+    }
+
+    /** MS + 데이터(BS 타입, RL 비트 수, 자기 핸들, 나머지 임의) + CRC 로 R2004 객체 하나 만들기 */
+    private static byte[] object(int typeCode, int size, Random random) {
+        byte[] obj = new byte[2 + size + 2];
+        obj[0] = (byte) size;
+        obj[1] = (byte) (size >> 8);
+        for (int i = 2; i < 2 + size; i++) obj[i] = (byte) random.nextInt(256);
+        int bit = 16;
+        bit = putBits(obj, bit, 0b01, 2);                        // BS 코드 01 + RC
+        bit = putBits(obj, bit, typeCode, 8);
+        bit = putBits(obj, bit, Integer.reverseBytes(size * 8 - 40), 32);  // RL (LE)
+        bit = putBits(obj, bit, 0x01, 8);                        // 핸들 코드 0, 1바이트
+        putBits(obj, bit, 1 + random.nextInt(255), 8);
+        int crc = CrcCalculator.Crc16Calculator.compute(CrcCalculator.Crc16Calculator.OBJECT_SEED, obj, 0, 2 + size);
+        obj[2 + size] = (byte) crc;
+        obj[3 + size] = (byte) (crc >> 8);
+        return obj;
+    }
+
+    private static int putBits(byte[] buf, int bit, long value, int n) {
+        for (int i = n - 1; i >= 0; i--, bit++) {
+            int mask = 0x80 >>> (bit & 7);
+            if (((value >>> i) & 1) != 0) buf[bit >> 3] |= mask;
+            else buf[bit >> 3] &= ~mask;
+        }
+        return bit;
+    }
+
+    private static void report(String name, boolean ok) {
+        if (ok) {
+            System.out.println("  ✓ " + name);
+            passCount++;
+        } else {
+            System.out.println("  ✗ " + name);
+            failCount++;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package io.dwg.test;
+
+import io.dwg.core.io.ArrayBitOutput;
+import io.dwg.core.io.ByteBufferBitOutput;
+import io.dwg.core.version.DwgVersion;
+import io.dwg.entities.DwgObject;
+import io.dwg.sections.objects.ObjectsSectionWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Objects 섹션 쓰기 벤치마크 (JMH)
+ * LINE 엔티티 섹션을 같은 BitStreamWriter 호출로 ByteBufferBitOutput과 ArrayBitOutput에 쓰고,
+ * 객체마다 크기와 CRC를 붙이는 ObjectsSectionWriter 전체 경로와 비교합니다.
+ *
+ * <pre>
+ * mvn -B test-compile
+ * java -cp target/test-classes:&lt;jmh-core, jopt-simple, commons-math3&gt; \
+ *     org.openjdk.jmh.Main ObjectsSectionWriteBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ObjectsSectionWriteBenchmark {
+
+    @Param({"100000"})
+    public int count;
+
+    private Map<Long, DwgObject> objects;
+
+    @Setup(Level.Trial)
+    public void build() {
+        objects = ArrayBitOutputTest.lines(count);
+    }
+
+    @Benchmark
+    public byte[] byteBufferBitOutput() throws Exception {
+        return ArrayBitOutputTest.writeLines(objects, ByteBufferBitOutput::new);
+    }
+
+    @Benchmark
+    public byte[] arrayBitOutput() throws Exception {
+        return ArrayBitOutputTest.writeLines(objects, ArrayBitOutput::new);
+    }
+
+    @Benchmark
+    public byte[] objectsSectionWriter() throws Exception {
+        return new ObjectsSectionWriter().write(objects, DwgVersion.R2004).toByteArray();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(ObjectsSectionWriteBenchmark.class.getSimpleName()).build()).run();
+    }
+}
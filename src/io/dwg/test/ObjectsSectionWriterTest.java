@@ -0,0 +1,215 @@
+package io.dwg.test;
+
+import io.dwg.core.io.BitStreamWriter;
+import io.dwg.core.type.Point3D;
+import io.dwg.core.util.CrcCalculator;
+import io.dwg.core.version.DwgVersion;
+import io.dwg.entities.DwgObject;
+import io.dwg.entities.concrete.DwgCircle;
+import io.dwg.entities.concrete.DwgLine;
+import io.dwg.sections.handles.HandleEntry;
+import io.dwg.sections.handles.HandleRegistry;
+import io.dwg.sections.handles.HandlesParsingUtil;
+import io.dwg.sections.handles.HandlesSectionWriter;
+import io.dwg.sections.objects.ObjectWriterRegistry;
+import io.dwg.sections.objects.ObjectsSectionWriter;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * ObjectsSectionWriter / HandlesSectionWriter 테스트 (JUnit 없이 실행 가능)
+ * 객체마다 MS 크기와 CRC가 맞는지, 기록한 오프셋이 Handles 섹션을 거쳐 그대로 돌아오는지,
+ * 여러 스레드로 나눠 쓴 결과가 한 객체씩 차례로 쓴 결과와 같은지 확인합니다.
+ */
+public class ObjectsSectionWriterTest {
+
+    private static int passCount = 0;
+    private static int failCount = 0;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("═══════════════════════════════════════════════════════════════");
+        System.out.println("  Objects/Handles 섹션 쓰기 테스트");
+        System.out.println("═══════════════════════════════════════════════════════════════\n");
+
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        Map<Long, DwgObject> objects = randomObjects(count);
+
+        testFraming(objects, DwgVersion.R2004);
+        testFraming(objects, DwgVersion.R2010);
+        testHandlesRoundTrip(objects);
+        testParallel(objects);
+
+        System.out.println("\n═══════════════════════════════════════════════════════════════");
+        System.out.printf("  테스트 결과: %d 통과, %d 실패\n", passCount, failCount);
+        System.out.println("═══════════════════════════════════════════════════════════════");
+    }
+
+    private static void testFraming(Map<Long, DwgObject> objects, DwgVersion version) throws Exception {
+        System.out.println("\n[TEST] 객체 크기/CRC (" + version + ")");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        HandleRegistry offsets = new HandleRegistry();
+        byte[] raw = new ObjectsSectionWriter().write(objects, version, offsets).toByteArray();
+        report("오프셋 " + objects.size() + "개 기록", offsets.size() == objects.size());
+
+        int bad = 0;
+        int end = 0;
+        long previous = -1;
+        for (HandleEntry e : offsets.sortedEntries()) {
+            int pos = (int) e.offset();
+            if (pos <= previous) bad++;
+            previous = pos;
+            // MS
+            int size = 0;
+            int shift = 0;
+            int word;
+            do {
+                word = (raw[pos] & 0xFF) | ((raw[pos + 1] & 0xFF) << 8);
+                pos += 2;
+                size |= (word & 0x7FFF) << shift;
+                shift += 15;
+            } while ((word & 0x8000) != 0);
+            if (version.from(DwgVersion.R2010) && raw[pos++] != 0) bad++;
+            int crc = CrcCalculator.Crc16Calculator.compute(CrcCalculator.Crc16Calculator.OBJECT_SEED,
+                raw, (int) e.offset(), pos + size - (int) e.offset());
+            int stored = (raw[pos + size] & 0xFF) | ((raw[pos + size + 1] & 0xFF) << 8);
+            if (crc != stored || size <= 0) bad++;
+            end = pos + size + 2;
+        }
+        report("모든 객체의 MS 크기와 CRC 일치 (잘못된 객체 " + bad + "개)", bad == 0);
+        report("마지막 객체가 섹션 끝에서 끝남", end == raw.length);
+    }
+
+    private static void testHandlesRoundTrip(Map<Long, DwgObject> objects) throws Exception {
+        System.out.println("\n[TEST] Handles 섹션 왕복");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        HandleRegistry offsets = new HandleRegistry();
+        new ObjectsSectionWriter().write(objects, DwgVersion.R2004, offsets);
+        byte[] handles = new HandlesSectionWriter().write(offsets, DwgVersion.R2004).toByteArray();
+
+        HandleRegistry parsed = new HandleRegistry();
+        HandlesParsingUtil.parseHandlesPages(handles, parsed, true);
+        int wrong = 0;
+        for (HandleEntry e : offsets.sortedEntries()) {
+            if (parsed.offsetOf(e.handle()) != e.offset()) wrong++;
+        }
+        report(String.format("핸들 %d개 모두 같은 오프셋으로 읽힘 (다른 것 %d개)", offsets.size(), wrong),
+            parsed.size() == offsets.size() && wrong == 0);
+
+        int pages = 0;
+        boolean sizes = true;
+        boolean crcs = true;
+        int pos = 0;
+        while (true) {
+            int size = ((handles[pos] & 0xFF) << 8) | (handles[pos + 1] & 0xFF);
+            sizes &= size >= 2 && size <= 2040;
+            int crc = CrcCalculator.Crc16Calculator.compute(CrcCalculator.Crc16Calculator.OBJECT_SEED, handles, pos, size);
+            crcs &= crc == (((handles[pos + size] & 0xFF) << 8) | (handles[pos + size + 1] & 0xFF));
+            pos += size + 2;
+            if (size == 2) break;
+            pages++;
+        }
+        report("페이지 " + pages + "개, 모두 2040바이트 이하", sizes && pages > 1);
+        report("페이지 CRC 일치", crcs);
+        report("끝 표시 다음이 섹션 끝", pos == handles.length);
+
+        byte[] empty = new HandlesSectionWriter().write(new HandleRegistry(), DwgVersion.R2004).toByteArray();
+        report("빈 맵은 끝 표시 페이지만", empty.length == 4 && empty[0] == 0 && empty[1] == 2);
+    }
+
+    /**
+     * 공용 풀과 스레드 4개 풀에서 쓴 결과를, 객체를 하나씩 BitStreamWriter로 직접 감싼 결과와 비교
+     */
+    private static void testParallel(Map<Long, DwgObject> objects) throws Exception {
+        System.out.println("\n[TEST] 병렬 직렬화");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        long t0 = System.nanoTime();
+        byte[] expected = reference(objects, DwgVersion.R2004);
+        long t1 = System.nanoTime();
+        byte[] common = new ObjectsSectionWriter().write(objects, DwgVersion.R2004).toByteArray();
+        long t2 = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            byte[] four = pool.submit(() -> new ObjectsSectionWriter().write(objects, DwgVersion.R2004).toByteArray()).get();
+            System.out.printf("  객체 %d개, 프로세서 %d개: 하나씩 %.1f ms, ObjectsSectionWriter %.1f ms, %d KB\n",
+                objects.size(), Runtime.getRuntime().availableProcessors(), (t1 - t0) / 1e6, (t2 - t1) / 1e6,
+                common.length >> 10);
+            report("공용 풀 출력이 순차 참조와 일치", Arrays.equals(expected, common));
+            report("스레드 4개 출력이 순차 참조와 일치", Arrays.equals(expected, four));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /** 객체마다 새 BitStreamWriter에 데이터를 쓰고 MS + 데이터 + CRC로 감싼 섹션 */
+    private static byte[] reference(Map<Long, DwgObject> objects, DwgVersion version) throws Exception {
+        ObjectWriterRegistry writers = ObjectWriterRegistry.defaultRegistry();
+        BitStreamWriter section = new BitStreamWriter(version);
+        for (long handle : objects.keySet().stream().mapToLong(Long::longValue).sorted().toArray()) {
+            DwgObject obj = objects.get(handle);
+            BitStreamWriter data = new BitStreamWriter(version);
+            data.writeBitShort(obj.objectType().typeCode());
+            writers.resolve(obj.objectType().typeCode()).orElseThrow().write(obj, data, version);
+            byte[] bytes = data.toByteArray();
+
+            BitStreamWriter framed = new BitStreamWriter(version);
+            framed.writeModularShort(bytes.length);
+            framed.getOutput().writeBytes(bytes, 0, bytes.length);
+            byte[] head = framed.toByteArray();
+            int crc = CrcCalculator.Crc16Calculator.compute(CrcCalculator.Crc16Calculator.OBJECT_SEED, head, 0, head.length);
+            section.getOutput().writeBytes(head, 0, head.length);
+            section.writeRawShort(crc);
+        }
+        return section.toByteArray();
+    }
+
+    /** 핸들이 드문드문하고 섞인 순서로 들어 있는 LINE/CIRCLE */
+    private static Map<Long, DwgObject> randomObjects(int count) {
+        Random random = new Random(21);
+        long[] handles = new long[count];
+        long handle = 0x20;
+        for (int i = 0; i < count; i++) {
+            handle += 1 + (random.nextInt(8) == 0 ? random.nextInt(5000) : 0);
+            handles[i] = handle;
+        }
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long t = handles[i];
+            handles[i] = handles[j];
+            handles[j] = t;
+        }
+        Map<Long, DwgObject> objects = new LinkedHashMap<>();
+        for (long h : handles) {
+            if (random.nextBoolean()) {
+                DwgLine line = new DwgLine();
+                line.setHandle(h);
+                line.setStart(new Point3D(random.nextDouble() * 1000, random.nextDouble() * 1000, 0));
+                line.setEnd(new Point3D(random.nextDouble() * 1000, random.nextDouble() * 1000, 0));
+                objects.put(h, line);
+            } else {
+                DwgCircle circle = new DwgCircle();
+                circle.setHandle(h);
+                circle.setCenter(new Point3D(random.nextDouble() * 1000, random.nextDouble() * 1000, 0));
+                circle.setRadius(1 + random.nextDouble() * 50);
+                objects.put(h, circle);
+            }
+        }
+        return objects;
+    }
+
+    private static void report(String name, boolean ok) {
+        if (ok) {
+            System.out.println("  ✓ " + name);
+            passCount++;
+        } else {
+            System.out.println("  ✗ " + name);
+            failCount++;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package io.dwg.test;
+
+import io.dwg.api.DwgDocument;
+import io.dwg.api.DwgReader;
+import io.dwg.core.io.ByteBufferBitInput;
+import io.dwg.core.io.PendingSection;
+import io.dwg.core.io.SectionInputStream;
+import io.dwg.core.version.DwgVersion;
+import io.dwg.core.version.DwgVersionDetector;
+import io.dwg.entities.DwgObject;
+import io.dwg.format.common.DwgFileStructureHandler;
+import io.dwg.format.common.DwgFileStructureHandlerFactory;
+import io.dwg.format.common.FileHeaderFields;
+import io.dwg.sections.classes.DwgClassRegistry;
+import io.dwg.sections.handles.HandleRegistry;
+import io.dwg.sections.handles.HandlesSectionParser;
+import io.dwg.sections.objects.ObjectsSectionParser;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 파이프라인 열기 테스트 (JUnit 없이 실행 가능)
+ * 압축 해제 중인 섹션에서 필요한 앞부분만 기다리는지, 파이프라인 모드와 단계별 모드의 결과가 같은지,
+ * 압축 해제와 객체 디코딩이 실제로 겹치는지 확인합니다.
+ */
+public class PipelinedOpenTest {
+
+    private static int passCount = 0;
+    private static int failCount = 0;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("═══════════════════════════════════════════════════════════════");
+        System.out.println("  파이프라인 열기 테스트");
+        System.out.println("═══════════════════════════════════════════════════════════════\n");
+
+        String dir = args.length > 0 ? args[0] : "samples";
+        testPendingSection();
+        testSameDocument(dir);
+        testOverlap(dir);
+
+        System.out.println("\n═══════════════════════════════════════════════════════════════");
+        System.out.printf("  테스트 결과: %d 통과, %d 실패\n", passCount, failCount);
+        System.out.println("═══════════════════════════════════════════════════════════════");
+    }
+
+    private static void testPendingSection() throws Exception {
+        System.out.println("\n[TEST 1] 압축 해제 중인 섹션");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CountDownLatch gate = new CountDownLatch(1);
+            PendingSection section = new PendingSection("test", new byte[1000], (data, ready) -> {
+                data[10] = 42;
+                ready.accept(500);
+                gate.await();
+                data[900] = 7;
+            });
+            section.start(executor);
+            section.awaitBytes(100);
+            report("앞부분만 기다림 (나머지는 아직)", section.ready() == 500 && section.stream().rawBytes()[10] == 42);
+            gate.countDown();
+            SectionInputStream all = section.await();
+            report("전체 기다림", section.isDone() && all.rawBytes()[900] == 7);
+        } finally {
+            executor.shutdown();
+        }
+
+        PendingSection idle = new PendingSection("idle", new byte[10], (data, ready) -> data[0] = 1);
+        idle.awaitBytes(1);
+        report("시작 안 된 섹션은 기다리는 스레드가 직접 풂", idle.isDone() && idle.stream().rawBytes()[0] == 1);
+
+        PendingSection failing = new PendingSection("failing", new byte[10], (data, ready) -> {
+            throw new IllegalArgumentException("broken");
+        });
+        try {
+            failing.await();
+            report("생산자 예외 전달", false);
+        } catch (IllegalStateException e) {
+            report("생산자 예외 전달", e.getCause() instanceof IllegalArgumentException);
+        }
+    }
+
+    private static void testSameDocument(String dir) throws Exception {
+        System.out.println("\n[TEST 2] 단계별 = 파이프라인 (" + dir + ")");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        List<Path> files = new ArrayList<>();
+        for (String sub : new String[] {"", "2004", "2010", "2013", "2018"}) {
+            Path base = Paths.get(dir, sub);
+            if (!Files.isDirectory(base)) continue;
+            try (var list = Files.list(base)) {
+                list.filter(p -> p.toString().toLowerCase().endsWith(".dwg")).sorted().forEach(files::add);
+            }
+        }
+        if (files.isEmpty()) {
+            System.out.println("  (샘플 없음 - 건너뜀)");
+            return;
+        }
+
+        int same = 0;
+        List<String> differ = new ArrayList<>();
+        long objects = 0;
+        for (Path file : files) {
+            DwgDocument a;
+            try {
+                a = DwgReader.defaultReader().open(file);
+            } catch (Exception e) {
+                continue;  // 단계별로도 못 여는 파일은 비교하지 않음
+            }
+            DwgDocument b = DwgReader.defaultReader().pipelined().open(file);
+            if (sameDocument(a, b)) {
+                same++;
+                objects += a.objectMap().size();
+            } else {
+                differ.add(file.getFileName().toString());
+            }
+        }
+        report(String.format("%d개 파일, 객체 %d개: 핸들/클래스/객체 타입/실패 기록 일치", same, objects),
+            differ.isEmpty() && same > 0);
+        if (!differ.isEmpty()) System.out.println("    다름: " + differ);
+    }
+
+    private static boolean sameDocument(DwgDocument a, DwgDocument b) {
+        if (a.version() != b.version()
+                || a.handleRegistry().size() != b.handleRegistry().size()
+                || a.customClasses().size() != b.customClasses().size()
+                || a.objectMap().size() != b.objectMap().size()
+                || a.diagnostics().count() != b.diagnostics().count()) {
+            return false;
+        }
+        for (Map.Entry<Long, DwgObject> e : a.objectMap().entrySet()) {
+            DwgObject other = b.objectMap().get(e.getKey());
+            if (other == null || other.getClass() != e.getValue().getClass()) return false;
+        }
+        return true;
+    }
+
+    /**
+     * 실제 Objects 섹션을 페이지(0x7400)마다 지연을 두고 내보내는 생산자로 느린 페이지 읽기/압축 해제를 흉내 내고,
+     * 섹션이 다 풀린 뒤 디코딩하는 경우와 풀리는 대로 디코딩하는 경우의 전체 시간을 비교한다.
+     */
+    private static void testOverlap(String dir) throws Exception {
+        System.out.println("\n[TEST 3] 압축 해제와 디코딩 겹치기");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        Path file = Paths.get(dir, "2018", "Dynblocks.dwg");
+        if (!Files.exists(file)) {
+            System.out.println("  (샘플 없음 - 건너뜀)");
+            return;
+        }
+        byte[] data = Files.readAllBytes(file);
+        DwgVersion version = DwgVersionDetector.detect(data);
+        DwgFileStructureHandler handler = DwgFileStructureHandlerFactory.forVersion(version);
+        FileHeaderFields fields = handler.readHeader(new ByteBufferBitInput(data));
+        Map<String, SectionInputStream> sections = handler.readSections(new ByteBufferBitInput(data), fields);
+        byte[] objects = sections.get("AcDb:AcDbObjects").rawBytes();
+        HandleRegistry handles = new HandlesSectionParser().parse(sections.get("AcDb:Handles"), version);
+        int pageSize = 0x7400;
+        long pageDelayNanos = TimeUnit.MILLISECONDS.toNanos(3);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            long sequential = Long.MAX_VALUE;
+            long pipelined = Long.MAX_VALUE;
+            int a = 0;
+            int b = 0;
+            for (int round = 0; round < 3; round++) {
+                long t0 = System.nanoTime();
+                PendingSection first = slowSection(objects, pageSize, pageDelayNanos);
+                first.start(executor);
+                first.await();
+                a = decode(first, handles, version);
+                long t1 = System.nanoTime();
+                PendingSection second = slowSection(objects, pageSize, pageDelayNanos);
+                second.start(executor);
+                b = decode(second, handles, version);
+                long t2 = System.nanoTime();
+                sequential = Math.min(sequential, t1 - t0);
+                pipelined = Math.min(pipelined, t2 - t1);
+            }
+            int pages = (objects.length + pageSize - 1) / pageSize;
+            report(String.format("%d KB, 페이지 %d개 x 3 ms: 다 푼 뒤 디코딩 %.1f ms, 풀리는 대로 디코딩 %.1f ms (%.2fx)",
+                objects.length >> 10, pages, sequential / 1e6, pipelined / 1e6, (double) sequential / pipelined),
+                a == b && a > 0 && pipelined < sequential);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static PendingSection slowSection(byte[] source, int pageSize, long delayNanos) {
+        return new PendingSection("AcDb:AcDbObjects", new byte[source.length], (data, ready) -> {
+            for (int start = 0; start < data.length; start += pageSize) {
+                LockSupport.parkNanos(delayNanos);
+                int length = Math.min(pageSize, data.length - start);
+                System.arraycopy(source, start, data, start, length);
+                ready.accept(start + length);
+            }
+        });
+    }
+
+    private static int decode(PendingSection section, HandleRegistry handles, DwgVersion version) throws Exception {
+        ObjectsSectionParser parser = new ObjectsSectionParser();
+        parser.setHandleRegistry(handles);
+        parser.setClassRegistry(new DwgClassRegistry());
+        return parser.parse(section, version).size();
+    }
+
+    private static void report(String name, boolean ok) {
+        if (ok) {
+            System.out.println("  ✓ " + name);
+            passCount++;
+        } else {
+            System.out.println("  ✗ " + name);
+            failCount++;
+        }
+    }
+}
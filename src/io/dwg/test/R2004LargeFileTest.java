@@ -0,0 +1,336 @@
+package io.dwg.test;
+
+import io.dwg.api.DwgDocument;
+import io.dwg.api.DwgWriter;
+import io.dwg.core.io.ByteBufferBitInput;
+import io.dwg.core.io.ByteBufferBitOutput;
+import io.dwg.core.io.SectionInputStream;
+import io.dwg.core.type.Point3D;
+import io.dwg.core.version.DwgVersion;
+import io.dwg.core.version.DwgVersionDetector;
+import io.dwg.entities.concrete.DwgLine;
+import io.dwg.format.common.FileHeaderFields;
+import io.dwg.format.common.SectionType;
+import io.dwg.format.r2004.R2004FileStructureHandler;
+import io.dwg.format.r2004.R2004PageMap;
+import io.dwg.format.r2004.R2004StreamingWriter;
+import io.dwg.sections.handles.HandleRegistry;
+import io.dwg.sections.handles.HandlesSectionWriter;
+import io.dwg.sections.objects.ObjectsSectionWriter;
+
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * R2004 페이지 맵/섹션 맵 기반 읽기 테스트 (JUnit 없이 실행 가능)
+ * 파일 구조 쓰기로 만든 파일을 다시 읽어 섹션 내용이 그대로인지 확인합니다.
+ */
+public class R2004LargeFileTest {
+
+    private static int passCount = 0;
+    private static int failCount = 0;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("═══════════════════════════════════════════════════════════════");
+        System.out.println("  R2004 페이지 맵 기반 섹션 읽기 테스트");
+        System.out.println("═══════════════════════════════════════════════════════════════\n");
+
+        testSmallSections();
+        testLargeFile(args.length > 0 ? Integer.parseInt(args[0]) : 24);
+        testLaterVersions();
+        testParallelCompression();
+        testStreaming();
+        testStreamingDocument(DwgVersion.R2004, args.length > 1 ? Integer.parseInt(args[1]) : 200_000);
+        testStreamingDocument(DwgVersion.R2010, 20_000);
+        testStreamingDocument(DwgVersion.R2018, 20_000);
+        testCompressionPoolUsed();
+
+        System.out.println("\n═══════════════════════════════════════════════════════════════");
+        System.out.printf("  테스트 결과: %d 통과, %d 실패\n", passCount, failCount);
+        System.out.println("═══════════════════════════════════════════════════════════════");
+    }
+
+    private static void testSmallSections() throws Exception {
+        System.out.println("\n[TEST 1] 작은 섹션 왕복");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        Map<String, byte[]> sections = new LinkedHashMap<>();
+        sections.put("AcDb:Header", randomBytes(1, 300));
+        sections.put("AcDb:Classes", new byte[] {1, 2, 3});
+        sections.put("AcDb:Handles", randomBytes(2, 0x7400));
+        sections.put("AcDb:Objects", randomBytes(3, 0x7401));
+        sections.put("AcDb:AppInfo", randomBytes(4, 17));
+
+        Map<String, SectionInputStream> read = roundTrip(DwgVersion.R2004, sections, null);
+        report("섹션 " + sections.size() + "개 모두 읽음", read.keySet().containsAll(sections.keySet()));
+        for (Map.Entry<String, byte[]> e : sections.entrySet()) {
+            SectionInputStream s = read.get(e.getKey());
+            report(String.format("%s (%d bytes) 일치", e.getKey(), e.getValue().length),
+                s != null && Arrays.equals(s.rawBytes(), e.getValue()));
+        }
+    }
+
+    private static void testLargeFile(int megabytes) throws Exception {
+        System.out.println("\n[TEST 2] 대용량 파일 (Objects " + megabytes + " MB)");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        Map<String, byte[]> sections = new LinkedHashMap<>();
+        sections.put("AcDb:Header", randomBytes(5, 1000));
+        sections.put("AcDb:Handles", randomBytes(6, 3 << 20));
+        sections.put("AcDb:Objects", randomBytes(7, megabytes << 20));
+
+        FileHeaderFields[] written = new FileHeaderFields[1];
+        long t0 = System.nanoTime();
+        Map<String, SectionInputStream> read = roundTrip(DwgVersion.R2004, sections, written);
+        long t1 = System.nanoTime();
+        System.out.printf("  쓰기+읽기 %.1f ms, 페이지 %d개, 페이지 맵 주소 0x%X\n",
+            (t1 - t0) / 1e6, written[0].sectionPageCount(), written[0].sectionMapOffset() + 0x100);
+
+        report("페이지 맵이 1MB 이후에 위치", written[0].sectionMapOffset() > (1 << 20));
+        for (Map.Entry<String, byte[]> e : sections.entrySet()) {
+            SectionInputStream s = read.get(e.getKey());
+            report(String.format("%s (%d bytes) 일치", e.getKey(), e.getValue().length),
+                s != null && Arrays.equals(s.rawBytes(), e.getValue()));
+        }
+    }
+
+    private static void testLaterVersions() throws Exception {
+        System.out.println("\n[TEST 3] R2010+ 버전 문자열");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        Map<String, byte[]> sections = new LinkedHashMap<>();
+        sections.put("AcDb:Objects", randomBytes(8, 100_000));
+        for (DwgVersion version : new DwgVersion[] {DwgVersion.R2010, DwgVersion.R2013, DwgVersion.R2018}) {
+            Map<String, SectionInputStream> read = roundTrip(version, sections, null);
+            SectionInputStream s = read.get("AcDb:Objects");
+            report(version + " 왕복", s != null && Arrays.equals(s.rawBytes(), sections.get("AcDb:Objects")));
+        }
+    }
+
+    /**
+     * 페이지 압축을 호출 스레드에서만 한 결과와 여러 스레드에 나눈 결과가 바이트 단위로 같은지
+     */
+    private static void testParallelCompression() throws Exception {
+        System.out.println("\n[TEST 4] 페이지 병렬 압축");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        Map<String, byte[]> sections = new LinkedHashMap<>();
+        sections.put("AcDb:Header", randomBytes(9, 2000));
+        sections.put("AcDb:Handles", repetitive(10, 1 << 20));
+        sections.put("AcDb:Objects", repetitive(11, 6 << 20));
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            byte[] serial = null;
+            byte[] parallel = null;
+            long serialBest = Long.MAX_VALUE;
+            long parallelBest = Long.MAX_VALUE;
+            for (int round = 0; round < 3; round++) {
+                long t0 = System.nanoTime();
+                serial = writeBody(sections, new FileHeaderFields(DwgVersion.R2004), Runnable::run);
+                long t1 = System.nanoTime();
+                parallel = writeBody(sections, new FileHeaderFields(DwgVersion.R2004), pool);
+                long t2 = System.nanoTime();
+                serialBest = Math.min(serialBest, t1 - t0);
+                parallelBest = Math.min(parallelBest, t2 - t1);
+            }
+            System.out.printf("  7 MB, 프로세서 %d개: 순차 %.1f ms, 스레드 4개 %.1f ms\n",
+                Runtime.getRuntime().availableProcessors(), serialBest / 1e6, parallelBest / 1e6);
+            report("순차/병렬 출력 일치 (" + serial.length + " bytes)", Arrays.equals(serial, parallel));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * 채널에 페이지 단위로 쓴 파일이 메모리에서 본문을 만든 뒤 헤더를 붙인 파일과 바이트 단위로 같은지
+     */
+    private static void testStreaming() throws Exception {
+        System.out.println("\n[TEST 5] 채널에 바로 쓰기");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        Map<String, byte[]> sections = new LinkedHashMap<>();
+        sections.put("AcDb:Header", randomBytes(12, 1500));
+        sections.put("AcDb:Classes", new byte[0]);
+        sections.put("AcDb:Handles", repetitive(13, 0x7400 * 2));
+        sections.put("AcDb:Objects", repetitive(14, 3 << 20));
+
+        FileHeaderFields fields = new FileHeaderFields(DwgVersion.R2004);
+        R2004FileStructureHandler handler = new R2004FileStructureHandler();
+        byte[] body = writeBody(sections, fields, Runnable::run);
+        ByteBufferBitOutput file = new ByteBufferBitOutput();
+        handler.writeHeader(file, fields);
+        file.writeBytes(body, 0, body.length);
+        byte[] expected = file.toByteArray();
+
+        Path path = Files.createTempFile("stream", ".dwg");
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            R2004StreamingWriter writer = new R2004StreamingWriter(channel, new FileHeaderFields(DwgVersion.R2004),
+                ForkJoinPool.commonPool());
+            Random random = new Random(15);
+            for (Map.Entry<String, byte[]> e : sections.entrySet()) {
+                // 페이지 경계와 맞지 않는 크기로 나눠 쓴다
+                try (OutputStream out = writer.section(e.getKey())) {
+                    byte[] data = e.getValue();
+                    for (int pos = 0; pos < data.length; ) {
+                        int n = Math.min(data.length - pos, 1 + random.nextInt(40_000));
+                        if (n == 1) out.write(data[pos]);
+                        else out.write(data, pos, n);
+                        pos += n;
+                    }
+                }
+            }
+            writer.finish();
+            byte[] streamed = Files.readAllBytes(path);
+            report("메모리 본문 + 헤더와 같은 파일 (" + streamed.length + " bytes)", Arrays.equals(expected, streamed));
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    /**
+     * DwgWriter.write(document, path)로 LINE이 많은 도면을 파일에 쓰고, 다시 읽은 섹션이
+     * 섹션 라이터 출력과 같은지
+     */
+    private static void testStreamingDocument(DwgVersion version, int count) throws Exception {
+        System.out.println("\n[TEST 6] DwgWriter " + version + " 파일 쓰기 (LINE " + count + "개)");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        DwgDocument document = new DwgDocument(version);
+        Random random = new Random(16);
+        for (int i = 0; i < count; i++) {
+            DwgLine line = new DwgLine();
+            line.setHandle(0x100 + i);
+            line.setStart(new Point3D(random.nextDouble() * 1000, random.nextDouble() * 1000, 0));
+            line.setEnd(new Point3D(random.nextDouble() * 1000, random.nextDouble() * 1000, 0));
+            document.addObject(line);
+        }
+
+        Path path = Files.createTempFile("document", ".dwg");
+        try {
+            long t0 = System.nanoTime();
+            DwgWriter.forVersion(version).write(document, path);
+            long t1 = System.nanoTime();
+            byte[] inMemory = DwgWriter.forVersion(version).toBytes(document);
+            long t2 = System.nanoTime();
+            byte[] bytes = Files.readAllBytes(path);
+            System.out.printf("  파일에 바로 %.1f ms, toBytes %.1f ms, 파일 %d KB\n",
+                (t1 - t0) / 1e6, (t2 - t1) / 1e6, bytes.length >> 10);
+
+            HandleRegistry offsets = new HandleRegistry();
+            byte[] objects = new ObjectsSectionWriter().write(document.objectMap(), version, offsets)
+                .toByteArray();
+            byte[] handles = new HandlesSectionWriter().write(offsets, version).toByteArray();
+
+            R2004FileStructureHandler reader = new R2004FileStructureHandler();
+            FileHeaderFields header = reader.readHeader(new ByteBufferBitInput(bytes));
+            Map<String, SectionInputStream> read = reader.readSections(new ByteBufferBitInput(bytes), header);
+            SectionInputStream readObjects = read.get(SectionType.OBJECTS.sectionName());
+            SectionInputStream readHandles = read.get(SectionType.HANDLES.sectionName());
+            report("Objects 섹션 (" + objects.length + " bytes) 일치",
+                readObjects != null && Arrays.equals(readObjects.rawBytes(), objects));
+            report("Handles 섹션 (" + handles.length + " bytes) 일치",
+                readHandles != null && Arrays.equals(readHandles.rawBytes(), handles));
+            report("버전 문자열 " + DwgVersionDetector.detect(bytes), DwgVersionDetector.detect(bytes) == version);
+            report("toBytes와 같은 파일 크기", bytes.length == inMemory.length);
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    /**
+     * toBytes도 R2010 이후를 R2004 구조로 쓰며 페이지 압축을 지정한 executor에 넘기는지
+     */
+    private static void testCompressionPoolUsed() throws Exception {
+        System.out.println("\n[TEST 7] toBytes 압축 executor");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        for (DwgVersion version : new DwgVersion[] {DwgVersion.R2004, DwgVersion.R2010, DwgVersion.R2018}) {
+            DwgDocument document = new DwgDocument(version);
+            for (int i = 0; i < 5_000; i++) {
+                DwgLine line = new DwgLine();
+                line.setHandle(0x100 + i);
+                line.setStart(new Point3D(i, 0, 0));
+                line.setEnd(new Point3D(0, i, 0));
+                document.addObject(line);
+            }
+            AtomicInteger tasks = new AtomicInteger();
+            byte[] bytes = DwgWriter.forVersion(version)
+                .compressionPool(task -> {
+                    tasks.incrementAndGet();
+                    task.run();
+                })
+                .toBytes(document);
+            report(version + ": 압축 작업 " + tasks.get() + "개가 executor로",
+                tasks.get() > 0 && DwgVersionDetector.detect(bytes) == version);
+        }
+    }
+
+    private static byte[] writeBody(Map<String, byte[]> sections, FileHeaderFields fields, Executor executor)
+            throws Exception {
+        ByteBufferBitOutput body = new ByteBufferBitOutput();
+        new R2004FileStructureHandler().writeSections(body, sections, fields, executor);
+        return body.toByteArray();
+    }
+
+    /**
+     * DwgWriter와 같은 순서(본문 → 헤더)로 파일을 만들고 다시 읽는다
+     */
+    private static Map<String, SectionInputStream> roundTrip(DwgVersion version, Map<String, byte[]> sections,
+                                                             FileHeaderFields[] writtenOut) throws Exception {
+        R2004FileStructureHandler handler = new R2004FileStructureHandler();
+        FileHeaderFields fields = new FileHeaderFields(version);
+        ByteBufferBitOutput body = new ByteBufferBitOutput();
+        handler.writeSections(body, sections, fields);
+        ByteBufferBitOutput file = new ByteBufferBitOutput();
+        handler.writeHeader(file, fields);
+        byte[] bodyBytes = body.toByteArray();
+        file.writeBytes(bodyBytes, 0, bodyBytes.length);
+        byte[] bytes = file.toByteArray();
+        if (writtenOut != null) writtenOut[0] = fields;
+
+        R2004FileStructureHandler reader = new R2004FileStructureHandler();
+        FileHeaderFields header = reader.readHeader(new ByteBufferBitInput(bytes));
+        R2004PageMap pages = R2004PageMap.read(new ByteBufferBitInput(bytes), header.sectionMapOffset());
+        if (pages == null || pages.pageCount() != fields.sectionPageCount()) {
+            report("페이지 맵 읽기 (" + version + ")", false);
+        }
+        return reader.readSections(new ByteBufferBitInput(bytes), header);
+    }
+
+    /** 앞쪽 바이트를 자주 되풀이하는 (압축이 되는) 데이터 */
+    private static byte[] repetitive(long seed, int size) {
+        Random random = new Random(seed);
+        byte[] data = new byte[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = i >= 256 && random.nextInt(4) > 0 ? data[i - 1 - random.nextInt(256)] : (byte) random.nextInt(64);
+        }
+        return data;
+    }
+
+    private static byte[] randomBytes(long seed, int size) {
+        byte[] data = new byte[size];
+        new Random(seed).nextBytes(data);
+        return data;
+    }
+
+    private static void report(String name, boolean ok) {
+        if (ok) {
+            System.out.println("  ✓ " + name);
+            passCount++;
+        } else {
+            System.out.println("  ✗ " + name);
+            failCount++;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package io.dwg.test;
+
+import io.dwg.core.io.ByteBufferBitInput;
+import io.dwg.core.io.SectionInputStream;
+import io.dwg.format.common.FileHeaderFields;
+import io.dwg.format.r2007.R2007FileHeader;
+import io.dwg.format.r2007.R2007FileStructureHandler;
+import io.dwg.format.r2007.R2007PageIndex;
+import io.dwg.format.r2007.R2007PageMapParser;
+import io.dwg.format.r2007.R2007SystemPageReader;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * R2007 페이지 색인 테스트 (JUnit 없이 실행 가능)
+ * 색인 조회 결과를 페이지 맵 순차 검색(누적 오프셋) 결과와 비교하고,
+ * 샘플 파일의 주요 섹션이 모두 조립되는지 확인합니다.
+ */
+public class R2007PageIndexTest {
+
+    private static int passCount = 0;
+    private static int failCount = 0;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("═══════════════════════════════════════════════════════════════");
+        System.out.println("  R2007 페이지 색인 테스트");
+        System.out.println("═══════════════════════════════════════════════════════════════\n");
+
+        testSynthetic();
+        testSampleFiles(args.length > 0 ? args[0] : "samples/2007");
+
+        System.out.println("\n═══════════════════════════════════════════════════════════════");
+        System.out.printf("  테스트 결과: %d 통과, %d 실패\n", passCount, failCount);
+        System.out.println("═══════════════════════════════════════════════════════════════");
+    }
+
+    private static void testSynthetic() {
+        System.out.println("\n[TEST 1] 합성 페이지 맵");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        List<R2007PageMapParser.PageMapEntry> map = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            map.add(new R2007PageMapParser.PageMapEntry((i * 7919) % 5000 + 1, 0x400 + (i % 13) * 0x20));
+        }
+        map.add(new R2007PageMapParser.PageMapEntry(17, 0x999));  // 중복 ID: 앞 항목이 우선
+        R2007PageIndex index = R2007PageIndex.build(map, 0x480);
+
+        boolean same = true;
+        for (int id = 0; id <= 5001 && same; id++) {
+            same = index.offsetOf(id) == linearOffset(map, id, 0x480);
+        }
+        report("전체 ID 조회가 순차 검색과 일치", same);
+        report("중복 ID는 먼저 나온 항목", index.sizeOf(17) != 0x999);
+        report("없는 ID는 -1", index.offsetOf(0) == -1 && index.offsetOf(1L << 40) == -1);
+        report("서로 다른 ID 5000개", index.size() == 5000);
+    }
+
+    private static void testSampleFiles(String dir) throws Exception {
+        System.out.println("\n[TEST 2] 샘플 파일 (" + dir + ")");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        Path base = Paths.get(dir);
+        if (!Files.isDirectory(base)) {
+            System.out.println("  (샘플 디렉터리 없음 - 건너뜀)");
+            return;
+        }
+        try (var files = Files.list(base)) {
+            for (Path file : files.filter(p -> p.toString().toLowerCase().endsWith(".dwg")).sorted().toList()) {
+                byte[] data = Files.readAllBytes(file);
+                List<R2007PageMapParser.PageMapEntry> map;
+                R2007FileHeader header;
+                try {
+                    header = R2007FileHeader.read(new ByteBufferBitInput(data));
+                    map = R2007PageMapParser.parsePageMap(R2007SystemPageReader.readSystemPage(
+                        new ByteBufferBitInput(data), 0x480L + header.pageMapOffset(),
+                        header.pageMapSizeComp(), header.pageMapSizeUncomp(), header.pageMapCorrection()));
+                } catch (Exception e) {
+                    System.out.println("  - " + file.getFileName() + ": 페이지 맵 읽기 실패 (" + e.getMessage() + ")");
+                    continue;
+                }
+                long base0 = 0x480L + header.pageMapOffset();
+                R2007PageIndex index = R2007PageIndex.build(map, base0);
+                boolean same = true;
+                for (R2007PageMapParser.PageMapEntry e : map) {
+                    same &= index.offsetOf(e.pageId) == linearOffset(map, e.pageId, base0);
+                }
+
+                R2007FileStructureHandler handler = new R2007FileStructureHandler();
+                FileHeaderFields fields = handler.readHeader(new ByteBufferBitInput(data));
+                Map<String, SectionInputStream> sections = handler.readSections(new ByteBufferBitInput(data), fields);
+                boolean all = sections.containsKey("AcDb:Header") && sections.containsKey("AcDb:Classes")
+                    && sections.containsKey("AcDb:Handles") && sections.containsKey("AcDb:AcDbObjects");
+                report(String.format("%s: 페이지 %d, 섹션 %d개%s", file.getFileName(), map.size(),
+                    sections.size(), all ? "" : " (주요 섹션 누락)"), same);
+            }
+        }
+    }
+
+    private static long linearOffset(List<R2007PageMapParser.PageMapEntry> map, long id, long base) {
+        long cumulative = 0;
+        for (R2007PageMapParser.PageMapEntry e : map) {
+            if (e.pageId == id) return base + cumulative;
+            cumulative += e.size;
+        }
+        return -1;
+    }
+
+    private static void report(String name, boolean ok) {
+        if (ok) {
+            System.out.println("  ✓ " + name);
+            passCount++;
+        } else {
+            System.out.println("  ✗ " + name);
+            failCount++;
+        }
+    }
+}
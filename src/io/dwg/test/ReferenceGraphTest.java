@@ -0,0 +1,141 @@
+package io.dwg.test;
+
+import io.dwg.api.DwgDocument;
+import io.dwg.api.DwgReferenceGraph;
+import io.dwg.api.ReferenceKind;
+import io.dwg.core.type.DwgHandleRef;
+import io.dwg.core.version.DwgVersion;
+import io.dwg.entities.DwgObject;
+import io.dwg.entities.concrete.DwgBlockHeader;
+import io.dwg.entities.concrete.DwgInsert;
+import io.dwg.entities.concrete.DwgLayer;
+import io.dwg.entities.concrete.DwgLine;
+import io.dwg.entities.concrete.DwgLtype;
+import io.dwg.entities.concrete.DwgMinsert;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 핸들 참조 그래프 테스트 (JUnit 없이 실행 가능)
+ * 역방향 조회를 전수 검색 결과와 비교하고, 병렬/순차 생성 결과가 같은지 확인합니다.
+ */
+public class ReferenceGraphTest {
+
+    private static int passCount = 0;
+    private static int failCount = 0;
+
+    public static void main(String[] args) {
+        System.out.println("═══════════════════════════════════════════════════════════════");
+        System.out.println("  핸들 참조 그래프 테스트");
+        System.out.println("═══════════════════════════════════════════════════════════════\n");
+
+        Map<Long, DwgObject> objects = new HashMap<>();
+        DwgLtype continuous = new DwgLtype();
+        continuous.setHandle(0x14);
+        objects.put(0x14L, continuous);
+        DwgBlockHeader model = new DwgBlockHeader();
+        model.setHandle(0x1F);
+        model.setBlockName("*Model_Space");
+        objects.put(0x1FL, model);
+        long[] layerHandles = {0x10, 0x11, 0x12};
+        for (long h : layerHandles) {
+            DwgLayer layer = new DwgLayer();
+            layer.setHandle(h);
+            layer.setLineTypeHandle(new DwgHandleRef(0x14));
+            objects.put(h, layer);
+        }
+        DwgBlockHeader part = new DwgBlockHeader();
+        part.setHandle(0x20);
+        part.setBlockName("PART");
+        objects.put(0x20L, part);
+        DwgInsert insert = new DwgInsert();
+        insert.setHandle(0x30);
+        insert.setBlockHeaderHandle(new DwgHandleRef(0x20));
+        objects.put(0x30L, insert);
+        DwgMinsert minsert = new DwgMinsert();
+        minsert.setHandle(0x31);
+        minsert.setBlockName("part");
+        objects.put(0x31L, minsert);
+        DwgMinsert missing = new DwgMinsert();
+        missing.setHandle(0x32);
+        missing.setBlockName("NO_SUCH_BLOCK");
+        objects.put(0x32L, missing);
+        int n = 20000;
+        for (int i = 0; i < n; i++) {
+            DwgLine line = new DwgLine();
+            long h = 0x100 + i;
+            line.setHandle(h);
+            line.setOwnerHandle(new DwgHandleRef(0x1F));
+            line.setLayerHandle(new DwgHandleRef(layerHandles[i % 3]));
+            if (i % 7 == 0) line.addReactorHandle(new DwgHandleRef(0x100));
+            if (i % 11 == 0) line.setXDicHandle(new DwgHandleRef(0xFFFFF)); // 문서에 없는 핸들
+            objects.put(h, line);
+        }
+
+        DwgDocument doc = new DwgDocument(DwgVersion.R2018);
+        doc.setObjectMap(objects);
+
+        long t0 = System.nanoTime();
+        DwgReferenceGraph graph = doc.references();
+        long t1 = System.nanoTime();
+        DwgReferenceGraph sequential = DwgReferenceGraph.build(objects, false);
+        System.out.printf("  그래프 생성: 노드 %d, 간선 %d (%.1f ms)\n",
+            graph.nodeCount(), graph.edgeCount(), (t1 - t0) / 1e6);
+
+        System.out.println("\n[TEST 1] 역방향 조회");
+        System.out.println("─────────────────────────────────────────────────────────────");
+        for (long layer : layerHandles) {
+            long[] expected = objects.values().stream()
+                .filter(o -> o instanceof DwgLine l && l.layerHandle().rawHandle() == layer)
+                .mapToLong(DwgObject::handle).sorted().toArray();
+            report(String.format("entitiesOnLayer(0x%X) = %d", layer, expected.length),
+                Arrays.equals(graph.entitiesOnLayer(layer), expected));
+        }
+        report("ownedBy(*Model_Space) = " + n, graph.ownedBy(0x1F).length == n);
+        report("레이어 → 선종류 역참조 3개", graph.referencing(0x14, ReferenceKind.LINETYPE).length == 3);
+        report("반응자 역참조", graph.countReferencing(0x100, ReferenceKind.REACTOR) == (n + 6) / 7);
+        report("없는 대상은 역방향에서 제외", graph.referencing(0xFFFFF, ReferenceKind.XDICTIONARY).length == 0);
+
+        System.out.println("\n[TEST 2] 정방향 조회");
+        System.out.println("─────────────────────────────────────────────────────────────");
+        report("엔티티 → 레이어", graph.target(0x101, ReferenceKind.LAYER) == 0x11);
+        report("엔티티 → 레이어 → 선종류", graph.resolve(0x101, ReferenceKind.LAYER, DwgLayer.class)
+            .map(l -> graph.target(l.handle(), ReferenceKind.LINETYPE) == 0x14).orElse(false));
+        report("없는 대상도 정방향에는 보존", graph.target(0x100, ReferenceKind.XDICTIONARY) == 0xFFFFF);
+
+        System.out.println("\n[TEST 3] 블록 삽입");
+        System.out.println("─────────────────────────────────────────────────────────────");
+        report("insertsOf(PART) = INSERT + MINSERT", Arrays.equals(graph.insertsOf(0x20), new long[] {0x30, 0x31}));
+        report("MINSERT → 블록 헤더 (이름 대소문자 무시)", graph.target(0x31, ReferenceKind.BLOCK_HEADER) == 0x20);
+        report("없는 블록 이름은 간선 없음", graph.target(0x32, ReferenceKind.BLOCK_HEADER) == 0L);
+
+        System.out.println("\n[TEST 4] 병렬/순차 생성 일치");
+        System.out.println("─────────────────────────────────────────────────────────────");
+        boolean same = sequential.edgeCount() == graph.edgeCount();
+        for (long h = 0x100; h < 0x100 + n && same; h++) {
+            for (ReferenceKind kind : ReferenceKind.values()) {
+                same &= Arrays.equals(sequential.targets(h, kind), graph.targets(h, kind));
+            }
+        }
+        for (long layer : layerHandles) {
+            same &= Arrays.equals(sequential.entitiesOnLayer(layer), graph.entitiesOnLayer(layer));
+        }
+        report("간선/역방향 목록 일치", same);
+
+        System.out.println("\n═══════════════════════════════════════════════════════════════");
+        System.out.printf("  테스트 결과: %d 통과, %d 실패\n", passCount, failCount);
+        System.out.println("═══════════════════════════════════════════════════════════════");
+    }
+
+    private static void report(String name, boolean ok) {
+        if (ok) {
+            System.out.println("  ✓ " + name);
+            passCount++;
+        } else {
+            System.out.println("  ✗ " + name);
+            failCount++;
+        }
+    }
+}
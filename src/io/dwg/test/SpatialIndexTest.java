@@ -0,0 +1,195 @@
+package io.dwg.test;
+
+import io.dwg.api.DwgDocument;
+import io.dwg.api.DwgReader;
+import io.dwg.api.spatial.BlockExtentsProvider;
+import io.dwg.api.spatial.EntityExtents;
+import io.dwg.api.spatial.SpatialIndex;
+import io.dwg.core.type.BoundingBox;
+import io.dwg.core.type.Point3D;
+import io.dwg.entities.concrete.DwgArc;
+import io.dwg.entities.concrete.DwgCircle;
+import io.dwg.entities.concrete.DwgLine;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * 공간 색인 테스트 (JUnit 없이 실행 가능)
+ * 엔티티 경계 계산과 STR R-tree 창/최근접 조회를 전수 검색 결과와 비교합니다.
+ */
+public class SpatialIndexTest {
+
+    private static int passCount = 0;
+    private static int failCount = 0;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("═══════════════════════════════════════════════════════════════");
+        System.out.println("  공간 색인 테스트");
+        System.out.println("═══════════════════════════════════════════════════════════════\n");
+
+        testEntityExtents();
+        testWindowQuery();
+        testNearest();
+        testSampleFiles(args.length > 0 ? args[0] : "samples/2018");
+
+        System.out.println("\n═══════════════════════════════════════════════════════════════");
+        System.out.printf("  테스트 결과: %d 통과, %d 실패\n", passCount, failCount);
+        System.out.println("═══════════════════════════════════════════════════════════════");
+    }
+
+    private static void testEntityExtents() {
+        System.out.println("\n[TEST 1] 엔티티 경계 계산");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        DwgLine line = new DwgLine();
+        line.setStart(new Point3D(5, -1, 0));
+        line.setEnd(new Point3D(-2, 3, 0));
+        check("LINE", EntityExtents.of(line, BlockExtentsProvider.NONE), new BoundingBox(-2, -1, 5, 3));
+
+        DwgCircle circle = new DwgCircle();
+        circle.setCenter(new Point3D(10, 10, 0));
+        circle.setRadius(2);
+        check("CIRCLE", EntityExtents.of(circle, BlockExtentsProvider.NONE), new BoundingBox(8, 8, 12, 12));
+
+        // 0° → 90° 원호: 1사분면만 포함
+        DwgArc arc = new DwgArc();
+        arc.setCenter(new Point3D(0, 0, 0));
+        arc.setRadius(1);
+        arc.setStartAngle(0);
+        arc.setEndAngle(Math.PI / 2);
+        check("ARC 0-90", EntityExtents.of(arc, BlockExtentsProvider.NONE), new BoundingBox(0, 0, 1, 1));
+
+        // 270° → 90° 원호: 0°를 지나므로 maxX = 1
+        arc.setStartAngle(Math.PI * 1.5);
+        arc.setEndAngle(Math.PI / 2);
+        check("ARC 270-90", EntityExtents.of(arc, BlockExtentsProvider.NONE), new BoundingBox(0, -1, 1, 1));
+
+        // 돌출 벡터 (0,0,-1): OCS X축이 WCS -X
+        circle.setExtrusion(new double[]{0, 0, -1});
+        check("CIRCLE OCS", EntityExtents.of(circle, BlockExtentsProvider.NONE), new BoundingBox(-12, 8, -8, 12));
+    }
+
+    private static void testWindowQuery() {
+        System.out.println("\n[TEST 2] 창 조회 (전수 검색과 비교)");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        for (int n : new int[]{0, 1, 15, 16, 17, 1000, 20000}) {
+            Random rnd = new Random(n);
+            long[] handles = new long[n];
+            double[] boxes = randomBoxes(rnd, n, handles);
+            for (boolean parallel : new boolean[]{false, true}) {
+                SpatialIndex index = SpatialIndex.build(handles, boxes, 16, parallel);
+                boolean ok = index.size() == n;
+                for (int q = 0; q < 200 && ok; q++) {
+                    double x = rnd.nextDouble() * 1000, y = rnd.nextDouble() * 1000;
+                    BoundingBox w = new BoundingBox(x, y, x + rnd.nextDouble() * 100, y + rnd.nextDouble() * 100);
+                    long[] got = index.query(w);
+                    long[] expected = bruteForce(handles, boxes, w);
+                    Arrays.sort(got);
+                    ok = Arrays.equals(got, expected);
+                }
+                report(String.format("n=%d parallel=%s", n, parallel), ok);
+            }
+        }
+    }
+
+    private static void testNearest() {
+        System.out.println("\n[TEST 3] 최근접 조회");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        Random rnd = new Random(42);
+        int n = 5000;
+        long[] handles = new long[n];
+        double[] boxes = randomBoxes(rnd, n, handles);
+        SpatialIndex index = SpatialIndex.build(handles, boxes, 16, true);
+        boolean ok = true;
+        for (int q = 0; q < 200 && ok; q++) {
+            double x = rnd.nextDouble() * 1000, y = rnd.nextDouble() * 1000;
+            long[] got = index.nearest(x, y, 5, Double.POSITIVE_INFINITY);
+            double[] dists = new double[n];
+            for (int i = 0; i < n; i++) {
+                dists[i] = new BoundingBox(boxes[i * 4], boxes[i * 4 + 1], boxes[i * 4 + 2], boxes[i * 4 + 3])
+                    .distanceSq(x, y);
+            }
+            double[] sorted = dists.clone();
+            Arrays.sort(sorted);
+            ok = got.length == 5;
+            for (int k = 0; k < got.length && ok; k++) {
+                ok = dists[(int) got[k] - 1] == sorted[k];
+            }
+        }
+        report("k=5 최근접 거리 순서", ok);
+        report("빈 색인 최근접 = 0", SpatialIndex.build(new long[0], new double[0], 16, false).nearest(0, 0) == 0L);
+    }
+
+    private static void testSampleFiles(String dir) throws Exception {
+        System.out.println("\n[TEST 4] 샘플 파일 색인 (" + dir + ")");
+        System.out.println("─────────────────────────────────────────────────────────────");
+
+        Path base = Paths.get(dir);
+        if (!Files.isDirectory(base)) {
+            System.out.println("  (샘플 디렉터리 없음 - 건너뜀)");
+            return;
+        }
+        try (var files = Files.list(base)) {
+            for (Path file : files.filter(p -> p.toString().toLowerCase().endsWith(".dwg")).sorted().toList()) {
+                try {
+                    DwgDocument doc = DwgReader.defaultReader().open(file);
+                    long t0 = System.nanoTime();
+                    SpatialIndex index = doc.spatialIndex();
+                    long t1 = System.nanoTime();
+                    long[] all = index.query(index.bounds());
+                    report(String.format("%s: %d/%d 엔티티 색인 (%.1f ms)", file.getFileName(),
+                        index.size(), doc.entities().size(), (t1 - t0) / 1e6), all.length == index.size());
+                } catch (Exception e) {
+                    System.out.println("  - " + file.getFileName() + ": 읽기 실패 (" + e.getMessage() + ")");
+                }
+            }
+        }
+    }
+
+    private static double[] randomBoxes(Random rnd, int n, long[] handles) {
+        double[] boxes = new double[n * 4];
+        for (int i = 0; i < n; i++) {
+            double x = rnd.nextDouble() * 1000, y = rnd.nextDouble() * 1000;
+            boxes[i * 4] = x;
+            boxes[i * 4 + 1] = y;
+            boxes[i * 4 + 2] = x + rnd.nextDouble() * 20;
+            boxes[i * 4 + 3] = y + rnd.nextDouble() * 20;
+            handles[i] = i + 1;
+        }
+        return boxes;
+    }
+
+    private static long[] bruteForce(long[] handles, double[] boxes, BoundingBox w) {
+        return java.util.stream.IntStream.range(0, handles.length)
+            .filter(i -> new BoundingBox(boxes[i * 4], boxes[i * 4 + 1], boxes[i * 4 + 2], boxes[i * 4 + 3])
+                .intersects(w))
+            .mapToLong(i -> handles[i])
+            .sorted()
+            .toArray();
+    }
+
+    private static void check(String name, BoundingBox actual, BoundingBox expected) {
+        boolean ok = actual != null
+            && Math.abs(actual.minX() - expected.minX()) < 1e-9
+            && Math.abs(actual.minY() - expected.minY()) < 1e-9
+            && Math.abs(actual.maxX() - expected.maxX()) < 1e-9
+            && Math.abs(actual.maxY() - expected.maxY()) < 1e-9;
+        report(name + " → " + actual, ok);
+    }
+
+    private static void report(String name, boolean ok) {
+        if (ok) {
+            System.out.println("  ✓ " + name);
+            passCount++;
+        } else {
+            System.out.println("  ✗ " + name);
+            failCount++;
+        }
+    }
+}